@@ -0,0 +1,59 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.bench;
+
+import java.util.Random;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Value;
+
+/**
+ * Deterministic sample payloads shared by the structure codec benchmarks.
+ */
+final class BenchPayloads {
+
+  private BenchPayloads() {
+    // static
+  }
+
+  /**
+   * Returns a record shaped like a typical map lane event: a tagged update
+   * with a keyed body of mixed scalars, a nested object, and an array of
+   * {@code sampleCount} samples.
+   */
+  static Value event(int sampleCount, long seed) {
+    final Random random = new Random(seed);
+    final Record samples = Record.create(sampleCount);
+    for (int i = 0; i < sampleCount; i += 1) {
+      samples.add(Record.create(3)
+          .slot("t", 1580000000000L + 1000L * i)
+          .slot("v", random.nextDouble() * 100.0)
+          .slot("ok", random.nextBoolean()));
+    }
+    final Record location = Record.create(2)
+        .slot("lat", 37.0 + random.nextDouble())
+        .slot("lng", -122.0 - random.nextDouble());
+    return Record.create(8)
+        .attr("update", Record.of(Slot.of("key", "sensor-" + random.nextInt(1000))))
+        .slot("id", "sensor-" + random.nextInt(1000000))
+        .slot("name", "Building 42 / Floor 3 / Room 301 Temperature")
+        .slot("status", "online")
+        .slot("count", random.nextInt())
+        .slot("location", location)
+        .slot("tags", Record.of("hvac", "temperature", "celsius"))
+        .slot("samples", samples);
+  }
+
+}
@@ -0,0 +1,105 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.form.PolyForm;
+
+/**
+ * Compares {@code ClassForm} field access through {@code MethodHandle}s
+ * against the reflective {@code Field.get}/{@code Field.set} path, which is
+ * selected per fork with {@code -Dswim.structure.form.accessor=reflect}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ClassFormBench {
+
+  Form<Sample> form;
+  Sample sample;
+  Item item;
+
+  @Setup
+  public void setup() {
+    this.form = Form.forClass(Sample.class);
+    this.sample = new Sample(42, 1234567890123L, 3.14159, true, "sensor-42");
+    this.item = this.form.mold(this.sample);
+  }
+
+  @Benchmark
+  public Item mold() {
+    return this.form.mold(this.sample);
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Dswim.structure.form.accessor=reflect")
+  public Item moldReflect() {
+    return this.form.mold(this.sample);
+  }
+
+  @Benchmark
+  public Sample cast() {
+    return this.form.cast(this.item);
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Dswim.structure.form.accessor=reflect")
+  public Sample castReflect() {
+    return this.form.cast(this.item);
+  }
+
+  @Benchmark
+  public Form<Sample> forClass() {
+    return Form.forClass(Sample.class);
+  }
+
+  @Benchmark
+  public Form<Sample> reflectClass() {
+    return new PolyForm().reflectClass(Sample.class);
+  }
+
+  public static class Sample {
+
+    int id;
+    long time;
+    double value;
+    boolean active;
+    String name;
+
+    public Sample() {
+      // nop
+    }
+
+    public Sample(int id, long time, double value, boolean active, String name) {
+      this.id = id;
+      this.time = time;
+      this.value = value;
+      this.active = active;
+      this.name = name;
+    }
+
+  }
+
+}
@@ -0,0 +1,76 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.bench;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import swim.concurrent.Clock;
+import swim.concurrent.TimerRef;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ClockBench {
+
+  static final int TIMER_COUNT = 1024;
+
+  Clock clock;
+
+  @Setup
+  public void setup() {
+    this.clock = new Clock(10, 512);
+    this.clock.start();
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.clock.stop();
+  }
+
+  /**
+   * Schedules a timer far enough in the future that it never fires, and
+   * cancels it, measuring the cost of inserting into and removing from the
+   * clock's timer wheel.
+   */
+  @Benchmark
+  public boolean setAndCancel() {
+    final TimerRef timer = this.clock.setTimer(60000L, () -> { });
+    return timer.cancel();
+  }
+
+  /**
+   * Schedules a batch of immediate timers, and waits for all of them to
+   * fire.
+   */
+  @Benchmark
+  @OperationsPerInvocation(TIMER_COUNT)
+  public void setAndFire() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(TIMER_COUNT);
+    for (int i = 0; i < TIMER_COUNT; i += 1) {
+      this.clock.setTimer(0L, latch::countDown);
+    }
+    latch.await();
+  }
+
+}
@@ -0,0 +1,158 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import swim.concurrent.Theater;
+import swim.db.BTreeMap;
+import swim.db.Chunk;
+import swim.db.Commit;
+import swim.db.Database;
+import swim.db.FileStore;
+import swim.db.Store;
+import swim.db.StoreContext;
+import swim.db.StoreSettings;
+import swim.db.Tree;
+import swim.structure.Num;
+import swim.structure.Value;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DbBTreeMapBench {
+
+  @Param({"10000", "1000000"})
+  int size;
+
+  @Param({"1", "100"})
+  int batchSize;
+
+  File storeDir;
+  File storePath;
+  Theater stage;
+  FileStore store;
+  Database database;
+  BTreeMap map;
+  Random random;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException, InterruptedException {
+    this.storeDir = Files.createTempDirectory("swim-bench").toFile();
+    this.storePath = new File(this.storeDir, "bench.swimdb");
+    this.stage = new Theater("bench");
+    this.stage.start();
+    this.random = new Random(42L);
+    open();
+    for (int i = 0; i < this.size; i += 1) {
+      this.map.put(Num.from(i), value(i));
+    }
+    this.database.commit(Commit.forced());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    close();
+    this.store.delete();
+    this.storeDir.delete();
+    this.stage.stop();
+  }
+
+  void open() throws InterruptedException {
+    // Disable automatic commits, zone shifts, and compactions, so that
+    // commits only run when invoked by a benchmark.
+    final StoreSettings settings = StoreSettings.standard().deleteDelay(0);
+    final StoreContext storeContext = new StoreContext(settings) {
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // nop
+      }
+
+      @Override
+      public Commit databaseWillCommit(Store store, Database database, Commit commit) {
+        return commit;
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // nop
+      }
+    };
+    this.store = new FileStore(storeContext, this.storePath, this.stage).open();
+    this.database = this.store.openDatabase();
+    this.map = this.database.openBTreeMap("bench").load();
+  }
+
+  void close() throws InterruptedException {
+    this.store.close();
+  }
+
+  Value value(int i) {
+    return Num.from(this.random.nextLong() ^ i);
+  }
+
+  /**
+   * Updates {@code batchSize} random keys, and commits the resulting diff
+   * to disk.
+   */
+  @Benchmark
+  public Chunk commit() throws InterruptedException {
+    for (int i = 0; i < this.batchSize; i += 1) {
+      final int key = this.random.nextInt(this.size);
+      this.map.put(Num.from(key), value(key));
+    }
+    return this.database.commit(Commit.forced());
+  }
+
+  /**
+   * Reopens the store, so that the map's pages are no longer resident.
+   */
+  @State(Scope.Thread)
+  public static class Cold {
+
+    @Setup(Level.Invocation)
+    public void reopen(DbBTreeMapBench bench) throws InterruptedException {
+      bench.close();
+      bench.open();
+    }
+
+  }
+
+  /**
+   * Looks up {@code batchSize} random keys in a freshly opened store,
+   * loading pages from disk on first access.
+   */
+  @Benchmark
+  public void loadPages(Cold cold, Blackhole blackhole) {
+    for (int i = 0; i < this.batchSize; i += 1) {
+      blackhole.consume(this.map.get(Num.from(this.random.nextInt(this.size))));
+    }
+  }
+
+}
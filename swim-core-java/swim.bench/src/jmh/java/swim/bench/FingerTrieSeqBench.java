@@ -0,0 +1,84 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import swim.collections.FingerTrieSeq;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FingerTrieSeqBench {
+
+  static final int KEY_COUNT = 4096;
+
+  @Param({"1000", "100000", "1000000", "10000000"})
+  int size;
+
+  FingerTrieSeq<Integer> seq;
+  Integer[] keys;
+  int keyIndex;
+
+  @Setup
+  public void setup() {
+    FingerTrieSeq<Integer> seq = FingerTrieSeq.empty();
+    for (int i = 0; i < this.size; i += 1) {
+      seq = seq.appended(i);
+    }
+    this.seq = seq;
+    final Random random = new Random(42L);
+    this.keys = new Integer[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i += 1) {
+      this.keys[i] = random.nextInt(this.size);
+    }
+  }
+
+  Integer nextKey() {
+    final int keyIndex = this.keyIndex;
+    this.keyIndex = (keyIndex + 1) & (KEY_COUNT - 1);
+    return this.keys[keyIndex];
+  }
+
+  @Benchmark
+  public Object update() {
+    final Integer index = nextKey();
+    return this.seq.updated(index, -index);
+  }
+
+  @Benchmark
+  public Object lookup() {
+    return this.seq.get(nextKey());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void iterate(Blackhole blackhole) {
+    for (Integer value : this.seq) {
+      blackhole.consume(value);
+    }
+  }
+
+}
@@ -0,0 +1,62 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swim.recon.Recon;
+import swim.structure.Data;
+import swim.structure.Value;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReconBench {
+
+  @Param({"1", "16", "256"})
+  int sampleCount;
+
+  Value value;
+  String string;
+
+  @Setup
+  public void setup() {
+    this.value = BenchPayloads.event(this.sampleCount, 42L);
+    this.string = Recon.toString(this.value);
+  }
+
+  @Benchmark
+  public Value parse() {
+    return Recon.parse(this.string);
+  }
+
+  @Benchmark
+  public String writeString() {
+    return Recon.toString(this.value);
+  }
+
+  @Benchmark
+  public Data writeData() {
+    return Recon.toData(this.value);
+  }
+
+}
@@ -0,0 +1,72 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.bench;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import swim.concurrent.TaskRef;
+import swim.concurrent.Theater;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TheaterBench {
+
+  static final int TASK_COUNT = 1024;
+
+  Theater theater;
+  TaskRef[] tasks;
+  volatile CountDownLatch latch;
+
+  @Setup
+  public void setup() {
+    this.theater = new Theater("bench");
+    this.theater.start();
+    this.tasks = new TaskRef[TASK_COUNT];
+    for (int i = 0; i < TASK_COUNT; i += 1) {
+      this.tasks[i] = this.theater.task(() -> this.latch.countDown());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.theater.stop();
+  }
+
+  /**
+   * Cues a batch of distinct tasks, and waits for all of them to run.
+   */
+  @Benchmark
+  @OperationsPerInvocation(TASK_COUNT)
+  public void cue() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(TASK_COUNT);
+    this.latch = latch;
+    final TaskRef[] tasks = this.tasks;
+    for (int i = 0; i < TASK_COUNT; i += 1) {
+      tasks[i].cue();
+    }
+    latch.await();
+  }
+
+}
@@ -0,0 +1,111 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.InputBuffer;
+import swim.codec.OutputBuffer;
+import swim.codec.Utf8;
+import swim.recon.Recon;
+import swim.ws.Ws;
+import swim.ws.WsDecoder;
+import swim.ws.WsDeflateDecoder;
+import swim.ws.WsEncoder;
+import swim.ws.WsFrame;
+import swim.ws.WsText;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WsFrameBench {
+
+  @Param({"standard", "deflate"})
+  String engine;
+
+  @Param({"1", "16", "256"})
+  int sampleCount;
+
+  String text;
+  WsEncoder encoder;
+  WsDecoder decoder;
+  byte[] buffer;
+  byte[] frame;
+
+  @Setup
+  public void setup() {
+    this.text = Recon.toString(BenchPayloads.event(this.sampleCount, 42L));
+    this.buffer = new byte[2 * Utf8.sizeOf(this.text) + 64];
+    if ("deflate".equals(this.engine)) {
+      this.encoder = Ws.deflateEncoderUnmasked();
+      this.decoder = Ws.deflateDecoder();
+      // Encode the decoded frame with a fresh encoder, so that it can be
+      // inflated by a fresh decoder, without a shared sliding window.
+      this.frame = encode(Ws.deflateEncoderUnmasked(), this.text, this.buffer);
+    } else {
+      this.encoder = Ws.standardEncoderUnmasked();
+      this.decoder = Ws.standardDecoder();
+      this.frame = encode(this.encoder, this.text, this.buffer);
+    }
+  }
+
+  static byte[] encode(WsEncoder encoder, String text, byte[] buffer) {
+    final OutputBuffer<?> output = Binary.outputBuffer(buffer);
+    final Encoder<?, ?> frameEncoder = encoder.frameEncoder(WsText.from(text)).pull(output);
+    if (!frameEncoder.isDone()) {
+      throw new IllegalStateException(String.valueOf(frameEncoder));
+    }
+    final byte[] frame = new byte[output.index()];
+    System.arraycopy(buffer, 0, frame, 0, frame.length);
+    return frame;
+  }
+
+  /**
+   * Encodes a text frame; deflate frames share the encoder's sliding window
+   * with previously encoded frames, as they do on a live connection.
+   */
+  @Benchmark
+  public int encode() {
+    final OutputBuffer<?> output = Binary.outputBuffer(this.buffer);
+    this.encoder.frameEncoder(WsText.from(this.text)).pull(output);
+    return output.index();
+  }
+
+  /**
+   * Decodes a text frame; deflate frames are decoded by a clone of a fresh
+   * decoder, so the benchmark includes the cost of cloning its inflate state.
+   */
+  @Benchmark
+  public WsFrame<String> decode() {
+    WsDecoder decoder = this.decoder;
+    if (decoder instanceof WsDeflateDecoder) {
+      decoder = ((WsDeflateDecoder) decoder).clone();
+    }
+    final InputBuffer input = Binary.inputBuffer(this.frame);
+    final Decoder<WsFrame<String>> frameDecoder = decoder.decodeFrame(Utf8.outputDecoder(Utf8.decodedString()), input);
+    return frameDecoder.bind();
+  }
+
+}
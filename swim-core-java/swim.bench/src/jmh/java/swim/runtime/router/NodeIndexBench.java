@@ -0,0 +1,108 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.router;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import swim.runtime.NodeBinding;
+import swim.runtime.agent.AgentNode;
+import swim.uri.Uri;
+
+/**
+ * Node open/close throughput of a {@code HostTable} across all cores.  Each
+ * operation inserts a node URI into the table if it's absent, and removes it
+ * if it's present, so that the table churns around a steady size.  {@code
+ * trie} runs against the default {@code UriMapper} index, and {@code hash}
+ * against the {@code HostNodeIndex} enabled by {@code
+ * -Dswim.host.concurrent.nodes=true}.  The {@code View} variants also read
+ * the ordered node view on every 64th operation, as directory routing does.
+ * Lives in {@code swim.runtime.router} to reach the table's package-private
+ * index operations without creating agents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(Threads.MAX)
+public class NodeIndexBench {
+
+  @Param({"10000", "1000000"})
+  int nodeCount;
+
+  Uri[] nodeUris;
+  NodeBinding node;
+  AtomicInteger next;
+  HostTable host;
+
+  @Setup
+  public void setupNodeUris() {
+    final Uri[] nodeUris = new Uri[this.nodeCount];
+    for (int i = 0; i < nodeUris.length; i += 1) {
+      nodeUris[i] = Uri.parse("/device/" + (i >>> 10) + '/' + i);
+    }
+    this.nodeUris = nodeUris;
+    this.node = new AgentNode();
+    this.next = new AtomicInteger();
+  }
+
+  @Setup(Level.Iteration)
+  public void setupHost() {
+    this.host = new HostTable();
+  }
+
+  boolean churn(int index) {
+    final Uri nodeUri = this.nodeUris[Math.floorMod(index, this.nodeUris.length)];
+    return this.host.restoreNode(nodeUri, this.node) || this.host.removeNode(nodeUri, this.node);
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Dswim.host.concurrent.nodes=false")
+  public boolean trie() {
+    return churn(this.next.getAndIncrement());
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Dswim.host.concurrent.nodes=true")
+  public boolean hash() {
+    return churn(this.next.getAndIncrement());
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Dswim.host.concurrent.nodes=false")
+  public Object trieView() {
+    final int index = this.next.getAndIncrement();
+    churn(index);
+    return (index & 63) == 0 ? this.host.nodes() : null;
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Dswim.host.concurrent.nodes=true")
+  public Object hashView() {
+    final int index = this.next.getAndIncrement();
+    churn(index);
+    return (index & 63) == 0 ? this.host.nodes() : null;
+  }
+
+}
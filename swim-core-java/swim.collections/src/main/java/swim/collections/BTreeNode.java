@@ -96,7 +96,7 @@ class BTreeNode<K, V, U> extends BTreePage<K, V, U> {
     }
     int count = 0;
     for (int i = 0; i < x; i += 1) {
-      count += this.pages[x].size();
+      count += this.pages[i].size();
     }
     final int index = this.pages[x].indexOf(key, tree);
     if (index >= 0) {
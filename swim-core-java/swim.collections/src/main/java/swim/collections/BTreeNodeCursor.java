@@ -129,7 +129,7 @@ final class BTreeNodeCursor<K, V, U> implements OrderedMapCursor<K, V> {
         final BTreePage<K, V, U> page = this.pages[this.pageIndex];
         final long pageSize = pageSize(page);
         this.pageIndex += 1;
-        if (pageSize < count) {
+        if (count < pageSize) {
           this.pageCursor = pageCursor(page);
           if (count > 0L) {
             this.index += count;
@@ -129,7 +129,7 @@ final class STreeNodeCursor<T> implements Cursor<Map.Entry<Object, T>> {
         final STreePage<T> page = this.pages[this.pageIndex];
         final long pageSize = pageSize(page);
         this.pageIndex += 1;
-        if (pageSize < count) {
+        if (count < pageSize) {
           this.pageCursor = pageCursor(page);
           if (count > 0L) {
             this.index += count;
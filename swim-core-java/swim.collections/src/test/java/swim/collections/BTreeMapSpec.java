@@ -15,7 +15,9 @@
 package swim.collections;
 
 import java.util.AbstractMap;
+import java.util.Map;
 import org.testng.annotations.Test;
+import swim.util.Cursor;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
@@ -170,4 +172,41 @@ public class BTreeMapSpec {
     }
   }
 
+  @Test
+  public void testIndexOf() {
+    final BTreeMap<Integer, Integer, ?> tree = new BTreeMap<Integer, Integer, Object>() {
+      @Override
+      protected int pageSplitSize() {
+        return 8;
+      }
+    };
+    final int n = 1024;
+    for (int i = 0; i < n; i += 1) {
+      tree.put(2 * i, i);
+    }
+    for (int i = 0; i < n; i += 1) {
+      assertEquals(tree.indexOf(2 * i), i);
+      assertEquals(tree.indexOf(2 * i + 1), -(i + 2));
+    }
+  }
+
+  @Test
+  public void testSkip() {
+    final BTreeMap<Integer, Integer, ?> tree = new BTreeMap<Integer, Integer, Object>() {
+      @Override
+      protected int pageSplitSize() {
+        return 8;
+      }
+    };
+    final int n = 1024;
+    for (int i = 0; i < n; i += 1) {
+      tree.put(i, i);
+    }
+    for (int k = 0; k < n; k += 1) {
+      final Cursor<Map.Entry<Integer, Integer>> cursor = tree.iterator();
+      cursor.skip(k);
+      assertEquals((int) cursor.next().getKey(), k);
+    }
+  }
+
 }
@@ -15,6 +15,7 @@
 package swim.collections;
 
 import org.testng.annotations.Test;
+import swim.util.Cursor;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
@@ -122,4 +123,23 @@ public class STreeSpec {
     }
   }
 
+  @Test
+  public void testSkip() {
+    final STree<Integer> tree = new STree<Integer>() {
+      @Override
+      protected int pageSplitSize() {
+        return 8;
+      }
+    };
+    final int n = 1024;
+    for (int i = 0; i < n; i += 1) {
+      tree.add(i);
+    }
+    for (int k = 0; k < n; k += 1) {
+      final Cursor<Integer> cursor = tree.iterator();
+      cursor.skip(k);
+      assertEquals((int) cursor.next(), k);
+    }
+  }
+
 }
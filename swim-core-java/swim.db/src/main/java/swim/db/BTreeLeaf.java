@@ -299,8 +299,13 @@ public final class BTreeLeaf extends BTreePage {
     }
   }
 
-  BTreeLeaf insertedSlot(int x, Value key, Value newValue, long newVersion) {
+  BTreePage insertedSlot(int x, Value key, Value newValue, long newVersion) {
     final Slot[] oldSlots = this.slots;
+    if (oldSlots.length == 0 && BTreeNumLeaf.isPackable(key)) {
+      // Pack leaves that start out with integer keys.
+      return BTreeNumLeaf.create(this.pageRef.context, this.pageRef.stem, newVersion, Value.absent(),
+          new long[] {key.longValue()}, new Value[] {newValue.commit()});
+    }
     final int n = oldSlots.length + 1;
     final Slot[] newSlots = new Slot[n];
     System.arraycopy(oldSlots, 0, newSlots, 0, x);
@@ -428,6 +433,14 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   void memoizeSize(BTreePageRef pageRef) {
+    if (pageRef.settings().pageFormat().isBinary()) {
+      memoizeBinarySize(pageRef);
+    } else {
+      memoizeReconSize(pageRef);
+    }
+  }
+
+  void memoizeReconSize(BTreePageRef pageRef) {
     int pageSize = 12; // "@bleaf(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -452,6 +465,13 @@ public final class BTreeLeaf extends BTreePage {
     pageRef.treeSize = pageSize;
   }
 
+  void memoizeBinarySize(BTreePageRef pageRef) {
+    final int pageSize = binaryPageSize();
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = pageSize;
+  }
+
   @Override
   public Value toHeader() {
     final Record header = Record.create(2)
@@ -503,9 +523,13 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (this.pageRef.settings().pageFormat().isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      Recon.write(toHeader(), output);
+      writePageContent(output);
+      output.write('\n');
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -522,6 +546,27 @@ public final class BTreeLeaf extends BTreePage {
     }
   }
 
+  int binaryPageSize() {
+    final Slot[] slots = this.slots;
+    final int n = slots.length;
+    int pageSize = BinaryPage.sizeOfPageHead(n + 1);
+    pageSize += BinaryPage.sizeOfItem(toHeader().head());
+    for (int i = 0; i < n; i += 1) {
+      pageSize += BinaryPage.sizeOfItem(slots[i]);
+    }
+    return pageSize;
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    final Slot[] slots = this.slots;
+    final int n = slots.length;
+    BinaryPage.writePageHead(n + 1, output);
+    BinaryPage.writeItem(toHeader().head(), output);
+    for (int i = 0; i < n; i += 1) {
+      BinaryPage.writeItem(slots[i], output);
+    }
+  }
+
   @Override
   public void writeDiff(Output<?> output) {
     writePage(output);
@@ -238,7 +238,7 @@ public final class BTreeNode extends BTreePage {
     }
     long count = 0L;
     for (int i = 0; i < x; i += 1) {
-      count += this.childRefs[x].span();
+      count += this.childRefs[i].span();
     }
     try {
       final long index = this.childRefs[x].page().indexOf(key);
@@ -771,6 +771,14 @@ public final class BTreeNode extends BTreePage {
 
   @Override
   void memoizeSize(BTreePageRef pageRef) {
+    if (pageRef.settings().pageFormat().isBinary()) {
+      memoizeBinarySize(pageRef);
+    } else {
+      memoizeReconSize(pageRef);
+    }
+  }
+
+  void memoizeReconSize(BTreePageRef pageRef) {
     int pageSize = 12; // "@bnode(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -809,6 +817,26 @@ public final class BTreeNode extends BTreePage {
     pageRef.treeSize = treeSize;
   }
 
+  void memoizeBinarySize(BTreePageRef pageRef) {
+    final BTreePageRef[] childRefs = this.childRefs;
+    int diffSize = 0;
+    long treeSize = 0L;
+    for (int i = 0, n = childRefs.length; i < n; i += 1) {
+      final BTreePageRef childRef = childRefs[i];
+      if (this.version == childRef.softVersion()) {
+        diffSize += childRef.diffSize();
+      }
+      treeSize += childRef.treeSize();
+    }
+    final int pageSize = binaryPageSize();
+    diffSize += pageSize;
+    treeSize += pageSize;
+
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = diffSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = treeSize;
+  }
+
   @Override
   public Value toHeader() {
     final Record header = Record.create(2)
@@ -909,9 +937,13 @@ public final class BTreeNode extends BTreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (this.pageRef.settings().pageFormat().isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      Recon.write(toHeader(), output);
+      writePageContent(output);
+      output.write('\n');
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -933,6 +965,35 @@ public final class BTreeNode extends BTreePage {
     }
   }
 
+  int binaryPageSize() {
+    final BTreePageRef[] childRefs = this.childRefs;
+    final int n = childRefs.length;
+    final Value[] knotKeys = this.knotKeys;
+    int pageSize = BinaryPage.sizeOfPageHead(n > 0 ? 2 * n : 1);
+    pageSize += BinaryPage.sizeOfItem(toHeader().head());
+    for (int i = 0; i < n; i += 1) {
+      if (i > 0) {
+        pageSize += BinaryPage.sizeOfItem(Record.create(1).attr("knot", Record.create(1).slot("key", knotKeys[i - 1])));
+      }
+      pageSize += BinaryPage.sizeOfItem(childRefs[i].toValue());
+    }
+    return pageSize;
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    final BTreePageRef[] childRefs = this.childRefs;
+    final int n = childRefs.length;
+    final Value[] knotKeys = this.knotKeys;
+    BinaryPage.writePageHead(n > 0 ? 2 * n : 1, output);
+    BinaryPage.writeItem(toHeader().head(), output);
+    for (int i = 0; i < n; i += 1) {
+      if (i > 0) {
+        BinaryPage.writeItem(Record.create(1).attr("knot", Record.create(1).slot("key", knotKeys[i - 1])), output);
+      }
+      BinaryPage.writeItem(childRefs[i].toValue(), output);
+    }
+  }
+
   @Override
   public void writeDiff(Output<?> output) {
     final BTreePageRef[] childRefs = this.childRefs;
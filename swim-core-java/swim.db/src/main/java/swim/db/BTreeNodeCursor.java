@@ -128,7 +128,7 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
           final BTreePageRef childRef = childRefs[childIndex];
           final long childSpan = childRef.span();
           this.childIndex = childIndex + 1;
-          if (childSpan < count) {
+          if (count < childSpan) {
             this.childCursor = childCursor(childRef);
             if (count > 0L) {
               this.index += count;
@@ -0,0 +1,696 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import swim.codec.Output;
+import swim.codec.Unicode;
+import swim.concurrent.Cont;
+import swim.concurrent.Conts;
+import swim.recon.Recon;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Value;
+import swim.util.CombinerFunction;
+import swim.util.OrderedMapCursor;
+
+/**
+ * B-tree leaf page whose keys are all signed integer {@link Num}s, packed
+ * into a sorted {@code long[]} array alongside an array of values, in place
+ * of the {@link Slot} array of a {@link BTreeLeaf}.  Packing saves the slot
+ * and boxed key of every entry, and searches the leaf by primitive
+ * comparison.  Slots are materialized on access.  Leaves are packed
+ * automatically when loaded, or when first inserted into, with integer keys,
+ * and revert to {@code BTreeLeaf}s when updated with any other key.  The
+ * serialized form of a packed leaf is the same as that of a {@code
+ * BTreeLeaf}.
+ */
+public final class BTreeNumLeaf extends BTreePage {
+
+  final BTreePageRef pageRef;
+  final long version;
+  final long[] keys;
+  final Value[] values;
+
+  protected BTreeNumLeaf(BTreePageRef pageRef, long version, long[] keys, Value[] values) {
+    this.pageRef = pageRef;
+    this.version = version;
+    this.keys = keys;
+    this.values = values;
+  }
+
+  public static BTreeNumLeaf create(PageContext context, int stem, long version,
+                                    int zone, long base, Value fold, long[] keys, Value[] values) {
+    final BTreePageRef pageRef = new BTreePageRef(context, PageType.LEAF, stem, zone,
+        zone, base, keys.length, fold);
+    final BTreeNumLeaf page = new BTreeNumLeaf(pageRef, version, keys, values);
+    pageRef.page = page;
+    return page;
+  }
+
+  public static BTreeNumLeaf create(PageContext context, int stem, long version,
+                                    Value fold, long[] keys, Value[] values) {
+    return create(context, stem, version, 0, 0L, fold, keys, values);
+  }
+
+  /**
+   * Returns {@code true} if {@code key} is a signed integer {@code Num},
+   * which materializes back to an equivalent {@code Num} when unpacked.
+   */
+  public static boolean isPackable(Value key) {
+    if (key instanceof Num) {
+      final Num num = (Num) key;
+      final Number number = num.numberValue();
+      return (number instanceof Integer || number instanceof Long) && !num.isUint32() && !num.isUint64();
+    }
+    return false;
+  }
+
+  /**
+   * Returns {@code true} if the serialized leaf {@code value} is non-empty,
+   * and has only packable keys.
+   */
+  public static boolean isPackable(Record value) {
+    final int n = value.size();
+    if (n <= 1) {
+      return false;
+    }
+    for (int i = 1; i < n; i += 1) {
+      final Item item = value.getItem(i);
+      if (!(item instanceof Slot) || !isPackable(((Slot) item).key())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static BTreeNumLeaf fromValue(BTreePageRef pageRef, Value value) {
+    Throwable cause = null;
+    try {
+      final Value header = value.header("bleaf");
+      final long version = header.get("v").longValue();
+      final Record record = (Record) value;
+      final int n = record.size() - 1;
+      final long[] keys = new long[n];
+      final Value[] values = new Value[n];
+      for (int i = 0; i < n; i += 1) {
+        final Slot slot = (Slot) record.getItem(i + 1);
+        keys[i] = slot.key().longValue();
+        values[i] = slot.value();
+      }
+      return new BTreeNumLeaf(pageRef, version, keys, values);
+    } catch (Throwable error) {
+      if (Conts.isNonFatal(error)) {
+        cause = error;
+      } else {
+        throw error;
+      }
+    }
+    final Output<String> message = Unicode.stringOutput("Malformed bleaf: ");
+    Recon.write(value, message);
+    throw new StoreException(message.bind(), cause);
+  }
+
+  static Num unpackKey(long key) {
+    if ((int) key == key) {
+      return Num.from((int) key);
+    } else {
+      return Num.from(key);
+    }
+  }
+
+  @Override
+  public boolean isLeaf() {
+    return true;
+  }
+
+  @Override
+  public BTreePageRef pageRef() {
+    return this.pageRef;
+  }
+
+  @Override
+  public PageType pageType() {
+    return PageType.LEAF;
+  }
+
+  @Override
+  public long version() {
+    return this.version;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.keys.length == 0;
+  }
+
+  @Override
+  public int arity() {
+    return this.keys.length;
+  }
+
+  @Override
+  public int childCount() {
+    return 0;
+  }
+
+  @Override
+  public BTreePageRef getChildRef(int index) {
+    throw new IndexOutOfBoundsException(Integer.toString(index));
+  }
+
+  @Override
+  public BTreePage getChild(int index) {
+    throw new IndexOutOfBoundsException(Integer.toString(index));
+  }
+
+  @Override
+  public Slot getSlot(int x) {
+    return Slot.of(unpackKey(this.keys[x]), this.values[x]).commit();
+  }
+
+  @Override
+  public Value getKey(int x) {
+    return unpackKey(this.keys[x]);
+  }
+
+  @Override
+  public Value minKey() {
+    return unpackKey(this.keys[0]);
+  }
+
+  @Override
+  public Value maxKey() {
+    return unpackKey(this.keys[this.keys.length - 1]);
+  }
+
+  int lookup(Value key) {
+    final long[] keys = this.keys;
+    int low = 0;
+    int high = keys.length - 1;
+    if (key instanceof Num && ((Num) key).isValidLong()) {
+      final long k = key.longValue();
+      while (low <= high) {
+        final int x = (low + high) >>> 1;
+        final long y = keys[x];
+        if (k > y) {
+          low = x + 1;
+        } else if (k < y) {
+          high = x - 1;
+        } else {
+          return x;
+        }
+      }
+    } else {
+      // Fractional, oversized, and non-numeric keys compare by value order.
+      while (low <= high) {
+        final int x = (low + high) >>> 1;
+        final int order = key.compareTo(unpackKey(keys[x]));
+        if (order > 0) {
+          low = x + 1;
+        } else if (order < 0) {
+          high = x - 1;
+        } else {
+          return x;
+        }
+      }
+    }
+    return -(low + 1);
+  }
+
+  @Override
+  public long indexOf(Value key) {
+    return (long) lookup(key);
+  }
+
+  @Override
+  public boolean containsKey(Value key) {
+    return lookup(key) >= 0;
+  }
+
+  @Override
+  public boolean containsValue(Value value) {
+    final Value[] values = this.values;
+    for (int i = 0, n = values.length; i < n; i += 1) {
+      if (value.equals(values[i])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Value get(Value key) {
+    final int x = lookup(key);
+    if (x >= 0) {
+      return this.values[x];
+    } else {
+      return Value.absent();
+    }
+  }
+
+  @Override
+  public Slot getEntry(Value key) {
+    final int x = lookup(key);
+    if (x >= 0) {
+      return getSlot(x);
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public Slot getIndex(long index) {
+    if (0L <= index && index < this.keys.length) {
+      return getSlot((int) index);
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public Slot firstEntry(Value key) {
+    int x = lookup(key);
+    if (x < 0) {
+      x = -(x + 1);
+    }
+    if (0 <= x && x < this.keys.length) {
+      return getSlot(x);
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public Slot firstEntry() {
+    if (this.keys.length != 0) {
+      return getSlot(0);
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public Slot lastEntry() {
+    if (this.keys.length != 0) {
+      return getSlot(this.keys.length - 1);
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public Slot nextEntry(Value key) {
+    int x = lookup(key);
+    if (x >= 0) {
+      x += 1;
+    } else {
+      x = -(x + 1);
+    }
+    if (0 <= x && x < this.keys.length) {
+      return getSlot(x);
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public Slot previousEntry(Value key) {
+    int x = lookup(key);
+    if (x >= 0) {
+      x -= 1;
+    } else {
+      x = -(x + 2);
+    }
+    if (0 <= x && x < this.keys.length) {
+      return getSlot(x);
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public BTreePage updated(Value key, Value newValue, long newVersion) {
+    int x = lookup(key);
+    if (x >= 0) {
+      return updatedSlot(x, newValue, newVersion);
+    } else if (isPackable(key)) {
+      x = -(x + 1);
+      return insertedSlot(x, key.longValue(), newValue, newVersion);
+    } else {
+      return unpacked(newVersion).updated(key, newValue, newVersion);
+    }
+  }
+
+  BTreeNumLeaf updatedSlot(int x, Value newValue, long newVersion) {
+    final Value[] oldValues = this.values;
+    if (!newValue.equals(oldValues[x])) {
+      final int n = oldValues.length;
+      final Value[] newValues = new Value[n];
+      System.arraycopy(oldValues, 0, newValues, 0, n);
+      newValues[x] = newValue.commit();
+      return create(this.pageRef.context, this.pageRef.stem, newVersion, Value.absent(), this.keys, newValues);
+    } else {
+      return this;
+    }
+  }
+
+  BTreeNumLeaf insertedSlot(int x, long key, Value newValue, long newVersion) {
+    final long[] oldKeys = this.keys;
+    final Value[] oldValues = this.values;
+    final int n = oldKeys.length + 1;
+    final long[] newKeys = new long[n];
+    final Value[] newValues = new Value[n];
+    System.arraycopy(oldKeys, 0, newKeys, 0, x);
+    System.arraycopy(oldValues, 0, newValues, 0, x);
+    newKeys[x] = key;
+    newValues[x] = newValue.commit();
+    System.arraycopy(oldKeys, x, newKeys, x + 1, n - (x + 1));
+    System.arraycopy(oldValues, x, newValues, x + 1, n - (x + 1));
+    return create(this.pageRef.context, this.pageRef.stem, newVersion, Value.absent(), newKeys, newValues);
+  }
+
+  /**
+   * Returns a {@code BTreeLeaf} with the same entries as this leaf, to
+   * accommodate a key that can't be packed.
+   */
+  BTreeLeaf unpacked(long newVersion) {
+    final int n = this.keys.length;
+    final Slot[] slots = new Slot[n];
+    for (int i = 0; i < n; i += 1) {
+      slots[i] = getSlot(i);
+    }
+    return BTreeLeaf.create(this.pageRef.context, this.pageRef.stem, newVersion, Value.absent(), slots);
+  }
+
+  @Override
+  public BTreePage removed(Value key, long newVersion) {
+    final int x = lookup(key);
+    if (x >= 0) {
+      if (this.keys.length > 1) {
+        return removedSlot(x, newVersion);
+      } else {
+        return BTreeLeaf.empty(this.pageRef.context, this.pageRef.stem, newVersion);
+      }
+    } else {
+      return this;
+    }
+  }
+
+  BTreeNumLeaf removedSlot(int x, long newVersion) {
+    final long[] oldKeys = this.keys;
+    final Value[] oldValues = this.values;
+    final int n = oldKeys.length - 1;
+    final long[] newKeys = new long[n];
+    final Value[] newValues = new Value[n];
+    System.arraycopy(oldKeys, 0, newKeys, 0, x);
+    System.arraycopy(oldValues, 0, newValues, 0, x);
+    System.arraycopy(oldKeys, x + 1, newKeys, x, n - x);
+    System.arraycopy(oldValues, x + 1, newValues, x, n - x);
+    return create(this.pageRef.context, this.pageRef.stem, newVersion, Value.absent(), newKeys, newValues);
+  }
+
+  @Override
+  public BTreePage drop(long lower, long newVersion) {
+    if (lower > 0L) {
+      final int k = this.keys.length;
+      if (lower < k) {
+        return slice((int) lower, k, newVersion);
+      } else {
+        return BTreeLeaf.empty(this.pageRef.context, this.pageRef.stem, newVersion);
+      }
+    } else {
+      return this;
+    }
+  }
+
+  @Override
+  public BTreePage take(long upper, long newVersion) {
+    if (upper < this.keys.length) {
+      if (upper > 0L) {
+        return slice(0, (int) upper, newVersion);
+      } else {
+        return BTreeLeaf.empty(this.pageRef.context, this.pageRef.stem, newVersion);
+      }
+    } else {
+      return this;
+    }
+  }
+
+  BTreeNumLeaf slice(int lower, int upper, long newVersion) {
+    final int n = upper - lower;
+    final long[] newKeys = new long[n];
+    final Value[] newValues = new Value[n];
+    System.arraycopy(this.keys, lower, newKeys, 0, n);
+    System.arraycopy(this.values, lower, newValues, 0, n);
+    return create(this.pageRef.context, this.pageRef.stem, newVersion, Value.absent(), newKeys, newValues);
+  }
+
+  @Override
+  public BTreePage balanced(long newVersion) {
+    final int n = this.keys.length;
+    if (n > 1 && this.pageRef.context.pageShouldSplit(this)) {
+      final int x = n >>> 1;
+      return split(x, newVersion);
+    } else {
+      return this;
+    }
+  }
+
+  @Override
+  public BTreeNode split(int x, long newVersion) {
+    final BTreePageRef[] newChildRefs = new BTreePageRef[2];
+    final BTreeNumLeaf newLeftPage = splitLeft(x, newVersion);
+    final BTreeNumLeaf newRightPage = splitRight(x, newVersion);
+    newChildRefs[0] = newLeftPage.pageRef();
+    newChildRefs[1] = newRightPage.pageRef();
+
+    final Value[] newKnotKeys = new Value[1];
+    newKnotKeys[0] = newRightPage.minKey();
+
+    return BTreeNode.create(this.pageRef.context, this.pageRef.stem, newVersion,
+        this.keys.length, Value.absent(), newChildRefs, newKnotKeys);
+  }
+
+  @Override
+  public BTreeNumLeaf splitLeft(int x, long newVersion) {
+    return slice(0, x, newVersion);
+  }
+
+  @Override
+  public BTreeNumLeaf splitRight(int x, long newVersion) {
+    return slice(x, this.keys.length, newVersion);
+  }
+
+  @Override
+  public int pageSize() {
+    return this.pageRef.pageSize();
+  }
+
+  @Override
+  public int diffSize() {
+    return this.pageRef.diffSize();
+  }
+
+  @Override
+  public long treeSize() {
+    return this.pageRef.treeSize();
+  }
+
+  @Override
+  void memoizeSize(BTreePageRef pageRef) {
+    if (pageRef.settings().pageFormat().isBinary()) {
+      memoizeBinarySize(pageRef);
+    } else {
+      memoizeReconSize(pageRef);
+    }
+  }
+
+  void memoizeReconSize(BTreePageRef pageRef) {
+    int pageSize = 12; // "@bleaf(stem:"
+    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+    pageSize += 3; // ",v:"
+    pageSize += Recon.sizeOf(Num.from(this.version));
+    pageSize += 1; // ')'
+
+    final int n = this.keys.length;
+    if (n > 0) {
+      pageSize += 1; // '{'
+      pageSize += Recon.sizeOf(getSlot(0));
+      for (int i = 1; i < n; i += 1) {
+        pageSize += 1; // ','
+        pageSize += Recon.sizeOf(getSlot(i));
+      }
+      pageSize += 1; // '}'
+    }
+
+    pageSize += 1; // '\n'
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = pageSize;
+  }
+
+  void memoizeBinarySize(BTreePageRef pageRef) {
+    final int pageSize = binaryPageSize();
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = pageSize;
+  }
+
+  @Override
+  public Value toHeader() {
+    final Record header = Record.create(2)
+        .slot("stem", this.pageRef.stem)
+        .slot("v", this.version);
+    return Record.create(1).attr("bleaf", header);
+  }
+
+  @Override
+  public Value toValue() {
+    final Record record = (Record) toHeader();
+    for (int i = 0, n = this.keys.length; i < n; i += 1) {
+      record.add(getSlot(i));
+    }
+    return record;
+  }
+
+  @Override
+  public BTreeNumLeaf reduced(Value identity, CombinerFunction<? super Value, Value> accumulator,
+                              CombinerFunction<Value, Value> combiner, long newVersion) {
+    final Value[] values = this.values;
+    Value fold = identity;
+    for (int i = 0, n = values.length; i < n; i += 1) {
+      fold = accumulator.combine(fold, values[i]);
+    }
+    return create(this.pageRef.context, this.pageRef.stem, newVersion, fold, this.keys, values);
+  }
+
+  @Override
+  public BTreeNumLeaf evacuated(int post, long version) {
+    final int oldPost = this.pageRef.post;
+    if (oldPost != 0 && oldPost < post) {
+      return create(this.pageRef.context, this.pageRef.stem, version, this.pageRef.fold, this.keys, this.values);
+    } else {
+      return this;
+    }
+  }
+
+  @Override
+  public BTreeNumLeaf committed(int zone, long base, long version) {
+    return create(this.pageRef.context, this.pageRef.stem, version, zone, base,
+        this.pageRef.fold, this.keys, this.values);
+  }
+
+  @Override
+  public BTreeNumLeaf uncommitted(long version) {
+    return create(this.pageRef.context, this.pageRef.stem, version, this.pageRef.fold, this.keys, this.values);
+  }
+
+  @Override
+  public void writePage(Output<?> output) {
+    if (this.pageRef.settings().pageFormat().isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      Recon.write(toHeader(), output);
+      writePageContent(output);
+      output.write('\n');
+    }
+  }
+
+  void writePageContent(Output<?> output) {
+    final int n = this.keys.length;
+    if (n > 0) {
+      output.write('{');
+      Recon.write(getSlot(0), output);
+      for (int i = 1; i < n; i += 1) {
+        output.write(',');
+        Recon.write(getSlot(i), output);
+      }
+      output.write('}');
+    }
+  }
+
+  int binaryPageSize() {
+    final int n = this.keys.length;
+    int pageSize = BinaryPage.sizeOfPageHead(n + 1);
+    pageSize += BinaryPage.sizeOfItem(toHeader().head());
+    for (int i = 0; i < n; i += 1) {
+      pageSize += BinaryPage.sizeOfItem(getSlot(i));
+    }
+    return pageSize;
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    final int n = this.keys.length;
+    BinaryPage.writePageHead(n + 1, output);
+    BinaryPage.writeItem(toHeader().head(), output);
+    for (int i = 0; i < n; i += 1) {
+      BinaryPage.writeItem(getSlot(i), output);
+    }
+  }
+
+  @Override
+  public void writeDiff(Output<?> output) {
+    writePage(output);
+  }
+
+  @Override
+  public void loadTreeAsync(PageLoader pageLoader, Cont<Page> cont) {
+    try {
+      // Call continuation on fresh stack
+      this.pageRef.context.stage().execute(Conts.async(cont, this));
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        cont.trap(cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
+  @Override
+  public void soften(long version) {
+    // nop
+  }
+
+  @Override
+  public OrderedMapCursor<Value, Value> cursor() {
+    return new BTreeNumLeafCursor(this, 0, this.keys.length);
+  }
+
+  @Override
+  public OrderedMapCursor<Value, Value> depthCursor(int maxDepth) {
+    return cursor();
+  }
+
+  @Override
+  public OrderedMapCursor<Value, Value> deltaCursor(long sinceVersion) {
+    if (sinceVersion <= version) {
+      return cursor();
+    } else {
+      return new BTreeNumLeafCursor(this, 0, 0);
+    }
+  }
+
+  @Override
+  public String toString() {
+    final Output<String> output = Unicode.stringOutput(pageSize() - 1); // ignore trailing '\n'
+    Recon.write(toHeader(), output);
+    writePageContent(output);
+    return output.bind();
+  }
+
+}
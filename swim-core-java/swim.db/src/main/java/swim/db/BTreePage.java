@@ -14,6 +14,7 @@
 
 package swim.db;
 
+import swim.structure.Record;
 import swim.structure.Slot;
 import swim.structure.Value;
 import swim.util.CombinerFunction;
@@ -28,6 +29,9 @@ public abstract class BTreePage extends Page {
   public static BTreePage fromValue(BTreePageRef pageRef, Value value) {
     switch (pageRef.pageType()) {
       case LEAF:
+        if (value instanceof Record && BTreeNumLeaf.isPackable((Record) value)) {
+          return BTreeNumLeaf.fromValue(pageRef, value);
+        }
         return BTreeLeaf.fromValue(pageRef, value);
       case NODE:
         return BTreeNode.fromValue(pageRef, value);
@@ -0,0 +1,381 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import swim.codec.Output;
+import swim.codec.Utf8;
+import swim.recon.Recon;
+import swim.structure.Absent;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Extant;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+
+// Binary page layout: MAGIC byte, varint item count, then tagged,
+// length-prefixed items. MAGIC can never begin a Recon page.
+final class BinaryPage {
+
+  static final int MAGIC = 0xB5;
+
+  static final int ABSENT = 0x00;
+  static final int EXTANT = 0x01;
+  static final int FALSE = 0x02;
+  static final int TRUE = 0x03;
+  static final int INT32 = 0x04;
+  static final int INT64 = 0x05;
+  static final int UINT32 = 0x06;
+  static final int UINT64 = 0x07;
+  static final int FLOAT32 = 0x08;
+  static final int FLOAT64 = 0x09;
+  static final int BIGINT = 0x0A;
+  static final int TEXT = 0x0B;
+  static final int DATA = 0x0C;
+  static final int RECORD = 0x0D;
+  static final int ATTR = 0x0E;
+  static final int SLOT = 0x0F;
+  static final int RECON = 0x10;
+
+  static final Charset UTF8 = Charset.forName("UTF-8");
+
+  private BinaryPage() {
+    // static
+  }
+
+  static boolean isBinary(ByteBuffer buffer) {
+    return buffer.remaining() > 0 && (buffer.get(buffer.position()) & 0xff) == MAGIC;
+  }
+
+  static int sizeOfPage(Record page) {
+    final int n = page.size();
+    int size = sizeOfPageHead(n);
+    for (int i = 0; i < n; i += 1) {
+      size += sizeOfItem(page.get(i));
+    }
+    return size;
+  }
+
+  static void writePage(Record page, Output<?> output) {
+    final int n = page.size();
+    writePageHead(n, output);
+    for (int i = 0; i < n; i += 1) {
+      writeItem(page.get(i), output);
+    }
+  }
+
+  static int sizeOfPageHead(int itemCount) {
+    return 1 + sizeOfVarint(itemCount);
+  }
+
+  static void writePageHead(int itemCount, Output<?> output) {
+    output.write(MAGIC);
+    writeVarint(itemCount, output);
+  }
+
+  static Value readPage(ByteBuffer buffer) {
+    if ((buffer.get() & 0xff) != MAGIC) {
+      throw new StoreException("not a binary page");
+    }
+    final int n = (int) readVarint(buffer);
+    final Record page = Record.create(n);
+    for (int i = 0; i < n; i += 1) {
+      page.add(readItem(buffer));
+    }
+    return page;
+  }
+
+  static int sizeOfItem(Item item) {
+    if (item instanceof Attr) {
+      final String key = ((Attr) item).key().stringValue();
+      final int keySize = Utf8.sizeOf(key);
+      return 1 + sizeOfVarint(keySize) + keySize + sizeOfItem(((Attr) item).value());
+    } else if (item instanceof Slot) {
+      return 1 + sizeOfItem(((Slot) item).key()) + sizeOfItem(((Slot) item).value());
+    } else if (item instanceof Record) {
+      final Record record = (Record) item;
+      final int n = record.size();
+      int size = 1 + sizeOfVarint(n);
+      for (int i = 0; i < n; i += 1) {
+        size += sizeOfItem(record.get(i));
+      }
+      return size;
+    } else if (item instanceof Text) {
+      final int textSize = Utf8.sizeOf(item.stringValue());
+      return 1 + sizeOfVarint(textSize) + textSize;
+    } else if (item instanceof Num) {
+      return sizeOfNum((Num) item);
+    } else if (item instanceof Bool || item instanceof Absent || item instanceof Extant) {
+      return 1;
+    } else if (item instanceof Data) {
+      final int dataSize = ((Data) item).size();
+      return 1 + sizeOfVarint(dataSize) + dataSize;
+    } else {
+      final int reconSize = Recon.sizeOf(item);
+      return 1 + sizeOfVarint(reconSize) + reconSize;
+    }
+  }
+
+  static int sizeOfNum(Num num) {
+    final Number number = num.numberValue();
+    if (number instanceof Integer) {
+      if (num.isUint32()) {
+        return 1 + sizeOfVarint(num.intValue() & 0xffffffffL);
+      } else {
+        return 1 + sizeOfVarint(zigZag(num.intValue()));
+      }
+    } else if (number instanceof Long) {
+      if (num.isUint64()) {
+        return 1 + sizeOfVarint(num.longValue());
+      } else {
+        return 1 + sizeOfVarint(zigZag(num.longValue()));
+      }
+    } else if (number instanceof Float) {
+      return 5;
+    } else if (number instanceof BigInteger) {
+      final int length = ((BigInteger) number).toByteArray().length;
+      return 1 + sizeOfVarint(length) + length;
+    } else {
+      return 9;
+    }
+  }
+
+  static void writeItem(Item item, Output<?> output) {
+    if (item instanceof Attr) {
+      output.write(ATTR);
+      writeString(((Attr) item).key().stringValue(), output);
+      writeItem(((Attr) item).value(), output);
+    } else if (item instanceof Slot) {
+      output.write(SLOT);
+      writeItem(((Slot) item).key(), output);
+      writeItem(((Slot) item).value(), output);
+    } else if (item instanceof Record) {
+      final Record record = (Record) item;
+      final int n = record.size();
+      output.write(RECORD);
+      writeVarint(n, output);
+      for (int i = 0; i < n; i += 1) {
+        writeItem(record.get(i), output);
+      }
+    } else if (item instanceof Text) {
+      output.write(TEXT);
+      writeString(item.stringValue(), output);
+    } else if (item instanceof Num) {
+      writeNum((Num) item, output);
+    } else if (item instanceof Bool) {
+      output.write(item.booleanValue() ? TRUE : FALSE);
+    } else if (item instanceof Absent) {
+      output.write(ABSENT);
+    } else if (item instanceof Extant) {
+      output.write(EXTANT);
+    } else if (item instanceof Data) {
+      final Data data = (Data) item;
+      final int n = data.size();
+      output.write(DATA);
+      writeVarint(n, output);
+      for (int i = 0; i < n; i += 1) {
+        output.write(data.getByte(i) & 0xff);
+      }
+    } else {
+      output.write(RECON);
+      final String recon = Recon.toString(item);
+      writeString(recon, output);
+    }
+  }
+
+  static void writeNum(Num num, Output<?> output) {
+    final Number number = num.numberValue();
+    if (number instanceof Integer) {
+      if (num.isUint32()) {
+        output.write(UINT32);
+        writeVarint(num.intValue() & 0xffffffffL, output);
+      } else {
+        output.write(INT32);
+        writeVarint(zigZag(num.intValue()), output);
+      }
+    } else if (number instanceof Long) {
+      if (num.isUint64()) {
+        output.write(UINT64);
+        writeVarint(num.longValue(), output);
+      } else {
+        output.write(INT64);
+        writeVarint(zigZag(num.longValue()), output);
+      }
+    } else if (number instanceof Float) {
+      output.write(FLOAT32);
+      writeInt32(Float.floatToIntBits(num.floatValue()), output);
+    } else if (number instanceof BigInteger) {
+      final byte[] bytes = ((BigInteger) number).toByteArray();
+      output.write(BIGINT);
+      writeVarint(bytes.length, output);
+      for (int i = 0; i < bytes.length; i += 1) {
+        output.write(bytes[i] & 0xff);
+      }
+    } else {
+      output.write(FLOAT64);
+      final long bits = Double.doubleToLongBits(num.doubleValue());
+      writeInt32((int) (bits >>> 32), output);
+      writeInt32((int) bits, output);
+    }
+  }
+
+  static Item readItem(ByteBuffer buffer) {
+    final int tag = buffer.get() & 0xff;
+    switch (tag) {
+      case ABSENT:
+        return Value.absent();
+      case EXTANT:
+        return Value.extant();
+      case FALSE:
+        return Bool.from(false);
+      case TRUE:
+        return Bool.from(true);
+      case INT32:
+        return Num.from((int) unZigZag(readVarint(buffer)));
+      case INT64:
+        return Num.from(unZigZag(readVarint(buffer)));
+      case UINT32:
+        return Num.uint32((int) readVarint(buffer));
+      case UINT64:
+        return Num.uint64(readVarint(buffer));
+      case FLOAT32:
+        return Num.from(Float.intBitsToFloat(buffer.getInt()));
+      case FLOAT64:
+        return Num.from(Double.longBitsToDouble(buffer.getLong()));
+      case BIGINT:
+        return Num.from(new BigInteger(readBytes(buffer)));
+      case TEXT:
+        return Text.from(readString(buffer));
+      case DATA:
+        return Data.wrap(readBytes(buffer));
+      case RECORD:
+        final int n = (int) readVarint(buffer);
+        final Record record = Record.create(n);
+        for (int i = 0; i < n; i += 1) {
+          record.add(readItem(buffer));
+        }
+        return record;
+      case ATTR:
+        final Text attrKey = Text.from(readString(buffer));
+        return Attr.of(attrKey, readItem(buffer).toValue());
+      case SLOT:
+        final Value slotKey = readItem(buffer).toValue();
+        return Slot.of(slotKey, readItem(buffer).toValue());
+      case RECON:
+        return Recon.parse(readString(buffer));
+      default:
+        throw new StoreException("unknown binary page item tag: " + tag);
+    }
+  }
+
+  static int sizeOfVarint(long value) {
+    int size = 1;
+    while ((value & ~0x7fL) != 0L) {
+      value >>>= 7;
+      size += 1;
+    }
+    return size;
+  }
+
+  static void writeVarint(long value, Output<?> output) {
+    while ((value & ~0x7fL) != 0L) {
+      output.write(((int) value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    output.write((int) value);
+  }
+
+  static long readVarint(ByteBuffer buffer) {
+    long value = 0L;
+    int shift = 0;
+    int b;
+    do {
+      if (shift > 63) {
+        throw new StoreException("malformed varint");
+      }
+      b = buffer.get() & 0xff;
+      value |= (long) (b & 0x7f) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1L);
+  }
+
+  static void writeInt32(int value, Output<?> output) {
+    output.write((value >>> 24) & 0xff);
+    output.write((value >>> 16) & 0xff);
+    output.write((value >>> 8) & 0xff);
+    output.write(value & 0xff);
+  }
+
+  static void writeString(String string, Output<?> output) {
+    writeVarint(Utf8.sizeOf(string), output);
+    for (int i = 0, n = string.length(); i < n; i = string.offsetByCodePoints(i, 1)) {
+      final int c = string.codePointAt(i);
+      if (c < 0x80) {
+        output.write(c);
+      } else if (c < 0x800) {
+        output.write(0xc0 | (c >>> 6));
+        output.write(0x80 | (c & 0x3f));
+      } else if (c < 0x10000) {
+        output.write(0xe0 | (c >>> 12));
+        output.write(0x80 | ((c >>> 6) & 0x3f));
+        output.write(0x80 | (c & 0x3f));
+      } else {
+        output.write(0xf0 | (c >>> 18));
+        output.write(0x80 | ((c >>> 12) & 0x3f));
+        output.write(0x80 | ((c >>> 6) & 0x3f));
+        output.write(0x80 | (c & 0x3f));
+      }
+    }
+  }
+
+  static String readString(ByteBuffer buffer) {
+    final int size = (int) readVarint(buffer);
+    final String string;
+    if (buffer.hasArray()) {
+      string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), size, UTF8);
+      ((Buffer) buffer).position(buffer.position() + size);
+    } else {
+      final byte[] bytes = new byte[size];
+      buffer.get(bytes);
+      string = new String(bytes, UTF8);
+    }
+    return string;
+  }
+
+  static byte[] readBytes(ByteBuffer buffer) {
+    final int size = (int) readVarint(buffer);
+    final byte[] bytes = new byte[size];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+}
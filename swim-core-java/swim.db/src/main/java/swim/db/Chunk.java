@@ -15,9 +15,13 @@
 package swim.db;
 
 import java.io.IOException;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import swim.codec.Output;
+import swim.codec.Utf8;
 import swim.collections.FingerTrieSeq;
 
 public class Chunk {
@@ -25,18 +29,36 @@ public class Chunk {
   final Database database;
   final Commit commit;
   final int zone;
+  final long base;
+  final long size;
   final Germ germ;
   final FingerTrieSeq<Tree> trees;
-  final ByteBuffer buffer;
-
-  public Chunk(Database database, Commit commit, int zone, Germ germ,
-               FingerTrieSeq<Tree> trees, ByteBuffer buffer) {
+  final BTree seedTree;
+  final BTree metaTree;
+  final long startTime;
+  int pageCount;
+  long latency;
+  int commitCount;
+  long dataSize;
+  long syncLatency;
+
+  public Chunk(Database database, Commit commit, int zone, long base, long size, Germ germ,
+               FingerTrieSeq<Tree> trees, BTree seedTree, BTree metaTree, long startTime) {
     this.database = database;
     this.commit = commit;
     this.zone = zone;
+    this.base = base;
+    this.size = size;
     this.germ = germ;
     this.trees = trees;
-    this.buffer = buffer;
+    this.seedTree = seedTree;
+    this.metaTree = metaTree;
+    this.startTime = startTime;
+    this.pageCount = -1;
+    this.latency = -1L;
+    this.commitCount = 1;
+    this.dataSize = -1L;
+    this.syncLatency = -1L;
   }
 
   public Database database() {
@@ -51,6 +73,10 @@ public class Chunk {
     return this.zone;
   }
 
+  public long base() {
+    return this.base;
+  }
+
   public Germ germ() {
     return this.germ;
   }
@@ -59,16 +85,95 @@ public class Chunk {
     return this.trees;
   }
 
-  public ByteBuffer toByteBuffer() {
-    return this.buffer;
+  public long size() {
+    return this.size;
   }
 
-  public long size() {
-    return this.buffer.capacity();
+  public int pageCount() {
+    int pageCount = this.pageCount;
+    if (pageCount < 0) {
+      final long version = this.germ.version();
+      pageCount = 0;
+      for (Tree tree : this.trees) {
+        pageCount += tree.diffPageCount(version);
+      }
+      pageCount += this.seedTree.diffPageCount(version);
+      pageCount += this.metaTree.diffPageCount(version);
+      this.pageCount = pageCount;
+    }
+    return pageCount;
+  }
+
+  public long latency() {
+    return this.latency;
+  }
+
+  void didWrite() {
+    this.latency = System.nanoTime() - this.startTime;
+  }
+
+  /**
+   * Returns the number of commit requests that were coalesced into this chunk.
+   */
+  public int commitCount() {
+    return this.commitCount;
+  }
+
+  /**
+   * Returns the number of bytes of data pages in this chunk, excluding the
+   * seed and meta pages that locate them.
+   */
+  public long dataSize() {
+    long dataSize = this.dataSize;
+    if (dataSize < 0L) {
+      final long version = this.germ.version();
+      dataSize = 0L;
+      for (Tree tree : this.trees) {
+        dataSize += tree.diffSize(version);
+      }
+      this.dataSize = dataSize;
+    }
+    return dataSize;
+  }
+
+  /**
+   * Returns the number of bytes written to the zone file to commit this
+   * chunk, including both copies of the zone's germ block.
+   */
+  public long writeSize() {
+    return this.size + 2L * (long) Germ.BLOCK_SIZE;
+  }
+
+  /**
+   * Returns the ratio of bytes written to commit this chunk to bytes of data
+   * pages it contains.
+   */
+  public double writeAmplification() {
+    final long dataSize = dataSize();
+    return dataSize != 0L ? (double) writeSize() / (double) dataSize : 0.0;
+  }
+
+  public boolean isSynced() {
+    return this.syncLatency >= 0L;
+  }
+
+  /**
+   * Returns the number of nanoseconds it took to fsync this chunk to disk, or
+   * {@code -1} if the chunk was written without being fsynced.
+   */
+  public long syncLatency() {
+    return this.syncLatency;
+  }
+
+  public ByteBuffer toByteBuffer() {
+    final ByteBuffer buffer = ByteBuffer.allocate((int) this.size);
+    writeDiff(new ChunkOutput(buffer));
+    ((Buffer) buffer).flip();
+    return buffer;
   }
 
   public void write(WritableByteChannel channel) {
-    final ByteBuffer buffer = this.buffer;
+    final ByteBuffer buffer = toByteBuffer();
     int k;
     try {
       do {
@@ -82,6 +187,52 @@ public class Chunk {
     }
   }
 
+  void write(GatheringByteChannel channel, ChunkBufferPool pool) {
+    final ChunkOutput output = new ChunkOutput(channel, pool);
+    try {
+      writeDiff(output);
+      output.flush();
+    } finally {
+      output.close();
+    }
+  }
+
+  void writeDiff(ChunkOutput output) {
+    final long version = this.germ.version();
+    final Output<?> encoder = this.database.settings().pageFormat().isBinary() ? output : Utf8.encodedOutput(output);
+    long step = 0L;
+
+    // Write data pages
+    for (Tree tree : this.trees) {
+      tree.writeDiff(encoder, version);
+      step += tree.diffSize(version);
+      assertStep(output, step);
+    }
+    this.dataSize = step;
+
+    // Write seed pages
+    this.seedTree.writeDiff(encoder, version);
+    step += this.seedTree.diffSize(version);
+    assertStep(output, step);
+
+    // Write meta pages
+    this.metaTree.writeDiff(encoder, version);
+    step += this.metaTree.diffSize(version);
+    assertStep(output, step);
+
+    if (output.offset() != this.size) {
+      throw new StoreException();
+    }
+  }
+
+  void assertStep(ChunkOutput output, long step) {
+    final long skew = output.offset() - step;
+    if (skew != 0L) {
+      throw new StoreException("chunk offset skew: " + skew + "; base: " + this.base
+                             + "; step: " + (this.base + step));
+    }
+  }
+
   public void soften() {
     final long version = this.germ.version();
     for (Tree tree : this.trees) {
@@ -91,7 +242,7 @@ public class Chunk {
 
   @Override
   public String toString() {
-    return new String(this.buffer.array(), Charset.forName("UTF-8"));
+    return new String(toByteBuffer().array(), Charset.forName("UTF-8"));
   }
 
 }
@@ -0,0 +1,60 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+final class ChunkBufferPool {
+
+  final int bufferSize;
+  final AtomicReferenceArray<ByteBuffer> buffers;
+
+  ChunkBufferPool(int bufferSize, int bufferCount) {
+    this.bufferSize = bufferSize;
+    this.buffers = new AtomicReferenceArray<ByteBuffer>(bufferCount);
+  }
+
+  int bufferSize() {
+    return this.bufferSize;
+  }
+
+  int bufferCount() {
+    return this.buffers.length();
+  }
+
+  ByteBuffer acquire() {
+    final AtomicReferenceArray<ByteBuffer> buffers = this.buffers;
+    for (int i = 0, n = buffers.length(); i < n; i += 1) {
+      final ByteBuffer buffer = buffers.getAndSet(i, null);
+      if (buffer != null) {
+        return buffer;
+      }
+    }
+    return ByteBuffer.allocateDirect(this.bufferSize);
+  }
+
+  void release(ByteBuffer buffer) {
+    ((Buffer) buffer).clear();
+    final AtomicReferenceArray<ByteBuffer> buffers = this.buffers;
+    for (int i = 0, n = buffers.length(); i < n; i += 1) {
+      if (buffers.compareAndSet(i, null, buffer)) {
+        return;
+      }
+    }
+  }
+
+}
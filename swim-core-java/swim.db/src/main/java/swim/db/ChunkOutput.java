@@ -0,0 +1,178 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import swim.codec.Output;
+import swim.codec.OutputSettings;
+
+final class ChunkOutput extends Output<Long> {
+
+  final GatheringByteChannel channel;
+  final ChunkBufferPool pool;
+  final ByteBuffer[] buffers;
+  int bufferIndex;
+  long offset;
+  OutputSettings settings;
+
+  ChunkOutput(GatheringByteChannel channel, ChunkBufferPool pool) {
+    this.channel = channel;
+    this.pool = pool;
+    this.buffers = new ByteBuffer[Math.max(1, pool.bufferCount())];
+    this.bufferIndex = -1;
+    this.offset = 0L;
+    this.settings = OutputSettings.standard();
+  }
+
+  ChunkOutput(ByteBuffer buffer) {
+    this.channel = null;
+    this.pool = null;
+    this.buffers = new ByteBuffer[] {buffer};
+    this.bufferIndex = 0;
+    this.offset = 0L;
+    this.settings = OutputSettings.standard();
+  }
+
+  long offset() {
+    return this.offset;
+  }
+
+  @Override
+  public boolean isCont() {
+    return true;
+  }
+
+  @Override
+  public boolean isFull() {
+    return false;
+  }
+
+  @Override
+  public boolean isDone() {
+    return false;
+  }
+
+  @Override
+  public boolean isError() {
+    return false;
+  }
+
+  @Override
+  public boolean isPart() {
+    return false;
+  }
+
+  @Override
+  public Output<Long> isPart(boolean isPart) {
+    return this;
+  }
+
+  @Override
+  public Output<Long> write(int token) {
+    final int bufferIndex = this.bufferIndex;
+    ByteBuffer buffer = bufferIndex >= 0 ? this.buffers[bufferIndex] : null;
+    if (buffer == null || !buffer.hasRemaining()) {
+      buffer = nextBuffer();
+    }
+    buffer.put((byte) token);
+    this.offset += 1L;
+    return this;
+  }
+
+  ByteBuffer nextBuffer() {
+    if (this.channel == null) {
+      throw new StoreException("chunk overflow");
+    }
+    int bufferIndex = this.bufferIndex + 1;
+    if (bufferIndex == this.buffers.length) {
+      flushBuffers();
+      bufferIndex = 0;
+    }
+    ByteBuffer buffer = this.buffers[bufferIndex];
+    if (buffer == null) {
+      buffer = this.pool.acquire();
+      this.buffers[bufferIndex] = buffer;
+    }
+    this.bufferIndex = bufferIndex;
+    return buffer;
+  }
+
+  void flushBuffers() {
+    final ByteBuffer[] buffers = this.buffers;
+    final int count = this.bufferIndex + 1;
+    if (count > 0) {
+      for (int i = 0; i < count; i += 1) {
+        ((Buffer) buffers[i]).flip();
+      }
+      try {
+        long k;
+        do {
+          k = this.channel.write(buffers, 0, count);
+        } while (k > 0L && buffers[count - 1].hasRemaining());
+      } catch (IOException cause) {
+        throw new StoreException(cause);
+      }
+      if (buffers[count - 1].hasRemaining()) {
+        throw new StoreException("wrote incomplete chunk");
+      }
+      for (int i = 0; i < count; i += 1) {
+        ((Buffer) buffers[i]).clear();
+      }
+    }
+    this.bufferIndex = -1;
+  }
+
+  @Override
+  public Output<Long> flush() {
+    if (this.channel != null) {
+      flushBuffers();
+    }
+    return this;
+  }
+
+  void close() {
+    final ChunkBufferPool pool = this.pool;
+    if (pool != null) {
+      final ByteBuffer[] buffers = this.buffers;
+      for (int i = 0; i < buffers.length; i += 1) {
+        final ByteBuffer buffer = buffers[i];
+        if (buffer != null) {
+          buffers[i] = null;
+          pool.release(buffer);
+        }
+      }
+    }
+  }
+
+  @Override
+  public Long bind() {
+    return this.offset;
+  }
+
+  @Override
+  public OutputSettings settings() {
+    return this.settings;
+  }
+
+  @Override
+  public Output<Long> settings(OutputSettings settings) {
+    this.settings = settings;
+    return this;
+  }
+
+}
@@ -15,7 +15,6 @@
 package swim.db;
 
 import java.lang.ref.WeakReference;
-import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -23,10 +22,6 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
-import swim.codec.Binary;
-import swim.codec.Output;
-import swim.codec.OutputBuffer;
-import swim.codec.Utf8;
 import swim.collections.FingerTrieSeq;
 import swim.collections.HashTrieMap;
 import swim.concurrent.Cont;
@@ -47,6 +42,7 @@ public class Database {
   final Store store;
   volatile DatabaseDelegate delegate;
   volatile Germ germ;
+  volatile PageFormat pageFormat;
   volatile int stem;
   volatile int post;
   volatile long version;
@@ -70,12 +66,14 @@ public class Database {
     this.sprouts = HashTrieMap.empty();
 
     final long time = System.currentTimeMillis();
-    this.germ = new Germ(stem, version, time, time, this.seedTrunk.tree.rootRef().toValue());
+    this.pageFormat = store.settings().pageFormat();
+    this.germ = new Germ(stem, version, time, time, this.seedTrunk.tree.rootRef().toValue(), this.pageFormat);
   }
 
   Database(Store store, Germ germ) {
     this.store = store;
     this.germ = germ;
+    this.pageFormat = germ.seedRefValue().isDefined() ? germ.pageFormat() : store.settings().pageFormat();
     this.stem = germ.stem();
     this.version = germ.version() + 1L;
     this.metaTrunk = new Trunk<BTree>(this, Record.create(1).attr("meta"), null);
@@ -114,6 +112,19 @@ public class Database {
     return this.germ;
   }
 
+  /**
+   * Returns the format of every live page in this database, which lags the
+   * configured page format until a compaction has rewritten all pages that
+   * were written in a prior format.
+   */
+  public PageFormat pageFormat() {
+    return this.pageFormat;
+  }
+
+  void didReformat() {
+    this.pageFormat = settings().pageFormat();
+  }
+
   public int stem() {
     return this.stem;
   }
@@ -361,7 +372,7 @@ public class Database {
 
   public void commitAsync(Commit commit) {
     try {
-      if (this.diffSize > 0L) {
+      if (this.diffSize > 0L || commit.isClosed()) { // Closing commits fsync deferred chunks.
         this.store.commitAsync(commit);
       } else {
         commit.bind(null);
@@ -481,11 +492,83 @@ public class Database {
     } while (!quiescent);
   }
 
+  /**
+   * Evacuates at most {@code stepSize} leaf pages, along with their parent
+   * pages, from zones older than {@code post}; returns {@code true} if no
+   * pages remain to be evacuated.  Trees are evacuated one at a time, so that
+   * pages evacuated by successive steps can be committed in between.
+   */
+  public boolean evacuate(int post, int stepSize) {
+    int step = 0;
+
+    // Evacuate data trees
+    final Cursor<Map.Entry<Value, Value>> seedCursor = this.seedTrunk.tree.cursor();
+    while (seedCursor.hasNext()) {
+      final Value name = seedCursor.next().getKey();
+      final Trunk<Tree> trunk = openTrunk(name, null, false, false);
+      do {
+        final long version = this.version;
+        final Tree oldTree = trunk.tree;
+        final int oldPost = oldTree.post();
+        if (oldPost == 0 || oldPost >= post) {
+          break;
+        } else if (step >= stepSize) {
+          return false;
+        }
+        final Tree newTree = oldTree.evacuated(post, version);
+        if (oldTree == newTree) {
+          break;
+        } else if (trunk.updateTree(oldTree, newTree, version)) {
+          step += 1;
+        }
+      } while (true);
+    }
+
+    // Evacuate seed tree
+    do {
+      final long version = this.version;
+      final BTree oldSeedTree = this.seedTrunk.tree;
+      final int oldPost = oldSeedTree.post();
+      if (oldPost == 0 || oldPost >= post) {
+        break;
+      } else if (step >= stepSize) {
+        return false;
+      }
+      final BTree newSeedTree = oldSeedTree.evacuated(post, version);
+      if (oldSeedTree == newSeedTree) {
+        break;
+      } else if (Trunk.TREE.compareAndSet(this.seedTrunk, oldSeedTree, newSeedTree)) {
+        step += 1;
+      }
+    } while (true);
+
+    // Evacuate meta tree
+    do {
+      final long version = this.version;
+      final BTree oldMetaTree = this.metaTrunk.tree;
+      final int oldPost = oldMetaTree.post();
+      if (oldPost == 0 || oldPost >= post) {
+        break;
+      } else if (step >= stepSize) {
+        return false;
+      }
+      final BTree newMetaTree = oldMetaTree.evacuated(post, version);
+      if (oldMetaTree == newMetaTree) {
+        break;
+      } else if (Trunk.TREE.compareAndSet(this.metaTrunk, oldMetaTree, newMetaTree)) {
+        step += 1;
+      }
+    } while (true);
+
+    return true;
+  }
+
   public void shiftZone() {
     this.store.shiftZone();
   }
 
   public Chunk commitChunk(Commit commit, int zone, long base) {
+    final long startTime = System.nanoTime();
     DIFF_SIZE.set(this, 0L);
     final long version = VERSION.getAndIncrement(this);
     final long time = System.currentTimeMillis();
@@ -555,48 +638,10 @@ public class Database {
     } while (true);
 
     final FingerTrieSeq<Tree> commits = commitBuilder.bind();
-    final int size = (int) (step - base);
-    final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[size]);
-    final Output<ByteBuffer> encoder = Utf8.encodedOutput(output);
-    step = base;
-
-    // Write data pages
-    for (Tree tree : commits) {
-      tree.writeDiff(encoder, version);
-      step += tree.diffSize(version);
-      assertStep(output, base, step);
-    }
-
-    // Write seed pages
-    seedTree.writeDiff(encoder, version);
-    step += seedTree.diffSize(version);
-    assertStep(output, base, step);
-
-    // Write meta pages
-    metaTree.writeDiff(encoder, version);
-    step += metaTree.diffSize(version);
-    assertStep(output, base, step);
-
-    if (output.index() != size) {
-      throw new StoreException();
-    }
-
     final Germ germ = new Germ(this.stem, version, this.germ.created(), time,
-        seedTree.rootRef().toValue());
+        seedTree.rootRef().toValue(), this.pageFormat);
     this.germ = germ;
-    return new Chunk(this, commit, zone, germ, commits, output.bind());
-  }
-
-  private static void assertStep(OutputBuffer<?> output, long base, long step) {
-    final int skew = output.index() - (int) (step - base);
-    if (skew != 0) {
-      final StoreException error = new StoreException("chunk offset skew: " + skew + "; base: " + base + "; step: " + step);
-      if (skew < 0) {
-        throw error;
-      } else {
-        error.printStackTrace();
-      }
-    }
+    return new Chunk(this, commit, zone, base, step - base, germ, commits, seedTree, metaTree, startTime);
   }
 
   public void uncommit(long version) {
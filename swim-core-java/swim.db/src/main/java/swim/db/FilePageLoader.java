@@ -15,6 +15,7 @@
 package swim.db;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -60,6 +61,13 @@ final class FilePageLoader extends PageLoader {
 
   void loadPageAsync(FileZone zone, PageRef pageRef, Cont<Page> cont) {
     try {
+      if (this.store.settings().mapSealedZones && !FileZone.WINDOWS && zone.isSealed()) {
+        final ByteBuffer mapping = zone.mapping();
+        if (pageRef.base() + pageRef.pageSize() <= mapping.capacity()) {
+          zone.loadPageAsync(null, mapping, pageRef, this.treeDelegate, this.isResident, cont);
+          return;
+        }
+      }
       final Integer zoneId = zone.id;
       FileChannel channel = null;
       do {
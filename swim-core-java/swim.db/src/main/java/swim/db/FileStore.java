@@ -49,6 +49,7 @@ public class FileStore extends Store {
   final String zoneFileExt;
   final Stage stage;
   final HashGenCacheSet<Page> pageCache;
+  final WeightedPageCache weightedPageCache;
   final FileStoreCommitter committer;
   final FileStoreCompactor compactor;
   final Pattern zonePattern;
@@ -69,7 +70,14 @@ public class FileStore extends Store {
       this.zoneFileExt = "swimdb";
     }
     this.stage = stage;
-    this.pageCache = new HashGenCacheSet<Page>(context.settings.pageCacheSize);
+    if (context.settings.pageCacheWeight > 0L) {
+      this.pageCache = null;
+      this.weightedPageCache = new WeightedPageCache(this, context.settings.pageCacheWeight,
+                                                     context.settings.pageSplitSize);
+    } else {
+      this.pageCache = new HashGenCacheSet<Page>(context.settings.pageCacheSize);
+      this.weightedPageCache = null;
+    }
     this.committer = new FileStoreCommitter(this);
     stage.task(this.committer);
     this.compactor = new FileStoreCompactor(this);
@@ -132,10 +140,23 @@ public class FileStore extends Store {
     return this.stage;
   }
 
+  /**
+   * Returns the soft referenced cache of recently used pages, or {@code null}
+   * if this store retains pages in a {@link #weightedPageCache()}.
+   */
   public final HashGenCacheSet<Page> pageCache() {
     return this.pageCache;
   }
 
+  /**
+   * Returns the cache that retains pages up to the configured {@link
+   * StoreSettings#pageCacheWeight()}, or {@code null} if this store retains
+   * pages in a soft referenced {@link #pageCache()}.
+   */
+  public final WeightedPageCache weightedPageCache() {
+    return this.weightedPageCache;
+  }
+
   @Override
   public final long size() {
     long size = 0L;
@@ -323,6 +344,9 @@ public class FileStore extends Store {
       if (oldZones != newZones) {
         if (ZONES.compareAndSet(this, oldZones, newZones)) {
           oldZones.get(zoneId).close();
+          if (this.weightedPageCache != null) {
+            this.weightedPageCache.evictZone(zoneId);
+          }
           break;
         }
       } else {
@@ -341,6 +365,9 @@ public class FileStore extends Store {
           while (zoneIterator.hasNext()) {
             zoneIterator.next().close();
           }
+          if (this.weightedPageCache != null) {
+            this.weightedPageCache.clear();
+          }
           break;
         }
       } else {
@@ -462,7 +489,12 @@ public class FileStore extends Store {
 
   @Override
   void hitPage(Database database, Page page) {
-    this.pageCache.put(page);
+    final WeightedPageCache weightedPageCache = this.weightedPageCache;
+    if (weightedPageCache != null) {
+      weightedPageCache.hitPage(page);
+    } else {
+      this.pageCache.put(page);
+    }
     super.hitPage(database, page);
   }
 
@@ -14,19 +14,33 @@
 
 package swim.db;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.concurrent.AbstractTask;
 import swim.concurrent.Conts;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
 
-final class FileStoreCommitter extends AbstractTask {
+final class FileStoreCommitter extends AbstractTask implements TimerFunction {
 
   static final AtomicReferenceFieldUpdater<FileStoreCommitter, Commit> COMMIT =
       AtomicReferenceFieldUpdater.newUpdater(FileStoreCommitter.class, Commit.class, "commit");
+  static final AtomicIntegerFieldUpdater<FileStoreCommitter> COMMIT_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(FileStoreCommitter.class, "commitCount");
   final FileStore store;
   volatile Commit commit;
+  volatile int commitCount;
+  volatile long commitTime;
+  volatile long chunkLatency;
+  volatile long chunkTime;
+  // Committer thread state
+  FileZone unsyncedZone;
+  long syncTime;
+  TimerRef syncTimer;
 
   FileStoreCommitter(FileStore store) {
     this.store = store;
+    this.syncTime = System.nanoTime();
   }
 
   void commitAsync(Commit commit) {
@@ -37,11 +51,13 @@ final class FileStoreCommitter extends AbstractTask {
         throw new StoreException(cause);
       }
     }
+    COMMIT_COUNT.incrementAndGet(this);
     do {
       final Commit oldCommit = this.commit;
       final Commit newCommit = oldCommit != null ? oldCommit.merged(commit) : commit;
       if (COMMIT.compareAndSet(this, oldCommit, newCommit)) {
         if (oldCommit == null) {
+          this.commitTime = System.nanoTime();
           do {
             final int oldStatus = this.store.status;
             final int newStatus = oldStatus | FileStore.COMMITTING;
@@ -64,37 +80,78 @@ final class FileStoreCommitter extends AbstractTask {
   @Override
   public void runTask() {
     final FileStore store = this.store;
+    final StoreSettings settings = store.settings();
     Database database = null;
+    Commit commit = null;
     try {
       database = store.openDatabase();
-      Commit commit = COMMIT.getAndSet(this, null);
+      if (settings.syncPolicy.isGroup()) {
+        awaitGroup(settings.syncInterval);
+      }
+      commit = COMMIT.getAndSet(this, null);
       if (commit == null) {
+        if (this.unsyncedZone != null) {
+          syncPeriodic(database, settings.syncInterval, false);
+        }
         return;
       }
+      final int commitCount = COMMIT_COUNT.getAndSet(this, 0);
       commit = database.databaseWillCommit(commit);
       if (commit.isShifted()) {
+        if (this.unsyncedZone != null) {
+          syncZone(database); // Don't shift away from unsynced chunks.
+        }
         store.shiftZone();
       }
       final FileZone zone = store.zone;
-      final Chunk chunk = zone.commitAndWriteChunk(commit);
+      final boolean sync;
+      if (settings.syncPolicy.isPeriodic()) {
+        sync = commit.isClosed()
+            || commit.isForced() && System.nanoTime() - this.syncTime >= settings.syncInterval * 1000000L;
+      } else {
+        sync = commit.isForced();
+      }
+      final Chunk chunk;
+      if (database.diffSize() > 0L || !commit.isClosed()) {
+        chunk = zone.commitAndWriteChunk(commit, sync);
+      } else {
+        chunk = null; // Don't create a zone file just to close it.
+      }
+      if (chunk == null && commit.isClosed()) {
+        syncZone(database); // Closing commits always fsync.
+      } else if (chunk != null) {
+        chunk.commitCount = commitCount;
+        this.chunkLatency = chunk.latency;
+        this.chunkTime = System.nanoTime();
+        if (chunk.isSynced()) {
+          didSync(database, zone, chunk.syncLatency);
+        } else if (commit.isForced()) {
+          this.unsyncedZone = zone;
+          syncPeriodic(database, settings.syncInterval, false);
+        }
+      }
       database.databaseDidCommit(chunk);
       if (chunk != null) {
         chunk.soften();
       }
       commit.bind(chunk);
     } catch (InterruptedException cause) {
-      try {
-        database.databaseCommitDidFail(cause);
-      } finally {
-        commit.trap(cause);
-      }
-    } catch (Throwable cause) {
-      if (Conts.isNonFatal(cause)) {
+      if (commit != null) {
         try {
           database.databaseCommitDidFail(cause);
         } finally {
           commit.trap(cause);
         }
+      }
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        if (commit != null) {
+          try {
+            database.databaseCommitDidFail(cause);
+          } finally {
+            commit.trap(cause);
+          }
+        }
       } else {
         throw cause;
       }
@@ -109,4 +166,59 @@ final class FileStoreCommitter extends AbstractTask {
     }
   }
 
+  /**
+   * Waits out the remainder of the group commit window opened by the first
+   * pending commit request, so that requests arriving in the meantime merge
+   * into the same chunk.  Closing commits are written immediately.
+   */
+  void awaitGroup(int syncInterval) throws InterruptedException {
+    final Commit commit = this.commit;
+    if (commit != null && !commit.isClosed()) {
+      final long delay = syncInterval * 1000000L - (System.nanoTime() - this.commitTime);
+      if (delay > 0L) {
+        Thread.sleep(delay / 1000000L, (int) (delay % 1000000L));
+      }
+    }
+  }
+
+  /**
+   * Fsyncs the current zone if the periodic sync interval has elapsed, or if
+   * {@code force} is {@code true}; otherwise schedules a timer to fsync the
+   * zone once the interval has elapsed.
+   */
+  void syncPeriodic(Database database, int syncInterval, boolean force) {
+    final long delay = syncInterval * 1000000L - (System.nanoTime() - this.syncTime);
+    if (force || delay <= 0L) {
+      syncZone(database);
+    } else {
+      final TimerRef syncTimer = this.syncTimer;
+      if (syncTimer == null || !syncTimer.isScheduled()) {
+        this.syncTimer = this.store.stage.setTimer(Math.max(1L, delay / 1000000L), this);
+      }
+    }
+  }
+
+  void syncZone(Database database) {
+    final FileZone zone = this.unsyncedZone;
+    if (zone != null) {
+      didSync(database, zone, zone.sync());
+    }
+  }
+
+  void didSync(Database database, FileZone zone, long syncLatency) {
+    this.unsyncedZone = null;
+    this.syncTime = System.nanoTime();
+    final TimerRef syncTimer = this.syncTimer;
+    if (syncTimer != null) {
+      syncTimer.cancel();
+      this.syncTimer = null;
+    }
+    this.store.databaseDidSync(database, zone, syncLatency);
+  }
+
+  @Override
+  public void runTimer() {
+    cue(); // Fsync unsynced chunks on the committer thread.
+  }
+
 }
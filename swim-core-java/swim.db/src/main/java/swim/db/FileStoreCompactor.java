@@ -15,6 +15,7 @@
 package swim.db;
 
 import java.io.File;
+import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.concurrent.AbstractTask;
@@ -78,37 +79,44 @@ final class FileStoreCompactor extends AbstractTask {
       if (!compact.isShifted() && store.zoneFiles().size() == 1) {
         compact = compact.isShifted(true); // Always shift if single zone.
       }
+      final int oldZoneId = store.zone.id;
       database.commit(compact.commit()); // Shift zone and commit before compacting.
       if (compact.isShifted()) {
+        if (store.zone.id == oldZoneId) {
+          store.shiftZone(); // Nothing was committed; shift anyway so that every page is evacuated.
+        }
         compact = compact.isShifted(false); // Don't shift zone during subsequent commits.
       }
 
       final int post = store.zone.id;
       final TreeMap<Integer, File> zoneFiles = store.zoneFiles();
-      if (zoneFiles.containsKey(post)) {
-        zoneFiles.remove(post);
-
+      if (zoneFiles.remove(post) != null || post != oldZoneId) { // Shifted zone files are created on first write.
         if (!zoneFiles.isEmpty() && zoneFiles.firstKey() < post) {
-          Database.POST.set(database, post); // Set evacuation goal post.
+          if (store.settings().compactStepSize > 0) {
+            evacuateIncrementally(database, compact, post, zoneFiles);
+          } else {
+            Database.POST.set(database, post); // Set evacuation goal post.
 
-          database.evacuate(post);
-          database.commit(compact.commit());
-
-          final int deleteDelay = compact.deleteDelay;
-          if (deleteDelay > 0) {
-            Thread.sleep((long) deleteDelay);
-          }
+            database.evacuate(post);
+            database.didReformat(); // All live pages are now rewritten in the configured format.
+            database.commit(compact.commit());
 
-          while (!zoneFiles.isEmpty()) {
-            final int oldestZone = zoneFiles.firstKey();
-            if (oldestZone >= post) {
-              break; // Make sure not to delete live zones.
+            final int deleteDelay = compact.deleteDelay;
+            if (deleteDelay > 0) {
+              Thread.sleep((long) deleteDelay);
             }
-            final boolean deleted = zoneFiles.get(oldestZone).delete();
-            zoneFiles.remove(oldestZone);
-            store.closeZone(oldestZone);
-            if (deleted) {
-              store.context.databaseDidDeleteZone(store, database, oldestZone);
+
+            while (!zoneFiles.isEmpty()) {
+              final int oldestZone = zoneFiles.firstKey();
+              if (oldestZone >= post) {
+                break; // Make sure not to delete live zones.
+              }
+              final boolean deleted = zoneFiles.get(oldestZone).delete();
+              zoneFiles.remove(oldestZone);
+              store.closeZone(oldestZone);
+              if (deleted) {
+                store.context.databaseDidDeleteZone(store, database, oldestZone);
+              }
             }
           }
         }
@@ -146,4 +154,95 @@ final class FileStoreCompactor extends AbstractTask {
     }
   }
 
+  /**
+   * Evacuates zones older than {@code post} one at a time, oldest first, in
+   * steps of at most {@code compactStepSize} leaf pages, committing after
+   * each step.  Steps are throttled to {@code compactRate} bytes per second,
+   * and paused while commit latency exceeds {@code compactPauseLatency}.
+   * Each evacuated zone is deleted once its delete delay has elapsed, so
+   * that disk space is reclaimed while later zones are still evacuating.
+   */
+  void evacuateIncrementally(Database database, Compact compact, int post,
+                             TreeMap<Integer, File> zoneFiles) throws InterruptedException {
+    final FileStore store = this.store;
+    final StoreSettings settings = store.settings();
+    final TreeMap<Integer, Long> evacuatedZones = new TreeMap<Integer, Long>();
+    Integer zone = zoneFiles.firstKey();
+    while (zone != null && zone < post) {
+      final int goal = zone + 1;
+      final Integer nextZone = zoneFiles.higherKey(zone);
+      final boolean lastZone = nextZone == null || nextZone >= post;
+      Database.POST.set(database, goal); // Set evacuation goal post.
+      boolean evacuated;
+      do {
+        final long stepTime = System.nanoTime();
+        evacuated = database.evacuate(goal, settings.compactStepSize);
+        if (evacuated && lastZone) {
+          database.didReformat(); // All live pages are now rewritten in the configured format.
+        }
+        final Chunk chunk = database.commit(compact.commit());
+        final long writeSize = chunk != null ? chunk.writeSize() : 0L;
+        final long reclaimableSize = Math.max(0L, store.size() - database.treeSize());
+        store.context.databaseCompactDidProgress(store, database, zone, writeSize, reclaimableSize);
+        throttle(stepTime, writeSize, settings.compactRate);
+        awaitCommitLatency(settings.compactPauseLatency);
+        deleteZones(database, zoneFiles, evacuatedZones, compact.deleteDelay, false);
+      } while (!evacuated);
+      evacuatedZones.put(zone, System.nanoTime());
+      zone = zoneFiles.higherKey(zone);
+    }
+    deleteZones(database, zoneFiles, evacuatedZones, compact.deleteDelay, true);
+  }
+
+  void throttle(long stepTime, long writeSize, long compactRate) throws InterruptedException {
+    if (compactRate > 0L) {
+      final long delay = writeSize * 1000000000L / compactRate - (System.nanoTime() - stepTime);
+      if (delay > 0L) {
+        Thread.sleep(delay / 1000000L, (int) (delay % 1000000L));
+      }
+    }
+  }
+
+  /**
+   * Backs off while the most recently written chunk took longer than {@code
+   * pauseLatency} milliseconds to commit, doubling the pause, up to one
+   * second, for as long as slow commits keep completing.
+   */
+  void awaitCommitLatency(int pauseLatency) throws InterruptedException {
+    if (pauseLatency > 0) {
+      final FileStoreCommitter committer = this.store.committer;
+      long pause = (long) pauseLatency;
+      while (committer.chunkLatency > pauseLatency * 1000000L) {
+        Thread.sleep(pause);
+        if (System.nanoTime() - committer.chunkTime > pause * 1000000L) {
+          break; // No commits completed while paused.
+        }
+        pause = Math.min(pause << 1, 1000L);
+      }
+    }
+  }
+
+  void deleteZones(Database database, TreeMap<Integer, File> zoneFiles,
+                   TreeMap<Integer, Long> evacuatedZones, int deleteDelay,
+                   boolean await) throws InterruptedException {
+    final FileStore store = this.store;
+    while (!evacuatedZones.isEmpty()) {
+      final Map.Entry<Integer, Long> evacuatedZone = evacuatedZones.firstEntry();
+      final long delay = deleteDelay * 1000000L - (System.nanoTime() - evacuatedZone.getValue());
+      if (delay > 0L) {
+        if (!await) {
+          break;
+        }
+        Thread.sleep(delay / 1000000L, (int) (delay % 1000000L));
+      }
+      final int zone = evacuatedZone.getKey();
+      evacuatedZones.remove(zone);
+      final boolean deleted = zoneFiles.remove(zone).delete();
+      store.closeZone(zone);
+      if (deleted) {
+        store.context.databaseDidDeleteZone(store, database, zone);
+      }
+    }
+  }
+
 }
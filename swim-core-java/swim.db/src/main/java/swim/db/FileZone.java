@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.util.concurrent.ForkJoinPool;
@@ -54,6 +55,7 @@ public class FileZone extends Zone {
   volatile Germ germ;
   volatile long size;
   volatile int status;
+  volatile MappedByteBuffer mapping;
 
   public FileZone(Store store, int id, File file, Stage stage, Database database, Germ germ) {
     if (database == null || germ == null) {
@@ -171,7 +173,33 @@ public class FileZone extends Zone {
 
   @Override
   public void close() {
-    // nop
+    this.mapping = null; // Let the GC release the mapping.
+  }
+
+  public final boolean isSealed() {
+    return this.store.zone() != this;
+  }
+
+  /**
+   * Returns a read-only mapping of this zone file.  A buffer can address at
+   * most {@code Integer.MAX_VALUE} bytes, so only that prefix of larger zones
+   * is mapped; pages past the end of the mapping are read from the channel.
+   */
+  MappedByteBuffer mapping() throws IOException {
+    MappedByteBuffer mapping = this.mapping;
+    if (mapping == null) {
+      synchronized (this) {
+        mapping = this.mapping;
+        if (mapping == null) {
+          try (FileChannel channel = openReadChannel()) {
+            final long size = Math.min(channel.size(), (long) Integer.MAX_VALUE);
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+          }
+          this.mapping = mapping;
+        }
+      }
+    }
+    return mapping;
   }
 
   @Override
@@ -197,8 +225,13 @@ public class FileZone extends Zone {
 
   void loadPageAsync(FileChannel channel, PageRef pageRef, TreeDelegate treeDelegate,
                      boolean isResident, Cont<Page> cont) {
+    loadPageAsync(channel, null, pageRef, treeDelegate, isResident, cont);
+  }
+
+  void loadPageAsync(FileChannel channel, ByteBuffer mapping, PageRef pageRef,
+                     TreeDelegate treeDelegate, boolean isResident, Cont<Page> cont) {
     try {
-      this.stage.execute(new FileZonePageReader(this, channel, pageRef.base(), pageRef.pageSize(),
+      this.stage.execute(new FileZonePageReader(this, channel, mapping, pageRef.base(), pageRef.pageSize(),
           pageRef, treeDelegate, isResident, cont));
     } catch (Throwable cause) {
       if (Conts.isNonFatal(cause)) {
@@ -211,6 +244,14 @@ public class FileZone extends Zone {
 
   @Override
   public Chunk commitAndWriteChunk(Commit commit) {
+    return commitAndWriteChunk(commit, commit.isForced());
+  }
+
+  /**
+   * Writes the changes of {@code commit} to this zone as a new chunk,
+   * fsyncing the zone file before returning if {@code sync} is {@code true}.
+   */
+  public Chunk commitAndWriteChunk(Commit commit, boolean sync) {
     final Database database = this.database;
     Chunk chunk = null;
     try (FileChannel channel = openWriteChannel()) {
@@ -222,17 +263,20 @@ public class FileZone extends Zone {
         final long base = Math.max(this.size, Math.max(2 * Germ.BLOCK_SIZE, channel.size()));
         chunk = database.commitChunk(commit, this.id, base);
         if (chunk != null) {
-          ByteBuffer buffer = chunk.toByteBuffer();
-          write(channel, buffer, base);
+          channel.position(base);
+          chunk.write(channel, this.store.chunkBufferPool());
 
           final Germ germ = chunk.germ();
-          buffer = germ.toByteBuffer();
+          final ByteBuffer buffer = germ.toByteBuffer();
           write(channel, buffer, 0L);
           ((Buffer) buffer).flip();
           write(channel, buffer, Germ.BLOCK_SIZE);
-          if (commit.isForced()) {
+          if (sync) {
+            final long syncTime = System.nanoTime();
             channel.force(true);
+            chunk.syncLatency = System.nanoTime() - syncTime;
           }
+          chunk.didWrite();
 
           this.size = Math.max(this.size + chunk.size(), channel.size());
         }
@@ -259,6 +303,20 @@ public class FileZone extends Zone {
     }
   }
 
+  /**
+   * Fsyncs previously written chunks to disk; returns the number of
+   * nanoseconds the fsync took.
+   */
+  public long sync() {
+    try (FileChannel channel = openWriteChannel()) {
+      final long syncTime = System.nanoTime();
+      channel.force(true);
+      return System.nanoTime() - syncTime;
+    } catch (IOException cause) {
+      throw new StoreException(cause);
+    }
+  }
+
   void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
     int k;
     do {
@@ -276,19 +334,26 @@ abstract class FileZoneReader implements Runnable {
 
   protected final FileZone zone;
   protected final FileChannel channel;
+  protected final ByteBuffer mapping;
   protected final long offset;
   protected final int size;
 
-  protected FileZoneReader(FileZone zone, FileChannel channel, long offset, int size) {
+  protected FileZoneReader(FileZone zone, FileChannel channel, ByteBuffer mapping,
+                           long offset, int size) {
     if (size < 0L) {
       throw new IllegalArgumentException("negative read size: " + size);
     }
     this.zone = zone;
     this.channel = channel;
+    this.mapping = mapping;
     this.offset = offset;
     this.size = size;
   }
 
+  protected FileZoneReader(FileZone zone, FileChannel channel, long offset, int size) {
+    this(zone, channel, null, offset, size);
+  }
+
   protected abstract void bind(ByteBuffer buffer);
 
   protected abstract void trap(Throwable error);
@@ -320,17 +385,37 @@ abstract class FileZoneReader implements Runnable {
     }
   }
 
+  protected void doRead(ByteBuffer mapping) {
+    try {
+      final ByteBuffer buffer = mapping.duplicate();
+      ((Buffer) buffer).position((int) this.offset).limit((int) this.offset + this.size);
+      bind(buffer.slice());
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        trap(cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
   @Override
   public void run() {
-    doRead(this.channel);
+    final ByteBuffer mapping = this.mapping;
+    if (mapping != null) {
+      doRead(mapping);
+    } else {
+      doRead(this.channel);
+    }
   }
 
 }
 
 abstract class FileZoneReconReader extends FileZoneReader {
 
-  protected FileZoneReconReader(FileZone zone, FileChannel channel, long offset, int size) {
-    super(zone, channel, offset, size);
+  protected FileZoneReconReader(FileZone zone, FileChannel channel, ByteBuffer mapping,
+                                 long offset, int size) {
+    super(zone, channel, mapping, offset, size);
   }
 
   protected abstract void bind(Value value);
@@ -338,12 +423,16 @@ abstract class FileZoneReconReader extends FileZoneReader {
   @Override
   protected void bind(ByteBuffer buffer) {
     try {
-      final Parser<Value> parser = Utf8.parseDecoded(Recon.structureParser().blockParser(),
-          Binary.inputBuffer(buffer));
-      if (parser.isDone()) {
-        bind(parser.bind());
+      if (BinaryPage.isBinary(buffer)) {
+        bind(BinaryPage.readPage(buffer));
       } else {
-        trap(parser.trap());
+        final Parser<Value> parser = Utf8.parseDecoded(Recon.structureParser().blockParser(),
+            Binary.inputBuffer(buffer));
+        if (parser.isDone()) {
+          bind(parser.bind());
+        } else {
+          trap(parser.trap());
+        }
       }
     } catch (Throwable cause) {
       if (Conts.isNonFatal(cause)) {
@@ -364,10 +453,10 @@ final class FileZonePageReader extends FileZoneReconReader {
   final boolean isResident;
   final Cont<Page> cont;
 
-  FileZonePageReader(FileZone zone, FileChannel channel, long offset, int size,
+  FileZonePageReader(FileZone zone, FileChannel channel, ByteBuffer mapping, long offset, int size,
                      PageRef pageRef, TreeDelegate treeDelegate,
                      boolean isResident, Cont<Page> cont) {
-    super(zone, channel, offset, size);
+    super(zone, channel, mapping, offset, size);
     this.pageRef = pageRef;
     this.treeDelegate = treeDelegate;
     this.isResident = isResident;
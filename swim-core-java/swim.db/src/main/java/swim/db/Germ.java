@@ -34,13 +34,20 @@ public class Germ {
   final long created;
   final long updated;
   final Value seedRefValue;
+  final PageFormat pageFormat;
 
-  public Germ(int stem, long version, long created, long updated, Value seedRefValue) {
+  public Germ(int stem, long version, long created, long updated, Value seedRefValue,
+              PageFormat pageFormat) {
     this.stem = stem;
     this.version = version;
     this.created = created;
     this.updated = updated;
     this.seedRefValue = seedRefValue.commit();
+    this.pageFormat = pageFormat;
+  }
+
+  public Germ(int stem, long version, long created, long updated, Value seedRefValue) {
+    this(stem, version, created, updated, seedRefValue, PageFormat.RECON);
   }
 
   public static Germ fromValue(Value value) {
@@ -52,8 +59,12 @@ public class Germ {
         final long version = header.get("version").longValue();
         final long created = header.get("created").longValue();
         final long updated = header.get("updated").longValue();
+        PageFormat pageFormat = PageFormat.fromTag(header.get("format").stringValue(null));
+        if (pageFormat == null) {
+          pageFormat = PageFormat.RECON;
+        }
         final Value seedRefValue = value.get("seed");
-        return new Germ(stem, version, created, updated, seedRefValue);
+        return new Germ(stem, version, created, updated, seedRefValue, pageFormat);
       }
     } catch (Throwable cause) {
       if (Conts.isNonFatal(cause)) {
@@ -87,16 +98,23 @@ public class Germ {
     return this.seedRefValue;
   }
 
+  public PageFormat pageFormat() {
+    return this.pageFormat;
+  }
+
   public Seed seed() {
     return new Seed(TreeType.BTREE, 1, this.created, this.updated, this.seedRefValue);
   }
 
   public Value toValue() {
-    final Record header = Record.create(4)
+    final Record header = Record.create(5)
         .slot("stem", this.stem)
         .slot("version", this.version)
         .slot("created", this.created)
         .slot("updated", this.updated);
+    if (this.pageFormat != PageFormat.RECON) {
+      header.slot("format", this.pageFormat.tag());
+    }
     final Record record = Record.create(2).attr("swimdb", header);
     if (this.seedRefValue.isDefined()) {
       record.slot("seed", this.seedRefValue);
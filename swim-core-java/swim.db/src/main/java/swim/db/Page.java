@@ -102,6 +102,18 @@ public abstract class Page {
     return pageRef().treeSize();
   }
 
+  public int diffPageCount() {
+    final long version = version();
+    int pageCount = 1;
+    for (int i = 0, n = childCount(); i < n; i += 1) {
+      final PageRef childRef = getChildRef(i);
+      if (version == childRef.softVersion()) {
+        pageCount += childRef.page().diffPageCount();
+      }
+    }
+    return pageCount;
+  }
+
   public abstract Value toHeader();
 
   public abstract Value toValue();
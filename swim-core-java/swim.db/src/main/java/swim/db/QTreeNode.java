@@ -1309,6 +1309,14 @@ public final class QTreeNode extends QTreePage {
 
   @Override
   void memoizeSize(QTreePageRef pageRef) {
+    if (pageRef.settings().pageFormat().isBinary()) {
+      memoizeBinarySize(pageRef);
+    } else {
+      memoizeReconSize(pageRef);
+    }
+  }
+
+  void memoizeReconSize(QTreePageRef pageRef) {
     int pageSize = 12; // "@qnode(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -1348,6 +1356,26 @@ public final class QTreeNode extends QTreePage {
     pageRef.treeSize = treeSize;
   }
 
+  void memoizeBinarySize(QTreePageRef pageRef) {
+    final QTreePageRef[] childRefs = this.childRefs;
+    int diffSize = 0;
+    long treeSize = 0L;
+    for (int i = 0, n = childRefs.length; i < n; i += 1) {
+      final QTreePageRef childRef = childRefs[i];
+      if (this.version == childRef.softVersion()) {
+        diffSize += childRef.diffSize();
+      }
+      treeSize += childRef.treeSize();
+    }
+    final int pageSize = binaryPageSize();
+    diffSize += pageSize;
+    treeSize += pageSize;
+
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = diffSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = treeSize;
+  }
+
   @Override
   public Value toHeader() {
     final Record header = Record.create(2)
@@ -1363,6 +1391,10 @@ public final class QTreeNode extends QTreePage {
     for (int i = 0, n = childRefs.length; i < n; i += 1) {
       record.add(childRefs[i].toValue());
     }
+    final Slot[] slots = this.slots;
+    for (int i = 0, n = slots.length; i < n; i += 1) {
+      record.add(slots[i]);
+    }
     return record;
   }
 
@@ -1451,9 +1483,13 @@ public final class QTreeNode extends QTreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (this.pageRef.settings().pageFormat().isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      Recon.write(toHeader(), output);
+      writePageContent(output);
+      output.write('\n');
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -1476,6 +1512,37 @@ public final class QTreeNode extends QTreePage {
     }
   }
 
+  int binaryPageSize() {
+    final QTreePageRef[] childRefs = this.childRefs;
+    final int childCount = childRefs.length;
+    final Slot[] slots = this.slots;
+    final int slotCount = slots.length;
+    int pageSize = BinaryPage.sizeOfPageHead(1 + childCount + slotCount);
+    pageSize += BinaryPage.sizeOfItem(toHeader().head());
+    for (int i = 0; i < childCount; i += 1) {
+      pageSize += BinaryPage.sizeOfItem(childRefs[i].toValue());
+    }
+    for (int i = 0; i < slotCount; i += 1) {
+      pageSize += BinaryPage.sizeOfItem(slots[i]);
+    }
+    return pageSize;
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    final QTreePageRef[] childRefs = this.childRefs;
+    final int childCount = childRefs.length;
+    final Slot[] slots = this.slots;
+    final int slotCount = slots.length;
+    BinaryPage.writePageHead(1 + childCount + slotCount, output);
+    BinaryPage.writeItem(toHeader().head(), output);
+    for (int i = 0; i < childCount; i += 1) {
+      BinaryPage.writeItem(childRefs[i].toValue(), output);
+    }
+    for (int i = 0; i < slotCount; i += 1) {
+      BinaryPage.writeItem(slots[i], output);
+    }
+  }
+
   @Override
   public void writeDiff(Output<?> output) {
     final QTreePageRef[] childRefs = this.childRefs;
@@ -188,7 +188,7 @@ abstract class QTreeNodeCursor implements Cursor<Slot> {
           final QTreePageRef childRef = childRefs[childIndex];
           final long childSpan = childRef.span();
           this.childIndex = childIndex + 1;
-          if (childSpan < count) {
+          if (count < childSpan) {
             this.childCursor = childCursor(childRef);
             if (count > 0L) {
               this.index += count;
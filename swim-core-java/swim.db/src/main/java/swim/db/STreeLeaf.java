@@ -359,6 +359,14 @@ public final class STreeLeaf extends STreePage {
 
   @Override
   void memoizeSize(STreePageRef pageRef) {
+    if (pageRef.settings().pageFormat().isBinary()) {
+      memoizeBinarySize(pageRef);
+    } else {
+      memoizeReconSize(pageRef);
+    }
+  }
+
+  void memoizeReconSize(STreePageRef pageRef) {
     int pageSize = 12; // "@sleaf(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -383,6 +391,13 @@ public final class STreeLeaf extends STreePage {
     pageRef.treeSize = pageSize;
   }
 
+  void memoizeBinarySize(STreePageRef pageRef) {
+    final int pageSize = binaryPageSize();
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = pageSize;
+  }
+
   @Override
   public Value toHeader() {
     final Record header = Record.create(2)
@@ -434,9 +449,13 @@ public final class STreeLeaf extends STreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (this.pageRef.settings().pageFormat().isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      Recon.write(toHeader(), output);
+      writePageContent(output);
+      output.write('\n');
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -453,6 +472,27 @@ public final class STreeLeaf extends STreePage {
     }
   }
 
+  int binaryPageSize() {
+    final Slot[] slots = this.slots;
+    final int n = slots.length;
+    int pageSize = BinaryPage.sizeOfPageHead(n + 1);
+    pageSize += BinaryPage.sizeOfItem(toHeader().head());
+    for (int i = 0; i < n; i += 1) {
+      pageSize += BinaryPage.sizeOfItem(slots[i]);
+    }
+    return pageSize;
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    final Slot[] slots = this.slots;
+    final int n = slots.length;
+    BinaryPage.writePageHead(n + 1, output);
+    BinaryPage.writeItem(toHeader().head(), output);
+    for (int i = 0; i < n; i += 1) {
+      BinaryPage.writeItem(slots[i], output);
+    }
+  }
+
   @Override
   public void writeDiff(Output<?> output) {
     writePage(output);
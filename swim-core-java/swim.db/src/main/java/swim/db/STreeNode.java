@@ -681,6 +681,14 @@ public final class STreeNode extends STreePage {
 
   @Override
   void memoizeSize(STreePageRef pageRef) {
+    if (pageRef.settings().pageFormat().isBinary()) {
+      memoizeBinarySize(pageRef);
+    } else {
+      memoizeReconSize(pageRef);
+    }
+  }
+
+  void memoizeReconSize(STreePageRef pageRef) {
     int pageSize = 12; // "@snode(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -719,6 +727,26 @@ public final class STreeNode extends STreePage {
     pageRef.treeSize = treeSize;
   }
 
+  void memoizeBinarySize(STreePageRef pageRef) {
+    final STreePageRef[] childRefs = this.childRefs;
+    int diffSize = 0;
+    long treeSize = 0L;
+    for (int i = 0, n = childRefs.length; i < n; i += 1) {
+      final STreePageRef childRef = childRefs[i];
+      if (this.version == childRef.softVersion()) {
+        diffSize += childRef.diffSize();
+      }
+      treeSize += childRef.treeSize();
+    }
+    final int pageSize = binaryPageSize();
+    diffSize += pageSize;
+    treeSize += pageSize;
+
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = diffSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = treeSize;
+  }
+
   @Override
   public Value toHeader() {
     final Record header = Record.create(2)
@@ -819,9 +847,13 @@ public final class STreeNode extends STreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (this.pageRef.settings().pageFormat().isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      Recon.write(toHeader(), output);
+      writePageContent(output);
+      output.write('\n');
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -843,6 +875,35 @@ public final class STreeNode extends STreePage {
     }
   }
 
+  int binaryPageSize() {
+    final STreePageRef[] childRefs = this.childRefs;
+    final int n = childRefs.length;
+    final long[] knotIndexes = this.knotIndexes;
+    int pageSize = BinaryPage.sizeOfPageHead(n > 0 ? 2 * n : 1);
+    pageSize += BinaryPage.sizeOfItem(toHeader().head());
+    for (int i = 0; i < n; i += 1) {
+      if (i > 0) {
+        pageSize += BinaryPage.sizeOfItem(Record.create(1).attr("knot", Record.create(1).slot("i", knotIndexes[i - 1])));
+      }
+      pageSize += BinaryPage.sizeOfItem(childRefs[i].toValue());
+    }
+    return pageSize;
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    final STreePageRef[] childRefs = this.childRefs;
+    final int n = childRefs.length;
+    final long[] knotIndexes = this.knotIndexes;
+    BinaryPage.writePageHead(n > 0 ? 2 * n : 1, output);
+    BinaryPage.writeItem(toHeader().head(), output);
+    for (int i = 0; i < n; i += 1) {
+      if (i > 0) {
+        BinaryPage.writeItem(Record.create(1).attr("knot", Record.create(1).slot("i", knotIndexes[i - 1])), output);
+      }
+      BinaryPage.writeItem(childRefs[i].toValue(), output);
+    }
+  }
+
   @Override
   public void writeDiff(Output<?> output) {
     final STreePageRef[] childRefs = this.childRefs;
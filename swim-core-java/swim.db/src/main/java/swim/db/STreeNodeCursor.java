@@ -127,7 +127,7 @@ abstract class STreeNodeCursor implements Cursor<Slot> {
           final STreePageRef childRef = childRefs[childIndex];
           final long childSpan = childRef.span;
           this.childIndex = childIndex + 1;
-          if (childSpan < count) {
+          if (count < childSpan) {
             this.childCursor = childCursor(childRef);
             if (count > 0L) {
               this.index += count;
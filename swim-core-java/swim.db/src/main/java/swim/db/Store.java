@@ -14,12 +14,15 @@
 
 package swim.db;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.concurrent.Cont;
 import swim.concurrent.Stage;
 import swim.concurrent.Sync;
 
 public abstract class Store {
 
+  volatile ChunkBufferPool chunkBufferPool;
+
   public abstract StoreContext storeContext();
 
   public StoreSettings settings() {
@@ -80,6 +83,20 @@ public abstract class Store {
     storeContext().hitPage(this, database, page);
   }
 
+  ChunkBufferPool chunkBufferPool() {
+    ChunkBufferPool chunkBufferPool = this.chunkBufferPool;
+    if (chunkBufferPool == null) {
+      final StoreSettings settings = settings();
+      final ChunkBufferPool newChunkBufferPool = new ChunkBufferPool(settings.commitBufferSize, settings.commitBufferCount);
+      if (CHUNK_BUFFER_POOL.compareAndSet(this, null, newChunkBufferPool)) {
+        chunkBufferPool = newChunkBufferPool;
+      } else {
+        chunkBufferPool = this.chunkBufferPool;
+      }
+    }
+    return chunkBufferPool;
+  }
+
   void treeDidOpen(Database database, Tree tree) {
     storeContext().treeDidOpen(this, database, tree);
   }
@@ -116,6 +133,10 @@ public abstract class Store {
     storeContext().databaseDidCommit(this, database, chunk);
   }
 
+  void databaseDidSync(Database database, Zone zone, long syncLatency) {
+    storeContext().databaseDidSync(this, database, zone, syncLatency);
+  }
+
   void databaseCommitDidFail(Database database, Throwable error) {
     storeContext().databaseCommitDidFail(this, database, error);
   }
@@ -132,4 +153,7 @@ public abstract class Store {
     storeContext().databaseCompactDidFail(this, database, error);
   }
 
+  static final AtomicReferenceFieldUpdater<Store, ChunkBufferPool> CHUNK_BUFFER_POOL =
+      AtomicReferenceFieldUpdater.newUpdater(Store.class, ChunkBufferPool.class, "chunkBufferPool");
+
 }
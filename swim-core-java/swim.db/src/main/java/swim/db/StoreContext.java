@@ -70,6 +70,16 @@ public class StoreContext {
     }
   }
 
+  public static boolean autoReformat(Store store, Database database, PageFormat pageFormat,
+                                     Compact compact) {
+    if (database.pageFormat() != pageFormat && database.germ().seedRefValue().isDefined()
+        && !store.isCompacting()) {
+      store.compactAsync(compact.isShifted(true));
+      return true;
+    }
+    return false;
+  }
+
   public final StoreSettings settings() {
     return this.settings;
   }
@@ -86,6 +96,18 @@ public class StoreContext {
     // nop
   }
 
+  public void pageCacheDidHit(Store store, Page page) {
+    // nop
+  }
+
+  public void pageCacheDidAdmit(Store store, Page page) {
+    // nop
+  }
+
+  public void pageCacheDidEvict(Store store, Page page) {
+    // nop
+  }
+
   public void treeDidOpen(Store store, Database database, Tree tree) {
     // nop
   }
@@ -103,7 +125,7 @@ public class StoreContext {
   }
 
   public void databaseDidOpen(Store store, Database database) {
-    // nop
+    autoReformat(store, database, this.settings.pageFormat, Compact.forced(this.settings.deleteDelay));
   }
 
   public void databaseWillClose(Store store, Database database) {
@@ -125,6 +147,10 @@ public class StoreContext {
     }
   }
 
+  public void databaseDidSync(Store store, Database database, Zone zone, long syncLatency) {
+    // nop
+  }
+
   public void databaseCommitDidFail(Store store, Database database, Throwable error) {
     error.printStackTrace();
   }
@@ -137,6 +163,17 @@ public class StoreContext {
     // nop
   }
 
+  /**
+   * Lifecycle callback invoked after each step of incremental compaction;
+   * {@code zoneId} identifies the zone being evacuated, {@code writeSize} is
+   * the number of bytes written by the step, and {@code reclaimableSize}
+   * estimates the number of bytes of the store not occupied by live trees.
+   */
+  public void databaseCompactDidProgress(Store store, Database database, int zoneId,
+                                         long writeSize, long reclaimableSize) {
+    // nop
+  }
+
   public void databaseCompactDidFail(Store store, Database database, Throwable error) {
     error.printStackTrace();
   }
@@ -49,6 +49,16 @@ public class StoreSettings implements Debug {
   protected final int databaseCompactTimeout;
   protected final int pageLoadTimeout;
   protected final int treeLoadTimeout;
+  protected final PageFormat pageFormat;
+  protected final boolean mapSealedZones;
+  protected final int commitBufferSize;
+  protected final int commitBufferCount;
+  protected final long pageCacheWeight;
+  protected final SyncPolicy syncPolicy;
+  protected final int syncInterval;
+  protected final int compactStepSize;
+  protected final long compactRate;
+  protected final int compactPauseLatency;
 
   public StoreSettings(int pageSplitSize, int pageCacheSize, int autoCommitInterval,
                        long autoCommitSize, long minCompactSize, long maxZoneSize,
@@ -57,7 +67,11 @@ public class StoreSettings implements Debug {
                        int zoneOpenTimeout, int zoneCloseTimeout,
                        int databaseOpenTimeout, int databaseCloseTimeout,
                        int databaseCommitTimeout, int databaseCompactTimeout,
-                       int pageLoadTimeout, int treeLoadTimeout) {
+                       int pageLoadTimeout, int treeLoadTimeout,
+                       PageFormat pageFormat, boolean mapSealedZones,
+                       int commitBufferSize, int commitBufferCount,
+                       long pageCacheWeight, SyncPolicy syncPolicy, int syncInterval,
+                       int compactStepSize, long compactRate, int compactPauseLatency) {
     this.pageSplitSize = pageSplitSize;
     this.pageCacheSize = pageCacheSize;
     this.autoCommitInterval = autoCommitInterval;
@@ -82,6 +96,36 @@ public class StoreSettings implements Debug {
 
     this.pageLoadTimeout = pageLoadTimeout;
     this.treeLoadTimeout = treeLoadTimeout;
+
+    this.pageFormat = pageFormat;
+    this.mapSealedZones = mapSealedZones;
+    this.commitBufferSize = commitBufferSize;
+    this.commitBufferCount = commitBufferCount;
+    this.pageCacheWeight = pageCacheWeight;
+    this.syncPolicy = syncPolicy;
+    this.syncInterval = syncInterval;
+    this.compactStepSize = compactStepSize;
+    this.compactRate = compactRate;
+    this.compactPauseLatency = compactPauseLatency;
+  }
+
+  public StoreSettings(int pageSplitSize, int pageCacheSize, int autoCommitInterval,
+                       long autoCommitSize, long minCompactSize, long maxZoneSize,
+                       double minZoneFill, double minTreeFill, int maxRetries,
+                       int deleteDelay, int storeOpenTimeout, int storeCloseTimeout,
+                       int zoneOpenTimeout, int zoneCloseTimeout,
+                       int databaseOpenTimeout, int databaseCloseTimeout,
+                       int databaseCommitTimeout, int databaseCompactTimeout,
+                       int pageLoadTimeout, int treeLoadTimeout) {
+    this(pageSplitSize, pageCacheSize, autoCommitInterval,
+         autoCommitSize, minCompactSize, maxZoneSize,
+         minZoneFill, minTreeFill, maxRetries,
+         deleteDelay, storeOpenTimeout, storeCloseTimeout,
+         zoneOpenTimeout, zoneCloseTimeout,
+         databaseOpenTimeout, databaseCloseTimeout,
+         databaseCommitTimeout, databaseCompactTimeout,
+         pageLoadTimeout, treeLoadTimeout,
+         PageFormat.RECON, false, 65536, 16, 0L, SyncPolicy.ALWAYS, 2, 0, 0L, 0);
   }
 
   public static StoreSettings standard() {
@@ -226,6 +270,67 @@ public class StoreSettings implements Debug {
         treeLoadTimeout = 30 * 1000;
       }
 
+      PageFormat pageFormat = PageFormat.fromTag(System.getProperty("swim.db.page.format"));
+      if (pageFormat == null) {
+        pageFormat = PageFormat.RECON;
+      }
+
+      final boolean mapSealedZones = Boolean.parseBoolean(System.getProperty("swim.db.map.sealed.zones"));
+
+      int commitBufferSize;
+      try {
+        commitBufferSize = Integer.parseInt(System.getProperty("swim.db.commit.buffer.size"));
+      } catch (NumberFormatException e) {
+        commitBufferSize = 65536;
+      }
+
+      int commitBufferCount;
+      try {
+        commitBufferCount = Integer.parseInt(System.getProperty("swim.db.commit.buffer.count"));
+      } catch (NumberFormatException e) {
+        commitBufferCount = 16;
+      }
+
+      long pageCacheWeight;
+      try {
+        pageCacheWeight = Long.parseLong(System.getProperty("swim.db.page.cache.weight"));
+      } catch (NumberFormatException e) {
+        pageCacheWeight = 0L;
+      }
+
+      SyncPolicy syncPolicy = SyncPolicy.fromTag(System.getProperty("swim.db.sync.policy"));
+      if (syncPolicy == null) {
+        syncPolicy = SyncPolicy.ALWAYS;
+      }
+
+      int syncInterval;
+      try {
+        syncInterval = Integer.parseInt(System.getProperty("swim.db.sync.interval"));
+      } catch (NumberFormatException e) {
+        syncInterval = 2;
+      }
+
+      int compactStepSize;
+      try {
+        compactStepSize = Integer.parseInt(System.getProperty("swim.db.compact.step.size"));
+      } catch (NumberFormatException e) {
+        compactStepSize = 0;
+      }
+
+      long compactRate;
+      try {
+        compactRate = Long.parseLong(System.getProperty("swim.db.compact.rate"));
+      } catch (NumberFormatException e) {
+        compactRate = 0L;
+      }
+
+      int compactPauseLatency;
+      try {
+        compactPauseLatency = Integer.parseInt(System.getProperty("swim.db.compact.pause.latency"));
+      } catch (NumberFormatException e) {
+        compactPauseLatency = 0;
+      }
+
       standard = new StoreSettings(pageSplitSize, pageCacheSize, autoCommitInterval,
           autoCommitSize, minCompactSize, maxZoneSize,
           minZoneFill, minTreeFill, maxRetries,
@@ -233,7 +338,11 @@ public class StoreSettings implements Debug {
           zoneOpenTimeout, zoneCloseTimeout,
           databaseOpenTimeout, databaseCloseTimeout,
           databaseCommitTimeout, databaseCompactTimeout,
-          pageLoadTimeout, treeLoadTimeout);
+          pageLoadTimeout, treeLoadTimeout,
+          pageFormat, mapSealedZones,
+          commitBufferSize, commitBufferCount,
+          pageCacheWeight, syncPolicy, syncInterval,
+          compactStepSize, compactRate, compactPauseLatency);
     }
     return standard;
   }
@@ -258,7 +367,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int pageCacheSize() {
@@ -273,7 +386,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int autoCommitInterval() {
@@ -288,7 +405,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final long autoCommitSize() {
@@ -303,7 +424,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final long minCompactSize() {
@@ -318,7 +443,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final long maxZoneSize() {
@@ -333,7 +462,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final double minZoneFill() {
@@ -348,7 +481,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final double minTreeFill() {
@@ -363,7 +500,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int maxRetries() {
@@ -378,7 +519,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int deleteDelay() {
@@ -393,7 +538,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int storeOpenTimeout() {
@@ -408,7 +557,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int storeCloseTimeout() {
@@ -423,7 +576,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int zoneOpenTimeout() {
@@ -438,7 +595,11 @@ public class StoreSettings implements Debug {
         zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int zoneCloseTimeout() {
@@ -453,7 +614,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int databaseOpenTimeout() {
@@ -468,7 +633,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int databaseCloseTimeout() {
@@ -483,7 +652,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int databaseCommitTimeout() {
@@ -498,7 +671,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int databaseCompactTimeout() {
@@ -513,7 +690,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int pageLoadTimeout() {
@@ -528,7 +709,11 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        pageLoadTimeout, this.treeLoadTimeout);
+        pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
   }
 
   public final int treeLoadTimeout() {
@@ -543,7 +728,231 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, treeLoadTimeout);
+        this.pageLoadTimeout, treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
+  }
+
+  public final PageFormat pageFormat() {
+    return this.pageFormat;
+  }
+
+  public StoreSettings pageFormat(PageFormat pageFormat) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
+  }
+
+  public final boolean mapSealedZones() {
+    return this.mapSealedZones;
+  }
+
+  public StoreSettings mapSealedZones(boolean mapSealedZones) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
+  }
+
+  public final int commitBufferSize() {
+    return this.commitBufferSize;
+  }
+
+  public StoreSettings commitBufferSize(int commitBufferSize) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
+  }
+
+  public final int commitBufferCount() {
+    return this.commitBufferCount;
+  }
+
+  public StoreSettings commitBufferCount(int commitBufferCount) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
+  }
+
+  /**
+   * Returns the maximum combined {@code pageSize} of the pages retained by
+   * the weighted page cache of a {@link FileStore}, or {@code 0} if file
+   * stores should instead retain recently used pages in a soft referenced
+   * cache of {@link #pageCacheSize()} pages.
+   */
+  public final long pageCacheWeight() {
+    return this.pageCacheWeight;
+  }
+
+  public StoreSettings pageCacheWeight(long pageCacheWeight) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
+  }
+
+  /**
+   * Returns the policy that decides when committed chunks are fsynced to
+   * disk.
+   */
+  public final SyncPolicy syncPolicy() {
+    return this.syncPolicy;
+  }
+
+  public StoreSettings syncPolicy(SyncPolicy syncPolicy) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
+  }
+
+  /**
+   * Returns the number of milliseconds for which a {@link SyncPolicy#GROUP
+   * group} policy delays commits to coalesce them, or the minimum number of
+   * milliseconds between fsyncs under a {@link SyncPolicy#PERIODIC periodic}
+   * policy.
+   */
+  public final int syncInterval() {
+    return this.syncInterval;
+  }
+
+  public StoreSettings syncInterval(int syncInterval) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, syncInterval,
+        this.compactStepSize, this.compactRate, this.compactPauseLatency);
+  }
+
+  /**
+   * Returns the maximum number of leaf pages a {@link FileStore} evacuates
+   * from an old zone before committing them and yielding to live commits,
+   * or {@code 0} if old zones should be evacuated all at once.
+   */
+  public final int compactStepSize() {
+    return this.compactStepSize;
+  }
+
+  public StoreSettings compactStepSize(int compactStepSize) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        compactStepSize, this.compactRate, this.compactPauseLatency);
+  }
+
+  /**
+   * Returns the maximum number of bytes per second written by incremental
+   * compaction, or {@code 0} if incremental compaction is not rate limited.
+   */
+  public final long compactRate() {
+    return this.compactRate;
+  }
+
+  public StoreSettings compactRate(long compactRate) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, compactRate, this.compactPauseLatency);
+  }
+
+  /**
+   * Returns the commit latency, in milliseconds, above which incremental
+   * compaction pauses to let live commits catch up, or {@code 0} if
+   * compaction should not pause.
+   */
+  public final int compactPauseLatency() {
+    return this.compactPauseLatency;
+  }
+
+  public StoreSettings compactPauseLatency(int compactPauseLatency) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout,
+        this.pageFormat, this.mapSealedZones,
+        this.commitBufferSize, this.commitBufferCount,
+        this.pageCacheWeight, this.syncPolicy, this.syncInterval,
+        this.compactStepSize, this.compactRate, compactPauseLatency);
   }
 
   protected StoreSettings copy(int pageSplitSize, int pageCacheSize, int autoCommitInterval,
@@ -553,7 +962,11 @@ public class StoreSettings implements Debug {
                                int zoneOpenTimeout, int zoneCloseTimeout,
                                int databaseOpenTimeout, int databaseCloseTimeout,
                                int databaseCommitTimeout, int databaseCompactTimeout,
-                               int pageLoadTimeout, int treeLoadTimeout) {
+                               int pageLoadTimeout, int treeLoadTimeout,
+                               PageFormat pageFormat, boolean mapSealedZones,
+                               int commitBufferSize, int commitBufferCount,
+                               long pageCacheWeight, SyncPolicy syncPolicy, int syncInterval,
+                               int compactStepSize, long compactRate, int compactPauseLatency) {
     return new StoreSettings(pageSplitSize, pageCacheSize, autoCommitInterval,
         autoCommitSize, minCompactSize, maxZoneSize,
         minZoneFill, minTreeFill, maxRetries,
@@ -561,7 +974,11 @@ public class StoreSettings implements Debug {
         zoneOpenTimeout, zoneCloseTimeout,
         databaseOpenTimeout, databaseCloseTimeout,
         databaseCommitTimeout, databaseCompactTimeout,
-        pageLoadTimeout, treeLoadTimeout);
+        pageLoadTimeout, treeLoadTimeout,
+        pageFormat, mapSealedZones,
+        commitBufferSize, commitBufferCount,
+        pageCacheWeight, syncPolicy, syncInterval,
+        compactStepSize, compactRate, compactPauseLatency);
   }
 
   protected boolean canEqual(Object other) {
@@ -593,7 +1010,17 @@ public class StoreSettings implements Debug {
           && this.databaseCommitTimeout == that.databaseCommitTimeout
           && this.databaseCompactTimeout == that.databaseCompactTimeout
           && this.pageLoadTimeout == that.pageLoadTimeout
-          && this.treeLoadTimeout == that.treeLoadTimeout;
+          && this.treeLoadTimeout == that.treeLoadTimeout
+          && this.pageFormat == that.pageFormat
+          && this.mapSealedZones == that.mapSealedZones
+          && this.commitBufferSize == that.commitBufferSize
+          && this.commitBufferCount == that.commitBufferCount
+          && this.pageCacheWeight == that.pageCacheWeight
+          && this.syncPolicy == that.syncPolicy
+          && this.syncInterval == that.syncInterval
+          && this.compactStepSize == that.compactStepSize
+          && this.compactRate == that.compactRate
+          && this.compactPauseLatency == that.compactPauseLatency;
     }
     return false;
   }
@@ -603,7 +1030,7 @@ public class StoreSettings implements Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(StoreSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
             Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
                 hashSeed, this.pageSplitSize), this.pageCacheSize), this.autoCommitInterval),
@@ -613,7 +1040,17 @@ public class StoreSettings implements Debug {
             this.storeOpenTimeout), this.storeCloseTimeout), this.zoneOpenTimeout),
             this.zoneCloseTimeout), this.databaseOpenTimeout), this.databaseCloseTimeout),
         this.databaseCommitTimeout), this.databaseCompactTimeout),
-        this.pageLoadTimeout), this.treeLoadTimeout));
+        this.pageLoadTimeout), this.treeLoadTimeout),
+        this.pageFormat.hashCode()),
+        Murmur3.hash(this.mapSealedZones)),
+        this.commitBufferSize),
+        this.commitBufferCount),
+        Murmur3.hash(this.pageCacheWeight)),
+        this.syncPolicy.hashCode()),
+        this.syncInterval),
+        this.compactStepSize),
+        Murmur3.hash(this.compactRate)),
+        this.compactPauseLatency));
   }
 
   @Override
@@ -638,7 +1075,17 @@ public class StoreSettings implements Debug {
         .write('.').write("databaseCommitTimeout").write('(').debug(this.databaseCommitTimeout).write(')')
         .write('.').write("databaseCompactTimeout").write('(').debug(this.databaseCompactTimeout).write(')')
         .write('.').write("pageLoadTimeout").write('(').debug(this.pageLoadTimeout).write(')')
-        .write('.').write("treeLoadTimeout").write('(').debug(this.treeLoadTimeout).write(')');
+        .write('.').write("treeLoadTimeout").write('(').debug(this.treeLoadTimeout).write(')')
+        .write('.').write("pageFormat").write('(').debug(this.pageFormat).write(')')
+        .write('.').write("mapSealedZones").write('(').debug(this.mapSealedZones).write(')')
+        .write('.').write("commitBufferSize").write('(').debug(this.commitBufferSize).write(')')
+        .write('.').write("commitBufferCount").write('(').debug(this.commitBufferCount).write(')')
+        .write('.').write("pageCacheWeight").write('(').debug(this.pageCacheWeight).write(')')
+        .write('.').write("syncPolicy").write('(').debug(this.syncPolicy).write(')')
+        .write('.').write("syncInterval").write('(').debug(this.syncInterval).write(')')
+        .write('.').write("compactStepSize").write('(').debug(this.compactStepSize).write(')')
+        .write('.').write("compactRate").write('(').debug(this.compactRate).write(')')
+        .write('.').write("compactPauseLatency").write('(').debug(this.compactPauseLatency).write(')');
   }
 
   @Override
@@ -669,7 +1116,7 @@ final class StoreSettingsForm extends Form<StoreSettings> {
   public Item mold(StoreSettings settings) {
     if (settings != null) {
       final StoreSettings standard = StoreSettings.standard();
-      final Record record = Record.create(20).attr(tag());
+      final Record record = Record.create(30).attr(tag());
 
       if (settings.pageSplitSize != standard.pageSplitSize) {
         record.slot("pageSplitSize", settings.pageSplitSize);
@@ -736,6 +1183,46 @@ final class StoreSettingsForm extends Form<StoreSettings> {
         record.slot("treeLoadTimeout", settings.treeLoadTimeout);
       }
 
+      if (settings.pageFormat != standard.pageFormat) {
+        record.slot("pageFormat", settings.pageFormat.tag());
+      }
+
+      if (settings.mapSealedZones != standard.mapSealedZones) {
+        record.slot("mapSealedZones", settings.mapSealedZones);
+      }
+
+      if (settings.commitBufferSize != standard.commitBufferSize) {
+        record.slot("commitBufferSize", settings.commitBufferSize);
+      }
+
+      if (settings.commitBufferCount != standard.commitBufferCount) {
+        record.slot("commitBufferCount", settings.commitBufferCount);
+      }
+
+      if (settings.pageCacheWeight != standard.pageCacheWeight) {
+        record.slot("pageCacheWeight", settings.pageCacheWeight);
+      }
+
+      if (settings.syncPolicy != standard.syncPolicy) {
+        record.slot("syncPolicy", settings.syncPolicy.tag());
+      }
+
+      if (settings.syncInterval != standard.syncInterval) {
+        record.slot("syncInterval", settings.syncInterval);
+      }
+
+      if (settings.compactStepSize != standard.compactStepSize) {
+        record.slot("compactStepSize", settings.compactStepSize);
+      }
+
+      if (settings.compactRate != standard.compactRate) {
+        record.slot("compactRate", settings.compactRate);
+      }
+
+      if (settings.compactPauseLatency != standard.compactPauseLatency) {
+        record.slot("compactPauseLatency", settings.compactPauseLatency);
+      }
+
       return record;
     } else {
       return Item.extant();
@@ -767,6 +1254,22 @@ final class StoreSettingsForm extends Form<StoreSettings> {
       final int databaseCompactTimeout = value.get("databaseCompactTimeout").intValue(standard.databaseCompactTimeout);
       final int pageLoadTimeout = value.get("pageLoadTimeout").intValue(standard.pageLoadTimeout);
       final int treeLoadTimeout = value.get("treeLoadTimeout").intValue(standard.treeLoadTimeout);
+      PageFormat pageFormat = PageFormat.fromTag(value.get("pageFormat").stringValue(null));
+      if (pageFormat == null) {
+        pageFormat = standard.pageFormat;
+      }
+      final boolean mapSealedZones = value.get("mapSealedZones").booleanValue(standard.mapSealedZones);
+      final int commitBufferSize = value.get("commitBufferSize").intValue(standard.commitBufferSize);
+      final int commitBufferCount = value.get("commitBufferCount").intValue(standard.commitBufferCount);
+      final long pageCacheWeight = value.get("pageCacheWeight").longValue(standard.pageCacheWeight);
+      SyncPolicy syncPolicy = SyncPolicy.fromTag(value.get("syncPolicy").stringValue(null));
+      if (syncPolicy == null) {
+        syncPolicy = standard.syncPolicy;
+      }
+      final int syncInterval = value.get("syncInterval").intValue(standard.syncInterval);
+      final int compactStepSize = value.get("compactStepSize").intValue(standard.compactStepSize);
+      final long compactRate = value.get("compactRate").longValue(standard.compactRate);
+      final int compactPauseLatency = value.get("compactPauseLatency").intValue(standard.compactPauseLatency);
       return new StoreSettings(pageSplitSize, pageCacheSize, autoCommitInterval,
           autoCommitSize, minCompactSize, maxZoneSize,
           minZoneFill, minTreeFill, maxRetries,
@@ -774,7 +1277,11 @@ final class StoreSettingsForm extends Form<StoreSettings> {
           zoneOpenTimeout, zoneCloseTimeout,
           databaseOpenTimeout, databaseCloseTimeout,
           databaseCommitTimeout, databaseCompactTimeout,
-          pageLoadTimeout, treeLoadTimeout);
+          pageLoadTimeout, treeLoadTimeout,
+          pageFormat, mapSealedZones,
+          commitBufferSize, commitBufferCount,
+          pageCacheWeight, syncPolicy, syncInterval,
+          compactStepSize, compactRate, compactPauseLatency);
     }
     return null;
   }
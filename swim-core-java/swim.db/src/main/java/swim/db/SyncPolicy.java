@@ -0,0 +1,82 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import swim.codec.Debug;
+import swim.codec.Output;
+
+/**
+ * Durability policy that decides when a {@link FileStore} fsyncs committed
+ * chunks to disk.
+ */
+public enum SyncPolicy implements Debug {
+
+  /**
+   * Fsync every forced commit before completing it.
+   */
+  ALWAYS("always"),
+  /**
+   * Delay each commit by up to {@code syncInterval} milliseconds, so that
+   * commits requested in the meantime are written in a single chunk, and
+   * completed by a single fsync.
+   */
+  GROUP("group"),
+  /**
+   * Fsync at most once every {@code syncInterval} milliseconds; commits
+   * complete as soon as their chunk has been written, and may be lost if the
+   * host fails before the next fsync.  Closing commits are always fsynced.
+   */
+  PERIODIC("periodic");
+
+  final String tag;
+
+  SyncPolicy(String tag) {
+    this.tag = tag;
+  }
+
+  public static SyncPolicy fromTag(String tag) {
+    if ("always".equals(tag)) {
+      return ALWAYS;
+    } else if ("group".equals(tag)) {
+      return GROUP;
+    } else if ("periodic".equals(tag)) {
+      return PERIODIC;
+    } else {
+      return null;
+    }
+  }
+
+  public boolean isAlways() {
+    return this == ALWAYS;
+  }
+
+  public boolean isGroup() {
+    return this == GROUP;
+  }
+
+  public boolean isPeriodic() {
+    return this == PERIODIC;
+  }
+
+  public String tag() {
+    return this.tag;
+  }
+
+  @Override
+  public void debug(Output<?> output) {
+    output.write("SyncPolicy").write('.').write(name());
+  }
+
+}
@@ -69,6 +69,15 @@ public abstract class Tree {
 
   public abstract int diffSize(long version);
 
+  public int diffPageCount(long version) {
+    final PageRef rootRef = rootRef();
+    if (version == rootRef.softVersion()) {
+      return rootRef.page().diffPageCount();
+    } else {
+      return 0;
+    }
+  }
+
   public abstract long treeSize();
 
   public abstract Tree evacuated(int zone, long version);
@@ -147,6 +147,14 @@ public final class UTreeLeaf extends UTreePage {
 
   @Override
   void memoizeSize(UTreePageRef pageRef) {
+    if (pageRef.settings().pageFormat().isBinary()) {
+      memoizeBinarySize(pageRef);
+    } else {
+      memoizeReconSize(pageRef);
+    }
+  }
+
+  void memoizeReconSize(UTreePageRef pageRef) {
     int pageSize = 12; // "@uleaf(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -162,6 +170,12 @@ public final class UTreeLeaf extends UTreePage {
     pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
   }
 
+  void memoizeBinarySize(UTreePageRef pageRef) {
+    final int pageSize = binaryPageSize();
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+  }
+
   @Override
   public Value toHeader() {
     final Record header = Record.create(2)
@@ -199,9 +213,13 @@ public final class UTreeLeaf extends UTreePage {
 
   @Override
   public void writePage(Output<?> output) {
-    Recon.write(toHeader(), output);
-    writePageContent(output);
-    output.write('\n');
+    if (this.pageRef.settings().pageFormat().isBinary()) {
+      writeBinaryPage(output);
+    } else {
+      Recon.write(toHeader(), output);
+      writePageContent(output);
+      output.write('\n');
+    }
   }
 
   void writePageContent(Output<?> output) {
@@ -210,6 +228,17 @@ public final class UTreeLeaf extends UTreePage {
     output.write('}');
   }
 
+  int binaryPageSize() {
+    return BinaryPage.sizeOfPageHead(2) + BinaryPage.sizeOfItem(toHeader().head())
+         + BinaryPage.sizeOfItem(this.value);
+  }
+
+  void writeBinaryPage(Output<?> output) {
+    BinaryPage.writePageHead(2, output);
+    BinaryPage.writeItem(toHeader().head(), output);
+    BinaryPage.writeItem(this.value, output);
+  }
+
   @Override
   public void writeDiff(Output<?> output) {
     writePage(output);
@@ -0,0 +1,524 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import swim.util.Murmur3;
+
+/**
+ * Page cache that retains committed pages up to a maximum combined {@code
+ * pageSize}, keyed by page zone and address.  Retained pages are strongly
+ * referenced, so the weak references held by their {@link PageRef}s stay
+ * resolvable, and eviction is decided by the cache rather than by the garbage
+ * collector.
+ *
+ * Admission and eviction follow the W-TinyLFU policy: newly hit pages enter
+ * a small LRU window; pages leaving the window compete with the least
+ * recently used page of the probationary segment of the main space, and the
+ * one more frequently hit, as estimated by a count-min sketch, is retained.
+ * Pages hit again while on probation are promoted to the protected segment.
+ * This keeps large scans from flushing frequently used pages.
+ *
+ * Hits on retained pages don't take the cache lock; they're recorded in
+ * lossy read buffers, striped by thread, which are drained under the lock
+ * when a buffer fills up, and before each admission.  Hits recorded while a
+ * buffer is full, or contended, are dropped, which only delays a page's
+ * promotion and slightly under-counts its frequency.
+ */
+public class WeightedPageCache {
+
+  final Store store;
+  final long maxWeight;
+  final long maxWindowWeight;
+  final long maxProtectedWeight;
+  final ConcurrentHashMap<WeightedPageCacheEntry, WeightedPageCacheEntry> entries;
+  final WeightedPageCacheBuffer[] readBuffers;
+  final WeightedPageCacheEntry window;
+  final WeightedPageCacheEntry probation;
+  final WeightedPageCacheEntry protectedSegment;
+  final long[] sketch;
+  final int sketchMask;
+  final int sketchSampleSize;
+  int sketchSize;
+  long windowWeight;
+  long probationWeight;
+  long protectedWeight;
+  final LongAdder hitCount;
+  volatile long admitCount;
+  volatile long evictCount;
+  volatile int drainStatus;
+
+  public WeightedPageCache(Store store, long maxWeight, int pageSplitSize) {
+    this.store = store;
+    this.maxWeight = maxWeight;
+    this.maxWindowWeight = Math.max(1L, maxWeight / 100L);
+    this.maxProtectedWeight = (maxWeight - this.maxWindowWeight) * 4L / 5L;
+    this.entries = new ConcurrentHashMap<WeightedPageCacheEntry, WeightedPageCacheEntry>();
+    final WeightedPageCacheBuffer[] readBuffers = new WeightedPageCacheBuffer[READ_BUFFER_COUNT];
+    for (int i = 0; i < readBuffers.length; i += 1) {
+      readBuffers[i] = new WeightedPageCacheBuffer();
+    }
+    this.readBuffers = readBuffers;
+    this.window = new WeightedPageCacheEntry();
+    this.probation = new WeightedPageCacheEntry();
+    this.protectedSegment = new WeightedPageCacheEntry();
+    // Size the frequency sketch for the expected number of retained pages.
+    final long expectedSize = Math.max(64L, Math.min(maxWeight / (long) Math.max(1, pageSplitSize >>> 2), 1L << 24));
+    final int sketchLength = Integer.highestOneBit((int) expectedSize - 1) << 1;
+    this.sketch = new long[sketchLength];
+    this.sketchMask = sketchLength - 1;
+    this.sketchSampleSize = 10 * sketchLength;
+    this.hitCount = new LongAdder();
+  }
+
+  public final Store store() {
+    return this.store;
+  }
+
+  public final long maxWeight() {
+    return this.maxWeight;
+  }
+
+  public final synchronized long weight() {
+    return this.windowWeight + this.probationWeight + this.protectedWeight;
+  }
+
+  public final synchronized int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Returns the number of times a page was found already retained by the cache.
+   */
+  public final long hitCount() {
+    return this.hitCount.sum();
+  }
+
+  /**
+   * Returns the number of times a page that wasn't retained by the cache was
+   * admitted to its window.  Admitted pages may have been used recently,
+   * but evicted, or may never have been retained at all.
+   */
+  public final long admitCount() {
+    return this.admitCount;
+  }
+
+  public final long evictCount() {
+    return this.evictCount;
+  }
+
+  /**
+   * Records a use of {@code page}, admitting it to the cache if it isn't
+   * already retained.  Uncommitted pages, which don't yet have an address,
+   * and pages larger than the cache are ignored.
+   */
+  public void hitPage(Page page) {
+    final PageRef pageRef = page.pageRef();
+    final int weight = pageRef.pageSize();
+    if (!pageRef.isCommitted() || (long) weight > this.maxWeight) {
+      return;
+    }
+    final int zone = pageRef.zone();
+    final long base = pageRef.base();
+    final int hash = Murmur3.mash(Murmur3.mix(Murmur3.hash(base), zone));
+    final WeightedPageCacheEntry newEntry = new WeightedPageCacheEntry(zone, base, hash, page, weight);
+    final WeightedPageCacheEntry entry = this.entries.get(newEntry);
+    final StoreContext context = this.store.storeContext();
+    if (entry != null) {
+      entry.page = page;
+      this.hitCount.increment();
+      final int stripe = (int) Thread.currentThread().getId() & (this.readBuffers.length - 1);
+      if (!this.readBuffers[stripe].offer(entry)) {
+        tryDrainReadBuffers();
+      }
+      context.pageCacheDidHit(this.store, page);
+      return;
+    }
+    WeightedPageCacheEntry evicted = null;
+    final boolean hit;
+    synchronized (this) {
+      drainReadBuffers();
+      final WeightedPageCacheEntry oldEntry = this.entries.get(newEntry);
+      if (oldEntry != null) {
+        // Admitted by a concurrent hit.
+        oldEntry.page = page;
+        didReadEntry(oldEntry);
+        this.hitCount.increment();
+        hit = true;
+      } else {
+        incrementFrequency(hash);
+        this.entries.put(newEntry, newEntry);
+        newEntry.append(this.window);
+        this.windowWeight += (long) weight;
+        evicted = evictEntries();
+        this.admitCount += 1L;
+        hit = false;
+      }
+    }
+    if (hit) {
+      context.pageCacheDidHit(this.store, page);
+    } else {
+      context.pageCacheDidAdmit(this.store, page);
+    }
+    while (evicted != null) {
+      context.pageCacheDidEvict(this.store, evicted.page);
+      evicted = evicted.next;
+    }
+  }
+
+  /**
+   * Removes all retained pages that belong to {@code zone}, after the zone
+   * has been compacted away.
+   */
+  public void evictZone(int zone) {
+    synchronized (this) {
+      final Iterator<WeightedPageCacheEntry> entries = this.entries.keySet().iterator();
+      while (entries.hasNext()) {
+        final WeightedPageCacheEntry entry = entries.next();
+        if (entry.zone == zone) {
+          entries.remove();
+          removeEntry(entry);
+        }
+      }
+    }
+  }
+
+  public void clear() {
+    synchronized (this) {
+      drainReadBuffers();
+      final Iterator<WeightedPageCacheEntry> entries = this.entries.keySet().iterator();
+      while (entries.hasNext()) {
+        // Detach the entry so that hits still in flight skip it.
+        final WeightedPageCacheEntry entry = entries.next();
+        entry.prev = null;
+        entry.next = null;
+      }
+      this.entries.clear();
+      this.window.clear();
+      this.probation.clear();
+      this.protectedSegment.clear();
+      this.windowWeight = 0L;
+      this.probationWeight = 0L;
+      this.protectedWeight = 0L;
+    }
+  }
+
+  void tryDrainReadBuffers() {
+    if (DRAIN_STATUS.compareAndSet(this, 0, 1)) {
+      try {
+        synchronized (this) {
+          drainReadBuffers();
+        }
+      } finally {
+        this.drainStatus = 0;
+      }
+    }
+  }
+
+  void drainReadBuffers() {
+    final WeightedPageCacheBuffer[] readBuffers = this.readBuffers;
+    for (int i = 0; i < readBuffers.length; i += 1) {
+      readBuffers[i].drain(this);
+    }
+  }
+
+  void didReadEntry(WeightedPageCacheEntry entry) {
+    incrementFrequency(entry.hash);
+    if (entry.prev == null) {
+      // Evicted since it was hit.
+      return;
+    } else if (entry.segment == WINDOW) {
+      entry.remove();
+      entry.append(this.window);
+    } else if (entry.segment == PROBATION) {
+      entry.remove();
+      this.probationWeight -= (long) entry.weight;
+      entry.segment = PROTECTED;
+      entry.append(this.protectedSegment);
+      this.protectedWeight += (long) entry.weight;
+      // Demote the least recently used protected pages back to probation.
+      while (this.protectedWeight > this.maxProtectedWeight) {
+        final WeightedPageCacheEntry demoted = this.protectedSegment.next;
+        demoted.remove();
+        this.protectedWeight -= (long) demoted.weight;
+        demoted.segment = PROBATION;
+        demoted.append(this.probation);
+        this.probationWeight += (long) demoted.weight;
+      }
+    } else {
+      entry.remove();
+      entry.append(this.protectedSegment);
+    }
+  }
+
+  /**
+   * Moves pages that overflow the window onto probation, then evicts pages
+   * until the cache fits within its maximum weight; returns the evicted
+   * entries, chained through their {@code next} links.
+   */
+  WeightedPageCacheEntry evictEntries() {
+    WeightedPageCacheEntry evicted = null;
+    while (this.windowWeight > this.maxWindowWeight && this.window.next != this.window) {
+      final WeightedPageCacheEntry candidate = this.window.next;
+      candidate.remove();
+      this.windowWeight -= (long) candidate.weight;
+      long mainWeight = this.probationWeight + this.protectedWeight;
+      final long maxMainWeight = this.maxWeight - Math.min(this.windowWeight, this.maxWindowWeight);
+      // Compare the candidate against every victim it would displace before
+      // evicting any, so that a rejected candidate leaves the main space intact.
+      final int candidateFrequency = frequency(candidate.hash);
+      boolean admit = true;
+      long victimWeight = 0L;
+      WeightedPageCacheEntry victim = nextVictim(this.probation);
+      while (victim != null && mainWeight - victimWeight + (long) candidate.weight > maxMainWeight) {
+        if (candidateFrequency <= frequency(victim.hash)) {
+          admit = false;
+          break;
+        }
+        victimWeight += (long) victim.weight;
+        victim = nextVictim(victim);
+      }
+      if (admit) {
+        while (mainWeight + (long) candidate.weight > maxMainWeight) {
+          victim = nextVictim(this.probation);
+          if (victim == null) {
+            break;
+          }
+          this.entries.remove(victim);
+          removeEntry(victim);
+          victim.next = evicted;
+          evicted = victim;
+          mainWeight -= (long) victim.weight;
+        }
+      }
+      if (admit) {
+        candidate.segment = PROBATION;
+        candidate.append(this.probation);
+        this.probationWeight += (long) candidate.weight;
+      } else {
+        this.entries.remove(candidate);
+        this.evictCount += 1L;
+        candidate.next = evicted;
+        evicted = candidate;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Returns the entry evicted after {@code entry}: the next least recently
+   * used probationary page, followed by the protected pages; or {@code null}
+   * if there are none.
+   */
+  WeightedPageCacheEntry nextVictim(WeightedPageCacheEntry entry) {
+    WeightedPageCacheEntry victim = entry.next;
+    if (victim == this.probation) {
+      victim = this.protectedSegment.next;
+    }
+    return victim != this.protectedSegment ? victim : null;
+  }
+
+  void removeEntry(WeightedPageCacheEntry entry) {
+    entry.remove();
+    if (entry.segment == WINDOW) {
+      this.windowWeight -= (long) entry.weight;
+    } else if (entry.segment == PROBATION) {
+      this.probationWeight -= (long) entry.weight;
+    } else {
+      this.protectedWeight -= (long) entry.weight;
+    }
+    this.evictCount += 1L;
+  }
+
+  void incrementFrequency(int hash) {
+    boolean incremented = false;
+    for (int i = 0; i < 4; i += 1) {
+      final int h = sketchHash(hash, i);
+      final int index = (h >>> 4) & this.sketchMask;
+      final int shift = (h & 15) << 2;
+      final long word = this.sketch[index];
+      if (((word >>> shift) & 15L) != 15L) {
+        this.sketch[index] = word + (1L << shift);
+        incremented = true;
+      }
+    }
+    if (incremented && (this.sketchSize += 1) >= this.sketchSampleSize) {
+      // Age all frequencies so that the sketch tracks recent popularity.
+      for (int i = 0; i < this.sketch.length; i += 1) {
+        this.sketch[i] = (this.sketch[i] >>> 1) & 0x7777777777777777L;
+      }
+      this.sketchSize >>>= 1;
+    }
+  }
+
+  int frequency(int hash) {
+    int frequency = 15;
+    for (int i = 0; i < 4; i += 1) {
+      final int h = sketchHash(hash, i);
+      final int index = (h >>> 4) & this.sketchMask;
+      final int shift = (h & 15) << 2;
+      frequency = Math.min(frequency, (int) (this.sketch[index] >>> shift) & 15);
+    }
+    return frequency;
+  }
+
+  static int sketchHash(int hash, int i) {
+    return Murmur3.mash(Murmur3.mix(SKETCH_SEEDS[i], hash));
+  }
+
+  static final int READ_BUFFER_COUNT;
+
+  static {
+    // Round the stripe count up to a power of two, so that threads can be
+    // mapped to stripes with a mask.
+    final int processorCount = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+    READ_BUFFER_COUNT = Integer.highestOneBit(Math.max(1, 2 * processorCount - 1));
+  }
+
+  static final AtomicIntegerFieldUpdater<WeightedPageCache> DRAIN_STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(WeightedPageCache.class, "drainStatus");
+
+  static final int WINDOW = 0;
+  static final int PROBATION = 1;
+  static final int PROTECTED = 2;
+
+  static final int[] SKETCH_SEEDS = {0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0x2f90404f};
+
+}
+
+final class WeightedPageCacheBuffer {
+
+  final AtomicReferenceArray<WeightedPageCacheEntry> entries;
+  volatile long readCount;
+  volatile long writeCount;
+
+  WeightedPageCacheBuffer() {
+    this.entries = new AtomicReferenceArray<WeightedPageCacheEntry>(SIZE);
+  }
+
+  /**
+   * Records a hit on {@code entry}, or drops it if the buffer is full or
+   * contended; returns {@code false} if the buffer should be drained.
+   */
+  boolean offer(WeightedPageCacheEntry entry) {
+    final long head = this.readCount;
+    final long tail = this.writeCount;
+    final long size = tail - head;
+    if (size >= SIZE) {
+      return false;
+    } else if (WRITE_COUNT.compareAndSet(this, tail, tail + 1L)) {
+      this.entries.lazySet((int) tail & (SIZE - 1), entry);
+      return size + 1L < SIZE;
+    }
+    return true;
+  }
+
+  /**
+   * Applies all published hits to {@code cache}; must be called while
+   * holding the {@code cache} lock.
+   */
+  void drain(WeightedPageCache cache) {
+    long head = this.readCount;
+    final long tail = this.writeCount;
+    while (head < tail) {
+      final int index = (int) head & (SIZE - 1);
+      final WeightedPageCacheEntry entry = this.entries.get(index);
+      if (entry == null) {
+        // Slot claimed, but not yet written.
+        break;
+      }
+      this.entries.lazySet(index, null);
+      cache.didReadEntry(entry);
+      head += 1L;
+    }
+    READ_COUNT.lazySet(this, head);
+  }
+
+  static final int SIZE = 16;
+
+  static final AtomicLongFieldUpdater<WeightedPageCacheBuffer> READ_COUNT =
+      AtomicLongFieldUpdater.newUpdater(WeightedPageCacheBuffer.class, "readCount");
+  static final AtomicLongFieldUpdater<WeightedPageCacheBuffer> WRITE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(WeightedPageCacheBuffer.class, "writeCount");
+
+}
+
+final class WeightedPageCacheEntry {
+
+  int zone;
+  long base;
+  int hash;
+  Page page;
+  int weight;
+  int segment;
+  WeightedPageCacheEntry prev;
+  WeightedPageCacheEntry next;
+
+  WeightedPageCacheEntry(int zone, long base, int hash, Page page, int weight) {
+    this.zone = zone;
+    this.base = base;
+    this.hash = hash;
+    this.page = page;
+    this.weight = weight;
+    this.segment = WeightedPageCache.WINDOW;
+  }
+
+  WeightedPageCacheEntry() {
+    this.prev = this;
+    this.next = this;
+  }
+
+  void append(WeightedPageCacheEntry head) {
+    final WeightedPageCacheEntry tail = head.prev;
+    this.prev = tail;
+    this.next = head;
+    tail.next = this;
+    head.prev = this;
+  }
+
+  void remove() {
+    this.prev.next = this.next;
+    this.next.prev = this.prev;
+    this.prev = null;
+    this.next = null;
+  }
+
+  void clear() {
+    this.prev = this;
+    this.next = this;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof WeightedPageCacheEntry) {
+      final WeightedPageCacheEntry that = (WeightedPageCacheEntry) other;
+      return this.zone == that.zone && this.base == that.base;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hash;
+  }
+
+}
@@ -0,0 +1,80 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import org.testng.annotations.Test;
+import swim.structure.Num;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class BTreeNumLeafSpec {
+
+  @Test
+  public void testPackIntegerKeys() {
+    final PageContext pageContext = new PageContext();
+    BTreePage page = BTreePage.empty(pageContext, 0, 1L);
+    for (long i = 0L; i < 64L; i += 1L) {
+      page = page.updated(Num.from(i * 1000000000L), Num.from((double) i), 1L);
+    }
+    assertTrue(page instanceof BTreeNumLeaf);
+    assertEquals(page.arity(), 64);
+    for (long i = 0L; i < 64L; i += 1L) {
+      assertEquals(page.get(Num.from(i * 1000000000L)), Num.from((double) i));
+      assertEquals(page.getIndex(i).getKey(), Num.from(i * 1000000000L));
+    }
+    assertEquals(page.get(Num.from(2000000000.0)), Num.from(2.0));
+    assertEquals(page.get(Num.from(1.5)), Value.absent());
+    assertEquals(page.nextEntry(Num.from(1.5)).getKey(), Num.from(1000000000L));
+  }
+
+  @Test
+  public void testUnpackNonIntegerKeys() {
+    final PageContext pageContext = new PageContext();
+    BTreePage page = BTreePage.empty(pageContext, 0, 1L);
+    for (int i = 0; i < 8; i += 1) {
+      page = page.updated(Num.from(i), Num.from(i), 1L);
+    }
+    assertTrue(page instanceof BTreeNumLeaf);
+    page = page.updated(Num.from(2.5), Text.from("x"), 1L);
+    page = page.updated(Text.from("a"), Text.from("y"), 1L);
+    assertTrue(page instanceof BTreeLeaf);
+    assertEquals(page.arity(), 10);
+    assertEquals(page.nextEntry(Num.from(2)).getKey(), Num.from(2.5));
+    assertEquals(page.get(Num.from(7)), Num.from(7));
+    assertEquals(page.get(Text.from("a")), Text.from("y"));
+  }
+
+  @Test
+  public void testSerializeLikeSlotLeaves() {
+    final PageContext pageContext = new PageContext();
+    BTreePage page = BTreePage.empty(pageContext, 0, 1L);
+    for (int i = 0; i < 16; i += 1) {
+      page = page.updated(Num.from(-i), Text.from(Integer.toString(i)), 1L);
+    }
+    assertTrue(page instanceof BTreeNumLeaf);
+    final BTreeLeaf slotLeaf = ((BTreeNumLeaf) page).unpacked(1L);
+    assertEquals(page.toValue(), slotLeaf.toValue());
+    assertEquals(page.toString(), slotLeaf.toString());
+
+    final BTreePageRef pageRef = new BTreePageRef(pageContext, PageType.LEAF, 0, 1, 1, 0L,
+        page.span(), Value.absent());
+    final BTreePage loaded = BTreePage.fromValue(pageRef, page.toValue());
+    assertTrue(loaded instanceof BTreeNumLeaf);
+    assertEquals(loaded.toValue(), page.toValue());
+  }
+
+}
@@ -16,6 +16,8 @@ package swim.db;
 
 import org.testng.annotations.Test;
 import swim.structure.Num;
+import swim.structure.Value;
+import swim.util.OrderedMapCursor;
 import static org.testng.Assert.assertEquals;
 
 public class BTreePageSpec {
@@ -158,4 +160,56 @@ public class BTreePageSpec {
     }
   }
 
+  @Test
+  public void testIndexOf() {
+    final PageContext pageContext = new PageContext() {
+      @Override
+      public boolean pageShouldSplit(Page page) {
+        return page.arity() >= 8;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Page page) {
+        return page.arity() < 4;
+      }
+    };
+    final long version = 0L;
+    BTreePage page = BTreePage.empty(pageContext, 0, version);
+    final int n = 1024;
+    for (int i = 0; i < n; i += 1) {
+      page = page.updated(Num.from(2 * i), Num.from(i), version).balanced(version);
+    }
+    for (int i = 0; i < n; i += 1) {
+      assertEquals(page.indexOf(Num.from(2 * i)), (long) i);
+      assertEquals(page.indexOf(Num.from(2 * i + 1)), (long) -(i + 2));
+    }
+  }
+
+  @Test
+  public void testSkip() {
+    final PageContext pageContext = new PageContext() {
+      @Override
+      public boolean pageShouldSplit(Page page) {
+        return page.arity() >= 8;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Page page) {
+        return page.arity() < 4;
+      }
+    };
+    final long version = 0L;
+    BTreePage page = BTreePage.empty(pageContext, 0, version);
+    final int n = 1024;
+    for (int i = 0; i < n; i += 1) {
+      page = page.updated(Num.from(i), Num.from(i), version).balanced(version);
+    }
+    for (int k = 0; k < n; k += 1) {
+      final OrderedMapCursor<Value, Value> cursor = page.cursor();
+      cursor.skip(k);
+      assertEquals(cursor.nextIndexLong(), (long) k);
+      assertEquals(cursor.next().getKey(), Num.from(k));
+    }
+  }
+
 }
@@ -0,0 +1,64 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.OutputBuffer;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class BinaryPageSpec {
+
+  static ByteBuffer writePage(Record page) {
+    final int size = BinaryPage.sizeOfPage(page);
+    final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[size]);
+    BinaryPage.writePage(page, output);
+    assertEquals(output.index(), size);
+    return output.bind();
+  }
+
+  static void assertRoundTrips(Record page) {
+    final ByteBuffer buffer = writePage(page);
+    assertTrue(BinaryPage.isBinary(buffer));
+    assertEquals(BinaryPage.readPage(buffer), page);
+  }
+
+  @Test
+  public void roundTripLeafPage() {
+    assertRoundTrips(Record.create(4)
+        .attr("bleaf", Record.create(2).slot("stem", 7).slot("v", 42L))
+        .slot("a", 1)
+        .slot(Num.from(-5L), Text.from("é中😀"))
+        .slot(Text.from("b"), Record.create(2).attr("point").slot("x", 1.5).slot("y", 2.5f)));
+  }
+
+  @Test
+  public void roundTripScalars() {
+    assertRoundTrips(Record.of(Value.absent(), Value.extant(), Bool.from(true), Bool.from(false),
+        Num.from(Integer.MIN_VALUE), Num.from(Long.MAX_VALUE), Num.uint32(-1), Num.uint64(-1L),
+        Num.from(new BigInteger("123456789012345678901234567890")), Num.from(Double.NaN),
+        Data.fromBase16("00ff7f80"), Text.empty()));
+  }
+
+}
@@ -15,10 +15,13 @@
 package swim.db;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.testng.annotations.Test;
 import swim.concurrent.Theater;
 import swim.math.PointR2;
@@ -27,10 +30,12 @@ import swim.spatial.GeoProjection;
 import swim.spatial.SpatialMap;
 import swim.structure.Data;
 import swim.structure.Form;
+import swim.structure.Num;
 import swim.structure.Text;
 import swim.structure.Value;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 public class FileStoreSpec {
 
@@ -300,6 +305,217 @@ public class FileStoreSpec {
     }
   }
 
+  @Test
+  public void testBinaryPageFormat() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "binary-pages.swimdb");
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+      FileStore store = new FileStore(binaryStoreContext(), storePath, stage).open();
+      Database database = store.openDatabase();
+      Map<String, Integer> map = database.openBTreeMap("test").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      for (int i = 0; i < 32; i += 1) {
+        map.put("k" + i, i);
+      }
+      database.commit(Commit.forced());
+      assertEquals(database.germ().pageFormat(), PageFormat.BINARY);
+      store.close();
+
+      store = new FileStore(binaryStoreContext(), storePath, stage).open();
+      database = store.openDatabase();
+      map = database.openBTreeMap("test").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      assertEquals(map.size(), 32);
+      for (int i = 0; i < 32; i += 1) {
+        assertEquals(map.get("k" + i), (Integer) i);
+      }
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testReadReconPagesWithBinaryFormat() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "recon-to-binary.swimdb");
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+      FileStore store = new FileStore(new StoreContext(storeSettings), storePath, stage).open();
+      Database database = store.openDatabase();
+      STreeList list = database.openSTreeList("test").load();
+      list.add(Text.from("a"));
+      list.add(Data.fromBase16("0102"));
+      database.commit(Commit.forced());
+      store.close();
+
+      final CountDownLatch didCompact = new CountDownLatch(1);
+      store = new FileStore(new StoreContext(storeSettings.pageFormat(PageFormat.BINARY)) {
+        @Override
+        public void databaseDidCompact(Store store, Database database, Compact compact) {
+          didCompact.countDown();
+        }
+      }, storePath, stage).open();
+      database = store.openDatabase();
+      list = database.openSTreeList("test").load();
+      assertEquals(list.get(0), Text.from("a"));
+      assertEquals(list.get(1), Data.fromBase16("0102"));
+      didCompact.await();
+      assertEquals(database.pageFormat(), PageFormat.BINARY);
+      assertEquals(database.germ().pageFormat(), PageFormat.BINARY);
+      list.add(Value.extant());
+      database.commit(Commit.forced());
+      store.close();
+
+      store = new FileStore(binaryStoreContext(), storePath, stage).open();
+      database = store.openDatabase();
+      assertEquals(database.germ().pageFormat(), PageFormat.BINARY);
+      list = database.openSTreeList("test").load();
+      assertEquals(list.size(), 3);
+      assertEquals(list.get(0), Text.from("a"));
+      assertEquals(list.get(2), Value.extant());
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testMapSealedZones() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "mapped-zones.swimdb");
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings.mapSealedZones(true)) {
+      @Override
+      public Commit databaseWillCommit(Store store, Database database, Commit commit) {
+        return commit; // Override auto shift behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto commit and compact behavior.
+      }
+    };
+    try {
+      stage.start();
+      FileStore store = new FileStore(storeContext, storePath, stage).open();
+      Database database = store.openDatabase();
+      BTreeMap map = database.openBTreeMap("sealed").load();
+      map.put(Text.from("a"), Num.from(1));
+      map.put(Text.from("b"), Num.from(2));
+      database.commit(Commit.forced());
+      final int sealedZone = store.zone().id();
+      database.openBTreeMap("live").load().put(Text.from("c"), Num.from(3));
+      database.commit(Commit.forced().isShifted(true)); // Seal the zone holding the first map.
+      store.close();
+
+      store = new FileStore(storeContext, storePath, stage).open();
+      database = store.openDatabase();
+      map = database.openBTreeMap("sealed").load();
+      assertEquals(map.get(Text.from("a")), Num.from(1));
+      assertEquals(map.get(Text.from("b")), Num.from(2));
+      assertTrue(store.zone(sealedZone).isSealed());
+      assertNotNull(store.zone(sealedZone).mapping);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testStreamingCommit() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "streaming-commit.swimdb");
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings.commitBufferSize(64).commitBufferCount(2)) {
+      @Override
+      public Commit databaseWillCommit(Store store, Database database, Commit commit) {
+        return commit; // Override auto shift behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto commit and compact behavior.
+      }
+    };
+    try {
+      stage.start();
+      FileStore store = new FileStore(storeContext, storePath, stage).open();
+      Database database = store.openDatabase();
+      for (int i = 0; i < 50; i += 1) {
+        final Map<String, Integer> map = database.openBTreeMap("test" + i).load()
+            .keyForm(Form.forString())
+            .valueForm(Form.forInteger());
+        for (int j = 0; j < 20; j += 1) {
+          map.put("k" + j, i * j);
+        }
+      }
+      final Chunk[] chunks = new Chunk[1];
+      database.setDatabaseDelegate(new DatabaseDelegate() {
+        @Override
+        public void databaseDidCommit(Database database, Chunk chunk) {
+          chunks[0] = chunk;
+        }
+
+        @Override
+        public void databaseDidCompact(Database database, Compact compact) {
+          // nop
+        }
+      });
+      database.commit(Commit.forced());
+      final Chunk chunk = chunks[0];
+      assertTrue(chunk.size() > 64 * 2);
+      assertEquals(chunk.toByteBuffer().remaining(), chunk.size());
+      assertTrue(chunk.pageCount() >= 52);
+      assertTrue(chunk.latency() >= 0L);
+      store.close();
+
+      store = new FileStore(storeContext, storePath, stage).open();
+      database = store.openDatabase();
+      for (int i = 0; i < 50; i += 1) {
+        final Map<String, Integer> map = database.openBTreeMap("test" + i).load()
+            .keyForm(Form.forString())
+            .valueForm(Form.forInteger());
+        assertEquals(map.size(), 20);
+        for (int j = 0; j < 20; j += 1) {
+          assertEquals(map.get("k" + j), (Integer) (i * j));
+        }
+      }
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  StoreContext binaryStoreContext() {
+    return new StoreContext(storeSettings.pageFormat(PageFormat.BINARY)) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 3;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Store store, Database database, Page page) {
+        return page.arity() < 2;
+      }
+
+      @Override
+      public Commit databaseWillCommit(Store store, Database database, Commit commit) {
+        return commit; // Override auto shift behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto commit and compact behavior.
+      }
+    };
+  }
+
   @Test
   public void testAutoCommit() throws InterruptedException {
     final File storePath = new File(testOutputDir, "auto-commit.swimdb");
@@ -466,6 +682,244 @@ public class FileStoreSpec {
     }
   }
 
+  StoreContext syncStoreContext(StoreSettings settings, List<Chunk> chunks, AtomicInteger syncCount,
+                                CountDownLatch didSync) {
+    return new StoreContext(settings) {
+      @Override
+      public Commit databaseWillCommit(Store store, Database database, Commit commit) {
+        return commit; // Override auto shift behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto commit and compact behavior.
+        if (chunk != null) {
+          synchronized (chunks) {
+            chunks.add(chunk);
+          }
+        }
+      }
+
+      @Override
+      public void databaseDidSync(Store store, Database database, Zone zone, long syncLatency) {
+        assertTrue(syncLatency >= 0L);
+        syncCount.incrementAndGet();
+        didSync.countDown();
+      }
+    };
+  }
+
+  @Test
+  public void testSyncPolicyAlways() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "sync-always.swimdb");
+    final Theater stage = new Theater();
+    final List<Chunk> chunks = new ArrayList<Chunk>();
+    final AtomicInteger syncCount = new AtomicInteger();
+    final StoreContext storeContext = syncStoreContext(storeSettings.syncPolicy(SyncPolicy.ALWAYS),
+                                                       chunks, syncCount, new CountDownLatch(0));
+    try {
+      stage.start();
+      final FileStore store = new FileStore(storeContext, storePath, stage).open();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      for (int i = 0; i < 3; i += 1) {
+        map.put("k" + i, i);
+        final Chunk chunk = database.commit(Commit.forced());
+        assertTrue(chunk.isSynced());
+        assertEquals(chunk.commitCount(), 1);
+      }
+      assertEquals(syncCount.get(), 3);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testSyncPolicyGroup() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "sync-group.swimdb");
+    final Theater stage = new Theater();
+    final List<Chunk> chunks = new ArrayList<Chunk>();
+    final AtomicInteger syncCount = new AtomicInteger();
+    final StoreContext storeContext = syncStoreContext(storeSettings.syncPolicy(SyncPolicy.GROUP).syncInterval(200),
+                                                       chunks, syncCount, new CountDownLatch(0));
+    try {
+      stage.start();
+      final FileStore store = new FileStore(storeContext, storePath, stage).open();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      final int commitCount = 8;
+      for (int i = 0; i < commitCount - 1; i += 1) {
+        map.put("k" + i, i);
+        database.commitAsync(Commit.forced());
+      }
+      map.put("k" + (commitCount - 1), commitCount - 1);
+      final Chunk chunk = database.commit(Commit.forced());
+      assertTrue(chunk.isSynced());
+      int chunkCommitCount = 0;
+      synchronized (chunks) {
+        // Requests made within the sync interval are written as one chunk.
+        assertTrue(chunks.size() < commitCount);
+        for (Chunk groupChunk : chunks) {
+          assertTrue(groupChunk.isSynced());
+          chunkCommitCount += groupChunk.commitCount();
+        }
+        assertEquals(syncCount.get(), chunks.size());
+      }
+      assertEquals(chunkCommitCount, commitCount);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testSyncPolicyPeriodic() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "sync-periodic.swimdb");
+    final Theater stage = new Theater();
+    final List<Chunk> chunks = new ArrayList<Chunk>();
+    final AtomicInteger syncCount = new AtomicInteger();
+    final CountDownLatch didSync = new CountDownLatch(1);
+    final StoreContext storeContext = syncStoreContext(storeSettings.syncPolicy(SyncPolicy.PERIODIC).syncInterval(500),
+                                                       chunks, syncCount, didSync);
+    try {
+      stage.start();
+      final long openTime = System.nanoTime();
+      FileStore store = new FileStore(storeContext, storePath, stage).open();
+      Database database = store.openDatabase();
+      Map<String, Integer> map = database.openBTreeMap("test").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      map.put("a", 1);
+      Chunk chunk = database.commit(Commit.forced());
+      // Commits complete before their chunks are fsynced.
+      assertTrue(!chunk.isSynced());
+      assertEquals(syncCount.get(), 0);
+      // A timer fsyncs the trailing chunk once the interval has elapsed.
+      assertTrue(didSync.await(5, TimeUnit.SECONDS));
+      assertEquals(syncCount.get(), 1);
+      assertTrue(System.nanoTime() - openTime >= 450L * 1000000L);
+
+      map.put("b", 2);
+      chunk = database.commit(Commit.forced());
+      assertTrue(!chunk.isSynced());
+      // Closing commits always fsync, even when there's nothing left to write.
+      store.close();
+      assertEquals(syncCount.get(), 2);
+
+      store = new FileStore(storeContext, storePath, stage).open();
+      database = store.openDatabase();
+      map = database.openBTreeMap("test").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      assertEquals(map.get("a"), (Integer) 1);
+      assertEquals(map.get("b"), (Integer) 2);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testRateLimitedIncrementalCompact() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "incremental-compact.swimdb");
+    final Theater stage = new Theater();
+    final long compactRate = 128L * 1024L;
+    final List<long[]> steps = new ArrayList<long[]>();
+    final List<Integer> deletedZones = new ArrayList<Integer>();
+    final StoreContext storeContext = new StoreContext(storeSettings.compactStepSize(4).compactRate(compactRate)) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 3;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Store store, Database database, Page page) {
+        return page.arity() < 2;
+      }
+
+      @Override
+      public Commit databaseWillCommit(Store store, Database database, Commit commit) {
+        return commit; // Override auto shift behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto commit and compact behavior.
+      }
+
+      @Override
+      public void databaseCompactDidProgress(Store store, Database database, int zoneId,
+                                             long writeSize, long reclaimableSize) {
+        steps.add(new long[] {zoneId, writeSize});
+      }
+
+      @Override
+      public void databaseDidDeleteZone(Store store, Database database, int zoneId) {
+        deletedZones.add(zoneId);
+      }
+    };
+    try {
+      stage.start();
+      FileStore store = new FileStore(storeContext, storePath, stage).open();
+      Database database = store.openDatabase();
+      Map<String, Integer> map = database.openBTreeMap("test").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      // Leave live pages behind in each older zone.
+      for (int z = 0; z < 3; z += 1) {
+        for (int i = z * 100; i < 300; i += 1) {
+          map.put("k" + i, z * 1000 + i);
+        }
+        database.commit(Commit.forced().isShifted(true));
+      }
+      final int oldZoneCount = store.zoneFiles().size();
+      assertTrue(oldZoneCount > 1);
+
+      final long compactTime = System.nanoTime();
+      database.compact(Compact.forced(0));
+      final long compactLatency = System.nanoTime() - compactTime;
+
+      // Zones are evacuated in several steps, oldest first.
+      assertTrue(steps.size() > 1);
+      long writeSize = 0L;
+      long prevZone = 0L;
+      for (long[] step : steps) {
+        assertTrue(step[0] >= prevZone);
+        prevZone = step[0];
+        writeSize += step[1];
+      }
+      assertTrue(writeSize > 0L);
+      // Steps are throttled to the compaction rate.
+      assertTrue(compactLatency >= writeSize * 1000000000L / compactRate);
+      // Every evacuated zone is deleted.
+      assertEquals(store.zoneFiles().size(), 1);
+      assertTrue(deletedZones.size() >= oldZoneCount - 1);
+      store.close();
+
+      store = new FileStore(storeContext, storePath, stage).open();
+      database = store.openDatabase();
+      map = database.openBTreeMap("test").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      assertEquals(map.size(), 300);
+      for (int i = 0; i < 300; i += 1) {
+        assertEquals(map.get("k" + i), (Integer) ((i / 100) * 1000 + i));
+      }
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
   @Test
   public void benchmarkLargeWrites() throws InterruptedException {
     final File storePath = new File(testOutputDir, "large-writes.swimdb");
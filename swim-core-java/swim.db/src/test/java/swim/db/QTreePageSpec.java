@@ -17,7 +17,9 @@ package swim.db;
 import org.testng.annotations.Test;
 import swim.spatial.BitInterval;
 import swim.structure.Record;
+import swim.structure.Slot;
 import swim.structure.Text;
+import swim.util.Cursor;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
@@ -957,4 +959,38 @@ public class QTreePageSpec {
     }
   }
 
+  @Test
+  public void skipNodeCursor() {
+    final PageContext pageContext = new PageContext() {
+      @Override
+      public boolean pageShouldSplit(Page page) {
+        return page.arity() >= 8;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Page page) {
+        return page.arity() < 4;
+      }
+    };
+    final long version = 0L;
+    QTreePage page = QTreePage.empty(pageContext, 0, version);
+    for (int x = 0; x < 32; x += 1) {
+      for (int y = 0; y < 32; y += 1) {
+        page = page.updated(Text.from("k" + x + "," + y), (long) x << 8, (long) y << 8,
+                            Text.from("v" + x + "," + y), version).balanced(version);
+      }
+    }
+    final Slot[] slots = new Slot[(int) page.span()];
+    final Cursor<Slot> all = page.cursor();
+    for (int i = 0; i < slots.length; i += 1) {
+      slots[i] = all.next();
+    }
+    assertFalse(all.hasNext());
+    for (int k = 0; k < slots.length; k += 1) {
+      final Cursor<Slot> cursor = page.cursor();
+      cursor.skip(k);
+      assertEquals(cursor.next(), slots[k]);
+    }
+  }
+
 }
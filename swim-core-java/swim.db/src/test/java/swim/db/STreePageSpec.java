@@ -16,6 +16,8 @@ package swim.db;
 
 import org.testng.annotations.Test;
 import swim.structure.Num;
+import swim.structure.Slot;
+import swim.util.Cursor;
 import static org.testng.Assert.assertEquals;
 
 public class STreePageSpec {
@@ -155,4 +157,30 @@ public class STreePageSpec {
     }
   }
 
+  @Test
+  public void testSkip() {
+    final PageContext pageContext = new PageContext() {
+      @Override
+      public boolean pageShouldSplit(Page page) {
+        return page.arity() >= 8;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Page page) {
+        return page.arity() < 4;
+      }
+    };
+    final long version = 0L;
+    STreePage page = STreePage.empty(pageContext, 0, version);
+    final int n = 1024;
+    for (int i = 0; i < n; i += 1) {
+      page = page.appended(Num.from(i), Num.from(i), version).balanced(version);
+    }
+    for (int k = 0; k < n; k += 1) {
+      final Cursor<Slot> cursor = page.cursor();
+      cursor.skip(k);
+      assertEquals(cursor.next().getValue(), Num.from(k));
+    }
+  }
+
 }
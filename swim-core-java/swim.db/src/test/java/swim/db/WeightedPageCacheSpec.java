@@ -0,0 +1,212 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+import swim.structure.Num;
+import swim.structure.Slot;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class WeightedPageCacheSpec {
+
+  static Page committedPage(PageContext pageContext, int zone, long base) {
+    final Slot[] slots = {Slot.of(Num.from(base), Num.from(zone))};
+    return BTreeLeaf.create(pageContext, 0, 1L, zone, base, Value.absent(), slots);
+  }
+
+  @Test
+  public void testRetainPagesWithinMaxWeight() {
+    final PageContext pageContext = new PageContext();
+    final int pageSize = committedPage(pageContext, 1, 1L).pageSize();
+    final WeightedPageCache cache = new WeightedPageCache(new TestStore(), 64L * pageSize, 1024);
+    for (int i = 1; i <= 1024; i += 1) {
+      cache.hitPage(committedPage(pageContext, 1, (long) i));
+      assertTrue(cache.weight() <= cache.maxWeight());
+    }
+    assertEquals(cache.admitCount(), 1024L);
+    assertEquals(cache.evictCount(), (long) (1024 - cache.size()));
+  }
+
+  @Test
+  public void testHitPage() {
+    final PageContext pageContext = new PageContext();
+    final Page page = committedPage(pageContext, 1, 1L);
+    final WeightedPageCache cache = new WeightedPageCache(new TestStore(), 1024L * page.pageSize(), 1024);
+    cache.hitPage(page);
+    cache.hitPage(page);
+    cache.hitPage(committedPage(pageContext, 1, 1L));
+    assertEquals(cache.size(), 1);
+    assertEquals(cache.hitCount(), 2L);
+    assertEquals(cache.admitCount(), 1L);
+  }
+
+  @Test
+  public void testIgnoreUncommittedPages() {
+    final WeightedPageCache cache = new WeightedPageCache(new TestStore(), 1L << 20, 1024);
+    cache.hitPage(BTreeLeaf.empty(new PageContext(), 0, 1L));
+    assertEquals(cache.size(), 0);
+    assertEquals(cache.admitCount(), 0L);
+  }
+
+  @Test
+  public void testRetainFrequentPagesDuringScan() {
+    final PageContext pageContext = new PageContext();
+    final int pageSize = committedPage(pageContext, 1, 1L).pageSize();
+    final WeightedPageCache cache = new WeightedPageCache(new TestStore(), 100L * pageSize, 1024);
+    for (int k = 0; k < 8; k += 1) {
+      for (int i = 1; i <= 32; i += 1) {
+        cache.hitPage(committedPage(pageContext, 1, (long) i));
+      }
+    }
+    for (int i = 1; i <= 4096; i += 1) {
+      cache.hitPage(committedPage(pageContext, 2, (long) i));
+    }
+    final long hitCount = cache.hitCount();
+    for (int i = 1; i <= 32; i += 1) {
+      cache.hitPage(committedPage(pageContext, 1, (long) i));
+    }
+    assertEquals(cache.hitCount() - hitCount, 32L);
+  }
+
+  @Test
+  public void testEvictZone() {
+    final PageContext pageContext = new PageContext();
+    final WeightedPageCache cache = new WeightedPageCache(new TestStore(), 1L << 20, 1024);
+    for (int i = 1; i <= 16; i += 1) {
+      cache.hitPage(committedPage(pageContext, 1, (long) i));
+      cache.hitPage(committedPage(pageContext, 2, (long) i));
+    }
+    cache.evictZone(1);
+    assertEquals(cache.size(), 16);
+    cache.evictZone(2);
+    assertEquals(cache.size(), 0);
+    assertEquals(cache.weight(), 0L);
+  }
+
+  @Test
+  public void testPromoteBufferedHits() {
+    final PageContext pageContext = new PageContext();
+    final Page page = committedPage(pageContext, 1, 1L);
+    final WeightedPageCache cache = new WeightedPageCache(new TestStore(), 1024L * page.pageSize(), 1024);
+    cache.hitPage(page);
+    // Push the page out of the window onto probation.
+    for (int i = 2; i <= 64; i += 1) {
+      cache.hitPage(committedPage(pageContext, 1, (long) i));
+    }
+    WeightedPageCacheEntry entry = null;
+    for (WeightedPageCacheEntry candidate : cache.entries.keySet()) {
+      if (candidate.base == 1L) {
+        entry = candidate;
+      }
+    }
+    assertEquals(entry.segment, WeightedPageCache.PROBATION);
+    cache.hitPage(page);
+    // Buffered hits are applied before the next admission.
+    cache.hitPage(committedPage(pageContext, 1, 65L));
+    assertEquals(entry.segment, WeightedPageCache.PROTECTED);
+  }
+
+  static WeightedPageCacheEntry probationEntry(WeightedPageCache cache, long base, int weight, int frequency) {
+    final WeightedPageCacheEntry entry = new WeightedPageCacheEntry(1, base, (int) base, null, weight);
+    for (int i = 0; i < frequency; i += 1) {
+      cache.incrementFrequency(entry.hash);
+    }
+    cache.entries.put(entry, entry);
+    entry.segment = WeightedPageCache.PROBATION;
+    entry.append(cache.probation);
+    cache.probationWeight += (long) weight;
+    return entry;
+  }
+
+  @Test
+  public void testRejectCandidateBeforeEvictingVictims() {
+    final WeightedPageCache cache = new WeightedPageCache(new TestStore(), 1000L, 1024);
+    synchronized (cache) {
+      final WeightedPageCacheEntry rare = probationEntry(cache, 1L, 400, 0);
+      final WeightedPageCacheEntry frequent = probationEntry(cache, 2L, 500, 5);
+      final WeightedPageCacheEntry candidate = new WeightedPageCacheEntry(1, 3L, 3, null, 600);
+      cache.incrementFrequency(candidate.hash);
+      cache.incrementFrequency(candidate.hash);
+      assertTrue(cache.frequency(rare.hash) < cache.frequency(candidate.hash));
+      assertTrue(cache.frequency(candidate.hash) < cache.frequency(frequent.hash));
+      cache.entries.put(candidate, candidate);
+      candidate.append(cache.window);
+      cache.windowWeight += (long) candidate.weight;
+
+      // Admitting the candidate would displace both probationary pages, and
+      // it's less frequent than the second one.
+      final WeightedPageCacheEntry evicted = cache.evictEntries();
+      assertTrue(evicted == candidate);
+      assertTrue(evicted.next == null);
+      assertEquals(cache.size(), 2);
+      assertEquals(cache.weight(), 900L);
+      assertTrue(cache.probation.next == rare);
+    }
+  }
+
+  @Test
+  public void testConcurrentHits() throws InterruptedException {
+    final PageContext pageContext = new PageContext();
+    final int pageSize = committedPage(pageContext, 1, 1L).pageSize();
+    final WeightedPageCache cache = new WeightedPageCache(new TestStore(), 256L * pageSize, 1024);
+    final int threadCount = 4;
+    final int hitCount = 20000;
+    final Page[] pages = new Page[512];
+    for (int i = 0; i < pages.length; i += 1) {
+      pages[i] = committedPage(pageContext, 1, (long) (i + 1));
+    }
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(threadCount);
+    for (int t = 0; t < threadCount; t += 1) {
+      final int thread = t;
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            int seed = thread * 7919 + 1;
+            for (int i = 0; i < hitCount; i += 1) {
+              seed = seed * 1103515245 + 12345;
+              // Skew hits towards the first pages.
+              final int index = ((seed >>> 8) & 511) >>> ((seed >>> 4) & 3);
+              cache.hitPage(pages[index]);
+            }
+          } catch (InterruptedException cause) {
+            throw new RuntimeException(cause);
+          } finally {
+            done.countDown();
+          }
+        }
+      }).start();
+    }
+    start.countDown();
+    done.await();
+    assertEquals(cache.hitCount() + cache.admitCount(), (long) (threadCount * hitCount));
+    synchronized (cache) {
+      cache.drainReadBuffers();
+      long weight = 0L;
+      for (WeightedPageCacheEntry entry : cache.entries.keySet()) {
+        assertTrue(entry.prev != null);
+        weight += (long) entry.weight;
+      }
+      assertEquals(cache.weight(), weight);
+      assertTrue(weight <= cache.maxWeight());
+    }
+  }
+
+}
@@ -782,6 +782,25 @@ public class Deflate<O> extends Encoder<Encoder<?, O>, O> implements Cloneable {
     return new Deflate<O>(this);
   }
 
+  // Approximate number of bytes retained by the compression window, hash
+  // chains, and pending output buffer.
+  public long memorySize() {
+    long size = 0L;
+    if (window != null) {
+      size += (long) window.length;
+    }
+    if (prev != null) {
+      size += 2L * (long) prev.length;
+    }
+    if (head != null) {
+      size += 2L * (long) head.length;
+    }
+    if (pending_buf != null) {
+      size += (long) pending_buf.length;
+    }
+    return size;
+  }
+
   // Set the current flush mode.
   public Deflate<O> flush(int flush) {
     if (flush < 0 || flush > Z_BLOCK) {
@@ -518,6 +518,12 @@ public class Inflate<O> extends Decoder<O> implements Cloneable {
     return new Inflate<O>(this);
   }
 
+  // Approximate number of bytes retained by the sliding window and code
+  // tables.
+  public long memorySize() {
+    return (window != null ? (long) window.length : 0L) + 4L * (long) codes.length;
+  }
+
   // Set the current flush mode.
   public Inflate<O> flush(int flush) {
     this.flush = flush;
@@ -49,6 +49,11 @@ public abstract class AbstractWarpClient extends AbstractWsClient implements Web
     }
   }
 
+  @Override
+  public long compressionMemory() {
+    return 0L;
+  }
+
   @Override
   public <I2 extends Envelope> void read(Decoder<I2> content) {
     throw new WarpException("unupgraded websocket");
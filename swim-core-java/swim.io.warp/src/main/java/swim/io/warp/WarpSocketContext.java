@@ -25,6 +25,14 @@ public interface WarpSocketContext extends IpContext, FlowContext {
 
   WarpSettings warpSettings();
 
+  default int linkAlias() {
+    return -1;
+  }
+
+  default long compressionMemory() {
+    return 0L;
+  }
+
   void feed(PullRequest<Envelope> pullRequest);
 
   void feed(Envelope envelope, float prio);
@@ -19,6 +19,8 @@ import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import swim.codec.Decoder;
+import swim.collections.FingerTrieSeq;
 import swim.concurrent.ConcurrentTrancheQueue;
 import swim.concurrent.Conts;
 import swim.concurrent.DropException;
@@ -27,14 +29,19 @@ import swim.concurrent.PullRequest;
 import swim.concurrent.PushRequest;
 import swim.concurrent.StayContext;
 import swim.http.HttpRequest;
+import swim.http.HttpHeader;
 import swim.http.HttpResponse;
+import swim.http.header.SecWebSocketProtocol;
 import swim.io.FlowControl;
 import swim.io.FlowModifier;
 import swim.io.IpSocket;
 import swim.io.ws.WebSocket;
 import swim.io.ws.WebSocketContext;
+import swim.warp.BinaryEnvelopeCodec;
 import swim.warp.Envelope;
+import swim.warp.EnvelopeCache;
 import swim.warp.WarpException;
+import swim.ws.WsBinary;
 import swim.ws.WsClose;
 import swim.ws.WsControl;
 import swim.ws.WsData;
@@ -48,6 +55,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
   protected final WarpSettings warpSettings;
   final ConcurrentTrancheQueue<PullRequest<Envelope>> supply;
   protected WebSocketContext<Envelope, Envelope> context;
+  BinaryEnvelopeCodec binaryCodec;
   volatile long status;
 
   public WarpWebSocket(WarpSocket socket, WarpSettings warpSettings) {
@@ -88,7 +96,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       } else if (frame instanceof WsControl<?, ?>) {
         this.socket.didRead((WsControl<?, ?>) frame);
       }
-      this.context.read(Envelope.decoder());
+      this.context.read(envelopeDecoder());
     }
   }
 
@@ -128,8 +136,11 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       final long newStatus = oldStatus | UPGRADED;
       if (oldStatus != newStatus) {
         if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          if (BinaryEnvelopeCodec.PROTOCOL.equals(protocol(httpResponse))) {
+            this.binaryCodec = new BinaryEnvelopeCodec();
+          }
           this.socket.didUpgrade(httpRequest, httpResponse);
-          this.context.read(Envelope.decoder());
+          this.context.read(envelopeDecoder());
           generateDemand();
           break;
         }
@@ -365,7 +376,12 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
         throw new WarpException("overdemand");
       }
     } while (true);
-    this.context.write(WsText.from(envelope, envelope.reconEncoder()));
+    final BinaryEnvelopeCodec binaryCodec = this.binaryCodec;
+    if (binaryCodec != null) {
+      this.context.write(WsBinary.from(envelope, binaryCodec.encoder(envelope)));
+    } else {
+      this.context.write(WsText.from(envelope, envelopeCache().reconEncoder(envelope)));
+    }
   }
 
   @Override
@@ -385,6 +401,47 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     } while (true);
   }
 
+  public boolean isBinary() {
+    return this.binaryCodec != null;
+  }
+
+  @Override
+  public int linkAlias() {
+    final BinaryEnvelopeCodec binaryCodec = this.binaryCodec;
+    return binaryCodec != null ? binaryCodec.linkAlias() : -1;
+  }
+
+  @Override
+  public long compressionMemory() {
+    final WebSocketContext<Envelope, Envelope> context = this.context;
+    return context != null ? context.compressionMemory() : 0L;
+  }
+
+  protected Decoder<Envelope> envelopeDecoder() {
+    final BinaryEnvelopeCodec binaryCodec = this.binaryCodec;
+    if (binaryCodec != null) {
+      return binaryCodec.decoder();
+    } else {
+      return Envelope.decoder();
+    }
+  }
+
+  static String protocol(HttpResponse<?> httpResponse) {
+    for (HttpHeader header : httpResponse.headers()) {
+      if (header instanceof SecWebSocketProtocol) {
+        final FingerTrieSeq<String> protocols = ((SecWebSocketProtocol) header).protocols();
+        if (!protocols.isEmpty()) {
+          return protocols.head();
+        }
+      }
+    }
+    return null;
+  }
+
+  protected EnvelopeCache envelopeCache() {
+    return EnvelopeCache.shared();
+  }
+
   protected void generateDemand() {
     demand:
     do {
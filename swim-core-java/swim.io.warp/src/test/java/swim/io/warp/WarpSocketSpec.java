@@ -14,13 +14,31 @@
 
 package swim.io.warp;
 
+import java.util.concurrent.CountDownLatch;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.Theater;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
 import swim.io.IpServiceRef;
 import swim.io.IpSocketRef;
+import swim.io.http.AbstractHttpService;
 import swim.io.http.HttpClient;
 import swim.io.http.HttpEndpoint;
+import swim.io.http.HttpResponder;
+import swim.io.http.HttpServer;
 import swim.io.http.HttpService;
+import swim.structure.Attr;
+import swim.structure.Record;
 import swim.uri.Uri;
+import swim.warp.BinaryEnvelopeCodec;
+import swim.warp.Envelope;
+import swim.warp.EventMessage;
 import swim.ws.WsRequest;
+import swim.ws.WsResponse;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public class WarpSocketSpec extends WarpSocketBehaviors {
 
@@ -45,4 +63,82 @@ public class WarpSocketSpec extends WarpSocketBehaviors {
     return endpoint.connectHttp("127.0.0.1", 23556, client, this.warpSettings.httpSettings());
   }
 
+  @Test
+  public void testBinarySendReceive() {
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final CountDownLatch clientRead = new CountDownLatch(2);
+    final CountDownLatch serverRead = new CountDownLatch(2);
+    final EventMessage serverToClientEvent = new EventMessage("node/uri", "lane_uri", Record.of(Attr.of("test"), 1));
+    final EventMessage clientToServerEvent = new EventMessage("node/uri", "lane_uri", Record.of(Attr.of("test"), 2));
+    final AbstractWarpSocket clientSocket = new AbstractWarpSocket() {
+      @Override
+      public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+        assertTrue(((WarpWebSocket) warpSocketContext()).isBinary());
+        feed(clientToServerEvent);
+        feed(clientToServerEvent);
+      }
+
+      @Override
+      public void didRead(Envelope envelope) {
+        assertEquals(envelope, serverToClientEvent);
+        clientRead.countDown();
+      }
+    };
+    final AbstractWarpSocket serverSocket = new AbstractWarpSocket() {
+      @Override
+      public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+        assertTrue(((WarpWebSocket) warpSocketContext()).isBinary());
+        feed(serverToClientEvent);
+        feed(serverToClientEvent);
+      }
+
+      @Override
+      public void didRead(Envelope envelope) {
+        assertEquals(envelope, clientToServerEvent);
+        serverRead.countDown();
+      }
+    };
+    final AbstractWarpServer server = new AbstractWarpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final WsRequest wsRequest = WsRequest.from(httpRequest);
+        final WsResponse wsResponse = wsRequest.accept(wsSettings, BinaryEnvelopeCodec.PROTOCOL);
+        return upgrade(serverSocket, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+    final WsRequest wsRequest = this.warpSettings.wsSettings()
+        .handshakeRequest(this.wsUri, FingerTrieSeq.of(BinaryEnvelopeCodec.PROTOCOL, "warp0"));
+    final HttpClient client = new AbstractWarpClient(this.warpSettings) {
+      @Override
+      public void didConnect() {
+        super.didConnect();
+        doRequest(upgrade(clientSocket, wsRequest));
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      bind(endpoint, service);
+      endpoint.connectHttp("127.0.0.1", 23556, client, this.warpSettings.httpSettings());
+      clientRead.await();
+      serverRead.await();
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      clientSocket.close();
+      serverSocket.close();
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
 }
@@ -25,6 +25,10 @@ public interface WebSocketContext<I, O> extends IpContext, FlowContext {
 
   WsSettings wsSettings();
 
+  default long compressionMemory() {
+    return 0L;
+  }
+
   <I2 extends I> void read(Decoder<I2> content);
 
   <O2 extends O> void write(WsData<O2> frame);
@@ -122,7 +122,12 @@ public class WebSocketModem<I, O> implements IpModem<Object, Object>, WebSocketC
 
   @Override
   public void didDisconnect() {
-    this.socket.didDisconnect();
+    try {
+      this.socket.didDisconnect();
+    } finally {
+      this.decoder.close();
+      this.encoder.close();
+    }
   }
 
   @Override
@@ -228,6 +233,11 @@ public class WebSocketModem<I, O> implements IpModem<Object, Object>, WebSocketC
     return this.wsSettings;
   }
 
+  @Override
+  public long compressionMemory() {
+    return this.decoder.compressionMemory() + this.encoder.compressionMemory();
+  }
+
   @Override
   public <I2 extends I> void read(Decoder<I2> content) {
     this.context.read(this.decoder.frameDecoder(content));
@@ -40,12 +40,33 @@ public class WsSettings extends WsEngineSettings {
   public WsSettings(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
                     int serverCompressionLevel, int clientCompressionLevel,
                     boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                    int serverMaxWindowBits, int clientMaxWindowBits) {
+                    int serverMaxWindowBits, int clientMaxWindowBits,
+                    boolean nativeCompression, boolean pooledCompression) {
     super(maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
-        serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits);
+        serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, pooledCompression);
     this.httpSettings = httpSettings;
   }
 
+  public WsSettings(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
+                    int serverCompressionLevel, int clientCompressionLevel,
+                    boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                    int serverMaxWindowBits, int clientMaxWindowBits) {
+    this(httpSettings, maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
+        serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits,
+        false, false);
+  }
+
+  public WsSettings(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
+                    int serverCompressionLevel, int clientCompressionLevel,
+                    boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                    int serverMaxWindowBits, int clientMaxWindowBits,
+                    boolean nativeCompression) {
+    this(httpSettings, maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
+        serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, false);
+  }
+
   public static WsSettings standard() {
     if (standard == null) {
       final WsEngineSettings engineSettings = WsEngineSettings.standard();
@@ -53,7 +74,8 @@ public class WsSettings extends WsEngineSettings {
           engineSettings.maxFrameSize(), engineSettings.maxMessageSize(),
           engineSettings.serverCompressionLevel(), engineSettings.clientCompressionLevel(),
           engineSettings.serverNoContextTakeover(), engineSettings.clientNoContextTakeover(),
-          engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits());
+          engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits(),
+          engineSettings.nativeCompression(), engineSettings.pooledCompression());
     }
     return standard;
   }
@@ -106,7 +128,8 @@ public class WsSettings extends WsEngineSettings {
     return copy(httpSettings, this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
   }
 
   public final IpSettings ipSettings() {
@@ -137,7 +160,8 @@ public class WsSettings extends WsEngineSettings {
     return copy(engineSettings.maxFrameSize(), engineSettings.maxMessageSize(),
         engineSettings.serverCompressionLevel(), engineSettings.clientCompressionLevel(),
         engineSettings.serverNoContextTakeover(), engineSettings.clientNoContextTakeover(),
-        engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits());
+        engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits(),
+        engineSettings.nativeCompression(), engineSettings.pooledCompression());
   }
 
   @Override
@@ -185,6 +209,16 @@ public class WsSettings extends WsEngineSettings {
     return (WsSettings) super.clientMaxWindowBits(clientMaxWindowBits);
   }
 
+  @Override
+  public WsSettings nativeCompression(boolean nativeCompression) {
+    return (WsSettings) super.nativeCompression(nativeCompression);
+  }
+
+  @Override
+  public WsSettings pooledCompression(boolean pooledCompression) {
+    return (WsSettings) super.pooledCompression(pooledCompression);
+  }
+
   @Override
   public Value toValue() {
     return form().mold(this).toValue();
@@ -194,21 +228,48 @@ public class WsSettings extends WsEngineSettings {
                             int serverCompressionLevel, int clientCompressionLevel,
                             boolean serverNoContextTakeover, boolean clientNoContextTakeover,
                             int serverMaxWindowBits, int clientMaxWindowBits) {
+    return copy(httpSettings, maxFrameSize, maxMessageSize,
+        serverCompressionLevel, clientCompressionLevel,
+        serverNoContextTakeover, clientNoContextTakeover,
+        serverMaxWindowBits, clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
+  }
+
+  protected WsSettings copy(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
+                            int serverCompressionLevel, int clientCompressionLevel,
+                            boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                            int serverMaxWindowBits, int clientMaxWindowBits,
+                            boolean nativeCompression) {
+    return copy(httpSettings, maxFrameSize, maxMessageSize,
+        serverCompressionLevel, clientCompressionLevel,
+        serverNoContextTakeover, clientNoContextTakeover,
+        serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, this.pooledCompression);
+  }
+
+  protected WsSettings copy(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
+                            int serverCompressionLevel, int clientCompressionLevel,
+                            boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                            int serverMaxWindowBits, int clientMaxWindowBits,
+                            boolean nativeCompression, boolean pooledCompression) {
     return new WsSettings(httpSettings, maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, pooledCompression);
   }
 
   @Override
   protected WsSettings copy(int maxFrameSize, int maxMessageSize,
                             int serverCompressionLevel, int clientCompressionLevel,
                             boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                            int serverMaxWindowBits, int clientMaxWindowBits) {
+                            int serverMaxWindowBits, int clientMaxWindowBits,
+                            boolean nativeCompression, boolean pooledCompression) {
     return copy(this.httpSettings, maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, pooledCompression);
   }
 
   public boolean canEqual(Object other) {
@@ -230,7 +291,9 @@ public class WsSettings extends WsEngineSettings {
           && this.serverNoContextTakeover == that.serverNoContextTakeover
           && this.clientNoContextTakeover == that.clientNoContextTakeover
           && this.serverMaxWindowBits == that.serverMaxWindowBits
-          && this.clientMaxWindowBits == that.clientMaxWindowBits;
+          && this.clientMaxWindowBits == that.clientMaxWindowBits
+          && this.nativeCompression == that.nativeCompression
+          && this.pooledCompression == that.pooledCompression;
     }
     return false;
   }
@@ -240,11 +303,12 @@ public class WsSettings extends WsEngineSettings {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(WsSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, this.httpSettings.hashCode()),
             this.maxFrameSize), this.maxMessageSize), this.serverCompressionLevel), this.clientCompressionLevel),
         Murmur3.hash(this.serverNoContextTakeover)), Murmur3.hash(this.clientNoContextTakeover)),
-        this.serverMaxWindowBits), this.clientMaxWindowBits));
+        this.serverMaxWindowBits), this.clientMaxWindowBits), Murmur3.hash(this.nativeCompression)),
+        Murmur3.hash(this.pooledCompression)));
   }
 
   @Override
@@ -258,7 +322,9 @@ public class WsSettings extends WsEngineSettings {
         .write('.').write("serverNoContextTakeover").write('(').debug(this.serverNoContextTakeover).write(')')
         .write('.').write("clientNoContextTakeover").write('(').debug(this.clientNoContextTakeover).write(')')
         .write('.').write("serverMaxWindowBits").write('(').debug(this.serverMaxWindowBits).write(')')
-        .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')');
+        .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')')
+        .write('.').write("nativeCompression").write('(').debug(this.nativeCompression).write(')')
+        .write('.').write("pooledCompression").write('(').debug(this.pooledCompression).write(')');
   }
 
 }
@@ -279,7 +345,7 @@ final class WsSettingsForm extends Form<WsSettings> {
   public Item mold(WsSettings settings) {
     if (settings != null) {
       final WsSettings standard = WsSettings.standard();
-      final Record ws = Record.create(9).attr("ws");
+      final Record ws = Record.create(11).attr("ws");
       if (settings.maxFrameSize() != standard.maxFrameSize()) {
         ws.slot("maxFrameSize", settings.maxFrameSize());
       }
@@ -304,6 +370,12 @@ final class WsSettingsForm extends Form<WsSettings> {
       if (settings.clientMaxWindowBits() != standard.clientMaxWindowBits()) {
         ws.slot("clientMaxWindowBits", settings.clientMaxWindowBits());
       }
+      if (settings.nativeCompression() != standard.nativeCompression()) {
+        ws.slot("nativeCompression", settings.nativeCompression());
+      }
+      if (settings.pooledCompression() != standard.pooledCompression()) {
+        ws.slot("pooledCompression", settings.pooledCompression());
+      }
       return Record.of(ws).concat(HttpSettings.form().mold(settings.httpSettings));
     } else {
       return Item.extant();
@@ -323,6 +395,8 @@ final class WsSettingsForm extends Form<WsSettings> {
     boolean clientNoContextTakeover = standard.clientNoContextTakeover();
     int serverMaxWindowBits = standard.serverMaxWindowBits();
     int clientMaxWindowBits = standard.clientMaxWindowBits();
+    boolean nativeCompression = standard.nativeCompression();
+    boolean pooledCompression = standard.pooledCompression();
     for (Item member : value) {
       if (member.getAttr("ws").isDefined() || member.getAttr("websocket").isDefined()) {
         maxFrameSize = member.get("maxFrameSize").intValue(maxFrameSize);
@@ -333,12 +407,18 @@ final class WsSettingsForm extends Form<WsSettings> {
         clientNoContextTakeover = member.get("clientNoContextTakeover").booleanValue(clientNoContextTakeover);
         serverMaxWindowBits = member.get("serverMaxWindowBits").intValue(serverMaxWindowBits);
         clientMaxWindowBits = member.get("clientMaxWindowBits").intValue(clientMaxWindowBits);
+        final Value nativeCompressionValue = member.get("nativeCompression");
+        if (nativeCompressionValue.isDefined()) {
+          nativeCompression = nativeCompressionValue.booleanValue(nativeCompression);
+        }
+        pooledCompression = member.get("pooledCompression").booleanValue(pooledCompression);
       }
     }
     return new WsSettings(httpSettings, maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, pooledCompression);
   }
 
 }
@@ -0,0 +1,270 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Shared pool of I/O buffers that {@link Transport}s lease while they have
+ * pending I/O, and reclaim when they go idle.  A {@code BufferPool} allocates
+ * at most {@link #maxSize() maxSize} bytes of direct memory, and retains at
+ * most {@code maxSize} bytes of idle heap buffers.  A direct buffer lease that
+ * would exceed the direct memory budget fails over to a heap buffer, and is
+ * counted as a {@linkplain #leaseFailureCount() lease failure}.
+ */
+public class BufferPool {
+
+  static final AtomicLongFieldUpdater<BufferPool> DIRECT_SIZE =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "directSize");
+  static final AtomicLongFieldUpdater<BufferPool> HEAP_POOLED_SIZE =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "heapPooledSize");
+  static final AtomicLongFieldUpdater<BufferPool> POOLED_SIZE =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "pooledSize");
+  static final AtomicLongFieldUpdater<BufferPool> POOLED_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "pooledCount");
+  static final AtomicLongFieldUpdater<BufferPool> LEASE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "leaseCount");
+  static final AtomicLongFieldUpdater<BufferPool> LEASE_FAILURE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "leaseFailureCount");
+  static final AtomicLongFieldUpdater<BufferPool> RECLAIM_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "reclaimCount");
+  private static BufferPool standard;
+  /**
+   * Maximum number of bytes of direct memory allocated by the pool, and the
+   * maximum number of bytes of idle heap buffers retained by the pool.
+   */
+  protected final long maxSize;
+  /**
+   * Idle heap buffers, keyed by capacity.
+   */
+  final ConcurrentHashMap<Integer, ConcurrentLinkedQueue<ByteBuffer>> heapBuffers;
+  /**
+   * Idle direct buffers, keyed by capacity.
+   */
+  final ConcurrentHashMap<Integer, ConcurrentLinkedQueue<ByteBuffer>> directBuffers;
+  /**
+   * Number of bytes of direct memory currently allocated by the pool.
+   */
+  volatile long directSize;
+  /**
+   * Number of bytes of idle heap buffers currently retained by the pool.
+   */
+  volatile long heapPooledSize;
+  /**
+   * Number of bytes of idle buffers currently retained by the pool.
+   */
+  volatile long pooledSize;
+  /**
+   * Number of idle buffers currently retained by the pool.
+   */
+  volatile long pooledCount;
+  /**
+   * Total number of buffers leased from the pool.
+   */
+  volatile long leaseCount;
+  /**
+   * Total number of direct buffer leases that failed over to heap buffers.
+   */
+  volatile long leaseFailureCount;
+  /**
+   * Total number of buffers reclaimed by the pool.
+   */
+  volatile long reclaimCount;
+
+  public BufferPool(long maxSize) {
+    this.maxSize = maxSize;
+    this.heapBuffers = new ConcurrentHashMap<Integer, ConcurrentLinkedQueue<ByteBuffer>>();
+    this.directBuffers = new ConcurrentHashMap<Integer, ConcurrentLinkedQueue<ByteBuffer>>();
+  }
+
+  /**
+   * Returns a process-wide {@code BufferPool} sized by the standard {@link
+   * TransportSettings}, for transport contexts not bound to a {@link Station}.
+   */
+  public static BufferPool standard() {
+    if (standard == null) {
+      standard = new BufferPool(TransportSettings.standard().bufferPoolSize);
+    }
+    return standard;
+  }
+
+  /**
+   * Returns the maximum number of bytes of direct memory this {@code
+   * BufferPool} will allocate, which is also the maximum number of bytes of
+   * idle heap buffers it will retain.
+   */
+  public final long maxSize() {
+    return this.maxSize;
+  }
+
+  /**
+   * Returns the number of bytes of direct memory currently allocated by this
+   * {@code BufferPool}, whether leased or idle.
+   */
+  public final long directSize() {
+    return DIRECT_SIZE.get(this);
+  }
+
+  /**
+   * Returns the number of bytes of idle buffers currently retained by this
+   * {@code BufferPool}.
+   */
+  public final long pooledSize() {
+    return POOLED_SIZE.get(this);
+  }
+
+  /**
+   * Returns the number of idle buffers currently retained by this {@code
+   * BufferPool}.
+   */
+  public final long pooledCount() {
+    return POOLED_COUNT.get(this);
+  }
+
+  /**
+   * Returns the total number of buffers leased from this {@code BufferPool}.
+   */
+  public final long leaseCount() {
+    return LEASE_COUNT.get(this);
+  }
+
+  /**
+   * Returns the total number of direct buffer leases that exceeded the direct
+   * memory budget of this {@code BufferPool}, and failed over to heap buffers.
+   */
+  public final long leaseFailureCount() {
+    return LEASE_FAILURE_COUNT.get(this);
+  }
+
+  /**
+   * Returns the total number of buffers reclaimed by this {@code BufferPool}.
+   */
+  public final long reclaimCount() {
+    return RECLAIM_COUNT.get(this);
+  }
+
+  /**
+   * Returns a cleared heap buffer with the given {@code capacity}, reusing an
+   * idle buffer, if one is available.
+   */
+  public ByteBuffer lease(int capacity) {
+    ByteBuffer buffer = pollBuffer(this.heapBuffers, capacity);
+    if (buffer != null) {
+      HEAP_POOLED_SIZE.addAndGet(this, -capacity);
+    } else {
+      buffer = ByteBuffer.allocate(capacity);
+    }
+    LEASE_COUNT.incrementAndGet(this);
+    return buffer;
+  }
+
+  /**
+   * Returns a cleared direct buffer with the given {@code capacity}, reusing
+   * an idle buffer, if one is available.  Returns a heap buffer if allocating
+   * a new direct buffer would exceed the direct memory budget of this {@code
+   * BufferPool}.
+   */
+  public ByteBuffer leaseDirect(int capacity) {
+    ByteBuffer buffer = pollBuffer(this.directBuffers, capacity);
+    if (buffer == null) {
+      do {
+        final long oldDirectSize = DIRECT_SIZE.get(this);
+        final long newDirectSize = oldDirectSize + capacity;
+        if (newDirectSize <= this.maxSize) {
+          if (DIRECT_SIZE.compareAndSet(this, oldDirectSize, newDirectSize)) {
+            buffer = ByteBuffer.allocateDirect(capacity);
+            break;
+          }
+        } else {
+          LEASE_FAILURE_COUNT.incrementAndGet(this);
+          return lease(capacity);
+        }
+      } while (true);
+    }
+    LEASE_COUNT.incrementAndGet(this);
+    return buffer;
+  }
+
+  /**
+   * Returns a previously leased {@code buffer} to this {@code BufferPool}.
+   * The caller must not access the {@code buffer} after reclaiming it.
+   */
+  public void reclaim(ByteBuffer buffer) {
+    final int capacity = buffer.capacity();
+    ((Buffer) buffer).clear();
+    RECLAIM_COUNT.incrementAndGet(this);
+    if (buffer.isDirect()) {
+      offerBuffer(this.directBuffers, buffer);
+    } else {
+      do {
+        final long oldHeapPooledSize = HEAP_POOLED_SIZE.get(this);
+        final long newHeapPooledSize = oldHeapPooledSize + capacity;
+        if (newHeapPooledSize <= this.maxSize) {
+          if (HEAP_POOLED_SIZE.compareAndSet(this, oldHeapPooledSize, newHeapPooledSize)) {
+            offerBuffer(this.heapBuffers, buffer);
+            break;
+          }
+        } else {
+          // Drop the buffer; the pool already retains its maximum number of
+          // idle heap bytes.
+          break;
+        }
+      } while (true);
+    }
+  }
+
+  /**
+   * Releases a previously leased {@code buffer} that may still be accessed by
+   * another thread, and so can't be reused.
+   */
+  public void discard(ByteBuffer buffer) {
+    if (buffer.isDirect()) {
+      DIRECT_SIZE.addAndGet(this, -buffer.capacity());
+    }
+  }
+
+  ByteBuffer pollBuffer(ConcurrentHashMap<Integer, ConcurrentLinkedQueue<ByteBuffer>> buffers, int capacity) {
+    final ConcurrentLinkedQueue<ByteBuffer> queue = buffers.get(capacity);
+    if (queue != null) {
+      final ByteBuffer buffer = queue.poll();
+      if (buffer != null) {
+        POOLED_SIZE.addAndGet(this, -capacity);
+        POOLED_COUNT.decrementAndGet(this);
+        return buffer;
+      }
+    }
+    return null;
+  }
+
+  void offerBuffer(ConcurrentHashMap<Integer, ConcurrentLinkedQueue<ByteBuffer>> buffers, ByteBuffer buffer) {
+    final int capacity = buffer.capacity();
+    ConcurrentLinkedQueue<ByteBuffer> queue = buffers.get(capacity);
+    if (queue == null) {
+      queue = new ConcurrentLinkedQueue<ByteBuffer>();
+      final ConcurrentLinkedQueue<ByteBuffer> oldQueue = buffers.putIfAbsent(capacity, queue);
+      if (oldQueue != null) {
+        queue = oldQueue;
+      }
+    }
+    POOLED_SIZE.addAndGet(this, capacity);
+    POOLED_COUNT.incrementAndGet(this);
+    queue.offer(buffer);
+  }
+
+}
@@ -55,6 +55,18 @@ public class Station {
    */
   static final AtomicIntegerFieldUpdater<Station> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(Station.class, "status");
+  /**
+   * Atomic {@link #threadIndex} field updater, used to assign transports to
+   * selector threads in round-robin order.
+   */
+  static final AtomicIntegerFieldUpdater<Station> THREAD_INDEX =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "threadIndex");
+  /**
+   * Atomic {@link #threadCount} field updater, used to determine which
+   * selector thread is the last to exit.
+   */
+  static final AtomicIntegerFieldUpdater<Station> THREAD_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "threadCount");
   /**
    * Stage on which to execute I/O tasks.
    */
@@ -68,17 +80,30 @@ public class Station {
    */
   final CountDownLatch stopLatch;
   /**
-   * Thread that waits on and dispatches I/O readiness events.
+   * Threads that wait on and dispatch I/O readiness events, each with its
+   * own I/O selector.
    */
-  final StationThread thread;
+  final StationThread[] threads;
   /**
    * Transport configuration parameters.
    */
   protected TransportSettings transportSettings;
+  /**
+   * Pool of I/O buffers leased by registered transports.
+   */
+  final BufferPool bufferPool;
   /**
    * Atomic bit field with {@link #STARTED} and {@link #STOPPED} flags.
    */
   volatile int status;
+  /**
+   * Index of the selector thread to which the next transport will be bound.
+   */
+  volatile int threadIndex;
+  /**
+   * Number of selector threads that have not yet exited.
+   */
+  volatile int threadCount;
 
   public Station(Stage stage, TransportSettings transportSettings) {
     // Assign the I/O task execution stage.
@@ -87,14 +112,28 @@ public class Station {
     // Assign the initial transport configuration parameters.
     this.transportSettings = transportSettings != null ? transportSettings : TransportSettings.standard();
 
+    // Initialize the pool of I/O buffers leased by registered transports.
+    this.bufferPool = new BufferPool(this.transportSettings.bufferPoolSize);
+
+    // Determine the number of selector threads to run.
+    int selectorCount = this.transportSettings.selectorCount;
+    if (selectorCount < 1) {
+      selectorCount = Runtime.getRuntime().availableProcessors();
+    }
+
     // Initialize the barrier used to sequence station startup.
-    this.startLatch = new CountDownLatch(1);
+    this.startLatch = new CountDownLatch(selectorCount);
 
     // Initialize the barrier used to sequence station shutdown.
     this.stopLatch = new CountDownLatch(1);
 
-    // Initialize--but don't start--the station thread.
-    this.thread = new StationThread(this);
+    // Initialize--but don't start--the station threads.
+    final StationThread[] threads = new StationThread[selectorCount];
+    for (int i = 0; i < selectorCount; i += 1) {
+      threads[i] = new StationThread(this, i);
+    }
+    this.threads = threads;
+    this.threadCount = selectorCount;
   }
 
   public Station(Stage stage) {
@@ -125,9 +164,17 @@ public class Station {
     return this;
   }
 
+  /**
+   * Returns the pool of I/O buffers that this {@code Station}'s registered
+   * transports lease while they have pending I/O.
+   */
+  public final BufferPool bufferPool() {
+    return this.bufferPool;
+  }
+
   /**
    * Ensures that this {@code Station} is up and running, starting up the
-   * selector thread if it has not yet been started.
+   * selector threads if they have not yet been started.
    *
    * @throws StationException if this {@code Station} has been stopped.
    */
@@ -142,11 +189,14 @@ public class Station {
           if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
             // Initaite selector thread startup.
             willStart();
-            this.thread.start();
+            final StationThread[] threads = this.threads;
+            for (int i = 0; i < threads.length; i += 1) {
+              threads[i].start();
+            }
             break;
           }
         } else {
-          // Selector thread already started.
+          // Selector threads already started.
           break;
         }
       } else {
@@ -154,11 +204,11 @@ public class Station {
       }
     } while (true);
 
-    // Loop while the selector thread is not yet up and running.
+    // Loop while the selector threads are not yet up and running.
     boolean interrupted = false;
     while (this.startLatch.getCount() != 0) {
       try {
-        // Wait for selector thread startup to complete.
+        // Wait for selector threads startup to complete.
         this.startLatch.await();
       } catch (InterruptedException cause) {
         interrupted = true;
@@ -171,7 +221,7 @@ public class Station {
 
   /**
    * Ensures that this {@code Station} has been permanently stopped, shutting
-   * down the selector thread, if it's currently running.  Upon return, this
+   * down the selector threads, if they're currently running.  Upon return, this
    * {@code Station} is guaranteed to be in the <em>stopped</em> state.
    */
   public void stop() {
@@ -183,28 +233,32 @@ public class Station {
         final int newStatus = oldStatus | STOPPED;
         // Try to set the STOPPED flag; linearization point for station shutdown.
         if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
-          // Loop while the selector thread is still running.
-          while (this.thread.isAlive()) {
-            // Interrupt the selector thread so it will wakeup and die.
-            this.thread.interrupt();
-            try {
-              // Wait for the selector thread to exit.
-              this.thread.join(100);
-            } catch (InterruptedException cause) {
-              interrupted = true;
+          final StationThread[] threads = this.threads;
+          for (int i = 0; i < threads.length; i += 1) {
+            final StationThread thread = threads[i];
+            // Loop while the selector thread is still running.
+            while (thread.isAlive()) {
+              // Interrupt the selector thread so it will wakeup and die.
+              thread.interrupt();
+              try {
+                // Wait for the selector thread to exit.
+                thread.join(100);
+              } catch (InterruptedException cause) {
+                interrupted = true;
+              }
             }
           }
         }
       } else {
-        // Selector thread already stopped.
+        // Selector threads already stopped.
         break;
       }
     } while (true);
 
-    // Loop while the selector thread is still running.
+    // Loop while any selector thread is still running.
     while (this.stopLatch.getCount() != 0) {
       try {
-        // Wait for selector thread shutdown to complete.
+        // Wait for selector threads shutdown to complete.
         this.stopLatch.await();
       } catch (InterruptedException e) {
         interrupted = true;
@@ -232,8 +286,8 @@ public class Station {
     // Ensure that the station has started.
     start();
 
-    // Create the context that binds the transport to this station.
-    final StationTransport context = new StationTransport(this, transport, flowControl);
+    // Create the context that binds the transport to the next selector thread.
+    final StationTransport context = new StationTransport(this, nextThread(), transport, flowControl);
     transport.setTransportContext(context);
 
     // Initialize the transport's flow control.
@@ -244,11 +298,38 @@ public class Station {
   }
 
   /**
-   * Informs the selector thread of a possible change to the given transport
-   * {@code context}'s flow control state.
+   * Returns the selector thread to which the next bound transport should be
+   * assigned, distributing transports across selector threads in round-robin
+   * order.  Sockets accepted by a listening transport get bound through
+   * {@link #transport(Transport, FlowControl)}, and so get handed off from
+   * the accepting selector thread to the next selector thread in turn.
+   */
+  StationThread nextThread() {
+    final StationThread[] threads = this.threads;
+    if (threads.length == 1) {
+      return threads[0];
+    }
+    final int threadIndex = THREAD_INDEX.getAndIncrement(this) & 0x7fffffff;
+    return threads[threadIndex % threads.length];
+  }
+
+  /**
+   * Informs the selector thread that manages the given transport {@code
+   * context} of a possible change to the transport's flow control state.
    */
   void reselect(StationTransport context) {
-    this.thread.reselect(context);
+    context.thread.reselect(context);
+  }
+
+  /**
+   * Wakes up all selector threads so that they observe a change to the
+   * station's status.
+   */
+  void wakeupAll() {
+    final StationThread[] threads = this.threads;
+    for (int i = 0; i < threads.length; i += 1) {
+      threads[i].selector.wakeup();
+    }
   }
 
   /**
@@ -346,6 +427,11 @@ final class StationTransport implements TransportContext, TransportRef {
    * {@code Station} to which the {@code transport} is bound.
    */
   final Station station;
+  /**
+   * Selector thread that waits on and dispatches the {@code transport}'s I/O
+   * readiness events.
+   */
+  final StationThread thread;
   /**
    * {@code Transport} binding on which to invoke I/O callbacks.
    */
@@ -370,9 +456,19 @@ final class StationTransport implements TransportContext, TransportRef {
    * Monotonic timestamp of the most recent transport I/O operation.
    */
   volatile long lastSelectTime;
+  /**
+   * Tick of the selector thread's idle wheel at which the transport will next
+   * be checked for an idle timeout.
+   */
+  long idleTick;
+  /**
+   * Next transport in the same slot of the selector thread's idle wheel.
+   */
+  StationTransport nextIdle;
 
-  StationTransport(Station station, Transport transport, FlowControl flowControl) {
+  StationTransport(Station station, StationThread thread, Transport transport, FlowControl flowControl) {
     this.station = station;
+    this.thread = thread;
     this.transport = transport;
     this.flowControl = flowControl;
   }
@@ -398,6 +494,11 @@ final class StationTransport implements TransportContext, TransportRef {
     return this.station.transportSettings;
   }
 
+  @Override
+  public BufferPool bufferPool() {
+    return this.station.bufferPool;
+  }
+
   @Override
   public FlowControl flowControl() {
     return FLOW_CONTROL.get(this);
@@ -627,6 +728,11 @@ final class StationTransport implements TransportContext, TransportRef {
         break;
       }
     }
+    if (readBuffer.position() == 0) {
+      // The input buffer holds no unread input data; let the transport binding
+      // release its read buffers until more input data arrives.
+      this.transport.releaseReadBuffer();
+    }
     return yield;
   }
 
@@ -759,6 +865,11 @@ final class StationTransport implements TransportContext, TransportRef {
         break;
       }
     } while (true);
+    if (!writeBuffer.hasRemaining()) {
+      // The output buffer holds no unwritten output data; let the transport
+      // binding release its write buffers until more output data is written.
+      this.transport.releaseWriteBuffer();
+    }
   }
 
   void didTimeout() {
@@ -924,10 +1035,20 @@ final class StationThread extends Thread {
    * to uniquely name selector threads.
    */
   static final AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+  /**
+   * Number of slots in the idle wheel; must be a power of two.
+   */
+  static final int IDLE_TICK_COUNT = 512;
   /**
    * {@code Station} whose I/O transports this {@code StationThread} manages.
    */
   final Station station;
+  /**
+   * Position of this {@code StationThread} in its station's array of selector
+   * threads.  The selector thread at index {@code 0} invokes the station's
+   * start and stop lifecycle callbacks.
+   */
+  final int index;
   /**
    * I/O selector used to wait on I/O readiness events.
    */
@@ -939,20 +1060,38 @@ final class StationThread extends Thread {
    */
   final ConcurrentLinkedQueue<StationTransport> reselectQueue;
   /**
-   * Monotonic timestamp of most recent timeout check.
+   * Hashed timing wheel of {@link #IDLE_TICK_COUNT} slots, each holding a
+   * linked list of the transports whose idle deadlines fall on a particular
+   * modulus of idle ticks.  Only accessed by this selector thread.
+   */
+  final StationTransport[] idleWheel;
+  /**
+   * Number of milliseconds between successive idle ticks.
+   */
+  final long idleTickMillis;
+  /**
+   * Timestamp from which idle ticks are counted.
+   */
+  final long idleStartTime;
+  /**
+   * Next idle tick whose wheel slot has yet to be checked.
    */
-  long lastIdleCheck;
+  long idleTick;
 
-  StationThread(Station station) {
+  StationThread(Station station, int index) {
     setName("SwimStation" + THREAD_COUNT.getAndIncrement());
     this.station = station;
+    this.index = index;
     try {
       this.selector = Selector.open();
     } catch (IOException cause) {
       throw new RuntimeException(cause);
     }
     this.reselectQueue = new ConcurrentLinkedQueue<StationTransport>();
-    this.lastIdleCheck = System.currentTimeMillis();
+    this.idleWheel = new StationTransport[IDLE_TICK_COUNT];
+    this.idleTickMillis = Math.max(1L, station.transportSettings.idleInterval);
+    this.idleStartTime = System.currentTimeMillis();
+    this.idleTick = 0L;
   }
 
   @Override
@@ -963,7 +1102,9 @@ final class StationThread extends Thread {
     try {
       // Linearization point for station start.
       station.startLatch.countDown();
-      station.didStart();
+      if (this.index == 0) {
+        station.didStart();
+      }
 
       // Loop while the station has not been stopped.
       do {
@@ -977,7 +1118,9 @@ final class StationThread extends Thread {
         checkIdle();
       } while ((Station.STATUS.get(station) & Station.STOPPED) == 0);
 
-      station.willStop();
+      if (this.index == 0) {
+        station.willStop();
+      }
     } catch (Throwable cause) {
       if (!Conts.isNonFatal(cause)) {
         // Rethrow fatal exception.
@@ -988,6 +1131,17 @@ final class StationThread extends Thread {
       station.didFail(cause);
     }
 
+    // Ensure that the station is stopping, and wake up the other selector
+    // threads so that they stop too.
+    do {
+      final int oldStatus = Station.STATUS.get(station);
+      if ((oldStatus & Station.STOPPED) != 0
+          || Station.STATUS.compareAndSet(station, oldStatus, oldStatus | Station.STOPPED)) {
+        break;
+      }
+    } while (true);
+    station.wakeupAll();
+
     // Close all registered transports.
     try {
       closeAll();
@@ -1008,11 +1162,14 @@ final class StationThread extends Thread {
     }
 
     try {
-      // Force the station into the stopped state.
-      Station.STATUS.set(station, Station.STOPPED);
-      // Linearization point for station stop.
-      station.stopLatch.countDown();
-      station.didStop();
+      // Check if this is the last selector thread to exit.
+      if (Station.THREAD_COUNT.decrementAndGet(station) == 0) {
+        // Force the station into the stopped state.
+        Station.STATUS.set(station, Station.STOPPED);
+        // Linearization point for station stop.
+        station.stopLatch.countDown();
+        station.didStop();
+      }
     } catch (Throwable cause) {
       if (!Conts.isNonFatal(cause)) {
         // Rethrow fatal exception.
@@ -1090,6 +1247,13 @@ final class StationThread extends Thread {
       try {
         // Try to register the transport channel with the I/O selector.
         context.selectionKey = context.transport.channel().register(this.selector, interestOps, context);
+        final long now = System.currentTimeMillis();
+        if (context.lastSelectTime == 0L) {
+          // Start the idle clock at registration time.
+          context.lastSelectTime = now;
+        }
+        // Schedule the first idle timeout check for the transport.
+        scheduleIdle(context, now);
       } catch (CancelledKeyException | ClosedChannelException cause) {
         // Transport channel closed during registration; complete the close.
         context.didClose();
@@ -1175,65 +1339,141 @@ final class StationThread extends Thread {
   }
 
   /**
-   * Checks all transports registered with the I/O selector for idle timeouts.
+   * Checks the transports in all idle wheel slots whose ticks have elapsed
+   * since the last check for idle timeouts.  Transports whose idle deadlines
+   * haven't yet come due are never visited.
    */
   void checkIdle() {
-    final TransportSettings transportSettings = this.station.transportSettings;
     final long now = System.currentTimeMillis();
-    if (now - this.lastIdleCheck >= transportSettings.idleInterval) {
-      // Idle interval has elapsed since last timeout check.
-      final Iterator<SelectionKey> keys = this.selector.keys().iterator();
-      // Loop over all selection keys registered with the I/O selector.
-      while (keys.hasNext()) {
-        final SelectionKey key = keys.next();
-        final StationTransport context = (StationTransport) key.attachment();
-        if (context != null) {
-          // Ask the transport for its desired idle timeout.
-          long idleTimeout = context.idleTimeout();
-          if (idleTimeout < 0L) {
-            // Negative idle timeout means use the default idle timeout.
-            idleTimeout = transportSettings.idleTimeout;
-          }
-          // Zero indicates no idle timeout.
-          if (idleTimeout > 0L && now - context.lastSelectTime > idleTimeout) {
-            Throwable failure = null;
-            // Idle timeout has elapsed.
-            try {
-              // Close the transport channel.
-              key.channel().close();
-            } catch (IOException cause) {
-              failure = cause;
-            }
-            try {
-              // Timeout the transport.
-              context.didTimeout();
-            } catch (Throwable cause) {
-              if (!Conts.isNonFatal(cause)) {
-                // Rethrhrow fatal exception.
-                throw cause;
-              }
-              failure = cause;
-            }
-            try {
-              // Close the transport.
-              context.didClose();
-            } catch (Throwable cause) {
-              if (!Conts.isNonFatal(cause)) {
-                // Rethrhrow fatal exception.
-                throw cause;
-              }
-              failure = cause;
-            }
-            if (failure != null) {
-              // Report the transport failure.
-              this.station.transportDidFail(context.transport, failure);
-            }
-          }
+    final long currentTick = (now - this.idleStartTime) / this.idleTickMillis;
+    final long nextTick = this.idleTick;
+    if (currentTick >= nextTick) {
+      // Visit each slot at most once, even if more than a full revolution of
+      // the wheel has elapsed since the last check.
+      long tick = Math.max(nextTick, currentTick - (long) (IDLE_TICK_COUNT - 1));
+      do {
+        checkIdle((int) (tick & (long) (IDLE_TICK_COUNT - 1)), currentTick, now);
+        tick += 1L;
+      } while (tick <= currentTick);
+      // Update the next idle tick to check.
+      this.idleTick = currentTick + 1L;
+    }
+  }
+
+  /**
+   * Checks the transports in the given {@code hand} of the idle wheel whose
+   * idle ticks have arrived by {@code currentTick}.
+   */
+  void checkIdle(int hand, long currentTick, long now) {
+    final StationTransport[] idleWheel = this.idleWheel;
+    // Detach the linked list of transports in the wheel slot.
+    StationTransport context = idleWheel[hand];
+    idleWheel[hand] = null;
+    while (context != null) {
+      final StationTransport next = context.nextIdle;
+      context.nextIdle = null;
+      final SelectionKey selectionKey = context.selectionKey;
+      // Drop transports whose channels have been deregistered.
+      if (selectionKey != null && selectionKey.isValid()) {
+        if (context.idleTick > currentTick) {
+          // Idle tick falls in a future revolution of the wheel; keep the
+          // transport in its slot.
+          context.nextIdle = idleWheel[hand];
+          idleWheel[hand] = context;
+        } else {
+          // Idle tick has arrived; check the transport for an idle timeout.
+          checkIdle(selectionKey, context, now);
         }
       }
-      // Update last timeout check time.
-      this.lastIdleCheck = now;
+      context = next;
+    }
+  }
+
+  /**
+   * Times out the given transport {@code context} if its idle timeout has
+   * elapsed; otherwise reschedules the transport on the idle wheel at the
+   * deadline implied by its most recent I/O operation.
+   */
+  void checkIdle(SelectionKey selectionKey, StationTransport context, long now) {
+    final long idleTimeout = idleTimeout(context);
+    // Zero indicates no idle timeout.
+    if (idleTimeout > 0L && now - context.lastSelectTime > idleTimeout) {
+      Throwable failure = null;
+      // Idle timeout has elapsed.
+      try {
+        // Close the transport channel.
+        selectionKey.channel().close();
+      } catch (IOException cause) {
+        failure = cause;
+      }
+      try {
+        // Timeout the transport.
+        context.didTimeout();
+      } catch (Throwable cause) {
+        if (!Conts.isNonFatal(cause)) {
+          // Rethrhrow fatal exception.
+          throw cause;
+        }
+        failure = cause;
+      }
+      try {
+        // Close the transport.
+        context.didClose();
+      } catch (Throwable cause) {
+        if (!Conts.isNonFatal(cause)) {
+          // Rethrhrow fatal exception.
+          throw cause;
+        }
+        failure = cause;
+      }
+      if (failure != null) {
+        // Report the transport failure.
+        this.station.transportDidFail(context.transport, failure);
+      }
+    } else {
+      // Transport activity since it was scheduled moved its deadline; move
+      // the transport to the slot of its new deadline.
+      scheduleIdle(context, now);
+    }
+  }
+
+  /**
+   * Inserts the given transport {@code context} into the idle wheel slot of
+   * the tick at which its idle timeout will elapse, if it performs no further
+   * I/O operations.  Transports with no idle timeout get rechecked after the
+   * default idle timeout, in case they later ask for one.
+   */
+  void scheduleIdle(StationTransport context, long now) {
+    final long idleTimeout = idleTimeout(context);
+    final long deadline;
+    if (idleTimeout > 0L) {
+      // First instant at which the idle timeout will have elapsed.
+      deadline = context.lastSelectTime + idleTimeout + 1L;
+    } else {
+      deadline = now + Math.max(this.idleTickMillis, this.station.transportSettings.idleTimeout);
+    }
+    // Round the deadline up to the next idle tick.
+    final long idleTickMillis = this.idleTickMillis;
+    final long deadlineTick = (deadline - this.idleStartTime + idleTickMillis - 1L) / idleTickMillis;
+    final long targetTick = Math.max(this.idleTick, deadlineTick);
+    final int hand = (int) (targetTick & (long) (IDLE_TICK_COUNT - 1));
+    context.idleTick = targetTick;
+    context.nextIdle = this.idleWheel[hand];
+    this.idleWheel[hand] = context;
+  }
+
+  /**
+   * Returns the idle timeout of the given transport {@code context}, falling
+   * back to the station's default idle timeout.
+   */
+  long idleTimeout(StationTransport context) {
+    // Ask the transport for its desired idle timeout.
+    long idleTimeout = context.idleTimeout();
+    if (idleTimeout < 0L) {
+      // Negative idle timeout means use the default idle timeout.
+      idleTimeout = this.station.transportSettings.idleTimeout;
     }
+    return idleTimeout;
   }
 
   /**
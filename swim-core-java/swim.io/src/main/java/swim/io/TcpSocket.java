@@ -25,6 +25,7 @@ import java.security.cert.Certificate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.codec.Binary;
 import swim.codec.InputBuffer;
 import swim.codec.OutputBuffer;
@@ -38,12 +39,16 @@ class TcpSocket implements Transport, IpSocketContext {
   static final int CONNECTED = 1 << 3;
   static final AtomicIntegerFieldUpdater<TcpSocket> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(TcpSocket.class, "status");
+  static final AtomicReferenceFieldUpdater<TcpSocket, ByteBuffer> READ_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TcpSocket.class, ByteBuffer.class, "readBuffer");
+  static final AtomicReferenceFieldUpdater<TcpSocket, ByteBuffer> WRITE_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TcpSocket.class, ByteBuffer.class, "writeBuffer");
   final InetSocketAddress localAddress;
   final InetSocketAddress remoteAddress;
-  final ByteBuffer readBuffer;
-  final ByteBuffer writeBuffer;
-  final InputBuffer inputBuffer;
-  final OutputBuffer<?> outputBuffer;
+  volatile ByteBuffer readBuffer;
+  volatile ByteBuffer writeBuffer;
+  InputBuffer inputBuffer;
+  OutputBuffer<?> outputBuffer;
   final SocketChannel channel;
   final IpSettings ipSettings;
   TransportContext context;
@@ -57,12 +62,6 @@ class TcpSocket implements Transport, IpSocketContext {
     this.channel = channel;
     this.ipSettings = ipSettings;
     this.status = isClient ? CLIENT : SERVER;
-    final TcpSettings tcpSettings = ipSettings.tcpSettings();
-    this.readBuffer = ByteBuffer.allocate(tcpSettings.readBufferSize());
-    this.writeBuffer = ByteBuffer.allocate(tcpSettings.writeBufferSize());
-    ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
-    this.inputBuffer = Binary.inputBuffer(this.readBuffer);
-    this.outputBuffer = Binary.outputBuffer(this.writeBuffer);
   }
 
   @Override
@@ -82,12 +81,57 @@ class TcpSocket implements Transport, IpSocketContext {
 
   @Override
   public ByteBuffer readBuffer() {
-    return this.readBuffer;
+    ByteBuffer readBuffer = this.readBuffer;
+    if (readBuffer == null) {
+      readBuffer = this.context.bufferPool().lease(this.ipSettings.tcpSettings().readBufferSize());
+      this.inputBuffer = Binary.inputBuffer(readBuffer);
+      this.readBuffer = readBuffer;
+    }
+    return readBuffer;
   }
 
   @Override
   public ByteBuffer writeBuffer() {
-    return this.writeBuffer;
+    ByteBuffer writeBuffer = this.writeBuffer;
+    if (writeBuffer == null) {
+      writeBuffer = this.context.bufferPool().lease(this.ipSettings.tcpSettings().writeBufferSize());
+      ((Buffer) writeBuffer).position(writeBuffer.capacity());
+      this.outputBuffer = Binary.outputBuffer(writeBuffer);
+      this.writeBuffer = writeBuffer;
+    }
+    return writeBuffer;
+  }
+
+  @Override
+  public void releaseReadBuffer() {
+    final ByteBuffer readBuffer = this.readBuffer;
+    if (readBuffer != null && readBuffer.position() == 0
+        && READ_BUFFER.compareAndSet(this, readBuffer, null)) {
+      this.inputBuffer = null;
+      this.context.bufferPool().reclaim(readBuffer);
+    }
+  }
+
+  @Override
+  public void releaseWriteBuffer() {
+    final ByteBuffer writeBuffer = this.writeBuffer;
+    if (writeBuffer != null && !writeBuffer.hasRemaining()
+        && WRITE_BUFFER.compareAndSet(this, writeBuffer, null)) {
+      this.outputBuffer = null;
+      this.context.bufferPool().reclaim(writeBuffer);
+    }
+  }
+
+  void discardBuffers() {
+    final BufferPool bufferPool = this.context.bufferPool();
+    final ByteBuffer readBuffer = READ_BUFFER.getAndSet(this, null);
+    if (readBuffer != null) {
+      bufferPool.discard(readBuffer);
+    }
+    final ByteBuffer writeBuffer = WRITE_BUFFER.getAndSet(this, null);
+    if (writeBuffer != null) {
+      bufferPool.discard(writeBuffer);
+    }
   }
 
   @Override
@@ -102,12 +146,22 @@ class TcpSocket implements Transport, IpSocketContext {
 
   @Override
   public InputBuffer inputBuffer() {
-    return this.inputBuffer;
+    InputBuffer inputBuffer = this.inputBuffer;
+    if (inputBuffer == null) {
+      readBuffer();
+      inputBuffer = this.inputBuffer;
+    }
+    return inputBuffer;
   }
 
   @Override
   public OutputBuffer<?> outputBuffer() {
-    return this.outputBuffer;
+    OutputBuffer<?> outputBuffer = this.outputBuffer;
+    if (outputBuffer == null) {
+      writeBuffer();
+      outputBuffer = this.outputBuffer;
+    }
+    return outputBuffer;
   }
 
   @Override
@@ -290,6 +344,7 @@ class TcpSocket implements Transport, IpSocketContext {
         break;
       }
     } while (true);
+    discardBuffers();
   }
 
   @Override
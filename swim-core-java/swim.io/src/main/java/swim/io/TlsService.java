@@ -68,6 +68,16 @@ class TlsService implements Transport, IpServiceContext {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public void releaseReadBuffer() {
+    // stub
+  }
+
+  @Override
+  public void releaseWriteBuffer() {
+    // stub
+  }
+
   @Override
   public long idleTimeout() {
     return 0L; // never timeout
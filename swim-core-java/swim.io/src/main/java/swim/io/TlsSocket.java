@@ -51,14 +51,20 @@ class TlsSocket implements Transport, IpSocketContext {
       AtomicReferenceFieldUpdater.newUpdater(TlsSocket.class, FlowControl.class, "flowControl");
   static final AtomicIntegerFieldUpdater<TlsSocket> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(TlsSocket.class, "status");
+  static final AtomicReferenceFieldUpdater<TlsSocket, ByteBuffer> READ_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TlsSocket.class, ByteBuffer.class, "readBuffer");
+  static final AtomicReferenceFieldUpdater<TlsSocket, ByteBuffer> WRITE_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TlsSocket.class, ByteBuffer.class, "writeBuffer");
   final InetSocketAddress localAddress;
   final InetSocketAddress remoteAddress;
-  final ByteBuffer readBuffer;
-  final ByteBuffer writeBuffer;
-  final ByteBuffer inputBuffer;
-  final ByteBuffer outputBuffer;
-  final InputBuffer reader;
-  final OutputBuffer<?> writer;
+  final int readBufferSize;
+  final int writeBufferSize;
+  volatile ByteBuffer readBuffer;
+  volatile ByteBuffer writeBuffer;
+  ByteBuffer inputBuffer;
+  ByteBuffer outputBuffer;
+  InputBuffer reader;
+  OutputBuffer<?> writer;
   final SocketChannel channel;
   final SSLEngine sslEngine;
   final IpSettings ipSettings;
@@ -82,16 +88,8 @@ class TlsSocket implements Transport, IpSocketContext {
 
     final SSLSession sslSession = this.sslEngine.getSession();
     final TcpSettings tcpSettings = this.ipSettings.tcpSettings();
-    final int readBufferSize = Math.max(tcpSettings.readBufferSize(), sslSession.getApplicationBufferSize());
-    final int writeBufferSize = Math.max(tcpSettings.writeBufferSize(), sslSession.getPacketBufferSize());
-    this.readBuffer = ByteBuffer.allocate(readBufferSize);
-    this.writeBuffer = ByteBuffer.allocate(writeBufferSize);
-    ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
-    this.inputBuffer = ByteBuffer.allocate(readBufferSize);
-    this.outputBuffer = ByteBuffer.allocate(writeBufferSize);
-    ((Buffer) this.outputBuffer).position(this.outputBuffer.capacity());
-    this.reader = Binary.inputBuffer(inputBuffer);
-    this.writer = Binary.outputBuffer(outputBuffer);
+    this.readBufferSize = Math.max(tcpSettings.readBufferSize(), sslSession.getApplicationBufferSize());
+    this.writeBufferSize = Math.max(tcpSettings.writeBufferSize(), sslSession.getPacketBufferSize());
   }
 
   @Override
@@ -111,12 +109,70 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public ByteBuffer readBuffer() {
-    return this.readBuffer;
+    ByteBuffer readBuffer = this.readBuffer;
+    if (readBuffer == null) {
+      final BufferPool bufferPool = this.context.bufferPool();
+      readBuffer = bufferPool.leaseDirect(this.readBufferSize);
+      this.inputBuffer = bufferPool.lease(this.readBufferSize);
+      this.reader = Binary.inputBuffer(this.inputBuffer);
+      this.readBuffer = readBuffer;
+    }
+    return readBuffer;
   }
 
   @Override
   public ByteBuffer writeBuffer() {
-    return this.writeBuffer;
+    ByteBuffer writeBuffer = this.writeBuffer;
+    if (writeBuffer == null) {
+      final BufferPool bufferPool = this.context.bufferPool();
+      writeBuffer = bufferPool.leaseDirect(this.writeBufferSize);
+      ((Buffer) writeBuffer).position(writeBuffer.capacity());
+      this.outputBuffer = bufferPool.lease(this.writeBufferSize);
+      ((Buffer) this.outputBuffer).position(this.outputBuffer.capacity());
+      this.writer = Binary.outputBuffer(this.outputBuffer);
+      this.writeBuffer = writeBuffer;
+    }
+    return writeBuffer;
+  }
+
+  @Override
+  public void releaseReadBuffer() {
+    final ByteBuffer readBuffer = this.readBuffer;
+    final ByteBuffer inputBuffer = this.inputBuffer;
+    if (readBuffer != null && readBuffer.position() == 0 && inputBuffer.position() == 0
+        && READ_BUFFER.compareAndSet(this, readBuffer, null)) {
+      final BufferPool bufferPool = this.context.bufferPool();
+      this.reader = null;
+      this.inputBuffer = null;
+      bufferPool.reclaim(inputBuffer);
+      bufferPool.reclaim(readBuffer);
+    }
+  }
+
+  @Override
+  public void releaseWriteBuffer() {
+    final ByteBuffer writeBuffer = this.writeBuffer;
+    final ByteBuffer outputBuffer = this.outputBuffer;
+    if (writeBuffer != null && !writeBuffer.hasRemaining() && !outputBuffer.hasRemaining()
+        && WRITE_BUFFER.compareAndSet(this, writeBuffer, null)) {
+      final BufferPool bufferPool = this.context.bufferPool();
+      this.writer = null;
+      this.outputBuffer = null;
+      bufferPool.reclaim(outputBuffer);
+      bufferPool.reclaim(writeBuffer);
+    }
+  }
+
+  void discardBuffers() {
+    final BufferPool bufferPool = this.context.bufferPool();
+    final ByteBuffer readBuffer = READ_BUFFER.getAndSet(this, null);
+    if (readBuffer != null) {
+      bufferPool.discard(readBuffer);
+    }
+    final ByteBuffer writeBuffer = WRITE_BUFFER.getAndSet(this, null);
+    if (writeBuffer != null) {
+      bufferPool.discard(writeBuffer);
+    }
   }
 
   @Override
@@ -131,12 +187,22 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public InputBuffer inputBuffer() {
-    return this.reader;
+    InputBuffer reader = this.reader;
+    if (reader == null) {
+      readBuffer();
+      reader = this.reader;
+    }
+    return reader;
   }
 
   @Override
   public OutputBuffer<?> outputBuffer() {
-    return this.writer;
+    OutputBuffer<?> writer = this.writer;
+    if (writer == null) {
+      writeBuffer();
+      writer = this.writer;
+    }
+    return writer;
   }
 
   @Override
@@ -642,6 +708,7 @@ class TlsSocket implements Transport, IpSocketContext {
         break;
       }
     } while (true);
+    discardBuffers();
   }
 
   @Override
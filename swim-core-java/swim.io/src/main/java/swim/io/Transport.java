@@ -60,6 +60,29 @@ public interface Transport {
    */
   ByteBuffer writeBuffer();
 
+  /**
+   * Releases the {@code readBuffer} back to the transport context's {@link
+   * BufferPool}, if it holds no unread input data; the {@code Transport} should
+   * lease a new buffer the next time {@link #readBuffer()} is called.  Invoked
+   * by the transport context after completing a <em>read</em> operation, never
+   * concurrently with {@code doRead} calls.  Does nothing by default.
+   */
+  default void releaseReadBuffer() {
+    // nop
+  }
+
+  /**
+   * Releases the {@code writeBuffer} back to the transport context's {@link
+   * BufferPool}, if it holds no unwritten output data; the {@code Transport}
+   * should lease a new buffer the next time {@link #writeBuffer()} is called.
+   * Invoked by the transport context after completing a <em>write</em>
+   * operation, never concurrently with {@code doWrite} or {@code didWrite}
+   * calls.  Does nothing by default.
+   */
+  default void releaseWriteBuffer() {
+    // nop
+  }
+
   /**
    * Returns the number of idle milliseconds after which this {@code Transport}
    * should be closed due to inactivity.  Returns {@code -1} if a default idle
@@ -28,4 +28,13 @@ public interface TransportContext extends TransportRef {
    */
   TransportSettings transportSettings();
 
+  /**
+   * Returns the pool from which the transport should lease its I/O buffers.
+   * Returns the {@linkplain BufferPool#standard() standard} pool by default;
+   * station transport contexts return their station's pool.
+   */
+  default BufferPool bufferPool() {
+    return BufferPool.standard();
+  }
+
 }
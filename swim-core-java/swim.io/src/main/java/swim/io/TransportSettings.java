@@ -35,11 +35,20 @@ public class TransportSettings implements Debug {
   protected final int backlog;
   protected final long idleInterval;
   protected final long idleTimeout;
+  protected final long bufferPoolSize;
+  protected final int selectorCount;
 
-  public TransportSettings(int backlog, long idleInterval, long idleTimeout) {
+  public TransportSettings(int backlog, long idleInterval, long idleTimeout,
+                           long bufferPoolSize, int selectorCount) {
     this.backlog = backlog;
     this.idleInterval = idleInterval;
     this.idleTimeout = idleTimeout;
+    this.bufferPoolSize = bufferPoolSize;
+    this.selectorCount = selectorCount;
+  }
+
+  public TransportSettings(int backlog, long idleInterval, long idleTimeout) {
+    this(backlog, idleInterval, idleTimeout, 64L * 1024L * 1024L, 1);
   }
 
   /**
@@ -68,7 +77,21 @@ public class TransportSettings implements Debug {
         idleTimeout = 90000L; // 90 seconds
       }
 
-      standard = new TransportSettings(backlog, idleInterval, idleTimeout);
+      long bufferPoolSize;
+      try {
+        bufferPoolSize = Long.parseLong(System.getProperty("swim.transport.buffer.pool.size"));
+      } catch (NumberFormatException error) {
+        bufferPoolSize = 64L * 1024L * 1024L; // 64 MiB
+      }
+
+      int selectorCount;
+      try {
+        selectorCount = Integer.parseInt(System.getProperty("swim.transport.selector.count"));
+      } catch (NumberFormatException error) {
+        selectorCount = 1;
+      }
+
+      standard = new TransportSettings(backlog, idleInterval, idleTimeout, bufferPoolSize, selectorCount);
     }
     return standard;
   }
@@ -97,7 +120,7 @@ public class TransportSettings implements Debug {
    * connections.
    */
   public TransportSettings backlog(int backlog) {
-    return copy(backlog, this.idleInterval, this.idleTimeout);
+    return copy(backlog, this.idleInterval, this.idleTimeout, this.bufferPoolSize, this.selectorCount);
   }
 
   /**
@@ -112,7 +135,7 @@ public class TransportSettings implements Debug {
    * given {@code idleInterval} for transport idle checks.
    */
   public TransportSettings idleInterval(long idleInterval) {
-    return copy(this.backlog, idleInterval, this.idleTimeout);
+    return copy(this.backlog, idleInterval, this.idleTimeout, this.bufferPoolSize, this.selectorCount);
   }
 
   /**
@@ -128,7 +151,41 @@ public class TransportSettings implements Debug {
    * given {@code idleTimeout} for transport idle timeouts
    */
   public TransportSettings idleTimeout(long idleTimeout) {
-    return copy(this.backlog, this.idleInterval, idleTimeout);
+    return copy(this.backlog, this.idleInterval, idleTimeout, this.bufferPoolSize, this.selectorCount);
+  }
+
+  /**
+   * Returns the maximum number of bytes of direct memory allocated by the
+   * transport {@link BufferPool}, which also bounds the number of bytes of idle
+   * heap buffers retained by the pool.
+   */
+  public final long bufferPoolSize() {
+    return this.bufferPoolSize;
+  }
+
+  /**
+   * Returns a copy of these {@code TransportSettings} configured with the
+   * given {@code bufferPoolSize} for the transport {@link BufferPool}.
+   */
+  public TransportSettings bufferPoolSize(long bufferPoolSize) {
+    return copy(this.backlog, this.idleInterval, this.idleTimeout, bufferPoolSize, this.selectorCount);
+  }
+
+  /**
+   * Returns the number of selector threads across which a {@link Station}
+   * spreads its registered transports.  Values less than {@code 1} use one
+   * selector thread per available processor.
+   */
+  public final int selectorCount() {
+    return this.selectorCount;
+  }
+
+  /**
+   * Returns a copy of these {@code TransportSettings} configured with the
+   * given {@code selectorCount} for the number of station selector threads.
+   */
+  public TransportSettings selectorCount(int selectorCount) {
+    return copy(this.backlog, this.idleInterval, this.idleTimeout, this.bufferPoolSize, selectorCount);
   }
 
   /**
@@ -136,8 +193,18 @@ public class TransportSettings implements Debug {
    * Subclasses may override this method to ensure the proper class is
    * instantiated when updating settings.
    */
+  protected TransportSettings copy(int backlog, long idleInterval, long idleTimeout,
+                                   long bufferPoolSize, int selectorCount) {
+    return new TransportSettings(backlog, idleInterval, idleTimeout, bufferPoolSize, selectorCount);
+  }
+
+  /**
+   * Returns a new {@code TransportSettings} instance with the given options,
+   * and the {@code bufferPoolSize} and {@code selectorCount} of these
+   * {@code TransportSettings}.
+   */
   protected TransportSettings copy(int backlog, long idleInterval, long idleTimeout) {
-    return new TransportSettings(backlog, idleInterval, idleTimeout);
+    return copy(backlog, idleInterval, idleTimeout, this.bufferPoolSize, this.selectorCount);
   }
 
   /**
@@ -164,7 +231,9 @@ public class TransportSettings implements Debug {
       final TransportSettings that = (TransportSettings) other;
       return that.canEqual(this) && this.backlog == that.backlog
           && this.idleInterval == that.idleInterval
-          && this.idleTimeout == that.idleTimeout;
+          && this.idleTimeout == that.idleTimeout
+          && this.bufferPoolSize == that.bufferPoolSize
+          && this.selectorCount == that.selectorCount;
     }
     return false;
   }
@@ -174,8 +243,9 @@ public class TransportSettings implements Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(TransportSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, backlog),
-        Murmur3.hash(this.idleInterval)), Murmur3.hash(this.idleTimeout)));
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, backlog),
+        Murmur3.hash(this.idleInterval)), Murmur3.hash(this.idleTimeout)),
+        Murmur3.hash(this.bufferPoolSize)), this.selectorCount));
   }
 
   @Override
@@ -183,7 +253,9 @@ public class TransportSettings implements Debug {
     output = output.write("TransportSettings").write('.').write("standard").write('(').write(')')
         .write('.').write("backlog").write('(').debug(this.backlog).write(')')
         .write('.').write("idleInterval").write('(').debug(this.idleInterval).write(')')
-        .write('.').write("idleTimeout").write('(').debug(this.idleTimeout).write(')');
+        .write('.').write("idleTimeout").write('(').debug(this.idleTimeout).write(')')
+        .write('.').write("bufferPoolSize").write('(').debug(this.bufferPoolSize).write(')')
+        .write('.').write("selectorCount").write('(').debug(this.selectorCount).write(')');
   }
 
   @Override
@@ -214,7 +286,7 @@ final class TransportSettingsForm extends Form<TransportSettings> {
   public Item mold(TransportSettings settings) {
     if (settings != null) {
       final TransportSettings standard = TransportSettings.standard();
-      final Record record = Record.create(4).attr(tag());
+      final Record record = Record.create(6).attr(tag());
       if (settings.backlog != standard.backlog) {
         record.slot("backlog", settings.backlog);
       }
@@ -224,6 +296,12 @@ final class TransportSettingsForm extends Form<TransportSettings> {
       if (settings.idleTimeout != standard.idleTimeout) {
         record.slot("idleTimeout", settings.idleTimeout);
       }
+      if (settings.bufferPoolSize != standard.bufferPoolSize) {
+        record.slot("bufferPoolSize", settings.bufferPoolSize);
+      }
+      if (settings.selectorCount != standard.selectorCount) {
+        record.slot("selectorCount", settings.selectorCount);
+      }
       return record;
     } else {
       return Item.extant();
@@ -238,7 +316,9 @@ final class TransportSettingsForm extends Form<TransportSettings> {
       final int backlog = value.get("backlog").intValue(standard.backlog);
       final long idleInterval = value.get("idleInterval").longValue(standard.idleInterval);
       final long idleTimeout = value.get("idleTimeout").longValue(standard.idleTimeout);
-      return new TransportSettings(backlog, idleInterval, idleTimeout);
+      final long bufferPoolSize = value.get("bufferPoolSize").longValue(standard.bufferPoolSize);
+      final int selectorCount = value.get("selectorCount").intValue(standard.selectorCount);
+      return new TransportSettings(backlog, idleInterval, idleTimeout, bufferPoolSize, selectorCount);
     }
     return null;
   }
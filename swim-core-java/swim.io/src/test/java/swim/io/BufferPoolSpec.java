@@ -0,0 +1,79 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.nio.ByteBuffer;
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class BufferPoolSpec {
+
+  @Test
+  public void reusesReclaimedHeapBuffers() {
+    final BufferPool pool = new BufferPool(1024L);
+    final ByteBuffer buffer = pool.lease(256);
+    assertFalse(buffer.isDirect());
+    assertEquals(buffer.capacity(), 256);
+    buffer.put((byte) 1);
+    pool.reclaim(buffer);
+    assertEquals(pool.pooledCount(), 1L);
+    assertEquals(pool.pooledSize(), 256L);
+
+    final ByteBuffer reused = pool.lease(256);
+    assertSame(reused, buffer);
+    assertEquals(reused.position(), 0);
+    assertEquals(pool.pooledCount(), 0L);
+    assertEquals(pool.leaseCount(), 2L);
+    assertEquals(pool.reclaimCount(), 1L);
+  }
+
+  @Test
+  public void boundsIdleHeapBuffers() {
+    final BufferPool pool = new BufferPool(512L);
+    final ByteBuffer a = pool.lease(256);
+    final ByteBuffer b = pool.lease(256);
+    final ByteBuffer c = pool.lease(256);
+    pool.reclaim(a);
+    pool.reclaim(b);
+    pool.reclaim(c);
+    assertEquals(pool.pooledCount(), 2L);
+    assertEquals(pool.pooledSize(), 512L);
+  }
+
+  @Test
+  public void failsOverDirectLeasesToHeapBuffers() {
+    final BufferPool pool = new BufferPool(512L);
+    final ByteBuffer a = pool.leaseDirect(256);
+    final ByteBuffer b = pool.leaseDirect(256);
+    assertTrue(a.isDirect());
+    assertTrue(b.isDirect());
+    assertEquals(pool.directSize(), 512L);
+
+    final ByteBuffer c = pool.leaseDirect(256);
+    assertFalse(c.isDirect());
+    assertEquals(pool.leaseFailureCount(), 1L);
+
+    pool.reclaim(a);
+    assertSame(pool.leaseDirect(256), a);
+    pool.discard(b);
+    assertEquals(pool.directSize(), 256L);
+    assertTrue(pool.leaseDirect(256).isDirect());
+    assertEquals(pool.leaseFailureCount(), 1L);
+  }
+
+}
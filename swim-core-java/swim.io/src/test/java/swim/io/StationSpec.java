@@ -0,0 +1,175 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.util.concurrent.CountDownLatch;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.concurrent.Theater;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class StationSpec {
+
+  @Test
+  public void assignsTransportsToSelectorThreadsRoundRobin() {
+    final Theater stage = new Theater();
+    final Station station = new Station(stage, TransportSettings.standard().selectorCount(3));
+    assertEquals(station.threads.length, 3);
+    assertSame(station.nextThread(), station.threads[0]);
+    assertSame(station.nextThread(), station.threads[1]);
+    assertSame(station.nextThread(), station.threads[2]);
+    assertSame(station.nextThread(), station.threads[0]);
+  }
+
+  @Test
+  public void startsAndStopsAllSelectorThreads() {
+    final Theater stage = new Theater();
+    final Station station = new Station(stage, TransportSettings.standard().selectorCount(4));
+    try {
+      stage.start();
+      station.start();
+      for (StationThread thread : station.threads) {
+        assertTrue(thread.isAlive());
+      }
+    } finally {
+      station.stop();
+      stage.stop();
+    }
+    for (StationThread thread : station.threads) {
+      assertTrue(!thread.isAlive());
+    }
+    assertEquals(station.threadCount, 0);
+  }
+
+  @Test
+  public void connectsAcrossSelectorThreads() {
+    final int connectionCount = 8;
+    final Theater stage = new Theater();
+    final Station station = new Station(stage, TransportSettings.standard().selectorCount(4));
+    final IpEndpoint endpoint = new IpEndpoint(station);
+    final CountDownLatch clientConnect = new CountDownLatch(connectionCount);
+    final CountDownLatch serverConnect = new CountDownLatch(connectionCount);
+    final CountDownLatch serverBind = new CountDownLatch(1);
+    final AbstractIpService service = new AbstractIpService() {
+      @Override
+      public IpSocket createSocket() {
+        return new AbstractIpSocket() {
+          @Override
+          public void didConnect() {
+            serverConnect.countDown();
+          }
+        };
+      }
+
+      @Override
+      public void didBind() {
+        serverBind.countDown();
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindTcp("127.0.0.1", 53557, service);
+      serverBind.await();
+      for (int i = 0; i < connectionCount; i += 1) {
+        endpoint.connectTcp("127.0.0.1", 53557, new AbstractIpSocket() {
+          @Override
+          public void didConnect() {
+            clientConnect.countDown();
+          }
+        });
+      }
+      serverConnect.await();
+      clientConnect.await();
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void timesOutIdleTransports() {
+    final Theater stage = new Theater();
+    final TransportSettings transportSettings = TransportSettings.standard().idleInterval(20L);
+    final Station station = new Station(stage, transportSettings);
+    final IpEndpoint endpoint = new IpEndpoint(station);
+    final CountDownLatch serverConnect = new CountDownLatch(2);
+    final CountDownLatch serverTimeout = new CountDownLatch(1);
+    final CountDownLatch serverBind = new CountDownLatch(1);
+    final boolean[] persistentTimeout = new boolean[1];
+    final AbstractIpService service = new AbstractIpService() {
+      int socketCount;
+
+      @Override
+      public IpSocket createSocket() {
+        final long idleTimeout = this.socketCount == 0 ? 100L : 0L;
+        this.socketCount += 1;
+        return new AbstractIpSocket() {
+          @Override
+          public long idleTimeout() {
+            return idleTimeout;
+          }
+
+          @Override
+          public void didConnect() {
+            serverConnect.countDown();
+          }
+
+          @Override
+          public void didTimeout() {
+            if (idleTimeout == 0L) {
+              persistentTimeout[0] = true;
+            }
+            serverTimeout.countDown();
+          }
+        };
+      }
+
+      @Override
+      public void didBind() {
+        serverBind.countDown();
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindTcp("127.0.0.1", 53558, service);
+      serverBind.await();
+      endpoint.connectTcp("127.0.0.1", 53558, new AbstractIpSocket() { });
+      endpoint.connectTcp("127.0.0.1", 53558, new AbstractIpSocket() { });
+      serverConnect.await();
+      final long t0 = System.currentTimeMillis();
+      serverTimeout.await();
+      assertTrue(System.currentTimeMillis() - t0 < 1000L);
+      Thread.sleep(200L);
+      assertFalse(persistentTimeout[0]);
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+}
@@ -72,6 +72,13 @@ public abstract class Form<T> {
   private static Form<Item> itemForm;
   private static Form<Value> valueForm;
 
+  private static final ClassValue<Form<?>> CLASS_FORMS = new ClassValue<Form<?>>() {
+    @Override
+    protected Form<?> computeValue(Class<?> type) {
+      return forClass(type, null);
+    }
+  };
+
   /**
    * Utility method to receive a singleton {@link ByteForm}.
    */
@@ -355,9 +362,11 @@ public abstract class Form<T> {
   /**
    * Returns a {@code Form} for {@code type} preferring built-in {@code Forms}
    * to {@link swim.structure.form.ClassForm} constructions whenever possible.
+   * Reflected forms are cached per {@code type}, and shared by all callers.
    */
+  @SuppressWarnings("unchecked")
   public static <T> Form<T> forClass(Class<?> type) {
-    return forClass(type, null);
+    return (Form<T>) CLASS_FORMS.get(type);
   }
 
   /**
@@ -26,11 +26,13 @@ import swim.structure.Value;
 public final class AttrForm<T> extends FieldForm<T> {
 
   final java.lang.reflect.Field field;
+  final FieldAccessor accessor;
   final Text key;
   final Form<?> form;
 
   public AttrForm(java.lang.reflect.Field field, Text key, Form<?> form) {
     this.field = field;
+    this.accessor = new FieldAccessor(field);
     this.key = key;
     this.form = form;
   }
@@ -55,7 +57,7 @@ public final class AttrForm<T> extends FieldForm<T> {
   public Item mold(T object, Item item) {
     if (object != null) {
       try {
-        final Value value = ((Form<Object>) this.form).mold(this.field.get(object)).toValue();
+        final Value value = ((Form<Object>) this.form).mold(this.accessor.get(object)).toValue();
         if (item instanceof Field) {
           return ((Field) item).updatedValue(value);
         } else {
@@ -74,7 +76,7 @@ public final class AttrForm<T> extends FieldForm<T> {
   public Item mold(T object) {
     if (object != null) {
       try {
-        final Value value = ((Form<Object>) this.form).mold(this.field.get(object)).toValue();
+        final Value value = ((Form<Object>) this.form).mold(this.accessor.get(object)).toValue();
         return Attr.of(this.key, value);
       } catch (IllegalAccessException cause) {
         return Item.absent();
@@ -90,10 +92,10 @@ public final class AttrForm<T> extends FieldForm<T> {
       if (item instanceof Record) {
         final Value value = item.get(this.key);
         if (value.isDefined()) {
-          this.field.set(object, this.form.cast(value));
+          this.accessor.set(object, this.form.cast(value));
         }
       } else if (item.keyEquals(this.key)) {
-        this.field.set(object, this.form.cast(item.toValue()));
+        this.accessor.set(object, this.form.cast(item.toValue()));
       }
     } catch (IllegalAccessException cause) {
       throw new FormException(cause);
@@ -14,6 +14,7 @@
 
 package swim.structure.form;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import swim.structure.Attr;
 import swim.structure.Form;
@@ -63,16 +64,18 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
   final String tag;
   final T unit;
   final Constructor<T> constructor;
+  final MethodHandle factory;
   Form<T>[] headers;
   Form<T>[] members;
 
   @SuppressWarnings("unchecked")
   ClassForm(Class<?> type, String tag, T unit, Constructor<T> constructor,
-            Form<T>[] headers, Form<T>[] members) {
+            MethodHandle factory, Form<T>[] headers, Form<T>[] members) {
     this.type = type;
     this.tag = tag;
     this.unit = unit;
     this.constructor = constructor;
+    this.factory = factory;
     this.headers = headers;
     this.members = members;
   }
@@ -90,6 +93,7 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
       constructor = null;
     }
     this.constructor = constructor;
+    this.factory = FieldAccessor.factory(constructor);
     this.headers = (Form<T>[]) new Form<?>[0];
     this.members = (Form<T>[]) new Form<?>[0];
   }
@@ -101,7 +105,7 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
 
   @Override
   public ClassForm<T> tag(String tag) {
-    return new ClassForm<T>(this.type, tag, this.unit, this.constructor, this.headers, this.members);
+    return new ClassForm<T>(this.type, tag, this.unit, this.constructor, this.factory, this.headers, this.members);
   }
 
   @Override
@@ -111,7 +115,7 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
 
   @Override
   public ClassForm<T> unit(T unit) {
-    return new ClassForm<T>(this.type, this.tag, unit, this.constructor, this.headers, this.members);
+    return new ClassForm<T>(this.type, this.tag, unit, this.constructor, this.factory, this.headers, this.members);
   }
 
   @SuppressWarnings("unchecked")
@@ -281,9 +285,19 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
     return object;
   }
 
+  @SuppressWarnings("unchecked")
   @Override
   public T cast(Item item) {
-    if (this.constructor != null) {
+    final MethodHandle factory = this.factory;
+    if (factory != null) {
+      final T object;
+      try {
+        object = (T) (Object) factory.invokeExact();
+      } catch (Throwable cause) {
+        throw new FormException(cause);
+      }
+      return cast(item, object);
+    } else if (this.constructor != null) {
       try {
         final T object = this.constructor.newInstance();
         return cast(item, object);
@@ -296,7 +310,7 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
 
   @Override
   public ClassForm<T> clone() {
-    return new ClassForm<T>(this.type, this.tag, this.unit, this.constructor, this.headers, this.members);
+    return new ClassForm<T>(this.type, this.tag, this.unit, this.constructor, this.factory, this.headers, this.members);
   }
 
 }
@@ -0,0 +1,106 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.structure.form;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import swim.structure.FormException;
+
+/**
+ * Reads and writes a reflected field through {@code MethodHandle}s adapted to
+ * {@code (Object)Object} and {@code (Object,Object)void} signatures, which
+ * check access once, when unreflected, rather than on every call to {@code
+ * Field.get} and {@code Field.set}.  The handles are held in instance
+ * fields, not constants, so each access remains an indirect call.  Falls
+ * back to reflection when a handle can't be unreflected, or when {@code
+ * swim.structure.form.accessor} is set to {@code reflect}.
+ */
+final class FieldAccessor {
+
+  final java.lang.reflect.Field field;
+  final MethodHandle getter;
+  final MethodHandle setter;
+
+  FieldAccessor(java.lang.reflect.Field field) {
+    this.field = field;
+    MethodHandle getter = null;
+    MethodHandle setter = null;
+    if (HANDLES) {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      try {
+        getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+      } catch (IllegalAccessException cause) {
+        // fall back to reflection
+      }
+      try {
+        setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+      } catch (IllegalAccessException cause) {
+        // fall back to reflection
+      }
+    }
+    this.getter = getter;
+    this.setter = setter;
+  }
+
+  Object get(Object object) throws IllegalAccessException {
+    final MethodHandle getter = this.getter;
+    if (getter != null) {
+      try {
+        return (Object) getter.invokeExact(object);
+      } catch (RuntimeException | Error cause) {
+        throw cause;
+      } catch (Throwable cause) {
+        throw new FormException(cause);
+      }
+    } else {
+      return this.field.get(object);
+    }
+  }
+
+  void set(Object object, Object value) throws IllegalAccessException {
+    final MethodHandle setter = this.setter;
+    if (setter != null) {
+      try {
+        setter.invokeExact(object, value);
+      } catch (RuntimeException | Error cause) {
+        throw cause;
+      } catch (Throwable cause) {
+        throw new FormException(cause);
+      }
+    } else {
+      this.field.set(object, value);
+    }
+  }
+
+  static MethodHandle factory(Constructor<?> constructor) {
+    if (HANDLES && constructor != null) {
+      try {
+        return MethodHandles.lookup().unreflectConstructor(constructor).asType(FACTORY_TYPE);
+      } catch (IllegalAccessException cause) {
+        // fall back to reflection
+      }
+    }
+    return null;
+  }
+
+  static final boolean HANDLES = !"reflect".equals(System.getProperty("swim.structure.form.accessor"));
+
+  static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+  static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+
+}
@@ -25,11 +25,13 @@ import swim.structure.Value;
 public final class SlotForm<T> extends FieldForm<T> {
 
   final java.lang.reflect.Field field;
+  final FieldAccessor accessor;
   final Value key;
   final Form<?> form;
 
   public SlotForm(java.lang.reflect.Field field, Value key, Form<?> form) {
     this.field = field;
+    this.accessor = new FieldAccessor(field);
     this.key = key.commit();
     this.form = form;
   }
@@ -54,7 +56,7 @@ public final class SlotForm<T> extends FieldForm<T> {
   public Item mold(T object, Item item) {
     if (object != null) {
       try {
-        final Value value = ((Form<Object>) this.form).mold(this.field.get(object)).toValue();
+        final Value value = ((Form<Object>) this.form).mold(this.accessor.get(object)).toValue();
         if (item instanceof Field) {
           return ((Field) item).updatedValue(value);
         } else {
@@ -73,7 +75,7 @@ public final class SlotForm<T> extends FieldForm<T> {
   public Item mold(T object) {
     if (object != null) {
       try {
-        final Value value = ((Form<Object>) this.form).mold(this.field.get(object)).toValue();
+        final Value value = ((Form<Object>) this.form).mold(this.accessor.get(object)).toValue();
         return Slot.of(this.key, value);
       } catch (IllegalAccessException cause) {
         return Item.absent();
@@ -89,10 +91,10 @@ public final class SlotForm<T> extends FieldForm<T> {
       if (item instanceof Record) {
         final Value value = item.get(this.key);
         if (value.isDefined()) {
-          this.field.set(object, this.form.cast(value));
+          this.accessor.set(object, this.form.cast(value));
         }
       } else if (item.keyEquals(this.key)) {
-        this.field.set(object, this.form.cast(item.toValue()));
+        this.accessor.set(object, this.form.cast(item.toValue()));
       }
     } catch (IllegalAccessException cause) {
       throw new FormException(cause);
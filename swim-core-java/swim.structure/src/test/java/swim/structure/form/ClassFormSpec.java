@@ -41,6 +41,7 @@ import swim.structure.form.classes.PointMap;
 import swim.structure.form.classes.PrivatePerson;
 import swim.util.Murmur3;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 public class ClassFormSpec {
 
@@ -376,6 +377,13 @@ public class ClassFormSpec {
             Slot.of("last", "Wall"))));
   }
 
+  @Test
+  public void cachesReflectedClassForms() {
+    final Form<Person> form = Form.forClass(Person.class);
+    assertSame(Form.forClass(Person.class), form);
+    assertEquals(form.cast(form.mold(new Person("Humpty", "Dumpty"))), new Person("Humpty", "Dumpty"));
+  }
+
   @Test
   public void castsClassArray() {
     final PrivatePerson[] arr = {new PrivatePerson("Humpty", "Dumpty"), new PrivatePerson("Satona", "Wall")};
@@ -0,0 +1,659 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import swim.codec.Decoder;
+import swim.codec.DecoderException;
+import swim.codec.Encoder;
+import swim.recon.Recon;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Extant;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.uri.Uri;
+
+/**
+ * Per-connection binary WARP envelope codec, negotiated with the {@link
+ * #PROTOCOL} WebSocket subprotocol.  Each envelope is encoded as a single
+ * binary message consisting of a one byte envelope tag, followed by the node
+ * and lane URIs of lane addressed envelopes, the prio and rate of link
+ * addressed envelopes, and a binary encoded body {@code Value}.
+ * <p>
+ * Node and lane URIs are interned per connection, in each direction: the
+ * first occurrence of a URI is written as a length prefixed string, and
+ * assigned the next index in the connection's URI table; subsequent
+ * occurrences are written as a varint reference to that index.  An encoder
+ * must be pulled, and a decoder fed, in frame order, so that both peers
+ * assign the same table indexes.
+ * <p>
+ * The node and lane URI pair of a link is additionally aliased by a small
+ * integer, assigned when a {@code link}, {@code linked}, {@code sync}, or
+ * {@code synced} envelope for the pair is sent, and released when an {@code
+ * unlink} or {@code unlinked} envelope for the pair is sent.  Subsequent
+ * envelopes addressed to an aliased link carry only its alias, which lets
+ * the receiver route them without URI lookups; see {@link #linkAlias()}.
+ */
+public class BinaryEnvelopeCodec {
+
+  /**
+   * WebSocket subprotocol name that selects the binary envelope codec.
+   */
+  public static final String PROTOCOL = "warp0-binary";
+
+  /**
+   * Maximum number of URIs interned in each direction of a connection.
+   * Part of the wire protocol; peers must agree on its value.
+   */
+  static final int MAX_URIS = 1024;
+
+  /**
+   * Maximum number of links aliased in each direction of a connection.
+   * Part of the wire protocol; peers must agree on its value.
+   */
+  static final int MAX_LINKS = 1024;
+
+  static final int EVENT = 1;
+  static final int COMMAND = 2;
+  static final int LINK = 3;
+  static final int LINKED = 4;
+  static final int SYNC = 5;
+  static final int SYNCED = 6;
+  static final int UNLINK = 7;
+  static final int UNLINKED = 8;
+  static final int AUTH = 9;
+  static final int AUTHED = 10;
+  static final int DEAUTH = 11;
+  static final int DEAUTHED = 12;
+
+  static final int ABSENT = 0;
+  static final int EXTANT = 1;
+  static final int FALSE = 2;
+  static final int TRUE = 3;
+  static final int INT32 = 4;
+  static final int INT64 = 5;
+  static final int UINT32 = 6;
+  static final int UINT64 = 7;
+  static final int FLOAT32 = 8;
+  static final int FLOAT64 = 9;
+  static final int BIG_INTEGER = 10;
+  static final int TEXT = 11;
+  static final int DATA = 12;
+  static final int RECORD = 13;
+  static final int RECON = 14;
+  static final int ATTR = 15;
+  static final int SLOT = 16;
+
+  final HashMap<Uri, Integer> encodeUris;
+  final Uri[] decodeUris;
+  int decodeUriCount;
+  final HashMap<BinaryLinkAddress, Integer> encodeLinks;
+  final BinaryLinkAliases encodeLinkAliases;
+  final BinaryLinkAddress[] decodeLinks;
+  final BinaryLinkAliases decodeLinkAliases;
+  int linkAlias;
+
+  public BinaryEnvelopeCodec() {
+    this.encodeUris = new HashMap<Uri, Integer>();
+    this.decodeUris = new Uri[MAX_URIS];
+    this.decodeUriCount = 0;
+    this.encodeLinks = new HashMap<BinaryLinkAddress, Integer>();
+    this.encodeLinkAliases = new BinaryLinkAliases(MAX_LINKS);
+    this.decodeLinks = new BinaryLinkAddress[MAX_LINKS];
+    this.decodeLinkAliases = new BinaryLinkAliases(MAX_LINKS);
+    this.linkAlias = -1;
+  }
+
+  /**
+   * Returns the link alias of the most recently decoded envelope, or {@code
+   * -1} if the envelope was not addressed to an aliased link.  An alias
+   * identifies the same node and lane URI pair, with the same {@code Uri}
+   * instances, until the link is unlinked, after which the alias may be
+   * reassigned to another link.
+   */
+  public final int linkAlias() {
+    return this.linkAlias;
+  }
+
+  /**
+   * Returns an {@code Encoder} that writes the binary encoding of the given
+   * {@code envelope} when first pulled.
+   */
+  public Encoder<?, Envelope> encoder(Envelope envelope) {
+    return new BinaryEnvelopeEncoder(this, envelope);
+  }
+
+  /**
+   * Returns a {@code Decoder} that reads a single binary encoded envelope
+   * from the remainder of the current message.
+   */
+  public Decoder<Envelope> decoder() {
+    return new BinaryEnvelopeDecoder(this, Data.create());
+  }
+
+  /**
+   * Returns the binary encoding of the given {@code envelope}, interning
+   * its URIs and link in this codec's encode tables.
+   */
+  public Data encode(Envelope envelope) {
+    final int tag;
+    if (envelope instanceof EventMessage) {
+      tag = EVENT;
+    } else if (envelope instanceof CommandMessage) {
+      tag = COMMAND;
+    } else if (envelope instanceof LinkRequest) {
+      tag = LINK;
+    } else if (envelope instanceof LinkedResponse) {
+      tag = LINKED;
+    } else if (envelope instanceof SyncRequest) {
+      tag = SYNC;
+    } else if (envelope instanceof SyncedResponse) {
+      tag = SYNCED;
+    } else if (envelope instanceof UnlinkRequest) {
+      tag = UNLINK;
+    } else if (envelope instanceof UnlinkedResponse) {
+      tag = UNLINKED;
+    } else if (envelope instanceof AuthRequest) {
+      tag = AUTH;
+    } else if (envelope instanceof AuthedResponse) {
+      tag = AUTHED;
+    } else if (envelope instanceof DeauthRequest) {
+      tag = DEAUTH;
+    } else if (envelope instanceof DeauthedResponse) {
+      tag = DEAUTHED;
+    } else {
+      throw new WarpException("unsupported envelope: " + envelope);
+    }
+    final Data data = Data.create(64);
+    data.addByte((byte) tag);
+    if (envelope instanceof LaneAddressed) {
+      writeLink(data, tag, envelope.nodeUri(), envelope.laneUri());
+      if (envelope instanceof LinkAddressed) {
+        final LinkAddressed link = (LinkAddressed) envelope;
+        writeFixed32(data, Float.floatToIntBits(link.prio));
+        writeFixed32(data, Float.floatToIntBits(link.rate));
+      }
+    }
+    writeValue(data, envelope.body());
+    return data;
+  }
+
+  /**
+   * Returns the envelope encoded in the first {@code size} bytes of the given
+   * {@code array}, resolving URI and link references against this codec's
+   * decode tables.
+   */
+  public Envelope decode(byte[] array, int size) {
+    final BinaryEnvelopeInput input = new BinaryEnvelopeInput(array, size);
+    final int tag = input.readByte();
+    final Envelope envelope;
+    this.linkAlias = -1;
+    if (tag >= EVENT && tag <= UNLINKED) {
+      final BinaryLinkAddress link = readLink(input, tag);
+      final Uri nodeUri = link.nodeUri;
+      final Uri laneUri = link.laneUri;
+      if (tag == LINK || tag == LINKED || tag == SYNC) {
+        final float prio = Float.intBitsToFloat(input.readFixed32());
+        final float rate = Float.intBitsToFloat(input.readFixed32());
+        final Value body = readValue(input);
+        if (tag == LINK) {
+          envelope = new LinkRequest(nodeUri, laneUri, prio, rate, body);
+        } else if (tag == LINKED) {
+          envelope = new LinkedResponse(nodeUri, laneUri, prio, rate, body);
+        } else {
+          envelope = new SyncRequest(nodeUri, laneUri, prio, rate, body);
+        }
+      } else {
+        final Value body = readValue(input);
+        if (tag == EVENT) {
+          envelope = new EventMessage(nodeUri, laneUri, body);
+        } else if (tag == COMMAND) {
+          envelope = new CommandMessage(nodeUri, laneUri, body);
+        } else if (tag == SYNCED) {
+          envelope = new SyncedResponse(nodeUri, laneUri, body);
+        } else if (tag == UNLINK) {
+          envelope = new UnlinkRequest(nodeUri, laneUri, body);
+        } else {
+          envelope = new UnlinkedResponse(nodeUri, laneUri, body);
+        }
+      }
+    } else {
+      final Value body = readValue(input);
+      if (tag == AUTH) {
+        envelope = new AuthRequest(body);
+      } else if (tag == AUTHED) {
+        envelope = new AuthedResponse(body);
+      } else if (tag == DEAUTH) {
+        envelope = new DeauthRequest(body);
+      } else if (tag == DEAUTHED) {
+        envelope = new DeauthedResponse(body);
+      } else {
+        throw new DecoderException("unknown envelope tag: " + tag);
+      }
+    }
+    if (input.index != size) {
+      throw new DecoderException("trailing bytes after envelope");
+    }
+    return envelope;
+  }
+
+  void writeLink(Data data, int tag, Uri nodeUri, Uri laneUri) {
+    final BinaryLinkAddress link = new BinaryLinkAddress(nodeUri, laneUri);
+    final Integer alias = this.encodeLinks.get(link);
+    if (alias != null) {
+      writeVarint(data, ((long) alias << 1) | 1L);
+      if (tag == UNLINK || tag == UNLINKED) {
+        this.encodeLinks.remove(link);
+        this.encodeLinkAliases.release(alias);
+      }
+    } else {
+      writeVarint(data, 0L);
+      writeUri(data, nodeUri);
+      writeUri(data, laneUri);
+      if (tag == LINK || tag == LINKED || tag == SYNC || tag == SYNCED) {
+        final int newAlias = this.encodeLinkAliases.acquire();
+        if (newAlias >= 0) {
+          this.encodeLinks.put(link, newAlias);
+        }
+      }
+    }
+  }
+
+  BinaryLinkAddress readLink(BinaryEnvelopeInput input, int tag) {
+    final long code = input.readVarint();
+    if ((code & 1L) != 0L) {
+      final long alias = code >>> 1;
+      final BinaryLinkAddress link = alias < MAX_LINKS ? this.decodeLinks[(int) alias] : null;
+      if (link == null) {
+        throw new DecoderException("undefined link reference: " + alias);
+      }
+      if (tag == UNLINK || tag == UNLINKED) {
+        this.decodeLinks[(int) alias] = null;
+        this.decodeLinkAliases.release((int) alias);
+      }
+      this.linkAlias = (int) alias;
+      return link;
+    } else if (code == 0L) {
+      final Uri nodeUri = readUri(input);
+      final Uri laneUri = readUri(input);
+      final BinaryLinkAddress link = new BinaryLinkAddress(nodeUri, laneUri);
+      if (tag == LINK || tag == LINKED || tag == SYNC || tag == SYNCED) {
+        final int alias = this.decodeLinkAliases.acquire();
+        if (alias >= 0) {
+          this.decodeLinks[alias] = link;
+          this.linkAlias = alias;
+        }
+      }
+      return link;
+    } else {
+      throw new DecoderException("malformed link address: " + code);
+    }
+  }
+
+  void writeUri(Data data, Uri uri) {
+    final Integer index = this.encodeUris.get(uri);
+    if (index != null) {
+      writeVarint(data, ((long) index << 1) | 1L);
+    } else {
+      final byte[] bytes = uri.toString().getBytes(StandardCharsets.UTF_8);
+      writeVarint(data, (long) bytes.length << 1);
+      data.addByteArray(bytes);
+      final int count = this.encodeUris.size();
+      if (count < MAX_URIS) {
+        this.encodeUris.put(uri, count);
+      }
+    }
+  }
+
+  Uri readUri(BinaryEnvelopeInput input) {
+    final long code = input.readVarint();
+    if ((code & 1L) != 0L) {
+      final long index = code >>> 1;
+      if (index >= this.decodeUriCount) {
+        throw new DecoderException("undefined uri reference: " + index);
+      }
+      return this.decodeUris[(int) index];
+    } else {
+      final Uri uri = Uri.parse(input.readString((int) (code >>> 1)));
+      final int count = this.decodeUriCount;
+      if (count < MAX_URIS) {
+        this.decodeUris[count] = uri;
+        this.decodeUriCount = count + 1;
+      }
+      return uri;
+    }
+  }
+
+  static void writeValue(Data data, Value value) {
+    if (value instanceof Record) {
+      final Record record = (Record) value;
+      data.addByte((byte) RECORD);
+      writeVarint(data, record.size());
+      for (Item item : record) {
+        if (item instanceof Attr) {
+          final Attr attr = (Attr) item;
+          data.addByte((byte) ATTR);
+          writeString(data, attr.key().stringValue());
+          writeValue(data, attr.value());
+        } else if (item instanceof Slot) {
+          final Slot slot = (Slot) item;
+          data.addByte((byte) SLOT);
+          writeValue(data, slot.key());
+          writeValue(data, slot.value());
+        } else {
+          writeValue(data, (Value) item);
+        }
+      }
+    } else if (value instanceof Text) {
+      data.addByte((byte) TEXT);
+      writeString(data, value.stringValue());
+    } else if (value instanceof Num) {
+      writeNum(data, (Num) value);
+    } else if (value instanceof Bool) {
+      data.addByte((byte) (value.booleanValue() ? TRUE : FALSE));
+    } else if (value instanceof Data) {
+      final Data bytes = (Data) value;
+      data.addByte((byte) DATA);
+      writeVarint(data, bytes.size());
+      data.addData(bytes);
+    } else if (value instanceof Extant) {
+      data.addByte((byte) EXTANT);
+    } else if (!value.isDefined()) {
+      data.addByte((byte) ABSENT);
+    } else {
+      // Expressions have no binary representation; fall back to Recon.
+      data.addByte((byte) RECON);
+      writeString(data, Recon.toString(value));
+    }
+  }
+
+  static void writeNum(Data data, Num num) {
+    if (num.isUint32()) {
+      data.addByte((byte) UINT32);
+      writeVarint(data, num.longValue() & 0xffffffffL);
+    } else if (num.isUint64()) {
+      data.addByte((byte) UINT64);
+      writeVarint(data, num.longValue());
+    } else {
+      final Number number = num.numberValue();
+      if (number instanceof Integer) {
+        data.addByte((byte) INT32);
+        writeVarint(data, zigZag(number.intValue()));
+      } else if (number instanceof Long) {
+        data.addByte((byte) INT64);
+        writeVarint(data, zigZag(number.longValue()));
+      } else if (number instanceof Float) {
+        data.addByte((byte) FLOAT32);
+        writeFixed32(data, Float.floatToIntBits(number.floatValue()));
+      } else if (number instanceof Double) {
+        data.addByte((byte) FLOAT64);
+        writeFixed64(data, Double.doubleToLongBits(number.doubleValue()));
+      } else {
+        final byte[] bytes = num.integerValue().toByteArray();
+        data.addByte((byte) BIG_INTEGER);
+        writeVarint(data, bytes.length);
+        data.addByteArray(bytes);
+      }
+    }
+  }
+
+  static Value readValue(BinaryEnvelopeInput input) {
+    final int tag = input.readByte();
+    switch (tag) {
+      case ABSENT:
+        return Value.absent();
+      case EXTANT:
+        return Value.extant();
+      case FALSE:
+        return Bool.from(false);
+      case TRUE:
+        return Bool.from(true);
+      case INT32:
+        return Num.from(unZigZag32(input.readVarint()));
+      case INT64:
+        return Num.from(unZigZag64(input.readVarint()));
+      case UINT32:
+        return Num.uint32((int) input.readVarint());
+      case UINT64:
+        return Num.uint64(input.readVarint());
+      case FLOAT32:
+        return Num.from(Float.intBitsToFloat(input.readFixed32()));
+      case FLOAT64:
+        return Num.from(Double.longBitsToDouble(input.readFixed64()));
+      case BIG_INTEGER:
+        return Num.from(new BigInteger(input.readBytes(input.readLength())));
+      case TEXT:
+        return Text.from(input.readString(input.readLength()));
+      case DATA:
+        return Data.wrap(input.readBytes(input.readLength()));
+      case RECORD:
+        return readRecord(input);
+      case RECON:
+        return Recon.parse(input.readString(input.readLength()));
+      default:
+        throw new DecoderException("unknown value tag: " + tag);
+    }
+  }
+
+  static Record readRecord(BinaryEnvelopeInput input) {
+    final int size = input.readLength();
+    final Record record = Record.create(size);
+    for (int i = 0; i < size; i += 1) {
+      final int tag = input.peekByte();
+      if (tag == ATTR) {
+        input.readByte();
+        final String key = input.readString(input.readLength());
+        record.add(Attr.of(key, readValue(input)));
+      } else if (tag == SLOT) {
+        input.readByte();
+        final Value key = readValue(input);
+        record.add(Slot.of(key, readValue(input)));
+      } else {
+        record.add(readValue(input));
+      }
+    }
+    return record;
+  }
+
+  static void writeString(Data data, String string) {
+    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    writeVarint(data, bytes.length);
+    data.addByteArray(bytes);
+  }
+
+  static void writeVarint(Data data, long value) {
+    while ((value & ~0x7fL) != 0L) {
+      data.addByte((byte) ((value & 0x7fL) | 0x80L));
+      value >>>= 7;
+    }
+    data.addByte((byte) value);
+  }
+
+  static void writeFixed32(Data data, int value) {
+    data.addByte((byte) (value >>> 24));
+    data.addByte((byte) (value >>> 16));
+    data.addByte((byte) (value >>> 8));
+    data.addByte((byte) value);
+  }
+
+  static void writeFixed64(Data data, long value) {
+    writeFixed32(data, (int) (value >>> 32));
+    writeFixed32(data, (int) value);
+  }
+
+  static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static int unZigZag32(long value) {
+    return (int) (value >>> 1) ^ -((int) value & 1);
+  }
+
+  static long unZigZag64(long value) {
+    return (value >>> 1) ^ -(value & 1L);
+  }
+
+}
+
+final class BinaryEnvelopeInput {
+
+  final byte[] array;
+  final int limit;
+  int index;
+
+  BinaryEnvelopeInput(byte[] array, int limit) {
+    this.array = array;
+    this.limit = limit;
+    this.index = 0;
+  }
+
+  int peekByte() {
+    if (this.index >= this.limit) {
+      throw new DecoderException("truncated envelope");
+    }
+    return this.array[this.index] & 0xff;
+  }
+
+  int readByte() {
+    final int b = peekByte();
+    this.index += 1;
+    return b;
+  }
+
+  long readVarint() {
+    long value = 0L;
+    int shift = 0;
+    do {
+      final int b = readByte();
+      value |= (long) (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+      shift += 7;
+    } while (shift < 64);
+    throw new DecoderException("malformed varint");
+  }
+
+  int readLength() {
+    final long length = readVarint();
+    if (length > this.limit - this.index) {
+      throw new DecoderException("truncated envelope");
+    }
+    return (int) length;
+  }
+
+  int readFixed32() {
+    return readByte() << 24 | readByte() << 16 | readByte() << 8 | readByte();
+  }
+
+  long readFixed64() {
+    return (long) readFixed32() << 32 | (long) readFixed32() & 0xffffffffL;
+  }
+
+  byte[] readBytes(int length) {
+    if (length > this.limit - this.index) {
+      throw new DecoderException("truncated envelope");
+    }
+    final byte[] bytes = new byte[length];
+    System.arraycopy(this.array, this.index, bytes, 0, length);
+    this.index += length;
+    return bytes;
+  }
+
+  String readString(int length) {
+    if (length > this.limit - this.index) {
+      throw new DecoderException("truncated envelope");
+    }
+    final String string = new String(this.array, this.index, length, StandardCharsets.UTF_8);
+    this.index += length;
+    return string;
+  }
+
+}
+
+final class BinaryLinkAddress {
+
+  final Uri nodeUri;
+  final Uri laneUri;
+
+  BinaryLinkAddress(Uri nodeUri, Uri laneUri) {
+    this.nodeUri = nodeUri;
+    this.laneUri = laneUri;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof BinaryLinkAddress) {
+      final BinaryLinkAddress that = (BinaryLinkAddress) other;
+      return this.nodeUri.equals(that.nodeUri) && this.laneUri.equals(that.laneUri);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * this.nodeUri.hashCode() + this.laneUri.hashCode();
+  }
+
+}
+
+final class BinaryLinkAliases {
+
+  final int limit;
+  int[] free;
+  int freeCount;
+  int next;
+
+  BinaryLinkAliases(int limit) {
+    this.limit = limit;
+    this.free = new int[8];
+    this.freeCount = 0;
+    this.next = 0;
+  }
+
+  int acquire() {
+    if (this.freeCount > 0) {
+      this.freeCount -= 1;
+      return this.free[this.freeCount];
+    } else if (this.next < this.limit) {
+      final int alias = this.next;
+      this.next = alias + 1;
+      return alias;
+    } else {
+      return -1;
+    }
+  }
+
+  void release(int alias) {
+    if (this.freeCount == this.free.length) {
+      final int[] newFree = new int[2 * this.freeCount];
+      System.arraycopy(this.free, 0, newFree, 0, this.freeCount);
+      this.free = newFree;
+    }
+    this.free[this.freeCount] = alias;
+    this.freeCount += 1;
+  }
+
+}
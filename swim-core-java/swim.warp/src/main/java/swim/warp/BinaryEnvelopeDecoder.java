@@ -0,0 +1,54 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+import swim.structure.Data;
+
+final class BinaryEnvelopeDecoder extends Decoder<Envelope> {
+
+  final BinaryEnvelopeCodec codec;
+  final Data data;
+
+  BinaryEnvelopeDecoder(BinaryEnvelopeCodec codec, Data data) {
+    this.codec = codec;
+    this.data = data;
+  }
+
+  static Decoder<Envelope> decode(InputBuffer input, BinaryEnvelopeCodec codec, Data data) {
+    // Buffer the message, then decode it in one pass once it's complete.
+    while (input.isCont()) {
+      data.addByte((byte) input.head());
+      input = input.step();
+    }
+    if (input.isDone()) {
+      try {
+        return done(codec.decode(data.asByteArray(), data.size()));
+      } catch (RuntimeException cause) {
+        return error(cause);
+      }
+    } else if (input.isError()) {
+      return error(input.trap());
+    }
+    return new BinaryEnvelopeDecoder(codec, data);
+  }
+
+  @Override
+  public Decoder<Envelope> feed(InputBuffer input) {
+    return decode(input, this.codec, this.data);
+  }
+
+}
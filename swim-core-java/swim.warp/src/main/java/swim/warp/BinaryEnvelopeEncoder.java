@@ -0,0 +1,43 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.structure.Data;
+
+final class BinaryEnvelopeEncoder extends Encoder<Envelope, Envelope> {
+
+  final BinaryEnvelopeCodec codec;
+  final Envelope envelope;
+
+  BinaryEnvelopeEncoder(BinaryEnvelopeCodec codec, Envelope envelope) {
+    this.codec = codec;
+    this.envelope = envelope;
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> pull(OutputBuffer<?> output) {
+    // Encode on first pull, so that URIs get interned in frame write order.
+    final Data data;
+    try {
+      data = this.codec.encode(this.envelope);
+    } catch (RuntimeException cause) {
+      return error(cause);
+    }
+    return EnvelopeDataEncoder.encode(output, this.envelope, data.asByteArray(), 0, data.size());
+  }
+
+}
@@ -0,0 +1,171 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import swim.codec.Encoder;
+import swim.recon.Recon;
+import swim.structure.Data;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.util.Murmur3;
+
+/**
+ * Bounded cache of pre-encoded {@link EventMessage} envelopes, used to
+ * serialize an event that fans out to many links once per node, lane, and
+ * body, and to share the encoded bytes between the sockets that write it.
+ * Events are matched on the identity of their committed bodies, so cached
+ * bytes are only ever reused for the exact same event.
+ */
+public class EnvelopeCache {
+
+  static final AtomicLongFieldUpdater<EnvelopeCache> ENCODE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(EnvelopeCache.class, "encodeCount");
+
+  static final AtomicLongFieldUpdater<EnvelopeCache> SAVED_ENCODE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(EnvelopeCache.class, "savedEncodeCount");
+
+  private static EnvelopeCache shared;
+
+  final AtomicReferenceArray<EnvelopeCacheEntry> entries;
+  final int mask;
+  volatile long encodeCount;
+  volatile long savedEncodeCount;
+
+  public EnvelopeCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(Integer.toString(capacity));
+    }
+    // Round the capacity up to the next power of two.
+    capacity = capacity - 1;
+    capacity |= capacity >> 1;
+    capacity |= capacity >> 2;
+    capacity |= capacity >> 4;
+    capacity |= capacity >> 8;
+    capacity |= capacity >> 16;
+    capacity = capacity + 1;
+    this.entries = new AtomicReferenceArray<EnvelopeCacheEntry>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  public final int capacity() {
+    return this.entries.length();
+  }
+
+  /**
+   * Returns the number of event envelopes that have been serialized into
+   * this cache.
+   */
+  public final long encodeCount() {
+    return ENCODE_COUNT.get(this);
+  }
+
+  /**
+   * Returns the number of event envelope serializations that were avoided by
+   * reusing previously encoded bytes.
+   */
+  public final long savedEncodeCount() {
+    return SAVED_ENCODE_COUNT.get(this);
+  }
+
+  /**
+   * Returns an {@code Encoder} that writes the Recon serialization of the
+   * given {@code envelope}.  Event messages get encoded at most once per
+   * cache residency; all other envelopes get encoded directly.
+   */
+  public Encoder<?, Envelope> reconEncoder(Envelope envelope) {
+    if (envelope instanceof EventMessage) {
+      final Data data = encoded((EventMessage) envelope);
+      return new EnvelopeDataEncoder(envelope, data.asByteArray(), 0, data.size());
+    } else {
+      return envelope.reconEncoder();
+    }
+  }
+
+  /**
+   * Returns the Recon serialization of the given {@code event}, encoding and
+   * caching it if an equivalent event is not already resident.
+   */
+  public Data encoded(EventMessage event) {
+    final Uri nodeUri = event.nodeUri;
+    final Uri laneUri = event.laneUri;
+    final Value body = event.body;
+    if (body.isMutable()) {
+      // Mutable bodies can change between sends; never cache them.
+      ENCODE_COUNT.incrementAndGet(this);
+      return Recon.toData(event.toValue());
+    }
+    final int index = Murmur3.mash(Murmur3.mix(Murmur3.mix(System.identityHashCode(body),
+        nodeUri.hashCode()), laneUri.hashCode())) & this.mask;
+    final EnvelopeCacheEntry oldEntry = this.entries.get(index);
+    if (oldEntry != null && oldEntry.body == body
+        && oldEntry.laneUri.equals(laneUri) && oldEntry.nodeUri.equals(nodeUri)) {
+      SAVED_ENCODE_COUNT.incrementAndGet(this);
+      return oldEntry.data;
+    }
+    final Data data = Recon.toData(event.toValue());
+    ENCODE_COUNT.incrementAndGet(this);
+    // Replace whatever entry occupied the slot; concurrent encoders of the
+    // same event race benignly.
+    this.entries.set(index, new EnvelopeCacheEntry(nodeUri, laneUri, body, data));
+    return data;
+  }
+
+  /**
+   * Removes all entries from this cache.
+   */
+  public void clear() {
+    final AtomicReferenceArray<EnvelopeCacheEntry> entries = this.entries;
+    for (int i = 0, n = entries.length(); i < n; i += 1) {
+      entries.set(i, null);
+    }
+  }
+
+  /**
+   * Returns the process-wide {@code EnvelopeCache}, whose capacity is given
+   * by the {@code swim.warp.envelope.cache.size} system property, if defined;
+   * otherwise {@code 1024} entries.
+   */
+  public static EnvelopeCache shared() {
+    if (shared == null) {
+      int capacity;
+      try {
+        capacity = Integer.parseInt(System.getProperty("swim.warp.envelope.cache.size"));
+      } catch (NumberFormatException e) {
+        capacity = 1024;
+      }
+      shared = new EnvelopeCache(capacity);
+    }
+    return shared;
+  }
+
+}
+
+final class EnvelopeCacheEntry {
+
+  final Uri nodeUri;
+  final Uri laneUri;
+  final Value body;
+  final Data data;
+
+  EnvelopeCacheEntry(Uri nodeUri, Uri laneUri, Value body, Data data) {
+    this.nodeUri = nodeUri;
+    this.laneUri = laneUri;
+    this.body = body;
+    this.data = data;
+  }
+
+}
@@ -0,0 +1,53 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+
+final class EnvelopeDataEncoder extends Encoder<Envelope, Envelope> {
+
+  final Envelope envelope;
+  final byte[] array;
+  final int index;
+  final int limit;
+
+  EnvelopeDataEncoder(Envelope envelope, byte[] array, int index, int limit) {
+    this.envelope = envelope;
+    this.array = array;
+    this.index = index;
+    this.limit = limit;
+  }
+
+  static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, Envelope envelope,
+                                            byte[] array, int index, int limit) {
+    while (index < limit && output.isCont()) {
+      output = output.write(array[index] & 0xff);
+      index += 1;
+    }
+    if (index == limit) {
+      return done(envelope);
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new EnvelopeDataEncoder(envelope, array, index, limit);
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> pull(OutputBuffer<?> output) {
+    return encode(output, this.envelope, this.array, this.index, this.limit);
+  }
+
+}
@@ -0,0 +1,120 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.math.BigInteger;
+import org.testng.annotations.Test;
+import swim.structure.Attr;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Value;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class BinaryEnvelopeCodecSpec {
+
+  static void assertRoundTrips(Envelope envelope) {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    final Data data = encoder.encode(envelope);
+    assertEquals(decoder.decode(data.asByteArray(), data.size()), envelope);
+  }
+
+  @Test
+  public void roundTripEnvelopes() {
+    final Value body = Record.of(Attr.of("test"), 1);
+    assertRoundTrips(new EventMessage("node/uri", "lane_uri", body));
+    assertRoundTrips(new CommandMessage("node/uri", "lane_uri", body));
+    assertRoundTrips(new LinkRequest(Uri.parse("node"), Uri.parse("lane"), 0.5f, 2.0f, body));
+    assertRoundTrips(new LinkedResponse(Uri.parse("node"), Uri.parse("lane"), 0.5f, 2.0f, body));
+    assertRoundTrips(new SyncRequest(Uri.parse("node"), Uri.parse("lane"), 0.5f, 2.0f, body));
+    assertRoundTrips(new SyncedResponse("node", "lane"));
+    assertRoundTrips(new UnlinkRequest("node", "lane"));
+    assertRoundTrips(new UnlinkedResponse("node", "lane", body));
+    assertRoundTrips(new AuthRequest(body));
+    assertRoundTrips(new AuthedResponse(body));
+    assertRoundTrips(new DeauthRequest(body));
+    assertRoundTrips(new DeauthedResponse(body));
+  }
+
+  @Test
+  public void roundTripValues() {
+    assertRoundTrips(new EventMessage("node", "lane", Value.absent()));
+    assertRoundTrips(new EventMessage("node", "lane", Value.extant()));
+    assertRoundTrips(new EventMessage("node", "lane", Record.of(true, false)));
+    assertRoundTrips(new EventMessage("node", "lane", Record.of(0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE)));
+    assertRoundTrips(new EventMessage("node", "lane", Record.of(Long.MAX_VALUE, Long.MIN_VALUE)));
+    assertRoundTrips(new EventMessage("node", "lane", Record.of(Num.uint32(0xffffffff), Num.uint64(-1L))));
+    assertRoundTrips(new EventMessage("node", "lane", Record.of(1.5f, Math.PI)));
+    assertRoundTrips(new EventMessage("node", "lane", Num.from(BigInteger.ONE.shiftLeft(100).negate())));
+    assertRoundTrips(new EventMessage("node", "lane", Record.of("", "hello, é世")));
+    assertRoundTrips(new EventMessage("node", "lane", Data.wrap(new byte[] {0, 1, (byte) 0xff})));
+    assertRoundTrips(new EventMessage("node", "lane",
+        Record.of(Attr.of("a", Record.of(Slot.of("x", 1))), Slot.of(Record.of(1, 2), "y"), Record.empty())));
+  }
+
+  @Test
+  public void internUris() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    final EventMessage first = new EventMessage("/some/long/node/uri", "some_long_lane_uri", Num.from(1));
+    final EventMessage second = new EventMessage("/some/long/node/uri", "some_long_lane_uri", Num.from(2));
+    final Data firstData = encoder.encode(first);
+    final Data secondData = encoder.encode(second);
+    assertTrue(secondData.size() < firstData.size());
+    assertEquals(secondData.size(), 1 + 1 + 1 + 1 + 2);
+    assertEquals(decoder.decode(firstData.asByteArray(), firstData.size()), first);
+    assertEquals(decoder.decode(secondData.asByteArray(), secondData.size()), second);
+  }
+
+  @Test
+  public void aliasLinks() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    final Uri nodeUri = Uri.parse("/some/long/node/uri");
+    final Uri laneUri = Uri.parse("some_long_lane_uri");
+    final Envelope[] envelopes = {
+      new EventMessage(nodeUri, laneUri, Num.from(0)),
+      new LinkedResponse(nodeUri, laneUri, 0.0f, 0.0f, Value.absent()),
+      new EventMessage(nodeUri, laneUri, Num.from(1)),
+      new EventMessage(nodeUri, laneUri, Num.from(2)),
+      new UnlinkedResponse(nodeUri, laneUri, Value.absent()),
+      new EventMessage(nodeUri, laneUri, Num.from(3)),
+      new SyncedResponse("/other/node", "other_lane"),
+      new EventMessage("/other/node", "other_lane", Num.from(4)),
+    };
+    final int[] linkAliases = {-1, 0, 0, 0, 0, -1, 0, 0};
+    final int[] sizes = {-1, -1, 1 + 1 + 2, 1 + 1 + 2, 1 + 1 + 1, 1 + 1 + 1 + 1 + 2, -1, 1 + 1 + 2};
+    Uri decodedNodeUri = null;
+    for (int i = 0; i < envelopes.length; i += 1) {
+      final Data data = encoder.encode(envelopes[i]);
+      if (sizes[i] >= 0) {
+        assertEquals(data.size(), sizes[i], "envelope " + i);
+      }
+      final Envelope envelope = decoder.decode(data.asByteArray(), data.size());
+      assertEquals(envelope, envelopes[i]);
+      assertEquals(decoder.linkAlias(), linkAliases[i], "envelope " + i);
+      if (i == 1) {
+        decodedNodeUri = envelope.nodeUri();
+      } else if (i == 2 || i == 3) {
+        assertTrue(envelope.nodeUri() == decodedNodeUri);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.structure.Attr;
+import swim.structure.Record;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class EnvelopeCacheSpec {
+
+  @Test
+  public void encodeFannedOutEventsOnce() {
+    final EnvelopeCache cache = new EnvelopeCache(16);
+    final Value body = Record.of(Attr.of("test"), 1).commit();
+    final EventMessage a = new EventMessage("node/uri", "lane_uri", body);
+    final EventMessage b = new EventMessage("node/uri", "lane_uri", body);
+    assertSame(cache.encoded(a), cache.encoded(b));
+    assertEquals(cache.encodeCount(), 1L);
+    assertEquals(cache.savedEncodeCount(), 1L);
+    assertEquals(new String(cache.encoded(a).toByteArray(), StandardCharsets.UTF_8), a.toRecon());
+  }
+
+  @Test
+  public void distinguishEventAddresses() {
+    final EnvelopeCache cache = new EnvelopeCache(16);
+    final Value body = Record.of(Attr.of("test")).commit();
+    cache.encoded(new EventMessage("node/uri", "lane_uri", body));
+    cache.encoded(new EventMessage("node/uri", "other_lane", body));
+    cache.encoded(new EventMessage("other/node", "lane_uri", body));
+    assertEquals(cache.savedEncodeCount(), 0L);
+  }
+
+  @Test
+  public void writeEncodedEventsAcrossOutputBuffers() {
+    final EnvelopeCache cache = new EnvelopeCache(16);
+    final EventMessage event = new EventMessage("node/uri", "lane_uri", Record.of(Attr.of("test"), "hello"));
+    final byte[] expected = event.toRecon().getBytes(StandardCharsets.UTF_8);
+    final byte[] actual = new byte[expected.length];
+    Encoder<?, Envelope> encoder = cache.reconEncoder(event);
+    int offset = 0;
+    while (encoder.isCont()) {
+      final int size = Math.min(5, actual.length - offset);
+      final OutputBuffer<?> output = Binary.outputBuffer(actual, offset, size).isPart(true);
+      encoder = encoder.pull(output);
+      offset = output.index();
+    }
+    assertTrue(encoder.isDone());
+    assertSame(encoder.bind(), event);
+    assertTrue(Arrays.equals(actual, expected));
+  }
+
+}
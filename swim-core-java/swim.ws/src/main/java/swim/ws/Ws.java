@@ -14,6 +14,8 @@
 
 package swim.ws;
 
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 import swim.deflate.Deflate;
 import swim.deflate.Inflate;
 
@@ -72,4 +74,40 @@ public final class Ws {
     return new WsDeflateEncoderUnmasked(new Deflate<Object>(), Deflate.Z_SYNC_FLUSH);
   }
 
+  public static WsNativeDeflateDecoder nativeDeflateDecoder(Inflater inflater) {
+    return new WsNativeDeflateDecoder(inflater);
+  }
+
+  public static WsNativeDeflateDecoder nativeDeflateDecoder() {
+    return new WsNativeDeflateDecoder(new Inflater(true));
+  }
+
+  public static WsNativeDeflateDecoder nativeDeflateDecoder(WsCompressionPool pool) {
+    return new WsNativeDeflateDecoder(pool);
+  }
+
+  public static WsNativeDeflateEncoder nativeDeflateEncoderMasked(Deflater deflater, int flush) {
+    return new WsNativeDeflateEncoderMasked(deflater, flush);
+  }
+
+  public static WsNativeDeflateEncoder nativeDeflateEncoderMasked() {
+    return new WsNativeDeflateEncoderMasked(new Deflater(Deflater.DEFAULT_COMPRESSION, true), Deflater.SYNC_FLUSH);
+  }
+
+  public static WsNativeDeflateEncoder nativeDeflateEncoderMasked(WsCompressionPool pool, int level, int flush) {
+    return new WsNativeDeflateEncoderMasked(pool, level, flush);
+  }
+
+  public static WsNativeDeflateEncoder nativeDeflateEncoderUnmasked(Deflater deflater, int flush) {
+    return new WsNativeDeflateEncoderUnmasked(deflater, flush);
+  }
+
+  public static WsNativeDeflateEncoder nativeDeflateEncoderUnmasked() {
+    return new WsNativeDeflateEncoderUnmasked(new Deflater(Deflater.DEFAULT_COMPRESSION, true), Deflater.SYNC_FLUSH);
+  }
+
+  public static WsNativeDeflateEncoder nativeDeflateEncoderUnmasked(WsCompressionPool pool, int level, int flush) {
+    return new WsNativeDeflateEncoderUnmasked(pool, level, flush);
+  }
+
 }
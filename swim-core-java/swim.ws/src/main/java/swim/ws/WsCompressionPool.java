@@ -0,0 +1,157 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Pool of native compressors shared by {@code permessage-deflate} sockets
+ * that don't take over compression context between messages.  Such sockets
+ * borrow a {@code Deflater}, or {@code Inflater}, and its staging buffers for
+ * the duration of a single message, so that idle sockets retain no
+ * compression state.  At most {@code maxIdleCount} of each kind of object
+ * are kept idle in the pool; surplus compressors are ended when returned.
+ */
+public final class WsCompressionPool {
+
+  private static WsCompressionPool shared;
+  final int maxIdleCount;
+  final ConcurrentLinkedQueue<Deflater>[] deflaters;
+  final ConcurrentLinkedQueue<Inflater> inflaters;
+  final ConcurrentLinkedQueue<byte[]> buffers;
+  volatile int deflaterCount;
+  volatile int inflaterCount;
+  volatile int bufferCount;
+
+  @SuppressWarnings("unchecked")
+  public WsCompressionPool(int maxIdleCount) {
+    this.maxIdleCount = maxIdleCount;
+    this.deflaters = (ConcurrentLinkedQueue<Deflater>[]) new ConcurrentLinkedQueue<?>[11];
+    for (int i = 0; i < this.deflaters.length; i += 1) {
+      this.deflaters[i] = new ConcurrentLinkedQueue<Deflater>();
+    }
+    this.inflaters = new ConcurrentLinkedQueue<Inflater>();
+    this.buffers = new ConcurrentLinkedQueue<byte[]>();
+  }
+
+  public static WsCompressionPool shared() {
+    if (shared == null) {
+      int maxIdleCount;
+      try {
+        maxIdleCount = Integer.parseInt(System.getProperty("swim.ws.compression.pool.size"));
+      } catch (NumberFormatException error) {
+        maxIdleCount = 4 * Runtime.getRuntime().availableProcessors();
+      }
+      shared = new WsCompressionPool(maxIdleCount);
+    }
+    return shared;
+  }
+
+  public int maxIdleCount() {
+    return this.maxIdleCount;
+  }
+
+  public int idleDeflaterCount() {
+    return this.deflaterCount;
+  }
+
+  public int idleInflaterCount() {
+    return this.inflaterCount;
+  }
+
+  public Deflater borrowDeflater(int level) {
+    if (level >= -1 && level <= 9) {
+      final Deflater deflater = this.deflaters[level + 1].poll();
+      if (deflater != null) {
+        DEFLATER_COUNT.decrementAndGet(this);
+        return deflater;
+      }
+    }
+    return new Deflater(level, true);
+  }
+
+  public void returnDeflater(int level, Deflater deflater) {
+    deflater.reset();
+    if (level < -1 || level > 9) {
+      deflater.end();
+    } else if (DEFLATER_COUNT.incrementAndGet(this) <= this.maxIdleCount) {
+      this.deflaters[level + 1].offer(deflater);
+    } else {
+      DEFLATER_COUNT.decrementAndGet(this);
+      deflater.end();
+    }
+  }
+
+  public Inflater borrowInflater() {
+    final Inflater inflater = this.inflaters.poll();
+    if (inflater != null) {
+      INFLATER_COUNT.decrementAndGet(this);
+      return inflater;
+    }
+    return new Inflater(true);
+  }
+
+  public void returnInflater(Inflater inflater) {
+    inflater.reset();
+    if (INFLATER_COUNT.incrementAndGet(this) <= this.maxIdleCount) {
+      this.inflaters.offer(inflater);
+    } else {
+      INFLATER_COUNT.decrementAndGet(this);
+      inflater.end();
+    }
+  }
+
+  public byte[] borrowBuffer() {
+    final byte[] buffer = this.buffers.poll();
+    if (buffer != null) {
+      BUFFER_COUNT.decrementAndGet(this);
+      return buffer;
+    }
+    return new byte[BUFFER_SIZE];
+  }
+
+  public void returnBuffer(byte[] buffer) {
+    if (BUFFER_COUNT.incrementAndGet(this) <= 2 * this.maxIdleCount) {
+      this.buffers.offer(buffer);
+    } else {
+      BUFFER_COUNT.decrementAndGet(this);
+    }
+  }
+
+  static final int BUFFER_SIZE = 8192;
+
+  /**
+   * Approximate native memory retained by a raw {@code Deflater} with a
+   * {@code 32KiB} window and the default memory level.
+   */
+  static final long DEFLATER_MEMORY = (1L << (15 + 2)) + (1L << (8 + 9));
+
+  /**
+   * Approximate native memory retained by a raw {@code Inflater} with a
+   * {@code 32KiB} window.
+   */
+  static final long INFLATER_MEMORY = (1L << 15) + 7168L;
+
+  static final AtomicIntegerFieldUpdater<WsCompressionPool> DEFLATER_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(WsCompressionPool.class, "deflaterCount");
+  static final AtomicIntegerFieldUpdater<WsCompressionPool> INFLATER_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(WsCompressionPool.class, "inflaterCount");
+  static final AtomicIntegerFieldUpdater<WsCompressionPool> BUFFER_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(WsCompressionPool.class, "bufferCount");
+
+}
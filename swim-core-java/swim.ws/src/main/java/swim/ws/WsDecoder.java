@@ -22,6 +22,18 @@ import swim.structure.Data;
 
 public abstract class WsDecoder {
 
+  public long compressionMemory() {
+    return 0L;
+  }
+
+  /**
+   * Releases any compression state held by this decoder, once its socket
+   * has disconnected.
+   */
+  public void close() {
+    // nop
+  }
+
   public <T> WsFrame<T> fragment(WsOpcode opcode, Decoder<T> content) {
     return new WsFragment<T>(opcode, content);
   }
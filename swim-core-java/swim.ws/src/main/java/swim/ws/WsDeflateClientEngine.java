@@ -14,6 +14,8 @@
 
 package swim.ws;
 
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 import swim.deflate.Deflate;
 import swim.deflate.Inflate;
 import swim.http.WebSocketExtension;
@@ -22,26 +24,37 @@ import swim.http.WebSocketParam;
 final class WsDeflateClientEngine extends WsEngine {
 
   protected final int clientCompressionLevel;
+  protected final boolean serverNoContextTakeover;
   protected final boolean clientNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
+  protected final boolean nativeCompression;
+  protected final boolean pooledCompression;
 
-  WsDeflateClientEngine(int clientCompressionLevel, boolean clientNoContextTakeover,
-                        int serverMaxWindowBits, int clientMaxWindowBits) {
+  WsDeflateClientEngine(int clientCompressionLevel, boolean serverNoContextTakeover,
+                        boolean clientNoContextTakeover, int serverMaxWindowBits,
+                        int clientMaxWindowBits, boolean nativeCompression,
+                        boolean pooledCompression) {
     this.clientCompressionLevel = clientCompressionLevel;
+    this.serverNoContextTakeover = serverNoContextTakeover;
     this.clientNoContextTakeover = clientNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
+    this.nativeCompression = nativeCompression;
+    this.pooledCompression = pooledCompression;
   }
 
   static WsDeflateClientEngine from(WebSocketExtension extension, WsEngineSettings settings) {
-    boolean clientNoContextTakeover = false;
+    boolean serverNoContextTakeover = false;
+    boolean clientNoContextTakeover = settings.clientNoContextTakeover;
     int serverMaxWindowBits = 15;
     int clientMaxWindowBits = 15;
     for (WebSocketParam param : extension.params()) {
       final String key = param.key();
       final String value = param.value();
-      if ("client_no_context_takeover".equals(key)) {
+      if ("server_no_context_takeover".equals(key)) {
+        serverNoContextTakeover = true;
+      } else if ("client_no_context_takeover".equals(key)) {
         clientNoContextTakeover = true;
       } else if ("server_max_window_bits".equals(key)) {
         try {
@@ -59,17 +72,38 @@ final class WsDeflateClientEngine extends WsEngine {
         throw new WsException("invalid permessage-deflate; " + param.toHttp());
       }
     }
-    return new WsDeflateClientEngine(settings.clientCompressionLevel, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+    // a client may always use a smaller window than the server allows
+    clientMaxWindowBits = Math.min(clientMaxWindowBits, settings.clientMaxWindowBits);
+    return new WsDeflateClientEngine(settings.clientCompressionLevel, serverNoContextTakeover,
+        clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits,
+        settings.nativeCompression, settings.pooledCompression);
   }
 
   @Override
   public WsDecoder decoder() {
+    if (this.nativeCompression) {
+      if (this.pooledCompression && this.serverNoContextTakeover) {
+        // the peer resets its context after every message, so the inflater
+        // only needs to be held while a message is being decoded
+        return Ws.nativeDeflateDecoder(WsCompressionPool.shared());
+      }
+      return Ws.nativeDeflateDecoder(new Inflater(true));
+    }
     return Ws.deflateDecoder(new Inflate<Object>(Inflate.Z_NO_WRAP, this.serverMaxWindowBits));
   }
 
   @Override
   public WsEncoder encoder() {
+    if (this.nativeCompression && this.clientMaxWindowBits == 15) {
+      // java.util.zip always deflates with a 32KiB window
+      if (this.pooledCompression && this.clientNoContextTakeover) {
+        // borrowed deflaters are reset when returned to the pool
+        return Ws.nativeDeflateEncoderMasked(WsCompressionPool.shared(), this.clientCompressionLevel,
+            Deflater.SYNC_FLUSH);
+      }
+      final int flush = this.clientNoContextTakeover ? Deflater.FULL_FLUSH : Deflater.SYNC_FLUSH;
+      return Ws.nativeDeflateEncoderMasked(new Deflater(this.clientCompressionLevel, true), flush);
+    }
     final int flush;
     if (this.clientNoContextTakeover) {
       flush = Deflate.Z_FULL_FLUSH;
@@ -86,4 +120,3 @@ final class WsDeflateClientEngine extends WsEngine {
   }
 
 }
-
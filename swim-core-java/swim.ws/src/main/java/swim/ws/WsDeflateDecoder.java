@@ -40,6 +40,11 @@ public class WsDeflateDecoder extends WsDecoder implements Cloneable {
     return this.decompressing;
   }
 
+  @Override
+  public long compressionMemory() {
+    return this.inflate.memorySize();
+  }
+
   @Override
   public <T> Decoder<WsFrame<T>> decodeContinuationFrame(int finRsvOp, Decoder<T> content, InputBuffer input) {
     if (decompressing) { // compressed
@@ -36,6 +36,11 @@ public abstract class WsDeflateEncoder extends WsEncoder {
     return this.flush;
   }
 
+  @Override
+  public long compressionMemory() {
+    return this.deflate.memorySize();
+  }
+
   @Override
   public <T> Encoder<?, WsFrame<T>> textFrameEncoder(WsFrame<T> frame) {
     return new WsFrameDeflater<T>(this, frame);
@@ -14,6 +14,8 @@
 
 package swim.ws;
 
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 import swim.deflate.Deflate;
 import swim.deflate.Inflate;
 import swim.http.WebSocketExtension;
@@ -23,19 +25,28 @@ final class WsDeflateServerEngine extends WsEngine {
 
   protected final int serverCompressionLevel;
   protected final boolean serverNoContextTakeover;
+  protected final boolean clientNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
+  protected final boolean nativeCompression;
+  protected final boolean pooledCompression;
 
   WsDeflateServerEngine(int serverCompressionLevel, boolean serverNoContextTakeover,
-                        int serverMaxWindowBits, int clientMaxWindowBits) {
+                        boolean clientNoContextTakeover, int serverMaxWindowBits,
+                        int clientMaxWindowBits, boolean nativeCompression,
+                        boolean pooledCompression) {
     this.serverCompressionLevel = serverCompressionLevel;
     this.serverNoContextTakeover = serverNoContextTakeover;
+    this.clientNoContextTakeover = clientNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
+    this.nativeCompression = nativeCompression;
+    this.pooledCompression = pooledCompression;
   }
 
   static WsDeflateServerEngine from(WebSocketExtension extension, WsEngineSettings settings) {
     boolean serverNoContextTakeover = false;
+    boolean clientNoContextTakeover = false;
     int serverMaxWindowBits = 15;
     int clientMaxWindowBits = 15;
     for (WebSocketParam param : extension.params()) {
@@ -43,6 +54,8 @@ final class WsDeflateServerEngine extends WsEngine {
       final String value = param.value();
       if ("server_no_context_takeover".equals(key)) {
         serverNoContextTakeover = true;
+      } else if ("client_no_context_takeover".equals(key)) {
+        clientNoContextTakeover = true;
       } else if ("server_max_window_bits".equals(key)) {
         try {
           serverMaxWindowBits = Integer.parseInt(value);
@@ -60,18 +73,37 @@ final class WsDeflateServerEngine extends WsEngine {
       }
     }
     return new WsDeflateServerEngine(settings.serverCompressionLevel, serverNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits,
+        settings.nativeCompression, settings.pooledCompression);
   }
 
   @Override
   public WsDecoder decoder() {
+    if (this.nativeCompression) {
+      if (this.pooledCompression && this.clientNoContextTakeover) {
+        // the peer resets its context after every message, so the inflater
+        // only needs to be held while a message is being decoded
+        return Ws.nativeDeflateDecoder(WsCompressionPool.shared());
+      }
+      return Ws.nativeDeflateDecoder(new Inflater(true));
+    }
     return Ws.deflateDecoder(new Inflate<Object>(Inflate.Z_NO_WRAP, this.clientMaxWindowBits));
   }
 
   @Override
   public WsEncoder encoder() {
+    if (this.nativeCompression && this.serverMaxWindowBits == 15) {
+      // java.util.zip always deflates with a 32KiB window
+      if (this.pooledCompression && this.serverNoContextTakeover) {
+        // borrowed deflaters are reset when returned to the pool
+        return Ws.nativeDeflateEncoderUnmasked(WsCompressionPool.shared(), this.serverCompressionLevel,
+            Deflater.SYNC_FLUSH);
+      }
+      final int flush = this.serverNoContextTakeover ? Deflater.FULL_FLUSH : Deflater.SYNC_FLUSH;
+      return Ws.nativeDeflateEncoderUnmasked(new Deflater(this.serverCompressionLevel, true), flush);
+    }
     final int flush;
-    if (serverNoContextTakeover) {
+    if (this.serverNoContextTakeover) {
       flush = Deflate.Z_FULL_FLUSH;
     } else {
       flush = Deflate.Z_SYNC_FLUSH;
@@ -86,4 +118,3 @@ final class WsDeflateServerEngine extends WsEngine {
   }
 
 }
-
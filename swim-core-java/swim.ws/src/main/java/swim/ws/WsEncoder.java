@@ -24,6 +24,18 @@ public abstract class WsEncoder {
 
   public abstract void maskingKey(byte[] maskingKey);
 
+  public long compressionMemory() {
+    return 0L;
+  }
+
+  /**
+   * Releases any compression state held by this encoder, once its socket
+   * has disconnected.
+   */
+  public void close() {
+    // nop
+  }
+
   public <T> Encoder<?, WsFrame<T>> frameEncoder(WsFrame<T> frame) {
     final WsOpcode opcode = frame.opcode();
     switch (opcode) {
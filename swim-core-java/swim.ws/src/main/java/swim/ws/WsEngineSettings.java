@@ -42,11 +42,14 @@ public class WsEngineSettings implements Debug {
   protected final boolean clientNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
+  protected final boolean nativeCompression;
+  protected final boolean pooledCompression;
 
   public WsEngineSettings(int maxFrameSize, int maxMessageSize,
                           int serverCompressionLevel, int clientCompressionLevel,
                           boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                          int serverMaxWindowBits, int clientMaxWindowBits) {
+                          int serverMaxWindowBits, int clientMaxWindowBits,
+                          boolean nativeCompression, boolean pooledCompression) {
     this.maxFrameSize = maxFrameSize;
     this.maxMessageSize = maxMessageSize;
     this.serverCompressionLevel = serverCompressionLevel;
@@ -55,6 +58,27 @@ public class WsEngineSettings implements Debug {
     this.clientNoContextTakeover = clientNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
+    this.nativeCompression = nativeCompression;
+    this.pooledCompression = pooledCompression;
+  }
+
+  public WsEngineSettings(int maxFrameSize, int maxMessageSize,
+                          int serverCompressionLevel, int clientCompressionLevel,
+                          boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                          int serverMaxWindowBits, int clientMaxWindowBits) {
+    this(maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
+        serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits,
+        false, false);
+  }
+
+  public WsEngineSettings(int maxFrameSize, int maxMessageSize,
+                          int serverCompressionLevel, int clientCompressionLevel,
+                          boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                          int serverMaxWindowBits, int clientMaxWindowBits,
+                          boolean nativeCompression) {
+    this(maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
+        serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, false);
   }
 
   public static WsEngineSettings standard() {
@@ -105,10 +129,15 @@ public class WsEngineSettings implements Debug {
         clientMaxWindowBits = 15;
       }
 
+      final boolean nativeCompression = Boolean.parseBoolean(System.getProperty("swim.ws.native.compression"));
+
+      final boolean pooledCompression = Boolean.parseBoolean(System.getProperty("swim.ws.pooled.compression"));
+
       standard = new WsEngineSettings(maxFrameSize, maxMessageSize,
           serverCompressionLevel, clientCompressionLevel,
           serverNoContextTakeover, clientNoContextTakeover,
-          serverMaxWindowBits, clientMaxWindowBits);
+          serverMaxWindowBits, clientMaxWindowBits,
+          nativeCompression, pooledCompression);
     }
     return standard;
   }
@@ -145,7 +174,8 @@ public class WsEngineSettings implements Debug {
     return copy(maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
   }
 
   public final int maxMessageSize() {
@@ -156,7 +186,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
   }
 
   public final int serverCompressionLevel() {
@@ -167,7 +198,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
   }
 
   public final int clientCompressionLevel() {
@@ -178,14 +210,16 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
   }
 
   public WsEngineSettings compressionLevel(int serverCompressionLevel, int clientCompressionLevel) {
     return copy(this.maxFrameSize, this.maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
   }
 
   public final boolean serverNoContextTakeover() {
@@ -196,7 +230,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
   }
 
   public final boolean clientNoContextTakeover() {
@@ -207,7 +242,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, clientNoContextTakeover,
-        this.serverMaxWindowBits, this.clientMaxWindowBits);
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
   }
 
   public final int serverMaxWindowBits() {
@@ -218,7 +254,8 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        serverMaxWindowBits, this.clientMaxWindowBits);
+        serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
   }
 
   public final int clientMaxWindowBits() {
@@ -229,7 +266,32 @@ public class WsEngineSettings implements Debug {
     return copy(this.maxFrameSize, this.maxMessageSize,
         this.serverCompressionLevel, this.clientCompressionLevel,
         this.serverNoContextTakeover, this.clientNoContextTakeover,
-        this.serverMaxWindowBits, clientMaxWindowBits);
+        this.serverMaxWindowBits, clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
+  }
+
+  public final boolean nativeCompression() {
+    return this.nativeCompression;
+  }
+
+  public WsEngineSettings nativeCompression(boolean nativeCompression) {
+    return copy(this.maxFrameSize, this.maxMessageSize,
+        this.serverCompressionLevel, this.clientCompressionLevel,
+        this.serverNoContextTakeover, this.clientNoContextTakeover,
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        nativeCompression, this.pooledCompression);
+  }
+
+  public final boolean pooledCompression() {
+    return this.pooledCompression;
+  }
+
+  public WsEngineSettings pooledCompression(boolean pooledCompression) {
+    return copy(this.maxFrameSize, this.maxMessageSize,
+        this.serverCompressionLevel, this.clientCompressionLevel,
+        this.serverNoContextTakeover, this.clientNoContextTakeover,
+        this.serverMaxWindowBits, this.clientMaxWindowBits,
+        this.nativeCompression, pooledCompression);
   }
 
   public FingerTrieSeq<WebSocketExtension> extensions() {
@@ -251,6 +313,7 @@ public class WsEngineSettings implements Debug {
         boolean requestClientNoContextTakeover = false;
         int requestServerMaxWindowBits = 15;
         int requestClientMaxWindowBits = 15;
+        boolean requestClientMaxWindowBitsOffered = false;
         for (WebSocketParam param : extension.params()) {
           final String key = param.key();
           final String value = param.value();
@@ -269,6 +332,7 @@ public class WsEngineSettings implements Debug {
               throw new WsException("invalid permessage-deflate; " + param.toHttp());
             }
           } else if ("client_max_window_bits".equals(key)) {
+            requestClientMaxWindowBitsOffered = true;
             if (value.isEmpty()) {
               requestClientMaxWindowBits = 0;
             } else {
@@ -286,10 +350,11 @@ public class WsEngineSettings implements Debug {
             throw new WsException("invalid permessage-deflate; " + param.toHttp());
           }
         }
-        if (requestClientMaxWindowBits != 0 && clientMaxWindowBits != 15) {
+        if (!requestClientMaxWindowBitsOffered && this.clientMaxWindowBits != 15) {
+          // can't limit the client window unless the client offered to
           continue;
         } else if (requestClientMaxWindowBits == 0) {
-          requestClientMaxWindowBits = clientMaxWindowBits;
+          requestClientMaxWindowBits = 15;
         }
 
         permessageDeflate = WebSocketExtension.permessageDeflate(
@@ -334,10 +399,35 @@ public class WsEngineSettings implements Debug {
                                   int serverCompressionLevel, int clientCompressionLevel,
                                   boolean serverNoContextTakeover, boolean clientNoContextTakeover,
                                   int serverMaxWindowBits, int clientMaxWindowBits) {
+    return copy(maxFrameSize, maxMessageSize,
+        serverCompressionLevel, clientCompressionLevel,
+        serverNoContextTakeover, clientNoContextTakeover,
+        serverMaxWindowBits, clientMaxWindowBits,
+        this.nativeCompression, this.pooledCompression);
+  }
+
+  protected WsEngineSettings copy(int maxFrameSize, int maxMessageSize,
+                                  int serverCompressionLevel, int clientCompressionLevel,
+                                  boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                                  int serverMaxWindowBits, int clientMaxWindowBits,
+                                  boolean nativeCompression) {
+    return copy(maxFrameSize, maxMessageSize,
+        serverCompressionLevel, clientCompressionLevel,
+        serverNoContextTakeover, clientNoContextTakeover,
+        serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, this.pooledCompression);
+  }
+
+  protected WsEngineSettings copy(int maxFrameSize, int maxMessageSize,
+                                  int serverCompressionLevel, int clientCompressionLevel,
+                                  boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                                  int serverMaxWindowBits, int clientMaxWindowBits,
+                                  boolean nativeCompression, boolean pooledCompression) {
     return new WsEngineSettings(maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, pooledCompression);
   }
 
   public boolean canEqual(Object other) {
@@ -358,7 +448,9 @@ public class WsEngineSettings implements Debug {
           && this.serverNoContextTakeover == that.serverNoContextTakeover
           && this.clientNoContextTakeover == that.clientNoContextTakeover
           && this.serverMaxWindowBits == that.serverMaxWindowBits
-          && this.clientMaxWindowBits == that.clientMaxWindowBits;
+          && this.clientMaxWindowBits == that.clientMaxWindowBits
+          && this.nativeCompression == that.nativeCompression
+          && this.pooledCompression == that.pooledCompression;
     }
     return false;
   }
@@ -368,11 +460,12 @@ public class WsEngineSettings implements Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(WsEngineSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, this.maxFrameSize), this.maxMessageSize),
             this.serverCompressionLevel), this.clientCompressionLevel),
         Murmur3.hash(this.serverNoContextTakeover)), Murmur3.hash(this.clientNoContextTakeover)),
-        this.serverMaxWindowBits), this.clientMaxWindowBits));
+        this.serverMaxWindowBits), this.clientMaxWindowBits), Murmur3.hash(this.nativeCompression)),
+        Murmur3.hash(this.pooledCompression)));
   }
 
   @Override
@@ -385,7 +478,9 @@ public class WsEngineSettings implements Debug {
         .write('.').write("serverNoContextTakeover").write('(').debug(this.serverNoContextTakeover).write(')')
         .write('.').write("clientNoContextTakeover").write('(').debug(this.clientNoContextTakeover).write(')')
         .write('.').write("serverMaxWindowBits").write('(').debug(this.serverMaxWindowBits).write(')')
-        .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')');
+        .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')')
+        .write('.').write("nativeCompression").write('(').debug(this.nativeCompression).write(')')
+        .write('.').write("pooledCompression").write('(').debug(this.pooledCompression).write(')');
   }
 
   @Override
@@ -411,7 +506,7 @@ final class WsEngineSettingsForm extends Form<WsEngineSettings> {
   public Item mold(WsEngineSettings settings) {
     if (settings != null) {
       final WsEngineSettings standard = WsEngineSettings.standard();
-      final Record record = Record.create(8);
+      final Record record = Record.create(10);
       if (settings.maxFrameSize != standard.maxFrameSize) {
         record.slot("maxFrameSize", settings.maxFrameSize);
       }
@@ -436,6 +531,12 @@ final class WsEngineSettingsForm extends Form<WsEngineSettings> {
       if (settings.clientMaxWindowBits != standard.clientMaxWindowBits) {
         record.slot("clientMaxWindowBits", settings.clientMaxWindowBits);
       }
+      if (settings.nativeCompression != standard.nativeCompression) {
+        record.slot("nativeCompression", settings.nativeCompression);
+      }
+      if (settings.pooledCompression != standard.pooledCompression) {
+        record.slot("pooledCompression", settings.pooledCompression);
+      }
       return record;
     } else {
       return Item.extant();
@@ -454,10 +555,15 @@ final class WsEngineSettingsForm extends Form<WsEngineSettings> {
     final boolean clientNoContextTakeover = value.get("clientNoContextTakeover").booleanValue(standard.clientNoContextTakeover);
     final int serverMaxWindowBits = value.get("serverMaxWindowBits").intValue(standard.serverMaxWindowBits);
     final int clientMaxWindowBits = value.get("clientMaxWindowBits").intValue(standard.clientMaxWindowBits);
+    final Value nativeCompressionValue = value.get("nativeCompression");
+    final boolean nativeCompression = nativeCompressionValue.isDefined()
+        ? nativeCompressionValue.booleanValue(standard.nativeCompression) : standard.nativeCompression;
+    final boolean pooledCompression = value.get("pooledCompression").booleanValue(standard.pooledCompression);
     return new WsEngineSettings(maxFrameSize, maxMessageSize,
         serverCompressionLevel, clientCompressionLevel,
         serverNoContextTakeover, clientNoContextTakeover,
-        serverMaxWindowBits, clientMaxWindowBits);
+        serverMaxWindowBits, clientMaxWindowBits,
+        nativeCompression, pooledCompression);
   }
 
 }
@@ -0,0 +1,185 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class WsFrameNativeDeflater<O> extends Encoder<Object, WsFrame<O>> {
+
+  final WsNativeDeflateEncoder ws;
+  final WsFrame<O> frame;
+  final Encoder<?, ?> content;
+  final long offset;
+  final int pendingIndex;
+  final int pendingLimit;
+  final boolean flushed;
+
+  WsFrameNativeDeflater(WsNativeDeflateEncoder ws, WsFrame<O> frame, Encoder<?, ?> content,
+                        long offset, int pendingIndex, int pendingLimit, boolean flushed) {
+    this.ws = ws;
+    this.frame = frame;
+    this.content = content;
+    this.offset = offset;
+    this.pendingIndex = pendingIndex;
+    this.pendingLimit = pendingLimit;
+    this.flushed = flushed;
+  }
+
+  WsFrameNativeDeflater(WsNativeDeflateEncoder ws, WsFrame<O> frame) {
+    this(ws, frame, null, 0L, 0, 0, false);
+  }
+
+  static <O> Encoder<Object, WsFrame<O>> encode(OutputBuffer<?> output, WsNativeDeflateEncoder ws,
+                                                WsFrame<O> frame, Encoder<?, ?> content, long offset,
+                                                int pendingIndex, int pendingLimit, boolean flushed) {
+    final boolean isMasked = ws.isMasked();
+    final int outputSize = output.remaining();
+    final int maskSize = isMasked ? 4 : 0;
+    final int maxHeaderSize = (outputSize <= 127 ? 2 : outputSize <= 65539 ? 4 : 10) + maskSize;
+
+    if (outputSize >= maxHeaderSize) {
+      if (content == null) {
+        ws.acquire();
+        content = frame.contentEncoder(ws);
+      }
+      final Deflater deflater = ws.deflater;
+      final byte[] inputBuffer = ws.inputBuffer;
+      final byte[] buffer = ws.outputBuffer;
+      final int maxPayloadSize = outputSize - maxHeaderSize;
+
+      // deflate payload, staging enough output to fill the frame while
+      // withholding the 4 byte tail of the final flush
+      while (!flushed && pendingLimit - pendingIndex < maxPayloadSize + 4) {
+        if (pendingLimit == buffer.length) {
+          if (pendingIndex == 0) {
+            break;
+          }
+          System.arraycopy(buffer, pendingIndex, buffer, 0, pendingLimit - pendingIndex);
+          pendingLimit -= pendingIndex;
+          pendingIndex = 0;
+        }
+        if (deflater.needsInput() && content.isCont()) {
+          final OutputBuffer<?> input = Binary.outputBuffer(inputBuffer).isPart(true);
+          content = content.pull(input);
+          if (content.isError()) {
+            ws.release();
+            return content.asError();
+          }
+          final int inputSize = input.index();
+          if (inputSize == 0 && content.isCont()) {
+            break;
+          }
+          deflater.setInput(inputBuffer, 0, inputSize);
+        }
+        final int flush = content.isDone() && deflater.needsInput() ? ws.flush : Deflater.NO_FLUSH;
+        final int space = buffer.length - pendingLimit;
+        final int count = deflater.deflate(buffer, pendingLimit, space, flush);
+        pendingLimit += count;
+        if (flush != Deflater.NO_FLUSH && count < space) {
+          flushed = true;
+        }
+      }
+
+      final int pendingSize = pendingLimit - pendingIndex;
+      final int payloadSize = Math.max(0, Math.min(maxPayloadSize, pendingSize - 4));
+      final boolean eof = flushed && payloadSize == pendingSize - 4;
+      if (payloadSize > 0 || eof) {
+        // encode header
+        final WsOpcode opcode = frame.opcode();
+        final int finRsvOp;
+        if (eof) {
+          if (offset == 0L) {
+            finRsvOp = 0xc0 | opcode.code;
+          } else {
+            finRsvOp = 0x80;
+          }
+        } else if (offset == 0L) {
+          finRsvOp = 0x40 | opcode.code;
+        } else {
+          finRsvOp = 0x00;
+        }
+        output = output.write(finRsvOp);
+        if (payloadSize < 126) {
+          output = output.write(isMasked ? 0x80 | payloadSize : payloadSize);
+        } else if (payloadSize < 1 << 16) {
+          output = output.write(isMasked ? 254 : 126)
+              .write(payloadSize >>> 8)
+              .write(payloadSize);
+        } else {
+          output = output.write(isMasked ? 255 : 127)
+              .write(0)
+              .write(0)
+              .write(0)
+              .write(0)
+              .write(payloadSize >>> 24)
+              .write(payloadSize >>> 16)
+              .write(payloadSize >>> 8)
+              .write(payloadSize);
+        }
+
+        if (isMasked) {
+          // generate and encode masking key
+          final byte[] maskingKey = new byte[4];
+          ws.maskingKey(maskingKey);
+          output = output.write(maskingKey[0] & 0xff)
+              .write(maskingKey[1] & 0xff)
+              .write(maskingKey[2] & 0xff)
+              .write(maskingKey[3] & 0xff);
+
+          // copy masked payload
+          final byte[] array = output.array();
+          final int payloadBase = output.arrayOffset() + output.index();
+          for (int i = 0; i < payloadSize; i += 1) {
+            array[payloadBase + i] = (byte) (buffer[pendingIndex + i] ^ maskingKey[i & 0x3]);
+          }
+        } else {
+          // copy payload
+          System.arraycopy(buffer, pendingIndex, output.array(), output.arrayOffset() + output.index(), payloadSize);
+        }
+        output = output.index(output.index() + payloadSize);
+        pendingIndex += payloadSize;
+        offset += payloadSize;
+
+        if (eof) {
+          ws.release();
+          return done(frame);
+        }
+      }
+    }
+    if (output.isDone()) {
+      ws.release();
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      ws.release();
+      return error(output.trap());
+    }
+    return new WsFrameNativeDeflater<O>(ws, frame, content, offset, pendingIndex, pendingLimit, flushed);
+  }
+
+  static <O> Encoder<Object, WsFrame<O>> encode(OutputBuffer<?> output, WsNativeDeflateEncoder ws, WsFrame<O> frame) {
+    return encode(output, ws, frame, null, 0L, 0, 0, false);
+  }
+
+  @Override
+  public Encoder<Object, WsFrame<O>> pull(OutputBuffer<?> output) {
+    return encode(output, this.ws, this.frame, this.content, this.offset,
+        this.pendingIndex, this.pendingLimit, this.flushed);
+  }
+
+}
@@ -0,0 +1,127 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Inflater;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+
+public class WsNativeDeflateDecoder extends WsDecoder {
+
+  protected final WsCompressionPool pool;
+  protected boolean decompressing;
+  Inflater inflater;
+  byte[] outputBuffer;
+
+  public WsNativeDeflateDecoder(Inflater inflater, boolean decompressing) {
+    this.pool = null;
+    this.decompressing = decompressing;
+    this.inflater = inflater;
+    this.outputBuffer = new byte[WsCompressionPool.BUFFER_SIZE];
+  }
+
+  public WsNativeDeflateDecoder(Inflater inflater) {
+    this(inflater, false);
+  }
+
+  public WsNativeDeflateDecoder(WsCompressionPool pool) {
+    this.pool = pool;
+    this.decompressing = false;
+  }
+
+  public final WsCompressionPool pool() {
+    return this.pool;
+  }
+
+  public final Inflater inflater() {
+    return this.inflater;
+  }
+
+  public final boolean decompressing() {
+    return this.decompressing;
+  }
+
+  @Override
+  public long compressionMemory() {
+    if (this.inflater != null) {
+      return WsCompressionPool.INFLATER_MEMORY + (long) WsCompressionPool.BUFFER_SIZE;
+    } else {
+      return 0L;
+    }
+  }
+
+  void acquire() {
+    if (this.inflater == null) {
+      this.outputBuffer = this.pool.borrowBuffer();
+      this.inflater = this.pool.borrowInflater();
+    }
+  }
+
+  void release() {
+    final WsCompressionPool pool = this.pool;
+    final Inflater inflater = this.inflater;
+    if (pool != null && inflater != null) {
+      this.inflater = null;
+      pool.returnInflater(inflater);
+      pool.returnBuffer(this.outputBuffer);
+      this.outputBuffer = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    final Inflater inflater = this.inflater;
+    if (inflater != null) {
+      if (this.pool != null) {
+        release(); // Return an inflater borrowed by an unfinished message.
+      } else {
+        this.inflater = null;
+        inflater.end(); // Free native zlib memory now, rather than on finalization.
+      }
+    }
+  }
+
+  @Override
+  public <T> Decoder<WsFrame<T>> decodeContinuationFrame(int finRsvOp, Decoder<T> content, InputBuffer input) {
+    if (decompressing) { // compressed
+      return WsFrameNativeInflater.decode(input, this, content);
+    } else { // uncompressed
+      return WsFrameDecoder.decode(input, this, content);
+    }
+  }
+
+  @Override
+  public <T> Decoder<WsFrame<T>> decodeTextFrame(int finRsvOp, Decoder<T> content, InputBuffer input) {
+    if ((finRsvOp & 0x40) != 0) { // compressed
+      this.decompressing = (finRsvOp & 0x80) == 0;
+      return WsFrameNativeInflater.decode(input, this, content);
+    } else { // uncompressed
+      this.decompressing = false;
+      return WsFrameDecoder.decode(input, this, content);
+    }
+  }
+
+  @Override
+  public <T> Decoder<WsFrame<T>> decodeBinaryFrame(int finRsvOp, Decoder<T> content, InputBuffer input) {
+    if ((finRsvOp & 0x40) != 0) { // compressed
+      this.decompressing = (finRsvOp & 0x80) == 0;
+      return WsFrameNativeInflater.decode(input, this, content);
+    } else { // uncompressed
+      this.decompressing = false;
+      return WsFrameDecoder.decode(input, this, content);
+    }
+  }
+
+}
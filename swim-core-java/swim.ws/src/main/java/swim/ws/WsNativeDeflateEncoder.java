@@ -0,0 +1,124 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+
+public abstract class WsNativeDeflateEncoder extends WsEncoder {
+
+  protected final WsCompressionPool pool;
+  protected final int level;
+  protected final int flush;
+  Deflater deflater;
+  byte[] inputBuffer;
+  byte[] outputBuffer;
+
+  public WsNativeDeflateEncoder(Deflater deflater, int flush) {
+    this.pool = null;
+    this.level = Deflater.DEFAULT_COMPRESSION;
+    this.flush = flush;
+    this.deflater = deflater;
+    this.inputBuffer = new byte[WsCompressionPool.BUFFER_SIZE];
+    this.outputBuffer = new byte[WsCompressionPool.BUFFER_SIZE];
+  }
+
+  public WsNativeDeflateEncoder(WsCompressionPool pool, int level, int flush) {
+    this.pool = pool;
+    this.level = level;
+    this.flush = flush;
+  }
+
+  public final WsCompressionPool pool() {
+    return this.pool;
+  }
+
+  public final int level() {
+    return this.level;
+  }
+
+  public final Deflater deflater() {
+    return this.deflater;
+  }
+
+  public final int flush() {
+    return this.flush;
+  }
+
+  @Override
+  public long compressionMemory() {
+    if (this.deflater != null) {
+      return WsCompressionPool.DEFLATER_MEMORY + 2L * (long) WsCompressionPool.BUFFER_SIZE;
+    } else {
+      return 0L;
+    }
+  }
+
+  void acquire() {
+    if (this.deflater == null) {
+      this.inputBuffer = this.pool.borrowBuffer();
+      this.outputBuffer = this.pool.borrowBuffer();
+      this.deflater = this.pool.borrowDeflater(this.level);
+    }
+  }
+
+  void release() {
+    final WsCompressionPool pool = this.pool;
+    final Deflater deflater = this.deflater;
+    if (pool != null && deflater != null) {
+      this.deflater = null;
+      pool.returnDeflater(this.level, deflater);
+      pool.returnBuffer(this.inputBuffer);
+      pool.returnBuffer(this.outputBuffer);
+      this.inputBuffer = null;
+      this.outputBuffer = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    final Deflater deflater = this.deflater;
+    if (deflater != null) {
+      if (this.pool != null) {
+        release(); // Return a deflater borrowed by an unfinished message.
+      } else {
+        this.deflater = null;
+        deflater.end(); // Free native zlib memory now, rather than on finalization.
+      }
+    }
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> textFrameEncoder(WsFrame<T> frame) {
+    return new WsFrameNativeDeflater<T>(this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> encodeTextFrame(WsFrame<T> frame, OutputBuffer<?> output) {
+    return WsFrameNativeDeflater.encode(output, this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> binaryFrameEncoder(WsFrame<T> frame) {
+    return new WsFrameNativeDeflater<T>(this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> encodeBinaryFrame(WsFrame<T> frame, OutputBuffer<?> output) {
+    return WsFrameNativeDeflater.encode(output, this, frame);
+  }
+
+}
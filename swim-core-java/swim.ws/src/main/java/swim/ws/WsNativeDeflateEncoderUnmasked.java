@@ -0,0 +1,39 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+
+final class WsNativeDeflateEncoderUnmasked extends WsNativeDeflateEncoder {
+
+  WsNativeDeflateEncoderUnmasked(Deflater deflater, int flush) {
+    super(deflater, flush);
+  }
+
+  WsNativeDeflateEncoderUnmasked(WsCompressionPool pool, int level, int flush) {
+    super(pool, level, flush);
+  }
+
+  @Override
+  public boolean isMasked() {
+    return false;
+  }
+
+  @Override
+  public void maskingKey(byte[] maskingKey) {
+    // nop
+  }
+
+}
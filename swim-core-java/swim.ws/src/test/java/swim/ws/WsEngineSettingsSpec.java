@@ -112,4 +112,31 @@ public class WsEngineSettingsSpec {
 
   }
 
+  @Test
+  public void limitOfferedClientMaxWindowBits() {
+    final WsEngineSettings wsEngineSettings = WsEngineSettings.standard()
+        .serverCompressionLevel(7)
+        .clientCompressionLevel(9)
+        .clientMaxWindowBits(10);
+
+    final FingerTrieSeq<WebSocketExtension> requestExtensions = FingerTrieSeq.of(WebSocketExtension.permessageDeflate(false, false, 15, 12));
+    final FingerTrieSeq<WebSocketExtension> responseExtensions = wsEngineSettings.acceptExtensions(requestExtensions);
+
+    assertEquals(responseExtensions.size(), 1);
+    assertEquals(responseExtensions.get(0), WebSocketExtension.from(
+        "permessage-deflate",
+        WebSocketParam.from("client_max_window_bits", "10")));
+  }
+
+  @Test
+  public void declineUnofferedClientMaxWindowBits() {
+    final WsEngineSettings wsEngineSettings = WsEngineSettings.standard()
+        .serverCompressionLevel(7)
+        .clientCompressionLevel(9)
+        .clientMaxWindowBits(10);
+
+    final FingerTrieSeq<WebSocketExtension> requestExtensions = FingerTrieSeq.of(WebSocketExtension.permessageDeflate(false, false, 15, 15));
+    assertEquals(wsEngineSettings.acceptExtensions(requestExtensions).size(), 0);
+  }
+
 }
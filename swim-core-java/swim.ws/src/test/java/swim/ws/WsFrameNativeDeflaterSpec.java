@@ -0,0 +1,180 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.InputBuffer;
+import swim.codec.Utf8;
+import swim.structure.Data;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class WsFrameNativeDeflaterSpec {
+
+  static void assertEncodes(WsEncoder ws, WsFrame<?> frame, Data encoded, int... bufferSizes) {
+    final byte[] actual = new byte[encoded.size() + 4];
+    int bufferSize = encoded.size() + 4;
+    Encoder<?, ?> frameEncoder = ws.frameEncoder(frame);
+    for (int k = 0, i = 0, n = actual.length; i < n; i += bufferSize) {
+      if (k < bufferSizes.length) {
+        bufferSize = bufferSizes[k];
+        k += 1;
+      }
+      frameEncoder = frameEncoder.pull(Binary.outputBuffer(actual, i, Math.min(bufferSize, actual.length - i))
+          .isPart(actual.length - i > bufferSize));
+      if (frameEncoder.isError()) {
+        throw new TestException(frameEncoder.trap());
+      }
+    }
+    assertTrue(frameEncoder.isDone());
+    assertEquals(Data.wrap(actual, 0, encoded.size()), encoded);
+  }
+
+  static void assertEncodes(WsFrame<?> frame, Data encoded, int... bufferSizes) {
+    assertEncodes(Ws.nativeDeflateEncoderUnmasked(), frame, encoded, bufferSizes);
+  }
+
+  static void assertEncodes(byte[] maskingKey, WsFrame<?> frame, Data encoded, int... bufferSizes) {
+    assertEncodes(new WsNativeDeflateEncoderMaskedTest(maskingKey), frame, encoded, bufferSizes);
+  }
+
+  @Test
+  public void nativeDeflateUnmaskedTextFrame() {
+    assertEncodes(WsText.from("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+  }
+
+  @Test
+  public void nativeDeflateUnmaskedTextFragments() {
+    assertEncodes(WsText.from("Hello"), Data.fromBase16("4103f248cd8004c9c90700"), 5, 10);
+  }
+
+  @Test
+  public void nativeDeflateMaskedTextFrame() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    assertEncodes(maskingKey, WsText.from("Hello"), Data.fromBase16("c18737fa213dc5b2ecf4fefd21"));
+  }
+
+  @Test
+  public void nativeDeflateUnmaskedSharedWindow() {
+    final WsNativeDeflateEncoder ws = Ws.nativeDeflateEncoderUnmasked();
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c105f200110000"));
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c10402130000"));
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c10402130000"));
+  }
+
+  @Test
+  public void nativeDeflateMaskedSharedWindow() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    final WsNativeDeflateEncoder ws = new WsNativeDeflateEncoderMaskedTest(maskingKey);
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c18737fa213dc5b2ecf4fefd21"));
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c18537fa213dc5fa303d37"));
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c18437fa213d35e9213d"));
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c18437fa213d35e9213d"));
+  }
+
+  @Test
+  public void nativeDeflateUnmaskedFullFlush() {
+    final WsNativeDeflateEncoder ws = Ws.nativeDeflateEncoderUnmasked(new Deflater(Deflater.DEFAULT_COMPRESSION, true), Deflater.FULL_FLUSH);
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void nativeDeflateLargeTextFragments() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 4096; i += 1) {
+      builder.append(Integer.toString(i * 31, 16)).append(' ');
+    }
+    final String text = builder.toString();
+    final WsNativeDeflateEncoder ws = Ws.nativeDeflateEncoderUnmasked();
+    Encoder<?, ?> frameEncoder = ws.frameEncoder(WsText.from(text));
+    final byte[] encoded = new byte[64 * 1024];
+    int index = 0;
+    do {
+      frameEncoder = frameEncoder.pull(Binary.outputBuffer(encoded, index, 512).isPart(true));
+      index += 512;
+    } while (frameEncoder.isCont());
+    assertTrue(frameEncoder.isDone());
+    final WsDeflateDecoder decoder = Ws.deflateDecoder();
+    Decoder<WsFrame<String>> frameDecoder = decoder.frameDecoder(Utf8.stringParser());
+    InputBuffer input = Binary.inputBuffer(encoded, 0, index).isPart(true);
+    do {
+      frameDecoder = frameDecoder.feed(input);
+      if (frameDecoder.isDone() && frameDecoder.bind() instanceof WsFragment<?>) {
+        frameDecoder = decoder.frameDecoder(((WsFragment<String>) frameDecoder.bind()).contentDecoder());
+      }
+    } while (frameDecoder.isCont() && input.isCont());
+    assertEquals(frameDecoder.bind(), WsValue.from(text));
+  }
+
+  @Test
+  public void nativeDeflateUnmaskedPooled() {
+    final WsCompressionPool pool = new WsCompressionPool(1);
+    final WsNativeDeflateEncoder ws = Ws.nativeDeflateEncoderUnmasked(pool, Deflater.DEFAULT_COMPRESSION, Deflater.SYNC_FLUSH);
+    assertEquals(ws.compressionMemory(), 0L);
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEquals(ws.compressionMemory(), 0L);
+    assertEquals(pool.idleDeflaterCount(), 1);
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEquals(pool.idleDeflaterCount(), 1);
+  }
+
+
+  @Test
+  public void nativeDeflateEndDeflaterOnClose() {
+    final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    final WsNativeDeflateEncoder ws = Ws.nativeDeflateEncoderUnmasked(deflater, Deflater.SYNC_FLUSH);
+    assertEncodes(ws, WsText.from("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    ws.close();
+    assertNull(ws.deflater());
+    assertEquals(ws.compressionMemory(), 0L);
+    try {
+      deflater.getTotalIn();
+      fail();
+    } catch (NullPointerException expected) {
+      // ended
+    }
+    ws.close();
+  }
+
+
+  @Test
+  public void nativeDeflatePooledReturnDeflaterOnClose() {
+    final WsCompressionPool pool = new WsCompressionPool(1);
+    final WsNativeDeflateEncoder ws = Ws.nativeDeflateEncoderUnmasked(pool, Deflater.DEFAULT_COMPRESSION, Deflater.SYNC_FLUSH);
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1024; i += 1) {
+      text.append(i);
+    }
+    Encoder<?, ?> frameEncoder = ws.frameEncoder(WsText.from(text.toString()));
+    frameEncoder = frameEncoder.pull(Binary.outputBuffer(new byte[16]).isPart(true));
+    assertTrue(frameEncoder.isCont());
+    assertTrue(ws.compressionMemory() > 0L);
+    assertEquals(pool.idleDeflaterCount(), 0);
+    ws.close(); // socket closed mid-message
+    assertEquals(ws.compressionMemory(), 0L);
+    assertEquals(pool.idleDeflaterCount(), 1);
+  }
+
+}
@@ -0,0 +1,163 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Inflater;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+import swim.codec.Utf8;
+import swim.structure.Data;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class WsFrameNativeInflaterSpec {
+
+  static <T> void assertDecodes(Decoder<T> content, Data encoded, WsFrame<T> expeced) {
+    encoded = encoded.commit();
+    for (int i = 0, n = encoded.size(); i <= n; i += 1) {
+      final WsNativeDeflateDecoder wsDecoder = Ws.nativeDeflateDecoder();
+      InputBuffer input = encoded.toInputBuffer();
+      Decoder<WsFrame<T>> frameDecoder = wsDecoder.frameDecoder(content);
+      assertTrue(frameDecoder.isCont());
+      assertFalse(frameDecoder.isDone());
+      assertFalse(frameDecoder.isError());
+
+      input = input.index(0).limit(i).isPart(true);
+      frameDecoder = frameDecoder.feed(input);
+      if (frameDecoder.isDone()) {
+        final WsFrame<T> frame = frameDecoder.bind();
+        if (frame instanceof WsFragment<?>) {
+          frameDecoder = wsDecoder.frameDecoder(((WsFragment<T>) frame).contentDecoder());
+        }
+      }
+
+      input = input.limit(n).isPart(false);
+      frameDecoder = frameDecoder.feed(input);
+      if (frameDecoder.isDone()) {
+        final WsFrame<T> frame = frameDecoder.bind();
+        if (frame instanceof WsFragment<?>) {
+          frameDecoder = wsDecoder.frameDecoder(((WsFragment<T>) frame).contentDecoder());
+          frameDecoder = frameDecoder.feed(input);
+        }
+      }
+
+      if (frameDecoder.isError()) {
+        throw new TestException(frameDecoder.trap());
+      }
+      assertFalse(frameDecoder.isCont());
+      assertTrue(frameDecoder.isDone());
+      assertFalse(frameDecoder.isError());
+      assertEquals(frameDecoder.bind(), expeced);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static void assertDecodes(Data encoded, WsFrame<?> expeced) {
+    assertDecodes(new StringOrDataDecoder(), encoded, (WsFrame<Object>) expeced);
+  }
+
+  @Test
+  public void nativeInflateUnmaskedTextFrame() {
+    assertDecodes(Data.fromBase16("c107f248cdc9c90700"), WsValue.from("Hello"));
+  }
+
+  @Test
+  public void nativeInflateUnmaskedTextFragments() {
+    assertDecodes(Data.fromBase16("4103f248cd8004c9c90700"), WsValue.from("Hello"));
+  }
+
+  @Test
+  public void nativeInflateMaskedTextFrame() {
+    assertDecodes(Data.fromBase16("c18737fa213dc5b2ecf4fefd21"), WsValue.from("Hello"));
+  }
+
+  @Test
+  public void nativeInflateUnmaskedSharedWindow() {
+    final WsNativeDeflateDecoder ws = Ws.nativeDeflateDecoder();
+    Decoder<WsFrame<String>> frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c107f248cdc9c90700").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c105f200110000").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c10402130000").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c10402130000").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+  }
+
+  @Test
+  public void nativeInflateMaskedSharedWindow() {
+    final WsNativeDeflateDecoder ws = Ws.nativeDeflateDecoder();
+    Decoder<WsFrame<String>> frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c18737fa213dc5b2ecf4fefd21").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c18537fa213dc5fa303d37").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c18437fa213d35e9213d").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c18437fa213d35e9213d").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+  }
+
+  @Test
+  public void nativeInflateUnmaskedPooled() {
+    final WsCompressionPool pool = new WsCompressionPool(1);
+    final WsNativeDeflateDecoder ws = Ws.nativeDeflateDecoder(pool);
+    Decoder<WsFrame<String>> frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c107f248cdc9c90700").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    assertEquals(ws.compressionMemory(), 0L);
+    assertEquals(pool.idleInflaterCount(), 1);
+    frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c107f248cdc9c90700").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    assertEquals(pool.idleInflaterCount(), 1);
+  }
+
+
+  @Test
+  public void nativeInflateEndInflaterOnClose() {
+    final Inflater inflater = new Inflater(true);
+    final WsNativeDeflateDecoder ws = Ws.nativeDeflateDecoder(inflater);
+    final Decoder<WsFrame<String>> frameDecoder = ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("c107f248cdc9c90700").toInputBuffer().isPart(true));
+    assertEquals(frameDecoder.bind(), WsValue.from("Hello"));
+    ws.close();
+    assertNull(ws.inflater());
+    assertEquals(ws.compressionMemory(), 0L);
+    try {
+      inflater.getTotalIn();
+      fail();
+    } catch (NullPointerException expected) {
+      // ended
+    }
+    ws.close();
+  }
+
+
+  @Test
+  public void nativeInflatePooledReturnInflaterOnClose() {
+    final WsCompressionPool pool = new WsCompressionPool(1);
+    final WsNativeDeflateDecoder ws = Ws.nativeDeflateDecoder(pool);
+    // first fragment of a compressed message
+    ws.decodeFrame(Utf8.stringParser(), Data.fromBase16("4107f248cdc9c90700").toInputBuffer().isPart(true));
+    assertTrue(ws.compressionMemory() > 0L);
+    assertEquals(pool.idleInflaterCount(), 0);
+    ws.close(); // socket closed mid-message
+    assertEquals(ws.compressionMemory(), 0L);
+    assertEquals(pool.idleInflaterCount(), 1);
+  }
+
+}
@@ -64,6 +64,7 @@ import swim.runtime.agent.AgentNode;
 import swim.runtime.profile.HostProfile;
 import swim.runtime.reflect.AgentPulse;
 import swim.runtime.reflect.HostPulse;
+import swim.runtime.reflect.LatencyPulse;
 import swim.runtime.reflect.WarpDownlinkPulse;
 import swim.runtime.reflect.WarpUplinkPulse;
 import swim.store.StoreBinding;
@@ -111,6 +112,7 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
   volatile int receiveBacklog;
   RemoteHostMessageCont messageCont;
   final HashGenCacheMap<Uri, Uri> resolveCache;
+  RemoteHostRoute[] routes;
 
   volatile int downlinkOpenDelta;
   volatile long downlinkOpenCount;
@@ -431,6 +433,36 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     return absoluteUri;
   }
 
+  /**
+   * Returns the cached route for the link alias of the envelope currently
+   * being read, or {@code null} if the envelope was not addressed to an
+   * aliased link.
+   */
+  RemoteHostRoute route(LaneAddressed envelope) {
+    final WarpSocketContext warpSocketContext = this.warpSocketContext;
+    final int linkAlias = warpSocketContext != null ? warpSocketContext.linkAlias() : -1;
+    if (linkAlias >= 0) {
+      RemoteHostRoute[] routes = this.routes;
+      if (routes == null || linkAlias >= routes.length) {
+        final RemoteHostRoute[] newRoutes = new RemoteHostRoute[Math.max(16, Integer.highestOneBit(linkAlias) << 1)];
+        if (routes != null) {
+          System.arraycopy(routes, 0, newRoutes, 0, routes.length);
+        }
+        routes = newRoutes;
+        this.routes = routes;
+      }
+      final Uri remoteNodeUri = envelope.nodeUri();
+      final Uri laneUri = envelope.laneUri();
+      RemoteHostRoute route = routes[linkAlias];
+      if (route == null || route.remoteNodeUri != remoteNodeUri || route.laneUri != laneUri) {
+        route = new RemoteHostRoute(remoteNodeUri, laneUri, resolve(remoteNodeUri));
+        routes[linkAlias] = route;
+      }
+      return route;
+    }
+    return null;
+  }
+
   @Override
   public UriMapper<NodeBinding> nodes() {
     return UriMapper.empty();
@@ -644,21 +676,26 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
   }
 
   protected void onEventMessage(EventMessage message) {
-    final Uri nodeUri = resolve(message.nodeUri());
-    final Uri laneUri = message.laneUri();
+    final Uri nodeUri;
+    final HashTrieSet<RemoteWarpUplink> laneUplinks;
+    final RemoteHostRoute route = route(message);
+    if (route != null) {
+      nodeUri = route.nodeUri;
+      laneUplinks = route.laneUplinks(this.uplinks);
+    } else {
+      nodeUri = resolve(message.nodeUri());
+      final HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>> nodeUplinks = this.uplinks.get(nodeUri);
+      laneUplinks = nodeUplinks != null ? nodeUplinks.get(message.laneUri()) : null;
+    }
 
-    final HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>> nodeUplinks = this.uplinks.get(nodeUri);
-    if (nodeUplinks != null) {
-      final HashTrieSet<RemoteWarpUplink> laneUplinks = nodeUplinks.get(laneUri);
-      if (laneUplinks != null) {
-        final EventMessage resolvedMessage = message.nodeUri(nodeUri);
-        final Iterator<RemoteWarpUplink> uplinksIterator = laneUplinks.iterator();
-        while (uplinksIterator.hasNext()) {
-          willPushMessage(resolvedMessage);
-          final RemoteWarpUplink uplink = uplinksIterator.next();
-          uplink.queueDown(new Push<Envelope>(Uri.empty(), Uri.empty(), uplink.nodeUri(), uplink.laneUri(),
-                                              uplink.prio(), remoteIdentity(), resolvedMessage, this.messageCont));
-        }
+    if (laneUplinks != null) {
+      final EventMessage resolvedMessage = message.nodeUri(nodeUri);
+      final Iterator<RemoteWarpUplink> uplinksIterator = laneUplinks.iterator();
+      while (uplinksIterator.hasNext()) {
+        willPushMessage(resolvedMessage);
+        final RemoteWarpUplink uplink = uplinksIterator.next();
+        uplink.queueDown(new Push<Envelope>(Uri.empty(), Uri.empty(), uplink.nodeUri(), uplink.laneUri(),
+                                            uplink.prio(), remoteIdentity(), resolvedMessage, this.messageCont));
       }
     }
 
@@ -676,22 +713,28 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
           message = newMessage;
         }
 
-        final Uri nodeUri = resolve(message.nodeUri());
+        final Uri nodeUri;
         final Uri laneUri = message.laneUri();
+        final RemoteWarpDownlink laneDownlink;
+        final RemoteHostRoute route = route(message);
+        if (route != null) {
+          nodeUri = route.nodeUri;
+          laneDownlink = route.laneDownlink(this.downlinks);
+        } else {
+          nodeUri = resolve(message.nodeUri());
+          final HashTrieMap<Uri, RemoteWarpDownlink> nodeDownlinks = this.downlinks.get(nodeUri);
+          laneDownlink = nodeDownlinks != null ? nodeDownlinks.get(laneUri) : null;
+        }
         final CommandMessage resolvedMessage = message.nodeUri(nodeUri);
 
-        final HashTrieMap<Uri, RemoteWarpDownlink> nodeDownlinks = this.downlinks.get(nodeUri);
-        if (nodeDownlinks != null) {
-          final RemoteWarpDownlink laneDownlink = nodeDownlinks.get(laneUri);
-          if (laneDownlink != null) {
-            laneDownlink.queueUp(resolvedMessage);
-            return;
-          }
+        if (laneDownlink != null) {
+          laneDownlink.queueUp(resolvedMessage);
+          return;
         }
 
-        willPushMessage(resolvedMessage);
+        willPushCommand(resolvedMessage);
         this.hostContext.pushDown(new Push<Envelope>(Uri.empty(), Uri.empty(), nodeUri, laneUri,
-                                                     0.0f, null, resolvedMessage, this.messageCont));
+                                                     0.0f, null, resolvedMessage, new RemoteHostCommandCont(this, resolvedMessage)));
       } else if (directive.isForbidden()) {
         forbid();
       }
@@ -733,13 +776,47 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     //} while (true);
   }
 
+  /**
+   * Counts a command pushed to a local agent, whose continuation is bound
+   * once the agent has dispatched the command.  Socket reads are disabled
+   * while {@code MAX_RECEIVE_BACKLOG} commands remain undispatched, which
+   * keeps a flooding peer from filling agent mailboxes.
+   */
+  protected void willPushCommand(CommandMessage message) {
+    final int newReceiveBacklog = RECEIVE_BACKLOG.incrementAndGet(this);
+    if (newReceiveBacklog == MAX_RECEIVE_BACKLOG) {
+      reconcileReceiveBacklog();
+    }
+  }
+
+  protected void didPushCommand(CommandMessage message) {
+    do {
+      final int oldReceiveBacklog = this.receiveBacklog;
+      if (oldReceiveBacklog <= 0) {
+        // Backlog was reset by a disconnect.
+        break;
+      }
+      final int newReceiveBacklog = oldReceiveBacklog - 1;
+      if (RECEIVE_BACKLOG.compareAndSet(this, oldReceiveBacklog, newReceiveBacklog)) {
+        if (oldReceiveBacklog == MAX_RECEIVE_BACKLOG) {
+          reconcileReceiveBacklog();
+        }
+        break;
+      }
+    } while (true);
+  }
+
   protected void reconcileReceiveBacklog() {
     do {
+      final WarpSocketContext warpSocketContext = this.warpSocketContext;
+      if (warpSocketContext == null) {
+        break;
+      }
       final int receiveBacklog = this.receiveBacklog;
       if (receiveBacklog < MAX_RECEIVE_BACKLOG) {
-        this.warpSocketContext.flowControl(FlowModifier.ENABLE_READ);
+        warpSocketContext.flowControl(FlowModifier.ENABLE_READ);
       } else {
-        this.warpSocketContext.flowControl(FlowModifier.DISABLE_READ);
+        warpSocketContext.flowControl(FlowModifier.DISABLE_READ);
       }
       if (receiveBacklog == this.receiveBacklog) {
         break;
@@ -1410,7 +1487,10 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
         uplinkCommandRate, uplinkCommandCount);
-    this.pulse = new HostPulse(nodeCount, agentPulse, downlinkPulse, uplinkPulse);
+    final WarpSocketContext warpSocketContext = this.warpSocketContext;
+    final long compressionMemory = warpSocketContext != null ? warpSocketContext.compressionMemory() : 0L;
+    this.pulse = new HostPulse(nodeCount, agentPulse, downlinkPulse, uplinkPulse,
+                               0L, 0L, 0L, LatencyPulse.empty(), compressionMemory);
     final DemandLane<HostPulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
       metaPulse.cue();
@@ -1426,7 +1506,8 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        0, 0L, 0, 0L, 0L, 0L);
   }
 
   static final int PRIMARY = 1 << 0;
@@ -1518,6 +1599,42 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
 
 }
 
+final class RemoteHostRoute {
+
+  final Uri remoteNodeUri;
+  final Uri laneUri;
+  final Uri nodeUri;
+  HashTrieMap<Uri, HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>>> uplinks;
+  HashTrieSet<RemoteWarpUplink> laneUplinks;
+  HashTrieMap<Uri, HashTrieMap<Uri, RemoteWarpDownlink>> downlinks;
+  RemoteWarpDownlink laneDownlink;
+
+  RemoteHostRoute(Uri remoteNodeUri, Uri laneUri, Uri nodeUri) {
+    this.remoteNodeUri = remoteNodeUri;
+    this.laneUri = laneUri;
+    this.nodeUri = nodeUri;
+  }
+
+  HashTrieSet<RemoteWarpUplink> laneUplinks(HashTrieMap<Uri, HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>>> uplinks) {
+    if (this.uplinks != uplinks) {
+      final HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>> nodeUplinks = uplinks.get(this.nodeUri);
+      this.laneUplinks = nodeUplinks != null ? nodeUplinks.get(this.laneUri) : null;
+      this.uplinks = uplinks;
+    }
+    return this.laneUplinks;
+  }
+
+  RemoteWarpDownlink laneDownlink(HashTrieMap<Uri, HashTrieMap<Uri, RemoteWarpDownlink>> downlinks) {
+    if (this.downlinks != downlinks) {
+      final HashTrieMap<Uri, RemoteWarpDownlink> nodeDownlinks = downlinks.get(this.nodeUri);
+      this.laneDownlink = nodeDownlinks != null ? nodeDownlinks.get(this.laneUri) : null;
+      this.downlinks = downlinks;
+    }
+    return this.laneDownlink;
+  }
+
+}
+
 final class RemoteHostMessageCont implements Cont<Envelope> {
 
   volatile RemoteHost host;
@@ -1544,6 +1661,36 @@ final class RemoteHostMessageCont implements Cont<Envelope> {
 
 }
 
+final class RemoteHostCommandCont implements Cont<Envelope> {
+
+  final RemoteHost host;
+  final CommandMessage message;
+  volatile int done;
+
+  RemoteHostCommandCont(RemoteHost host, CommandMessage message) {
+    this.host = host;
+    this.message = message;
+  }
+
+  @Override
+  public void bind(Envelope envelope) {
+    if (DONE.compareAndSet(this, 0, 1)) {
+      this.host.didPushCommand(this.message);
+    }
+  }
+
+  @Override
+  public void trap(Throwable error) {
+    if (DONE.compareAndSet(this, 0, 1)) {
+      this.host.didPushCommand(this.message);
+    }
+  }
+
+  static final AtomicIntegerFieldUpdater<RemoteHostCommandCont> DONE =
+      AtomicIntegerFieldUpdater.newUpdater(RemoteHostCommandCont.class, "done");
+
+}
+
 final class RemoteHostPull<E extends Envelope> implements PullRequest<E> {
 
   final RemoteHost host;
@@ -37,13 +37,14 @@ import swim.uri.Uri;
 import swim.uri.UriAuthority;
 import swim.uri.UriPath;
 import swim.uri.UriScheme;
+import swim.warp.BinaryEnvelopeCodec;
 import swim.ws.WsClose;
 import swim.ws.WsRequest;
 
 public class RemoteHostClient extends RemoteHost {
 
   static final double MAX_RECONNECT_TIMEOUT = 15000.0;
-  static final FingerTrieSeq<String> PROTOCOL_LIST = FingerTrieSeq.of("warp0", "swim-0.0");
+  static final FingerTrieSeq<String> PROTOCOL_LIST = FingerTrieSeq.of(BinaryEnvelopeCodec.PROTOCOL, "warp0", "swim-0.0");
   final IpInterface endpoint;
   final WarpSettings warpSettings;
   HttpClient client;
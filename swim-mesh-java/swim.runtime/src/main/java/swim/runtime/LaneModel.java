@@ -266,6 +266,15 @@ public abstract class LaneModel<View extends LaneView, U extends AbstractUplinkC
     return !this.uplinks.isEmpty();
   }
 
+  /**
+   * Returns {@code true} if this lane keeps its state only in memory, so
+   * that the state is lost when the lane closes.  Lanes without state are
+   * never transient.
+   */
+  public boolean isTransient() {
+    return false;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public FingerTrieSeq<LinkContext> uplinks() {
@@ -561,6 +570,14 @@ public abstract class LaneModel<View extends LaneView, U extends AbstractUplinkC
     // hook
   }
 
+  public void accumulateDispatchTime(long dispatchTime) {
+    // hook
+  }
+
+  public void accumulateDeliveryTime(long deliveryTime) {
+    // hook
+  }
+
 }
 
 final class LaneModelUplinksController implements OnCueKey<Value, UplinkInfo>, OnSyncKeys<Value> {
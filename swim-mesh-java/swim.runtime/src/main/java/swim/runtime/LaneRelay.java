@@ -196,6 +196,7 @@ public abstract class LaneRelay<Model extends LaneModel<View, ?>, View extends L
       }
     }
     final long dt = System.nanoTime() - t0;
+    this.model.accumulateDispatchTime(dt);
     if (stage == null) {
       this.model.accumulateExecTime(dt);
     }
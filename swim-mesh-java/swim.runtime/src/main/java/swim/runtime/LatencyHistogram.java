@@ -0,0 +1,164 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import swim.runtime.reflect.HistogramPulse;
+
+/**
+ * Fixed memory, log-linear histogram of nanosecond latencies.  Each power of
+ * two range is split into {@code 8} linear sub-buckets, bounding the relative
+ * error of reported quantiles to {@code 12.5%}, across a range of {@code 1ns}
+ * to {@code 2^36ns} (about 68 seconds); larger values saturate the top bucket.
+ *
+ * Bucket counts are only allocated once a value has been recorded, and are
+ * released again after an interval in which nothing was recorded, so idle
+ * cells don't pay for their histograms.  {@link #snapshot()} drains the
+ * histogram into a mergeable {@link HistogramPulse}; values recorded while a
+ * snapshot is being taken are carried over into the next interval.
+ */
+public final class LatencyHistogram {
+
+  volatile AtomicIntegerArray counts;
+  volatile long max;
+
+  public void record(long value) {
+    AtomicIntegerArray counts = this.counts;
+    if (counts == null) {
+      counts = new AtomicIntegerArray(BUCKET_COUNT);
+      if (!COUNTS.compareAndSet(this, null, counts)) {
+        counts = this.counts;
+      }
+    }
+    counts.incrementAndGet(bucketIndex(value));
+    do {
+      final long max = this.max;
+      if (value <= max || MAX.compareAndSet(this, max, value)) {
+        break;
+      }
+    } while (true);
+  }
+
+  /**
+   * Adds the bucket counts of a {@code pulse} snapshot to this histogram.
+   */
+  public void add(HistogramPulse pulse) {
+    final int[] pulseCounts = pulse.counts();
+    if (pulseCounts != null && pulse.count() != 0L) {
+      AtomicIntegerArray counts = this.counts;
+      if (counts == null) {
+        counts = new AtomicIntegerArray(BUCKET_COUNT);
+        if (!COUNTS.compareAndSet(this, null, counts)) {
+          counts = this.counts;
+        }
+      }
+      for (int i = 0; i < BUCKET_COUNT; i += 1) {
+        final int count = pulseCounts[i];
+        if (count != 0) {
+          counts.addAndGet(i, count);
+        }
+      }
+      final long value = pulse.max();
+      do {
+        final long max = this.max;
+        if (value <= max || MAX.compareAndSet(this, max, value)) {
+          break;
+        }
+      } while (true);
+    }
+  }
+
+  /**
+   * Returns the distribution of values recorded since the previous snapshot,
+   * and resets the histogram.
+   */
+  public HistogramPulse snapshot() {
+    final AtomicIntegerArray counts = this.counts;
+    if (counts == null) {
+      return HistogramPulse.empty();
+    }
+    final int[] snapshot = new int[BUCKET_COUNT];
+    long total = 0L;
+    for (int i = 0; i < BUCKET_COUNT; i += 1) {
+      final int count = counts.getAndSet(i, 0);
+      snapshot[i] = count;
+      total += (long) count;
+    }
+    final long max = MAX.getAndSet(this, 0L);
+    if (total == 0L) {
+      // Idle interval; release the buckets.  A value racing with the release
+      // may be dropped, which only happens on the edge of an idle interval.
+      COUNTS.compareAndSet(this, counts, null);
+      return HistogramPulse.empty();
+    }
+    return new HistogramPulse(total, quantile(snapshot, total, max, 0.5),
+                              quantile(snapshot, total, max, 0.9),
+                              quantile(snapshot, total, max, 0.99),
+                              quantile(snapshot, total, max, 0.999),
+                              max, snapshot);
+  }
+
+  static long quantile(int[] counts, long total, long max, double q) {
+    final long rank = Math.max(1L, (long) Math.ceil(q * (double) total));
+    long sum = 0L;
+    for (int i = 0; i < BUCKET_COUNT; i += 1) {
+      sum += (long) counts[i];
+      if (sum >= rank) {
+        return Math.min(bucketValue(i), max);
+      }
+    }
+    return max;
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return value > 0L ? (int) value : 0;
+    } else if (value >= MAX_VALUE) {
+      return BUCKET_COUNT - 1;
+    } else {
+      final int exponent = 63 - Long.numberOfLeadingZeros(value);
+      final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+      return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+  }
+
+  /**
+   * Returns the largest value that maps to bucket {@code index}.
+   */
+  static long bucketValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return (long) index;
+    } else {
+      final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+      final long subBucket = (long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1)));
+      return ((subBucket + 1L) << shift) - 1L;
+    }
+  }
+
+  static final int SUB_BUCKET_BITS = 3;
+  static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  static final int MAX_EXPONENT = 36;
+  static final long MAX_VALUE = 1L << MAX_EXPONENT;
+
+  public static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS;
+
+  static final AtomicReferenceFieldUpdater<LatencyHistogram, AtomicIntegerArray> COUNTS =
+      AtomicReferenceFieldUpdater.newUpdater(LatencyHistogram.class, AtomicIntegerArray.class, "counts");
+  static final AtomicLongFieldUpdater<LatencyHistogram> MAX =
+      AtomicLongFieldUpdater.newUpdater(LatencyHistogram.class, "max");
+
+}
@@ -0,0 +1,61 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped metric accumulator for counters updated on hot paths.  Concurrent
+ * updates spread across {@code LongAdder} cells instead of contending a
+ * single field; the cells are only summed when a metric is reported.
+ *
+ * The running sum is never reset.  {@link #delta()} instead advances a
+ * reported mark to the current sum, so updates racing with a report are
+ * picked up by the next report rather than lost.
+ */
+public final class MetricAdder extends LongAdder {
+
+  private static final long serialVersionUID = 1L;
+
+  volatile long reported;
+
+  /**
+   * Returns the amount accumulated since the previous call to {@code delta()},
+   * and marks it as reported.
+   */
+  public long delta() {
+    final long sum = sum();
+    do {
+      final long oldReported = this.reported;
+      if (sum <= oldReported) {
+        return 0L;
+      } else if (REPORTED.compareAndSet(this, oldReported, sum)) {
+        return sum - oldReported;
+      }
+    } while (true);
+  }
+
+  /**
+   * Returns the total amount reported by {@link #delta()} so far.
+   */
+  public long count() {
+    return this.reported;
+  }
+
+  static final AtomicLongFieldUpdater<MetricAdder> REPORTED =
+      AtomicLongFieldUpdater.newUpdater(MetricAdder.class, "reported");
+
+}
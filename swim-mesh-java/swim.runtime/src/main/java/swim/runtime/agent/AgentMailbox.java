@@ -0,0 +1,169 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.agent;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import swim.runtime.LatencyHistogram;
+
+/**
+ * Bounded multi-producer, single-consumer command queue for an {@link
+ * AgentNode}.  Commands are enqueued into a fixed capacity ring, and run in
+ * the order in which producers claimed their slots.  {@link #offer(Runnable,
+ * int) offer} never blocks; it fails once the given number of commands are
+ * queued, leaving the caller to reject the command.  {@link #push(Runnable)
+ * push} never fails; commands that don't fit in the ring spill into an
+ * unbounded overflow queue, which is drained after the ring.
+ */
+final class AgentMailbox {
+
+  final AtomicReferenceArray<Runnable> slots;
+  final long[] times;
+  final int mask;
+  final LatencyHistogram waitTime;
+  final ConcurrentLinkedQueue<Overflow> overflow;
+
+  volatile long head;
+  volatile long tail;
+  volatile long drainCount;
+  volatile long latencySum;
+  volatile long latencyMax;
+  volatile int overflowSize;
+
+  AgentMailbox(int capacity) {
+    capacity = Math.max(2, Integer.highestOneBit(Math.max(2, capacity) - 1) << 1);
+    this.slots = new AtomicReferenceArray<Runnable>(capacity);
+    this.times = new long[capacity];
+    this.mask = capacity - 1;
+    this.waitTime = new LatencyHistogram();
+    this.overflow = new ConcurrentLinkedQueue<Overflow>();
+  }
+
+  int capacity() {
+    return this.mask + 1;
+  }
+
+  int size() {
+    return (int) (this.tail - this.head) + this.overflowSize;
+  }
+
+  boolean isEmpty() {
+    return this.head == this.tail && this.overflowSize == 0;
+  }
+
+  /**
+   * Enqueues {@code command}, unless {@code limit} or more commands, capped
+   * at the capacity of the ring, are already queued.  Returns {@code false}
+   * if the command was not enqueued.
+   */
+  boolean offer(Runnable command, int limit) {
+    final long maxSize = (long) Math.min(limit, this.mask + 1);
+    do {
+      final long tail = this.tail;
+      if (tail - this.head >= maxSize) {
+        return false;
+      } else if (TAIL.compareAndSet(this, tail, tail + 1L)) {
+        final int index = (int) tail & this.mask;
+        this.times[index] = System.nanoTime();
+        this.slots.lazySet(index, command);
+        return true;
+      }
+    } while (true);
+  }
+
+  /**
+   * Enqueues {@code command} in the ring if it has room, and otherwise in the
+   * overflow queue.  Once commands have spilled, subsequent commands follow
+   * them into the overflow queue until it drains.
+   */
+  void push(Runnable command) {
+    if (this.overflowSize != 0 || !offer(command, Integer.MAX_VALUE)) {
+      OVERFLOW_SIZE.incrementAndGet(this);
+      this.overflow.add(new Overflow(command, System.nanoTime()));
+    }
+  }
+
+  /**
+   * Dequeues the next command, or returns {@code null} if the mailbox is
+   * empty, or if the next command has been claimed but not yet published by
+   * its producer; producers cue the node after publishing, so the consumer
+   * will get another turn.  The overflow queue is only polled once the ring
+   * has nothing to run.
+   */
+  Runnable poll() {
+    final long head = this.head;
+    if (head != this.tail) {
+      final int index = (int) head & this.mask;
+      final Runnable command = this.slots.get(index);
+      if (command != null) {
+        final long time = this.times[index];
+        this.slots.lazySet(index, null);
+        HEAD.lazySet(this, head + 1L);
+        didDrain(time);
+        return command;
+      }
+    }
+    if (this.overflowSize != 0) {
+      final Overflow overflow = this.overflow.poll();
+      if (overflow != null) {
+        OVERFLOW_SIZE.decrementAndGet(this);
+        didDrain(overflow.time);
+        return overflow.command;
+      }
+    }
+    return null;
+  }
+
+  void didDrain(long time) {
+    final long latency = System.nanoTime() - time;
+    this.waitTime.record(latency);
+    DRAIN_COUNT.incrementAndGet(this);
+    LATENCY_SUM.addAndGet(this, latency);
+    do {
+      final long latencyMax = this.latencyMax;
+      if (latency <= latencyMax || LATENCY_MAX.compareAndSet(this, latencyMax, latency)) {
+        break;
+      }
+    } while (true);
+  }
+
+  static final class Overflow {
+
+    final Runnable command;
+    final long time;
+
+    Overflow(Runnable command, long time) {
+      this.command = command;
+      this.time = time;
+    }
+
+  }
+
+  static final AtomicLongFieldUpdater<AgentMailbox> HEAD =
+      AtomicLongFieldUpdater.newUpdater(AgentMailbox.class, "head");
+  static final AtomicLongFieldUpdater<AgentMailbox> TAIL =
+      AtomicLongFieldUpdater.newUpdater(AgentMailbox.class, "tail");
+  static final AtomicLongFieldUpdater<AgentMailbox> DRAIN_COUNT =
+      AtomicLongFieldUpdater.newUpdater(AgentMailbox.class, "drainCount");
+  static final AtomicLongFieldUpdater<AgentMailbox> LATENCY_SUM =
+      AtomicLongFieldUpdater.newUpdater(AgentMailbox.class, "latencySum");
+  static final AtomicLongFieldUpdater<AgentMailbox> LATENCY_MAX =
+      AtomicLongFieldUpdater.newUpdater(AgentMailbox.class, "latencyMax");
+  static final AtomicIntegerFieldUpdater<AgentMailbox> OVERFLOW_SIZE =
+      AtomicIntegerFieldUpdater.newUpdater(AgentMailbox.class, "overflowSize");
+
+}
@@ -15,6 +15,7 @@
 package swim.runtime.agent;
 
 import java.util.Iterator;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -32,6 +33,7 @@ import swim.collections.FingerTrieSeq;
 import swim.concurrent.Conts;
 import swim.runtime.LaneBinding;
 import swim.runtime.LaneModel;
+import swim.runtime.LatencyHistogram;
 import swim.runtime.Metric;
 import swim.runtime.NodeBinding;
 import swim.runtime.NodeContext;
@@ -41,7 +43,9 @@ import swim.runtime.profile.NodeProfile;
 import swim.runtime.profile.WarpDownlinkProfile;
 import swim.runtime.profile.WarpLaneProfile;
 import swim.runtime.reflect.AgentPulse;
+import swim.runtime.reflect.HistogramPulse;
 import swim.runtime.reflect.LaneInfo;
+import swim.runtime.reflect.LatencyPulse;
 import swim.runtime.reflect.LogEntry;
 import swim.runtime.reflect.NodePulse;
 import swim.runtime.reflect.WarpDownlinkPulse;
@@ -146,6 +150,8 @@ public class AgentModel extends AgentNode {
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
   volatile long lastReportTime;
+  final LatencyHistogram dispatchTime;
+  final LatencyHistogram deliveryTime;
   NodePulse pulse;
   AgentNode metaNode;
   DemandMapLane<Uri, LaneInfo> metaLanes;
@@ -159,6 +165,8 @@ public class AgentModel extends AgentNode {
 
   public AgentModel(Value props) {
     this.props = props.commit();
+    this.dispatchTime = new LatencyHistogram();
+    this.deliveryTime = new LatencyHistogram();
   }
 
   @Override
@@ -455,7 +463,9 @@ public class AgentModel extends AgentNode {
 
   @Override
   public void pushUp(Push<?> push) {
-    execute(new AgentModelPushUp(this, push));
+    if (!offerPush(new AgentModelPushUp(this, push))) {
+      push.trap(new RejectedExecutionException("mailbox full: " + nodeUri()));
+    }
   }
 
   @Override
@@ -684,6 +694,8 @@ public class AgentModel extends AgentNode {
     UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    this.dispatchTime.add(profile.dispatchTime());
+    this.deliveryTime.add(profile.deliveryTime());
     didUpdateMetrics();
   }
 
@@ -778,6 +790,19 @@ public class AgentModel extends AgentNode {
     final int uplinkCommandRate = UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
 
+    final AgentMailbox mailbox = this.mailbox;
+    final int mailboxSize = mailbox.size();
+    final long mailboxDrainDelta = AgentMailbox.DRAIN_COUNT.getAndSet(mailbox, 0L);
+    final long mailboxLatencySum = AgentMailbox.LATENCY_SUM.getAndSet(mailbox, 0L);
+    final long mailboxLatency = mailboxDrainDelta != 0L ? mailboxLatencySum / mailboxDrainDelta : 0L;
+    final long mailboxLatencyMax = AgentMailbox.LATENCY_MAX.getAndSet(mailbox, 0L);
+
+    final HistogramPulse execTime = this.execTime.snapshot();
+    final HistogramPulse mailboxTime = mailbox.waitTime.snapshot();
+    final HistogramPulse dispatchTime = this.dispatchTime.snapshot();
+    final HistogramPulse deliveryTime = this.deliveryTime.snapshot();
+    final LatencyPulse latency = new LatencyPulse(execTime, mailboxTime, dispatchTime, deliveryTime);
+
     final long agentCount = agentOpenCount - agentCloseCount;
     final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount);
     final long downlinkCount = downlinkOpenCount - downlinkCloseCount;
@@ -786,7 +811,7 @@ public class AgentModel extends AgentNode {
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
         uplinkCommandRate, uplinkCommandCount);
-    this.pulse = new NodePulse(agentPulse, downlinkPulse, uplinkPulse);
+    this.pulse = new NodePulse(agentPulse, downlinkPulse, uplinkPulse, latency);
     final DemandLane<NodePulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
       metaPulse.cue();
@@ -801,7 +826,9 @@ public class AgentModel extends AgentNode {
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        mailboxSize, mailboxDrainDelta, mailboxLatency, mailboxLatencyMax,
+        latency);
   }
 
 }
@@ -872,6 +899,7 @@ final class AgentModelPushUp implements Runnable {
       }
     } catch (Throwable error) {
       if (Conts.isNonFatal(error)) {
+        this.push.trap(error);
         this.node.didFail(error);
       } else {
         throw error;
@@ -15,7 +15,7 @@
 package swim.runtime.agent;
 
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.Downlink;
 import swim.api.Lane;
@@ -58,7 +58,9 @@ import swim.runtime.HostBinding;
 import swim.runtime.LaneAddress;
 import swim.runtime.LaneBinding;
 import swim.runtime.LaneContext;
+import swim.runtime.LaneModel;
 import swim.runtime.LaneView;
+import swim.runtime.LatencyHistogram;
 import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
 import swim.runtime.NodeAddress;
@@ -91,16 +93,30 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<AgentNode, HashTrieMap<Uri, LaneBinding>> LANES =
       AtomicReferenceFieldUpdater.newUpdater(AgentNode.class, (Class<HashTrieMap<Uri, LaneBinding>>) (Class<?>) HashTrieMap.class, "lanes");
-  final ConcurrentLinkedQueue<Runnable> mailbox;
+  static final AtomicIntegerFieldUpdater<AgentNode> TIMER_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(AgentNode.class, "timerCount");
+  static final AtomicIntegerFieldUpdater<AgentNode> DOWNLINK_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(AgentNode.class, "downlinkCount");
+  static final AtomicIntegerFieldUpdater<AgentNode> DISPATCH_STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(AgentNode.class, "dispatchStatus");
+  final AgentMailbox mailbox;
+  final LatencyHistogram execTime;
   final long createdTime;
   protected NodeContext nodeContext;
   protected TaskContext taskContext;
   volatile HashTrieMap<Uri, LaneBinding> lanes;
+  volatile long lastActiveTime;
+  volatile int timerCount;
+  volatile int downlinkCount;
+  volatile int dispatchStatus;
+  volatile boolean running;
 
   public AgentNode() {
     this.lanes = HashTrieMap.empty();
-    this.mailbox = new ConcurrentLinkedQueue<Runnable>();
+    this.mailbox = new AgentMailbox(MAILBOX_CAPACITY);
+    this.execTime = new LatencyHistogram();
     this.createdTime = System.currentTimeMillis();
+    this.lastActiveTime = this.createdTime;
   }
 
   protected static Uri normalizezLaneUri(Uri laneUri) {
@@ -473,6 +489,7 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
 
   @Override
   public void openUplink(LinkBinding link) {
+    this.lastActiveTime = System.currentTimeMillis();
     final Uri laneUri = normalizezLaneUri(link.laneUri());
     LaneBinding laneBinding = getLane(laneUri);
     if (laneBinding != null) {
@@ -493,6 +510,7 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
   public LinkBinding bindDownlink(Downlink downlink) {
     final LinkBinding link = this.nodeContext.bindDownlink(downlink);
     link.setCellContext(this);
+    DOWNLINK_COUNT.incrementAndGet(this);
     return link;
   }
 
@@ -500,11 +518,12 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
   public void openDownlink(LinkBinding link) {
     this.nodeContext.openDownlink(link);
     link.setCellContext(this);
+    DOWNLINK_COUNT.incrementAndGet(this);
   }
 
   @Override
   public void closeDownlink(LinkBinding link) {
-    // nop
+    DOWNLINK_COUNT.decrementAndGet(this);
   }
 
   @Override
@@ -681,10 +700,111 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
 
   @Override
   public void execute(Runnable command) {
-    this.mailbox.add(command);
+    this.mailbox.push(command);
     this.taskContext.cue();
   }
 
+  /**
+   * Enqueues a command on behalf of a pushing producer, leaving a quarter of
+   * the mailbox free for commands the agent enqueues internally.  Returns
+   * {@code false} if the mailbox is too full to admit the command, or if
+   * internal commands have already spilled into its overflow queue.
+   */
+  boolean offerPush(Runnable command) {
+    final AgentMailbox mailbox = this.mailbox;
+    final int capacity = mailbox.capacity();
+    if (mailbox.overflowSize == 0 && mailbox.offer(command, capacity - (capacity >>> 2))) {
+      this.taskContext.cue();
+      return true;
+    }
+    return false;
+  }
+
+  public long lastActiveTime() {
+    return this.lastActiveTime;
+  }
+
+  /**
+   * Returns {@code true} if this node has had no activity for at least
+   * {@code idleTimeout} milliseconds, and has no open uplinks or downlinks,
+   * no scheduled timers, and no queued or running commands.
+   */
+  public boolean isIdle(long now, long idleTimeout) {
+    if (this.running || !this.mailbox.isEmpty() || this.timerCount != 0 || this.downlinkCount > 0
+        || now - this.lastActiveTime < idleTimeout) {
+      return false;
+    }
+    final Iterator<LaneBinding> lanesIterator = this.lanes.valueIterator();
+    while (lanesIterator.hasNext()) {
+      if (!lanesIterator.next().uplinks().isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if this node can be closed and reopened without
+   * losing the state of its lanes: its store is persistent, and none of its
+   * lanes are transient.
+   */
+  public boolean isPersistent() {
+    final StoreBinding store = store();
+    if (store == null || !store.isPersistent()) {
+      return false;
+    }
+    final Iterator<LaneBinding> lanesIterator = this.lanes.valueIterator();
+    while (lanesIterator.hasNext()) {
+      final LaneModel<?, ?> laneModel = lanesIterator.next().bottomLane(LaneModel.class);
+      if (laneModel != null && laneModel.isTransient()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Registers an uplink or push being routed to this node; returns {@code
+   * false}, without registering anything, if the node has been passivated.
+   * Every successful call must be balanced by a call to {@link
+   * #didDispatch()}.
+   */
+  public boolean willDispatch() {
+    do {
+      final int oldStatus = this.dispatchStatus;
+      if ((oldStatus & PASSIVATED) != 0) {
+        return false;
+      } else if (DISPATCH_STATUS.compareAndSet(this, oldStatus, oldStatus + 1)) {
+        return true;
+      }
+    } while (true);
+  }
+
+  public void didDispatch() {
+    DISPATCH_STATUS.decrementAndGet(this);
+  }
+
+  /**
+   * Marks this node as passivated, provided no uplinks or pushes are being
+   * routed to it; returns {@code false} if any are.  Once marked, {@link
+   * #willDispatch()} fails until {@link #didNotPassivate()} is called.
+   */
+  public boolean willPassivate() {
+    return DISPATCH_STATUS.compareAndSet(this, 0, PASSIVATED);
+  }
+
+  public void didNotPassivate() {
+    DISPATCH_STATUS.compareAndSet(this, PASSIVATED, 0);
+  }
+
+  void didScheduleTimer() {
+    TIMER_COUNT.incrementAndGet(this);
+  }
+
+  void didUnscheduleTimer() {
+    TIMER_COUNT.decrementAndGet(this);
+  }
+
   @Override
   public boolean taskWillBlock() {
     return false;
@@ -692,9 +812,21 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
 
   @Override
   public void runTask() {
+    this.running = true;
+    this.lastActiveTime = System.currentTimeMillis();
+    final long t0 = System.nanoTime();
+    int budget = MAILBOX_BUDGET;
     do {
+      if (budget <= 0) {
+        if (!this.mailbox.isEmpty()) {
+          // Yield to other agents; the task will be re-run once rescheduled.
+          this.taskContext.cue();
+        }
+        break;
+      }
       final Runnable command = this.mailbox.poll();
       if (command != null) {
+        budget -= 1;
         try {
           command.run();
         } catch (Throwable error) {
@@ -708,6 +840,11 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
         break;
       }
     } while (true);
+    if (budget < MAILBOX_BUDGET) {
+      this.execTime.record(System.nanoTime() - t0);
+    }
+    this.lastActiveTime = System.currentTimeMillis();
+    this.running = false;
   }
 
   @Override
@@ -720,4 +857,27 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
     // nop
   }
 
+  static final int PASSIVATED = 1 << 30;
+
+  static final int MAILBOX_CAPACITY;
+  static final int MAILBOX_BUDGET;
+
+  static {
+    int mailboxCapacity;
+    try {
+      mailboxCapacity = Integer.parseInt(System.getProperty("swim.agent.mailbox.capacity"));
+    } catch (NumberFormatException e) {
+      mailboxCapacity = 1024;
+    }
+    MAILBOX_CAPACITY = mailboxCapacity;
+
+    int mailboxBudget;
+    try {
+      mailboxBudget = Integer.parseInt(System.getProperty("swim.agent.mailbox.budget"));
+    } catch (NumberFormatException e) {
+      mailboxBudget = 256;
+    }
+    MAILBOX_BUDGET = Math.max(1, mailboxBudget);
+  }
+
 }
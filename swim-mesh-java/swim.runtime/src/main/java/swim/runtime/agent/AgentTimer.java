@@ -14,6 +14,7 @@
 
 package swim.runtime.agent;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import swim.concurrent.Conts;
 import swim.concurrent.Schedule;
 import swim.concurrent.Timer;
@@ -26,6 +27,7 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
   protected final AgentNode node;
   protected final TimerFunction timer;
   protected TimerContext timerContext;
+  volatile int scheduled;
 
   public AgentTimer(AgentNode node, TimerFunction timer) {
     this.node = node;
@@ -48,10 +50,16 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
   @Override
   public void runTimer() {
     this.node.execute(this);
+    if (SCHEDULED.compareAndSet(this, 1, 0)) {
+      this.node.didUnscheduleTimer();
+    }
   }
 
   @Override
   public void timerWillSchedule(long millis) {
+    if (SCHEDULED.compareAndSet(this, 0, 1)) {
+      this.node.didScheduleTimer();
+    }
     if (this.timer instanceof Timer) {
       ((Timer) this.timer).timerWillSchedule(millis);
     }
@@ -59,6 +67,9 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
 
   @Override
   public void timerDidCancel() {
+    if (SCHEDULED.compareAndSet(this, 1, 0)) {
+      this.node.didUnscheduleTimer();
+    }
     if (this.timer instanceof Timer) {
       ((Timer) this.timer).timerDidCancel();
     }
@@ -103,4 +114,7 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
     }
   }
 
+  static final AtomicIntegerFieldUpdater<AgentTimer> SCHEDULED =
+      AtomicIntegerFieldUpdater.newUpdater(AgentTimer.class, "scheduled");
+
 }
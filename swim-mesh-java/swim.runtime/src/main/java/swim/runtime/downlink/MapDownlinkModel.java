@@ -35,12 +35,15 @@ import swim.util.Cursor;
 import swim.util.OrderedMap;
 import swim.util.OrderedMapCursor;
 import swim.warp.EventMessage;
+import swim.warp.SyncRequest;
+import swim.warp.SyncedResponse;
 
 public class MapDownlinkModel extends MapDownlinkModem<MapDownlinkView<?, ?>> {
 
   protected static final int STATEFUL = 1 << 0;
   protected final BTreeMap<Value, Value, Value> state;
   protected int flags;
+  volatile long syncVersion;
 
   public MapDownlinkModel(Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri,
                           float prio, float rate, Value body) {
@@ -111,6 +114,32 @@ public class MapDownlinkModel extends MapDownlinkModem<MapDownlinkView<?, ?>> {
     }
   }
 
+  @Override
+  protected SyncRequest syncRequest() {
+    final long syncVersion = this.syncVersion;
+    if (syncVersion != 0L && isStateful()) {
+      // Resume from the last synced version, so that the lane only resends
+      // the keys that changed since then. The version only advances when the
+      // downlink syncs, so if the lane changed more than its history size
+      // while this link stayed up, the lane falls back to a full sync.
+      final Value body = this.body;
+      final Record version = Record.create(1).slot("version", syncVersion);
+      return new SyncRequest(this.nodeUri, this.laneUri, this.prio, this.rate,
+                             body.isDefined() ? body.concat(version) : version);
+    } else {
+      return super.syncRequest();
+    }
+  }
+
+  @Override
+  protected void didSync(SyncedResponse response) {
+    final Value version = response.body().get("version");
+    if (version.isDefined()) {
+      this.syncVersion = version.longValue();
+    }
+    super.didSync(response);
+  }
+
   @Override
   protected void didAddDownlink(MapDownlinkView<?, ?> view) {
     super.didAddDownlink(view);
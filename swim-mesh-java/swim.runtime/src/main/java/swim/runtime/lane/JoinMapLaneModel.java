@@ -232,6 +232,7 @@ public class JoinMapLaneModel extends WarpLaneModel<JoinMapLaneView<?, ?, ?>, Jo
     return this;
   }
 
+  @Override
   public final boolean isTransient() {
     return (this.flags & TRANSIENT) != 0;
   }
@@ -233,6 +233,7 @@ public class JoinValueLaneModel extends WarpLaneModel<JoinValueLaneView<?, ?>, J
     return this;
   }
 
+  @Override
   public final boolean isTransient() {
     return (this.flags & TRANSIENT) != 0;
   }
@@ -32,6 +32,7 @@ import swim.runtime.warp.ListLinkDelta;
 import swim.runtime.warp.WarpLaneModel;
 import swim.structure.Form;
 import swim.structure.Value;
+import swim.util.Cursor;
 import swim.warp.CommandMessage;
 
 public class ListLaneModel extends WarpLaneModel<ListLaneView<?>, ListLaneUplink> {
@@ -168,6 +169,7 @@ public class ListLaneModel extends WarpLaneModel<ListLaneView<?>, ListLaneUplink
     return this;
   }
 
+  @Override
   public final boolean isTransient() {
     return (this.flags & TRANSIENT) != 0;
   }
@@ -287,10 +289,29 @@ public class ListLaneModel extends WarpLaneModel<ListLaneView<?>, ListLaneUplink
     relay.run();
   }
 
+  public int size() {
+    return this.data.size();
+  }
+
   public ListIterator<Map.Entry<Object, Value>> iterator() {
     return this.data.entryIterator();
   }
 
+  @SuppressWarnings("unchecked")
+  public ListIterator<Map.Entry<Object, Value>> iterator(int index) {
+    final ListIterator<Map.Entry<Object, Value>> entries = this.data.entryIterator();
+    if (entries instanceof Cursor<?>) {
+      // Tree-backed lists skip whole subtrees.
+      ((Cursor<Map.Entry<Object, Value>>) entries).skip((long) index);
+    } else {
+      while (index > 0 && entries.hasNext()) {
+        entries.next();
+        index -= 1;
+      }
+    }
+    return entries;
+  }
+
   protected void openStore() {
     this.data = this.laneContext.store().listData(laneUri().toString())
         .isTransient(isTransient())
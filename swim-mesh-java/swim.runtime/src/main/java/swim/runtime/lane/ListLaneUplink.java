@@ -46,9 +46,21 @@ public class ListLaneUplink extends ListUplinkModem {
 
   @Override
   protected void willSync(SyncRequest request) {
-    final Iterator<Map.Entry<Object, Value>> items = this.laneBinding.iterator();
-    int index = 0;
-    while (items.hasNext()) {
+    final Value body = request.body();
+    final int size = this.laneBinding.size();
+    int start = Math.min(Math.max(0, body.get("from").intValue(0)), size);
+    int end = Math.min(Math.max(start, body.get("to").intValue(size)), size);
+    final int limit = body.get("limit").intValue(0);
+    if (limit > 0 && end - start > limit) {
+      if ("desc".equals(body.get("direction").stringValue(null))) {
+        start = end - limit;
+      } else {
+        end = start + limit;
+      }
+    }
+    final Iterator<Map.Entry<Object, Value>> items = this.laneBinding.iterator(start);
+    int index = start;
+    while (index < end && items.hasNext()) {
       final Map.Entry<Object, Value> item = items.next();
       queueDown(ListLinkDelta.update(index, Value.fromObject(item.getKey()), item.getValue()));
       index += 1;
@@ -16,10 +16,12 @@ package swim.runtime.lane;
 
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import swim.api.LaneException;
 import swim.api.Link;
 import swim.api.data.MapData;
 import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieSet;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.concurrent.Stage;
@@ -28,9 +30,11 @@ import swim.runtime.LaneView;
 import swim.runtime.Push;
 import swim.runtime.WarpBinding;
 import swim.runtime.warp.WarpLaneModel;
+import swim.structure.Attr;
 import swim.structure.Form;
 import swim.structure.Record;
 import swim.structure.Value;
+import swim.util.Cursor;
 import swim.warp.CommandMessage;
 
 public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink> {
@@ -40,9 +44,13 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
   static final int SIGNED = 1 << 2;
   protected int flags;
   protected MapData<Value, Value> data;
+  final MapLaneHistory history;
+  final AtomicReferenceArray<MapLaneUpdate> updates;
 
   MapLaneModel(int flags) {
     this.flags = flags;
+    this.history = new MapLaneHistory(HISTORY_SIZE);
+    this.updates = new AtomicReferenceArray<MapLaneUpdate>(UPDATE_CACHE_SIZE);
   }
 
   public MapLaneModel() {
@@ -59,6 +67,33 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     return new MapLaneUplink(this, link, createUplinkAddress(link));
   }
 
+  /**
+   * Returns the committed {@code @update} event body for {@code key} and its
+   * current {@code value}.  Uplinks that pull the same change share one body
+   * instance, so that its encoding can be cached across their links.
+   */
+  protected Value updateBody(Value key, Value value) {
+    final int index = key.hashCode() & (UPDATE_CACHE_SIZE - 1);
+    final MapLaneUpdate oldUpdate = this.updates.get(index);
+    if (oldUpdate != null && oldUpdate.value == value && oldUpdate.key.equals(key)) {
+      return oldUpdate.body;
+    }
+    final Value body = Attr.of("update", Record.create(1).slot("key", key)).concat(value).commit();
+    this.updates.set(index, new MapLaneUpdate(key, value, body));
+    return body;
+  }
+
+  protected void sendDownRemove(Value key) {
+    final Value body = Record.create(1).attr("remove", Record.create(1).slot("key", key)).commit();
+    FingerTrieSeq<MapLaneUplink> uplinks;
+    do {
+      uplinks = this.uplinks;
+      for (int i = 0, n = uplinks.size(); i < n; i += 1) {
+        uplinks.get(i).sendDownRemove(key, body);
+      }
+    } while (uplinks != this.uplinks);
+  }
+
   @Override
   protected void didOpenLaneView(MapLaneView<?, ?> view) {
     view.setLaneBinding(this);
@@ -128,6 +163,7 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     return this;
   }
 
+  @Override
   public final boolean isTransient() {
     return (this.flags & TRANSIENT) != 0;
   }
@@ -153,6 +189,14 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     return this;
   }
 
+  public int size() {
+    return this.data.size();
+  }
+
+  public int indexOf(Value key) {
+    return this.data.indexOf(key);
+  }
+
   public Value get(Value key) {
     if (key != null) {
       return this.data.get(key);
@@ -227,10 +271,24 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     return this.data.keyIterator();
   }
 
+  public Cursor<Value> keyIterator(int index) {
+    final Cursor<Value> keys = this.data.keyIterator();
+    keys.skip((long) index);
+    return keys;
+  }
+
   public Iterator<Value> valueIterator() {
     return this.data.valueIterator();
   }
 
+  public long version() {
+    return this.history.version();
+  }
+
+  public HashTrieSet<Value> keysSince(long version) {
+    return this.history.keysSince(version);
+  }
+
   protected void openStore() {
     this.data = this.laneContext.store().mapData(laneUri().toString())
         .isTransient(isTransient())
@@ -243,6 +301,99 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     super.willLoad();
   }
 
+  static final int UPDATE_CACHE_SIZE = 64;
+
+  static final int HISTORY_SIZE;
+
+  static {
+    int historySize;
+    try {
+      historySize = Integer.parseInt(System.getProperty("swim.lane.map.history.size"));
+    } catch (NumberFormatException e) {
+      historySize = 1024;
+    }
+    HISTORY_SIZE = historySize > 1 ? Integer.highestOneBit(historySize - 1) << 1 : Math.max(0, historySize);
+  }
+
+}
+
+final class MapLaneUpdate {
+
+  final Value key;
+  final Value value;
+  final Value body;
+
+  MapLaneUpdate(Value key, Value value, Value body) {
+    this.key = key;
+    this.value = value;
+    this.body = body;
+  }
+
+}
+
+/**
+ * Ring of the most recently changed keys, indexed by version.  The ring is
+ * only allocated once a sync has handed out a version to resume from; until
+ * then, every change moves the floor, and a versioned sync falls back to a
+ * full sync.  Downlinks only advance their sync version when they sync, so a
+ * link that stays up through more than {@code capacity} changes also falls
+ * back to a full sync when it reconnects.
+ */
+final class MapLaneHistory {
+
+  final int capacity;
+  Value[] keys;
+  long version;
+  long floor;
+
+  MapLaneHistory(int capacity) {
+    this.capacity = capacity;
+    // Start from the wall clock so that versions handed out by a previous
+    // instance of the lane always fall below the floor.
+    this.version = System.currentTimeMillis() << 20;
+    this.floor = this.version;
+  }
+
+  /**
+   * Returns the current version, and starts recording changed keys so that
+   * a later sync can resume from it.
+   */
+  synchronized long version() {
+    if (this.keys == null && this.capacity != 0) {
+      this.keys = new Value[this.capacity];
+    }
+    return this.version;
+  }
+
+  synchronized void didChange(Value key) {
+    final long version = this.version + 1L;
+    this.version = version;
+    final Value[] keys = this.keys;
+    if (keys != null) {
+      keys[(int) version & (keys.length - 1)] = key;
+      this.floor = Math.max(this.floor, version - (long) keys.length);
+    } else {
+      this.floor = version;
+    }
+  }
+
+  synchronized void truncate() {
+    this.version += 1L;
+    this.floor = this.version;
+  }
+
+  synchronized HashTrieSet<Value> keysSince(long since) {
+    final Value[] keys = this.keys;
+    if (since < this.floor || since > this.version) {
+      return null;
+    }
+    HashTrieSet<Value> changedKeys = HashTrieSet.empty();
+    for (long version = since + 1L; version <= this.version; version += 1L) {
+      changedKeys = changedKeys.added(keys[(int) version & (keys.length - 1)]);
+    }
+    return changedKeys;
+  }
+
 }
 
 final class MapLaneRelayUpdate extends LaneRelay<MapLaneModel, MapLaneView<?, ?>> {
@@ -290,6 +441,7 @@ final class MapLaneRelayUpdate extends LaneRelay<MapLaneModel, MapLaneView<?, ?>
   protected void beginPhase(int phase) {
     if (phase == 2) {
       this.oldValue = this.model.data.put(this.key, this.newValue);
+      this.model.history.didChange(this.key);
       if (this.valueForm != null) {
         this.oldObject = this.valueForm.cast(this.oldValue);
         if (this.oldObject == null) {
@@ -427,6 +579,7 @@ final class MapLaneRelayRemove extends LaneRelay<MapLaneModel, MapLaneView<?, ?>
   protected void beginPhase(int phase) {
     if (phase == 2) {
       this.oldValue = this.model.data.remove(this.key);
+      this.model.history.didChange(this.key);
       if (this.valueForm != null) {
         this.oldObject = this.valueForm.cast(this.oldValue);
         if (this.oldObject == null) {
@@ -501,7 +654,7 @@ final class MapLaneRelayRemove extends LaneRelay<MapLaneModel, MapLaneView<?, ?>
   @Override
   protected void done() {
     if (this.oldValue.isDefined()) {
-      this.model.sendDown(Record.create(1).attr("remove", Record.create(1).slot("key", this.key)));
+      this.model.sendDownRemove(this.key);
     }
     if (this.cont != null) {
       try {
@@ -553,6 +706,7 @@ final class MapLaneRelayDrop extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
   protected void beginPhase(int phase) {
     if (phase == 2) {
       this.model.data.drop(this.lower);
+      this.model.history.truncate();
     }
   }
 
@@ -585,7 +739,7 @@ final class MapLaneRelayDrop extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
 
   @Override
   protected void done() {
-    this.model.sendDown(Record.create(1).attr("drop", this.lower));
+    this.model.sendDown(Record.create(1).attr("drop", this.lower).commit());
     if (this.cont != null) {
       try {
         this.cont.bind(this.message);
@@ -636,6 +790,7 @@ final class MapLaneRelayTake extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
   protected void beginPhase(int phase) {
     if (phase == 2) {
       this.model.data.take(this.upper);
+      this.model.history.truncate();
     }
   }
 
@@ -668,7 +823,7 @@ final class MapLaneRelayTake extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
 
   @Override
   protected void done() {
-    this.model.sendDown(Record.create(1).attr("take", this.upper));
+    this.model.sendDown(Record.create(1).attr("take", this.upper).commit());
     if (this.cont != null) {
       try {
         this.cont.bind(this.message);
@@ -715,6 +870,7 @@ final class MapLaneRelayClear extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
   protected void beginPhase(int phase) {
     if (phase == 2) {
       this.model.data.clear();
+      this.model.history.truncate();
     }
   }
 
@@ -747,7 +903,7 @@ final class MapLaneRelayClear extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
 
   @Override
   protected void done() {
-    this.model.sendDown(Record.create(1).attr("clear"));
+    this.model.sendDown(Record.create(1).attr("clear").commit());
     if (this.cont != null) {
       try {
         this.cont.bind(this.message);
@@ -14,18 +14,27 @@
 
 package swim.runtime.lane;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import swim.collections.HashTrieSet;
 import swim.concurrent.Stage;
 import swim.runtime.UplinkAddress;
 import swim.runtime.WarpBinding;
 import swim.runtime.warp.MapUplinkModem;
-import swim.structure.Attr;
 import swim.structure.Record;
 import swim.structure.Value;
+import swim.util.Cursor;
+import swim.warp.LinkRequest;
 import swim.warp.SyncRequest;
+import swim.warp.SyncedResponse;
 
 public class MapLaneUplink extends MapUplinkModem {
 
   final MapLaneModel laneBinding;
+  volatile long syncVersion;
+  volatile Value fromKey;
+  volatile Value toKey;
 
   public MapLaneUplink(MapLaneModel laneBinding, WarpBinding linkBinding,
                        UplinkAddress uplinkAddress) {
@@ -43,20 +52,165 @@ public class MapLaneUplink extends MapUplinkModem {
     return this.laneBinding.stage();
   }
 
+  boolean isInWindow(Value key) {
+    final Value fromKey = this.fromKey;
+    final Value toKey = this.toKey;
+    return (fromKey == null || key.compareTo(fromKey) >= 0) && (toKey == null || key.compareTo(toKey) < 0);
+  }
+
+  @Override
+  public void cueDownKey(Value key) {
+    if (isInWindow(key)) {
+      super.cueDownKey(key);
+    }
+  }
+
+  public void sendDownRemove(Value key, Value body) {
+    if (isInWindow(key)) {
+      sendDown(body);
+    }
+  }
+
   @Override
   protected Value nextDownKey(Value key) {
     final Value value = this.laneBinding.get(key);
     if (value != null) {
-      return Attr.of("update", Record.create(1).slot("key", key)).concat(value);
+      return this.laneBinding.updateBody(key, value);
     } else {
       return null;
     }
   }
 
+  @Override
+  protected void willLink(LinkRequest request) {
+    final Value body = request.body();
+    final Value from = body.get("from");
+    final Value to = body.get("to");
+    this.fromKey = from.isDefined() ? from : null;
+    this.toKey = to.isDefined() ? to : null;
+    super.willLink(request);
+  }
+
   @Override
   protected void willSync(SyncRequest request) {
-    syncDown(this.laneBinding.keyIterator());
+    // Capture the version before collecting changes, so that any change made
+    // concurrently with this sync is replayed by the next delta sync.
+    this.syncVersion = this.laneBinding.version();
+    final Value body = request.body();
+    final Value from = body.get("from");
+    final Value to = body.get("to");
+    final int limit = body.get("limit").intValue(0);
+    if (from.isDefined() || to.isDefined() || limit > 0) {
+      // A windowed sync is bounded by the window, so it always resends the
+      // whole window instead of a delta.
+      syncWindow(from.isDefined() ? from : null, to.isDefined() ? to : null,
+                 limit, "desc".equals(body.get("direction").stringValue(null)));
+    } else {
+      this.fromKey = null;
+      this.toKey = null;
+      final Value sinceVersion = body.get("version");
+      HashTrieSet<Value> keys = sinceVersion.isDefined() ? this.laneBinding.keysSince(sinceVersion.longValue()) : null;
+      if (keys != null) {
+        final ArrayList<Value> removes = new ArrayList<Value>();
+        final Iterator<Value> changedKeys = keys.iterator();
+        while (changedKeys.hasNext()) {
+          final Value key = changedKeys.next();
+          final Value value = this.laneBinding.get(key);
+          if (value == null || !value.isDefined()) {
+            keys = keys.removed(key);
+            removes.add(Record.create(1).attr("remove", Record.create(1).slot("key", key)));
+          }
+        }
+        syncDown(removes.iterator(), keys.iterator());
+      } else {
+        syncDown(this.laneBinding.keyIterator());
+      }
+    }
     super.willSync(request);
   }
 
+  void syncWindow(Value fromKey, Value toKey, int limit, boolean descending) {
+    final MapLaneModel laneBinding = this.laneBinding;
+    int start = fromKey != null ? laneBinding.indexOf(fromKey) : 0;
+    if (start < 0) {
+      start = -(start + 1);
+    }
+    int end = toKey != null ? laneBinding.indexOf(toKey) : laneBinding.size();
+    if (end < 0) {
+      end = -(end + 1);
+    }
+    end = Math.max(start, end);
+    final boolean truncated = limit > 0 && end - start > limit;
+    if (truncated) {
+      if (descending) {
+        start = end - limit;
+      } else {
+        end = start + limit;
+      }
+    }
+    final Cursor<Value> keys = laneBinding.keyIterator(start);
+    if (truncated && descending) {
+      // Buffer the window, which is bounded by the limit, to stream it from
+      // its last key down.
+      final Value[] window = new Value[end - start];
+      int n = 0;
+      while (n < window.length && keys.hasNext()) {
+        n += 1;
+        window[window.length - n] = keys.next();
+      }
+      if (n > 0) {
+        // Updates to keys below the lowest synced key fall outside the window.
+        fromKey = window[window.length - 1];
+      }
+      this.fromKey = fromKey;
+      this.toKey = toKey;
+      syncDown(Cursor.<Value>array(window, window.length - n, window.length));
+    } else {
+      // An untruncated window holds the whole range, so it streams in key
+      // order in either direction.
+      if (truncated) {
+        // Updates to keys from the first key past the limit fall outside the
+        // window.
+        final Cursor<Value> boundary = laneBinding.keyIterator(end);
+        if (boundary.hasNext()) {
+          toKey = boundary.next();
+        }
+      }
+      this.fromKey = fromKey;
+      this.toKey = toKey;
+      syncDown(new MapLaneUplinkWindowIterator(keys, end - start));
+    }
+  }
+
+  @Override
+  protected SyncedResponse syncedResponse() {
+    return new SyncedResponse(nodeUri(), laneUri(), Record.create(1).slot("version", this.syncVersion));
+  }
+
+}
+
+final class MapLaneUplinkWindowIterator implements Iterator<Value> {
+
+  final Iterator<Value> keys;
+  int remaining;
+
+  MapLaneUplinkWindowIterator(Iterator<Value> keys, int remaining) {
+    this.keys = keys;
+    this.remaining = remaining;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return this.remaining > 0 && this.keys.hasNext();
+  }
+
+  @Override
+  public Value next() {
+    if (this.remaining <= 0) {
+      throw new NoSuchElementException();
+    }
+    this.remaining -= 1;
+    return this.keys.next();
+  }
+
 }
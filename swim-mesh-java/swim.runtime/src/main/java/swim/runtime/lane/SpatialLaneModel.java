@@ -107,6 +107,41 @@ public class SpatialLaneModel<S> extends WarpLaneModel<SpatialLaneView<?, S, ?>,
     } while (uplinks != this.uplinks);
   }
 
+  protected void cueDownKey(Value key, S shape) {
+    FingerTrieSeq<SpatialLaneUplink<S>> uplinks;
+    do {
+      uplinks = this.uplinks;
+      for (int i = 0, n = uplinks.size(); i < n; i += 1) {
+        uplinks.get(i).cueDownKey(key, shape);
+      }
+    } while (uplinks != this.uplinks);
+  }
+
+  protected void sendDownMove(Value key, S oldShape, S newShape) {
+    final Record header = Record.create(3).slot("key", key).slot("from", this.shapeForm.mold(oldShape).toValue())
+        .slot("to", this.shapeForm.mold(newShape).toValue());
+    final Value body = Record.create(1).attr("move", header);
+    FingerTrieSeq<SpatialLaneUplink<S>> uplinks;
+    do {
+      uplinks = this.uplinks;
+      for (int i = 0, n = uplinks.size(); i < n; i += 1) {
+        uplinks.get(i).sendDownMove(key, oldShape, newShape, body);
+      }
+    } while (uplinks != this.uplinks);
+  }
+
+  protected void sendDownRemove(Value key, S shape) {
+    final Record header = Record.create(2).slot("key", key).slot("shape", this.shapeForm.mold(shape).toValue());
+    final Value body = Record.create(1).attr("remove", header);
+    FingerTrieSeq<SpatialLaneUplink<S>> uplinks;
+    do {
+      uplinks = this.uplinks;
+      for (int i = 0, n = uplinks.size(); i < n; i += 1) {
+        uplinks.get(i).sendDownRemove(key, shape, body);
+      }
+    } while (uplinks != this.uplinks);
+  }
+
   @Override
   protected void didOpenLaneView(SpatialLaneView<?, S, ?> view) {
     view.setLaneBinding(this);
@@ -137,6 +172,7 @@ public class SpatialLaneModel<S> extends WarpLaneModel<SpatialLaneView<?, S, ?>,
     return this;
   }
 
+  @Override
   public final boolean isTransient() {
     return (this.flags & TRANSIENT) != 0;
   }
@@ -323,6 +359,9 @@ final class SpatialLaneRelayUpdate<S> extends LaneRelay<SpatialLaneModel<S>, Spa
   protected void beginPhase(int phase) {
     if (phase == 2) {
       this.oldValue = model.data.put(key, shapeObject, newValue);
+      if (this.oldValue == null) {
+        this.oldValue = Value.absent();
+      }
       if (this.valueForm != null) {
         this.oldObject = this.valueForm.cast(this.oldValue);
         if (this.oldObject == null) {
@@ -409,7 +448,7 @@ final class SpatialLaneRelayUpdate<S> extends LaneRelay<SpatialLaneModel<S>, Spa
 
   @Override
   protected void done() {
-    this.model.cueDownKey(this.key);
+    this.model.cueDownKey(this.key, this.shapeObject);
     if (this.cont != null) {
       try {
         this.cont.bind(this.message);
@@ -482,6 +521,9 @@ final class SpatialLaneRelayMove<S> extends LaneRelay<SpatialLaneModel<S>, Spati
   protected void beginPhase(int phase) {
     if (phase == 2) {
       this.oldValue = model.data.move(key, oldShapeObject, newShapeObject, newValue);
+      if (this.oldValue == null) {
+        this.oldValue = Value.absent();
+      }
       if (this.valueForm != null) {
         this.oldObject = this.valueForm.cast(this.oldValue);
         if (this.oldObject == null) {
@@ -569,9 +611,7 @@ final class SpatialLaneRelayMove<S> extends LaneRelay<SpatialLaneModel<S>, Spati
 
   @Override
   protected void done() {
-    final Record header = Record.create(3).slot("key", key).slot("from", shapeForm.mold(this.oldShapeObject).toValue())
-        .slot("to", shapeForm.mold(this.newShapeObject).toValue());
-    this.model.sendDown(Record.create(1).attr("move", header));
+    this.model.sendDownMove(this.key, this.oldShapeObject, this.newShapeObject);
     if (this.cont != null) {
       try {
         this.cont.bind(this.message);
@@ -632,6 +672,9 @@ final class SpatialLaneRelayRemove<S> extends LaneRelay<SpatialLaneModel<S>, Spa
   protected void beginPhase(int phase) {
     if (phase == 2) {
       this.oldValue = model.data.remove(key, shapeObject);
+      if (this.oldValue == null) {
+        this.oldValue = Value.absent();
+      }
       if (this.valueForm != null) {
         this.oldObject = this.valueForm.cast(this.oldValue);
         if (this.oldObject == null) {
@@ -705,8 +748,7 @@ final class SpatialLaneRelayRemove<S> extends LaneRelay<SpatialLaneModel<S>, Spa
 
   @Override
   protected void done() {
-    final Record header = Record.create(2).slot("key", key).slot("shape", shapeForm.mold(this.shapeObject).toValue());
-    this.model.sendDown(Record.create(1).attr("move", header));
+    this.model.sendDownRemove(this.key, this.shapeObject);
     if (this.cont != null) {
       try {
         this.cont.bind(this.message);
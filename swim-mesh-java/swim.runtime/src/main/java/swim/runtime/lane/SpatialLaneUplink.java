@@ -14,23 +14,52 @@
 
 package swim.runtime.lane;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import swim.collections.HashTrieMap;
 import swim.concurrent.Stage;
+import swim.math.Z2Form;
 import swim.runtime.UplinkAddress;
 import swim.runtime.WarpBinding;
 import swim.runtime.warp.MapUplinkModem;
+import swim.spatial.SpatialMap;
 import swim.structure.Attr;
 import swim.structure.Record;
 import swim.structure.Value;
+import swim.warp.LinkRequest;
 import swim.warp.SyncRequest;
 
+/**
+ * Uplink to a spatial lane, optionally filtered by a viewport shape carried
+ * in the body of its link or sync request.  A filtered uplink tracks the
+ * keys it has sent downlink, together with their last sent shapes.  An entry
+ * whose shape leaves the viewport, by a move or by an update, is sent as a
+ * {@code @remove(key:, shape:)} event with the shape the downlink last saw;
+ * an entry that enters the viewport is sent as an {@code @update} event.
+ */
 public class SpatialLaneUplink<S> extends MapUplinkModem {
 
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<SpatialLaneUplink<?>, HashTrieMap<Value, ?>> CUED_SHAPES =
+      AtomicReferenceFieldUpdater.newUpdater((Class<SpatialLaneUplink<?>>) (Class<?>) SpatialLaneUplink.class, (Class<HashTrieMap<Value, ?>>) (Class<?>) HashTrieMap.class, "cuedShapes");
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<SpatialLaneUplink<?>, HashTrieMap<Value, ?>> SENT_SHAPES =
+      AtomicReferenceFieldUpdater.newUpdater((Class<SpatialLaneUplink<?>>) (Class<?>) SpatialLaneUplink.class, (Class<HashTrieMap<Value, ?>>) (Class<?>) HashTrieMap.class, "sentShapes");
   final SpatialLaneModel<S> laneBinding;
+  volatile S viewport;
+  volatile boolean synced;
+  volatile HashTrieMap<Value, S> cuedShapes;
+  volatile HashTrieMap<Value, S> sentShapes;
 
   public SpatialLaneUplink(SpatialLaneModel<S> laneBinding, WarpBinding linkBinding,
                            UplinkAddress uplinkAddress) {
     super(linkBinding, uplinkAddress);
     this.laneBinding = laneBinding;
+    this.cuedShapes = HashTrieMap.empty();
+    this.sentShapes = HashTrieMap.empty();
   }
 
   @Override
@@ -43,20 +72,213 @@ public class SpatialLaneUplink<S> extends MapUplinkModem {
     return this.laneBinding.stage();
   }
 
+  public final S viewport() {
+    return this.viewport;
+  }
+
+  boolean intersectsViewport(S viewport, S shape) {
+    return viewport == null || shape == null || this.laneBinding.shapeForm.intersects(viewport, shape);
+  }
+
+  Value removeBody(Value key, S shape) {
+    final Record header = Record.create(2).slot("key", key)
+        .slot("shape", this.laneBinding.shapeForm.mold(shape).toValue());
+    return Record.create(1).attr("remove", header);
+  }
+
+  @SuppressWarnings("unchecked")
+  S putShape(AtomicReferenceFieldUpdater<SpatialLaneUplink<?>, HashTrieMap<Value, ?>> updater,
+             Value key, S shape) {
+    do {
+      final HashTrieMap<Value, S> oldShapes = (HashTrieMap<Value, S>) updater.get(this);
+      final HashTrieMap<Value, S> newShapes = oldShapes.updated(key, shape);
+      if (updater.compareAndSet(this, oldShapes, newShapes)) {
+        return oldShapes.get(key);
+      }
+    } while (true);
+  }
+
+  @SuppressWarnings("unchecked")
+  S removeShape(AtomicReferenceFieldUpdater<SpatialLaneUplink<?>, HashTrieMap<Value, ?>> updater,
+                Value key) {
+    do {
+      final HashTrieMap<Value, S> oldShapes = (HashTrieMap<Value, S>) updater.get(this);
+      final HashTrieMap<Value, S> newShapes = oldShapes.removed(key);
+      if (oldShapes == newShapes || updater.compareAndSet(this, oldShapes, newShapes)) {
+        return oldShapes.get(key);
+      }
+    } while (true);
+  }
+
+  void didSyncKey(Value key, S shape) {
+    if (this.viewport != null) {
+      putShape(SENT_SHAPES, key, shape);
+    }
+  }
+
+  public void cueDownKey(Value key, S shape) {
+    final S viewport = this.viewport;
+    if (viewport == null) {
+      cueDownKey(key);
+    } else if (intersectsViewport(viewport, shape) || this.sentShapes.containsKey(key)
+        || this.cuedShapes.containsKey(key)) {
+      // The entry may have entered or left the viewport; decide which event
+      // to send when the key is pulled.
+      putShape(CUED_SHAPES, key, shape);
+      cueDownKey(key);
+    }
+  }
+
+  public void sendDownMove(Value key, S oldShape, S newShape, Value body) {
+    final S viewport = this.viewport;
+    if (viewport == null) {
+      sendDown(body);
+    } else if (intersectsViewport(viewport, newShape) && this.sentShapes.containsKey(key)) {
+      if (this.cuedShapes.containsKey(key)) {
+        putShape(CUED_SHAPES, key, newShape);
+      }
+      putShape(SENT_SHAPES, key, newShape);
+      sendDown(body);
+    } else {
+      // Entry moved into or out of the viewport; send its value or a remove.
+      cueDownKey(key, newShape);
+    }
+  }
+
+  public void sendDownRemove(Value key, S shape, Value body) {
+    if (this.viewport == null) {
+      sendDown(body);
+    } else {
+      removeShape(CUED_SHAPES, key);
+      if (removeShape(SENT_SHAPES, key) != null) {
+        sendDown(body);
+      }
+    }
+  }
+
   @Override
   protected Value nextDownKey(Value key) {
+    final S viewport = this.viewport;
     final Value value = this.laneBinding.get(key);
-    if (value != null) {
+    if (viewport == null) {
+      if (value != null) {
+        return Attr.of("update", Record.create(1).slot("key", key)).concat(value);
+      } else {
+        return null;
+      }
+    }
+    final S shape = removeShape(CUED_SHAPES, key);
+    if (value != null && (shape != null ? intersectsViewport(viewport, shape) : this.sentShapes.containsKey(key))) {
+      if (shape != null) {
+        putShape(SENT_SHAPES, key, shape);
+      }
       return Attr.of("update", Record.create(1).slot("key", key)).concat(value);
+    }
+    final S sentShape = removeShape(SENT_SHAPES, key);
+    if (value != null && sentShape != null) {
+      // Entry left the viewport.
+      return removeBody(key, sentShape);
     } else {
       return null;
     }
   }
 
+  @Override
+  protected void willLink(LinkRequest request) {
+    final Value body = request.body();
+    if (body.isDefined()) {
+      this.viewport = this.laneBinding.shapeForm.cast(body);
+    }
+    super.willLink(request);
+  }
+
   @Override
   protected void willSync(SyncRequest request) {
-    syncDown(this.laneBinding.keyIterator());
+    final Z2Form<S> shapeForm = this.laneBinding.shapeForm;
+    final S oldViewport = this.viewport;
+    final Value body = request.body();
+    final S newViewport = body.isDefined() ? shapeForm.cast(body) : oldViewport;
+    this.viewport = newViewport;
+    final boolean viewportChanged = newViewport != null ? !newViewport.equals(oldViewport) : oldViewport != null;
+    if (this.synced && body.isDefined() && viewportChanged) {
+      // Apply the viewport change incrementally: remove entries that left the
+      // viewport, and sync only entries that entered it, unless an earlier
+      // sync is still in flight.
+      final ArrayList<Value> removes = new ArrayList<Value>();
+      if (oldViewport != null) {
+        final Iterator<Map.Entry<Value, S>> sentEntries = this.sentShapes.iterator();
+        while (sentEntries.hasNext()) {
+          final Map.Entry<Value, S> entry = sentEntries.next();
+          final S shape = entry.getValue();
+          if (!intersectsViewport(newViewport, shape)) {
+            removeShape(SENT_SHAPES, entry.getKey());
+            removes.add(removeBody(entry.getKey(), shape));
+          }
+        }
+      } else {
+        final Iterator<SpatialMap.Entry<Value, S, Value>> oldEntries = this.laneBinding.iterator();
+        while (oldEntries.hasNext()) {
+          final SpatialMap.Entry<Value, S, Value> entry = oldEntries.next();
+          final S shape = entry.getShape();
+          if (!intersectsViewport(newViewport, shape)) {
+            removes.add(removeBody(entry.getKey(), shape));
+          }
+        }
+      }
+      if (newViewport == null) {
+        this.cuedShapes = HashTrieMap.empty();
+        this.sentShapes = HashTrieMap.empty();
+      }
+      syncDown(removes.iterator(), new SpatialLaneUplinkSyncIterator<S>(this, newViewport, isSyncingDown() ? null : oldViewport));
+    } else {
+      syncDown(new SpatialLaneUplinkSyncIterator<S>(this, newViewport, null));
+      this.synced = true;
+    }
     super.willSync(request);
   }
 
 }
+
+final class SpatialLaneUplinkSyncIterator<S> implements Iterator<Value> {
+
+  final SpatialLaneUplink<S> uplink;
+  final Iterator<SpatialMap.Entry<Value, S, Value>> entries;
+  final S exclude;
+  Value nextKey;
+  S nextShape;
+
+  SpatialLaneUplinkSyncIterator(SpatialLaneUplink<S> uplink, S viewport, S exclude) {
+    this.uplink = uplink;
+    this.entries = viewport != null ? uplink.laneBinding.iterator(viewport) : uplink.laneBinding.iterator();
+    this.exclude = exclude;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.nextKey == null) {
+      final S exclude = this.exclude;
+      while (this.entries.hasNext()) {
+        final SpatialMap.Entry<Value, S, Value> entry = this.entries.next();
+        if (exclude == null || !this.uplink.intersectsViewport(exclude, entry.getShape())) {
+          this.nextKey = entry.getKey();
+          this.nextShape = entry.getShape();
+          break;
+        }
+      }
+    }
+    return this.nextKey != null;
+  }
+
+  @Override
+  public Value next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final Value key = this.nextKey;
+    this.nextKey = null;
+    this.uplink.didSyncKey(key, this.nextShape);
+    this.nextShape = null;
+    return key;
+  }
+
+}
@@ -54,6 +54,12 @@ public final class HostProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final int nodePassivateDelta;
+  final long nodePassivateCount;
+  final int nodeReactivateDelta;
+  final long nodeReactivateCount;
+  final long nodeReactivateLatency;
+  final long nodeReactivateLatencyMax;
 
   public HostProfile(HostAddress cellAddress,
                      int nodeOpenDelta, long nodeOpenCount, int nodeCloseDelta, long nodeCloseCount,
@@ -65,7 +71,9 @@ public final class HostProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     int nodePassivateDelta, long nodePassivateCount, int nodeReactivateDelta, long nodeReactivateCount,
+                     long nodeReactivateLatency, long nodeReactivateLatencyMax) {
     this.cellAddress = cellAddress;
     this.nodeOpenDelta = nodeOpenDelta;
     this.nodeOpenCount = nodeOpenCount;
@@ -101,6 +109,12 @@ public final class HostProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.nodePassivateDelta = nodePassivateDelta;
+    this.nodePassivateCount = nodePassivateCount;
+    this.nodeReactivateDelta = nodeReactivateDelta;
+    this.nodeReactivateCount = nodeReactivateCount;
+    this.nodeReactivateLatency = nodeReactivateLatency;
+    this.nodeReactivateLatencyMax = nodeReactivateLatencyMax;
   }
 
   @Override
@@ -244,4 +258,28 @@ public final class HostProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public int nodePassivateDelta() {
+    return this.nodePassivateDelta;
+  }
+
+  public long nodePassivateCount() {
+    return this.nodePassivateCount;
+  }
+
+  public int nodeReactivateDelta() {
+    return this.nodeReactivateDelta;
+  }
+
+  public long nodeReactivateCount() {
+    return this.nodeReactivateCount;
+  }
+
+  public long nodeReactivateLatency() {
+    return this.nodeReactivateLatency;
+  }
+
+  public long nodeReactivateLatencyMax() {
+    return this.nodeReactivateLatencyMax;
+  }
+
 }
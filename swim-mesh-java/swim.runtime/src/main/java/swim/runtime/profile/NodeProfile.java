@@ -16,6 +16,7 @@ package swim.runtime.profile;
 
 import swim.runtime.Metric;
 import swim.runtime.NodeAddress;
+import swim.runtime.reflect.LatencyPulse;
 
 public final class NodeProfile extends Metric {
 
@@ -50,6 +51,11 @@ public final class NodeProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final int mailboxSize;
+  final long mailboxDrainDelta;
+  final long mailboxLatency;
+  final long mailboxLatencyMax;
+  final LatencyPulse latency;
 
   public NodeProfile(NodeAddress cellAddress,
                      int agentOpenDelta, int agentOpenCount, int agentCloseDelta, int agentCloseCount,
@@ -60,7 +66,9 @@ public final class NodeProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     int mailboxSize, long mailboxDrainDelta, long mailboxLatency, long mailboxLatencyMax,
+                     LatencyPulse latency) {
     this.cellAddress = cellAddress;
     this.agentOpenDelta = agentOpenDelta;
     this.agentOpenCount = agentOpenCount;
@@ -92,6 +100,11 @@ public final class NodeProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.mailboxSize = mailboxSize;
+    this.mailboxDrainDelta = mailboxDrainDelta;
+    this.mailboxLatency = mailboxLatency;
+    this.mailboxLatencyMax = mailboxLatencyMax;
+    this.latency = latency;
   }
 
   @Override
@@ -219,4 +232,24 @@ public final class NodeProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public int mailboxSize() {
+    return this.mailboxSize;
+  }
+
+  public long mailboxDrainDelta() {
+    return this.mailboxDrainDelta;
+  }
+
+  public long mailboxLatency() {
+    return this.mailboxLatency;
+  }
+
+  public long mailboxLatencyMax() {
+    return this.mailboxLatencyMax;
+  }
+
+  public LatencyPulse latency() {
+    return this.latency;
+  }
+
 }
@@ -16,6 +16,7 @@ package swim.runtime.profile;
 
 import swim.runtime.LaneAddress;
 import swim.runtime.Metric;
+import swim.runtime.reflect.HistogramPulse;
 
 public final class WarpLaneProfile extends Metric {
 
@@ -43,6 +44,8 @@ public final class WarpLaneProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final HistogramPulse dispatchTime;
+  final HistogramPulse deliveryTime;
 
   public WarpLaneProfile(LaneAddress cellAddress,
                          long execDelta, long execRate, long execTime,
@@ -51,7 +54,8 @@ public final class WarpLaneProfile extends Metric {
                          int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                          int uplinkOpenDelta, int uplinkOpenCount, int uplinkCloseDelta, int uplinkCloseCount,
                          int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                         int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                         int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                         HistogramPulse dispatchTime, HistogramPulse deliveryTime) {
     this.cellAddress = cellAddress;
     this.execDelta = execDelta;
     this.execRate = execRate;
@@ -76,6 +80,8 @@ public final class WarpLaneProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.dispatchTime = dispatchTime;
+    this.deliveryTime = deliveryTime;
   }
 
   @Override
@@ -175,4 +181,12 @@ public final class WarpLaneProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public HistogramPulse dispatchTime() {
+    return this.dispatchTime;
+  }
+
+  public HistogramPulse deliveryTime() {
+    return this.deliveryTime;
+  }
+
 }
@@ -0,0 +1,152 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.reflect;
+
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+
+/**
+ * Snapshot of a latency distribution, in nanoseconds.  Snapshots taken from
+ * a {@link swim.runtime.LatencyHistogram} retain their bucket counts, so they
+ * can be merged into coarser histograms; snapshots cast from a structure
+ * only retain their quantiles.
+ */
+public class HistogramPulse extends Pulse {
+
+  private static Form<HistogramPulse> form;
+  private static HistogramPulse empty;
+  protected final long count;
+  protected final long p50;
+  protected final long p90;
+  protected final long p99;
+  protected final long p999;
+  protected final long max;
+  final int[] counts;
+
+  public HistogramPulse(long count, long p50, long p90, long p99, long p999, long max, int[] counts) {
+    this.count = count;
+    this.p50 = p50;
+    this.p90 = p90;
+    this.p99 = p99;
+    this.p999 = p999;
+    this.max = max;
+    this.counts = counts;
+  }
+
+  public HistogramPulse(long count, long p50, long p90, long p99, long p999, long max) {
+    this(count, p50, p90, p99, p999, max, null);
+  }
+
+  public static HistogramPulse empty() {
+    if (empty == null) {
+      empty = new HistogramPulse(0L, 0L, 0L, 0L, 0L, 0L);
+    }
+    return empty;
+  }
+
+  @Kind
+  public static Form<HistogramPulse> form() {
+    if (form == null) {
+      form = new HistogramPulseForm();
+    }
+    return form;
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.count != 0L;
+  }
+
+  public final long count() {
+    return this.count;
+  }
+
+  public final long p50() {
+    return this.p50;
+  }
+
+  public final long p90() {
+    return this.p90;
+  }
+
+  public final long p99() {
+    return this.p99;
+  }
+
+  public final long p999() {
+    return this.p999;
+  }
+
+  public final long max() {
+    return this.max;
+  }
+
+  /**
+   * Returns the bucket counts of this snapshot, or {@code null} if this
+   * snapshot was not taken from a histogram.  The returned array must not
+   * be modified.
+   */
+  public final int[] counts() {
+    return this.counts;
+  }
+
+  @Override
+  public Value toValue() {
+    return form().mold(this).toValue();
+  }
+
+}
+
+final class HistogramPulseForm extends Form<HistogramPulse> {
+
+  @Override
+  public Class<?> type() {
+    return HistogramPulse.class;
+  }
+
+  @Override
+  public Item mold(HistogramPulse pulse) {
+    if (pulse != null) {
+      final Record record = Record.create(6);
+      if (pulse.count > 0L) {
+        record.slot("count", pulse.count);
+        record.slot("p50", pulse.p50);
+        record.slot("p90", pulse.p90);
+        record.slot("p99", pulse.p99);
+        record.slot("p999", pulse.p999);
+        record.slot("max", pulse.max);
+      }
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public HistogramPulse cast(Item item) {
+    final Value value = item.toValue();
+    final long count = value.get("count").longValue(0L);
+    final long p50 = value.get("p50").longValue(0L);
+    final long p90 = value.get("p90").longValue(0L);
+    final long p99 = value.get("p99").longValue(0L);
+    final long p999 = value.get("p999").longValue(0L);
+    final long max = value.get("max").longValue(0L);
+    return new HistogramPulse(count, p50, p90, p99, p999, max);
+  }
+
+}
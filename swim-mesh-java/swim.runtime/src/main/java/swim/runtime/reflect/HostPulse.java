@@ -27,13 +27,45 @@ public class HostPulse extends Pulse {
   protected final AgentPulse agents;
   protected final WarpDownlinkPulse downlinks;
   protected final WarpUplinkPulse uplinks;
+  protected final long passivateCount;
+  protected final long reactivateCount;
+  protected final long reactivateLatency;
+  protected final LatencyPulse latency;
+  protected final long compressionMemory;
 
   public HostPulse(long nodeCount, AgentPulse agents,
-                   WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+                   WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks,
+                   long passivateCount, long reactivateCount, long reactivateLatency,
+                   LatencyPulse latency, long compressionMemory) {
     this.nodeCount = nodeCount;
     this.agents = agents;
     this.downlinks = downlinks;
     this.uplinks = uplinks;
+    this.passivateCount = passivateCount;
+    this.reactivateCount = reactivateCount;
+    this.reactivateLatency = reactivateLatency;
+    this.latency = latency;
+    this.compressionMemory = compressionMemory;
+  }
+
+  public HostPulse(long nodeCount, AgentPulse agents,
+                   WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks,
+                   long passivateCount, long reactivateCount, long reactivateLatency,
+                   LatencyPulse latency) {
+    this(nodeCount, agents, downlinks, uplinks, passivateCount, reactivateCount, reactivateLatency,
+         latency, 0L);
+  }
+
+  public HostPulse(long nodeCount, AgentPulse agents,
+                   WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks,
+                   long passivateCount, long reactivateCount, long reactivateLatency) {
+    this(nodeCount, agents, downlinks, uplinks, passivateCount, reactivateCount, reactivateLatency,
+         LatencyPulse.empty());
+  }
+
+  public HostPulse(long nodeCount, AgentPulse agents,
+                   WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+    this(nodeCount, agents, downlinks, uplinks, 0L, 0L, 0L);
   }
 
   @Kind
@@ -47,7 +79,9 @@ public class HostPulse extends Pulse {
   @Override
   public boolean isDefined() {
     return this.nodeCount != 0L || this.agents.isDefined()
-        || this.downlinks.isDefined() || this.uplinks.isDefined();
+        || this.downlinks.isDefined() || this.uplinks.isDefined()
+        || this.passivateCount != 0L || this.reactivateCount != 0L
+        || this.latency.isDefined() || this.compressionMemory != 0L;
   }
 
   public final long nodeCount() {
@@ -66,6 +100,30 @@ public class HostPulse extends Pulse {
     return this.uplinks;
   }
 
+  public final long passivateCount() {
+    return this.passivateCount;
+  }
+
+  public final long reactivateCount() {
+    return this.reactivateCount;
+  }
+
+  public final long reactivateLatency() {
+    return this.reactivateLatency;
+  }
+
+  public final LatencyPulse latency() {
+    return this.latency;
+  }
+
+  /**
+   * Returns the approximate number of bytes of {@code permessage-deflate}
+   * state held by the connection to a remote host.
+   */
+  public final long compressionMemory() {
+    return this.compressionMemory;
+  }
+
   @Override
   public Value toValue() {
     return form().mold(this).toValue();
@@ -83,7 +141,7 @@ final class HostPulseForm extends Form<HostPulse> {
   @Override
   public Item mold(HostPulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(4);
+      final Record record = Record.create(9);
       if (pulse.nodeCount > 0L) {
         record.slot("nodeCount", pulse.nodeCount);
       }
@@ -96,6 +154,19 @@ final class HostPulseForm extends Form<HostPulse> {
       if (pulse.uplinks.isDefined()) {
         record.slot("uplinks", pulse.uplinks.toValue());
       }
+      if (pulse.passivateCount > 0L) {
+        record.slot("passivateCount", pulse.passivateCount);
+      }
+      if (pulse.reactivateCount > 0L) {
+        record.slot("reactivateCount", pulse.reactivateCount);
+        record.slot("reactivateLatency", pulse.reactivateLatency);
+      }
+      if (pulse.latency.isDefined()) {
+        record.slot("latency", pulse.latency.toValue());
+      }
+      if (pulse.compressionMemory > 0L) {
+        record.slot("compressionMemory", pulse.compressionMemory);
+      }
       return record;
     } else {
       return Item.extant();
@@ -109,7 +180,13 @@ final class HostPulseForm extends Form<HostPulse> {
     final AgentPulse agents = value.get("agents").coerce(AgentPulse.form());
     final WarpDownlinkPulse downlinks = value.get("downlinks").coerce(WarpDownlinkPulse.form());
     final WarpUplinkPulse uplinks = value.get("uplinks").coerce(WarpUplinkPulse.form());
-    return new HostPulse(nodeCount, agents, downlinks, uplinks);
+    final long passivateCount = value.get("passivateCount").longValue(0L);
+    final long reactivateCount = value.get("reactivateCount").longValue(0L);
+    final long reactivateLatency = value.get("reactivateLatency").longValue(0L);
+    final LatencyPulse latency = value.get("latency").coerce(LatencyPulse.form());
+    final long compressionMemory = value.get("compressionMemory").longValue(0L);
+    return new HostPulse(nodeCount, agents, downlinks, uplinks,
+                         passivateCount, reactivateCount, reactivateLatency, latency, compressionMemory);
   }
 
 }
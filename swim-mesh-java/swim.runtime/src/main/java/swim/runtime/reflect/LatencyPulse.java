@@ -0,0 +1,139 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.reflect;
+
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+
+public class LatencyPulse extends Pulse {
+
+  private static Form<LatencyPulse> form;
+  private static LatencyPulse empty;
+  protected final HistogramPulse execTime;
+  protected final HistogramPulse mailboxTime;
+  protected final HistogramPulse dispatchTime;
+  protected final HistogramPulse deliveryTime;
+
+  public LatencyPulse(HistogramPulse execTime, HistogramPulse mailboxTime,
+                      HistogramPulse dispatchTime, HistogramPulse deliveryTime) {
+    this.execTime = execTime;
+    this.mailboxTime = mailboxTime;
+    this.dispatchTime = dispatchTime;
+    this.deliveryTime = deliveryTime;
+  }
+
+  public static LatencyPulse empty() {
+    if (empty == null) {
+      final HistogramPulse histogram = HistogramPulse.empty();
+      empty = new LatencyPulse(histogram, histogram, histogram, histogram);
+    }
+    return empty;
+  }
+
+  @Kind
+  public static Form<LatencyPulse> form() {
+    if (form == null) {
+      form = new LatencyPulseForm();
+    }
+    return form;
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.execTime.isDefined() || this.mailboxTime.isDefined()
+        || this.dispatchTime.isDefined() || this.deliveryTime.isDefined();
+  }
+
+  /**
+   * Returns the distribution of agent task run times.
+   */
+  public final HistogramPulse execTime() {
+    return this.execTime;
+  }
+
+  /**
+   * Returns the distribution of times commands spent waiting in agent
+   * mailboxes.
+   */
+  public final HistogramPulse mailboxTime() {
+    return this.mailboxTime;
+  }
+
+  /**
+   * Returns the distribution of times spent dispatching lane events to
+   * lane callbacks.
+   */
+  public final HistogramPulse dispatchTime() {
+    return this.dispatchTime;
+  }
+
+  /**
+   * Returns the distribution of times uplink events waited to be pulled
+   * onto their links.
+   */
+  public final HistogramPulse deliveryTime() {
+    return this.deliveryTime;
+  }
+
+  @Override
+  public Value toValue() {
+    return form().mold(this).toValue();
+  }
+
+}
+
+final class LatencyPulseForm extends Form<LatencyPulse> {
+
+  @Override
+  public Class<?> type() {
+    return LatencyPulse.class;
+  }
+
+  @Override
+  public Item mold(LatencyPulse pulse) {
+    if (pulse != null) {
+      final Record record = Record.create(4);
+      if (pulse.execTime.isDefined()) {
+        record.slot("execTime", pulse.execTime.toValue());
+      }
+      if (pulse.mailboxTime.isDefined()) {
+        record.slot("mailboxTime", pulse.mailboxTime.toValue());
+      }
+      if (pulse.dispatchTime.isDefined()) {
+        record.slot("dispatchTime", pulse.dispatchTime.toValue());
+      }
+      if (pulse.deliveryTime.isDefined()) {
+        record.slot("deliveryTime", pulse.deliveryTime.toValue());
+      }
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public LatencyPulse cast(Item item) {
+    final Value value = item.toValue();
+    final HistogramPulse execTime = value.get("execTime").coerce(HistogramPulse.form());
+    final HistogramPulse mailboxTime = value.get("mailboxTime").coerce(HistogramPulse.form());
+    final HistogramPulse dispatchTime = value.get("dispatchTime").coerce(HistogramPulse.form());
+    final HistogramPulse deliveryTime = value.get("deliveryTime").coerce(HistogramPulse.form());
+    return new LatencyPulse(execTime, mailboxTime, dispatchTime, deliveryTime);
+  }
+
+}
@@ -26,11 +26,18 @@ public class NodePulse extends Pulse {
   protected final AgentPulse agents;
   protected final WarpDownlinkPulse downlinks;
   protected final WarpUplinkPulse uplinks;
+  protected final LatencyPulse latency;
 
-  public NodePulse(AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+  public NodePulse(AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks,
+                   LatencyPulse latency) {
     this.agents = agents;
     this.downlinks = downlinks;
     this.uplinks = uplinks;
+    this.latency = latency;
+  }
+
+  public NodePulse(AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+    this(agents, downlinks, uplinks, LatencyPulse.empty());
   }
 
   @Kind
@@ -43,7 +50,8 @@ public class NodePulse extends Pulse {
 
   @Override
   public boolean isDefined() {
-    return this.agents.isDefined() || this.downlinks.isDefined() || this.uplinks.isDefined();
+    return this.agents.isDefined() || this.downlinks.isDefined() || this.uplinks.isDefined()
+        || this.latency.isDefined();
   }
 
   public final AgentPulse agents() {
@@ -58,6 +66,10 @@ public class NodePulse extends Pulse {
     return this.uplinks;
   }
 
+  public final LatencyPulse latency() {
+    return this.latency;
+  }
+
   @Override
   public Value toValue() {
     return form().mold(this).toValue();
@@ -75,7 +87,7 @@ final class NodePulseForm extends Form<NodePulse> {
   @Override
   public Item mold(NodePulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(3);
+      final Record record = Record.create(4);
       if (pulse.agents.isDefined()) {
         record.slot("agents", pulse.agents.toValue());
       }
@@ -85,6 +97,9 @@ final class NodePulseForm extends Form<NodePulse> {
       if (pulse.uplinks.isDefined()) {
         record.slot("uplinks", pulse.uplinks.toValue());
       }
+      if (pulse.latency.isDefined()) {
+        record.slot("latency", pulse.latency.toValue());
+      }
       return record;
     } else {
       return Item.extant();
@@ -97,7 +112,8 @@ final class NodePulseForm extends Form<NodePulse> {
     final AgentPulse agents = value.get("agents").coerce(AgentPulse.form());
     final WarpDownlinkPulse downlinks = value.get("downlinks").coerce(WarpDownlinkPulse.form());
     final WarpUplinkPulse uplinks = value.get("uplinks").coerce(WarpUplinkPulse.form());
-    return new NodePulse(agents, downlinks, uplinks);
+    final LatencyPulse latency = value.get("latency").coerce(LatencyPulse.form());
+    return new NodePulse(agents, downlinks, uplinks, latency);
   }
 
 }
@@ -0,0 +1,150 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.router;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.collections.FingerTrieSeq;
+import swim.runtime.NodeBinding;
+import swim.uri.Uri;
+import swim.uri.UriMapper;
+
+/**
+ * Node index for hosts with very large agent counts.  Nodes are opened and
+ * closed in a {@code ConcurrentHashMap}, whose striped bins don't contend
+ * the way a CAS-swapped persistent trie does.  The ordered {@code UriMapper}
+ * view required for pattern and directory routing is maintained lazily: open
+ * and close record the affected {@code Uri}, and the view replays recorded
+ * changes against the hash table the next time it's requested.  When more
+ * changes accumulate than there are nodes, the view is discarded, and
+ * rebuilt from scratch on demand.
+ */
+final class HostNodeIndex {
+
+  final ConcurrentHashMap<Uri, NodeBinding> table;
+  final ConcurrentLinkedQueue<Uri> changes;
+  volatile UriMapper<NodeBinding> view;
+  volatile int changeCount;
+
+  HostNodeIndex() {
+    this.table = new ConcurrentHashMap<Uri, NodeBinding>();
+    this.changes = new ConcurrentLinkedQueue<Uri>();
+    this.view = UriMapper.empty();
+  }
+
+  int size() {
+    return this.table.size();
+  }
+
+  NodeBinding get(Uri nodeUri) {
+    return this.table.get(nodeUri);
+  }
+
+  NodeBinding putIfAbsent(Uri nodeUri, NodeBinding node) {
+    final NodeBinding oldNode = this.table.putIfAbsent(nodeUri, node);
+    if (oldNode == null) {
+      didChange(nodeUri);
+    }
+    return oldNode;
+  }
+
+  NodeBinding remove(Uri nodeUri) {
+    final NodeBinding oldNode = this.table.remove(nodeUri);
+    if (oldNode != null) {
+      didChange(nodeUri);
+    }
+    return oldNode;
+  }
+
+  boolean remove(Uri nodeUri, NodeBinding node) {
+    if (this.table.remove(nodeUri, node)) {
+      didChange(nodeUri);
+      return true;
+    }
+    return false;
+  }
+
+  FingerTrieSeq<NodeBinding> clear() {
+    FingerTrieSeq<NodeBinding> oldNodes = FingerTrieSeq.empty();
+    final Iterator<Map.Entry<Uri, NodeBinding>> entries = this.table.entrySet().iterator();
+    while (entries.hasNext()) {
+      final Map.Entry<Uri, NodeBinding> entry = entries.next();
+      if (this.table.remove(entry.getKey(), entry.getValue())) {
+        didChange(entry.getKey());
+        oldNodes = oldNodes.appended(entry.getValue());
+      }
+    }
+    return oldNodes;
+  }
+
+  Iterator<NodeBinding> valueIterator() {
+    return this.table.values().iterator();
+  }
+
+  void didChange(Uri nodeUri) {
+    if (CHANGE_COUNT.incrementAndGet(this) > Math.max(MIN_CHANGES, this.table.size())) {
+      invalidate();
+    } else {
+      this.changes.add(nodeUri);
+    }
+  }
+
+  synchronized void invalidate() {
+    this.view = null;
+    this.changes.clear();
+    CHANGE_COUNT.set(this, 0);
+  }
+
+  UriMapper<NodeBinding> view() {
+    final UriMapper<NodeBinding> view = this.view;
+    if (view != null && this.changes.isEmpty()) {
+      return view;
+    }
+    return reconcile();
+  }
+
+  synchronized UriMapper<NodeBinding> reconcile() {
+    UriMapper<NodeBinding> view = this.view;
+    if (view == null) {
+      view = UriMapper.empty();
+      final Iterator<Map.Entry<Uri, NodeBinding>> entries = this.table.entrySet().iterator();
+      while (entries.hasNext()) {
+        final Map.Entry<Uri, NodeBinding> entry = entries.next();
+        view = view.updated(entry.getKey(), entry.getValue());
+      }
+    }
+    Uri nodeUri;
+    while ((nodeUri = this.changes.poll()) != null) {
+      CHANGE_COUNT.decrementAndGet(this);
+      final NodeBinding node = this.table.get(nodeUri);
+      if (node != null) {
+        view = view.updated(nodeUri, node);
+      } else {
+        view = view.removed(nodeUri);
+      }
+    }
+    this.view = view;
+    return view;
+  }
+
+  static final int MIN_CHANGES = 1024;
+
+  static final AtomicIntegerFieldUpdater<HostNodeIndex> CHANGE_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(HostNodeIndex.class, "changeCount");
+
+}
@@ -16,6 +16,9 @@ package swim.runtime.router;
 
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -29,17 +32,21 @@ import swim.api.lane.function.OnSyncKeys;
 import swim.api.policy.Policy;
 import swim.api.warp.WarpUplink;
 import swim.collections.FingerTrieSeq;
+import swim.concurrent.AbstractTimer;
 import swim.concurrent.Conts;
 import swim.concurrent.Schedule;
 import swim.concurrent.Stage;
+import swim.concurrent.TimerRef;
 import swim.runtime.AbstractTierBinding;
 import swim.runtime.HostAddress;
 import swim.runtime.HostBinding;
 import swim.runtime.HostContext;
 import swim.runtime.HostException;
 import swim.runtime.LaneBinding;
+import swim.runtime.LatencyHistogram;
 import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
+import swim.runtime.MetricAdder;
 import swim.runtime.NodeAddress;
 import swim.runtime.NodeBinding;
 import swim.runtime.NodeContext;
@@ -52,7 +59,9 @@ import swim.runtime.profile.HostProfile;
 import swim.runtime.profile.NodeProfile;
 import swim.runtime.profile.WarpDownlinkProfile;
 import swim.runtime.reflect.AgentPulse;
+import swim.runtime.reflect.HistogramPulse;
 import swim.runtime.reflect.HostPulse;
+import swim.runtime.reflect.LatencyPulse;
 import swim.runtime.reflect.LogEntry;
 import swim.runtime.reflect.NodeInfo;
 import swim.runtime.reflect.WarpDownlinkPulse;
@@ -72,119 +81,53 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   static final int REPLICA = 1 << 1;
   static final int MASTER = 1 << 2;
   static final int SLAVE = 1 << 3;
+  static final int PASSIVATING = 1 << 4;
   static final Uri NODES_URI = Uri.parse("nodes");
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<HostTable, UriMapper<NodeBinding>> NODES =
       AtomicReferenceFieldUpdater.newUpdater(HostTable.class, (Class<UriMapper<NodeBinding>>) (Class<?>) UriMapper.class, "nodes");
   static final AtomicIntegerFieldUpdater<HostTable> FLAGS =
       AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "flags");
-  static final AtomicIntegerFieldUpdater<HostTable> NODE_OPEN_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "nodeOpenDelta");
-  static final AtomicLongFieldUpdater<HostTable> NODE_OPEN_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "nodeOpenCount");
-  static final AtomicIntegerFieldUpdater<HostTable> NODE_CLOSE_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "nodeCloseDelta");
-  static final AtomicLongFieldUpdater<HostTable> NODE_CLOSE_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "nodeCloseCount");
-  static final AtomicIntegerFieldUpdater<HostTable> AGENT_OPEN_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "agentOpenDelta");
-  static final AtomicLongFieldUpdater<HostTable> AGENT_OPEN_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "agentOpenCount");
-  static final AtomicIntegerFieldUpdater<HostTable> AGENT_CLOSE_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "agentCloseDelta");
-  static final AtomicLongFieldUpdater<HostTable> AGENT_CLOSE_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "agentCloseCount");
-  static final AtomicLongFieldUpdater<HostTable> AGENT_EXEC_DELTA =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "agentExecDelta");
-  static final AtomicLongFieldUpdater<HostTable> AGENT_EXEC_RATE =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "agentExecRate");
-  static final AtomicLongFieldUpdater<HostTable> AGENT_EXEC_TIME =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "agentExecTime");
-  static final AtomicIntegerFieldUpdater<HostTable> TIMER_EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "timerEventDelta");
-  static final AtomicIntegerFieldUpdater<HostTable> TIMER_EVENT_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "timerEventRate");
-  static final AtomicLongFieldUpdater<HostTable> TIMER_EVENT_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "timerEventCount");
-  static final AtomicIntegerFieldUpdater<HostTable> DOWNLINK_OPEN_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "downlinkOpenDelta");
-  static final AtomicLongFieldUpdater<HostTable> DOWNLINK_OPEN_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "downlinkOpenCount");
-  static final AtomicIntegerFieldUpdater<HostTable> DOWNLINK_CLOSE_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "downlinkCloseDelta");
-  static final AtomicLongFieldUpdater<HostTable> DOWNLINK_CLOSE_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "downlinkCloseCount");
-  static final AtomicIntegerFieldUpdater<HostTable> DOWNLINK_EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "downlinkEventDelta");
-  static final AtomicIntegerFieldUpdater<HostTable> DOWNLINK_EVENT_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "downlinkEventRate");
-  static final AtomicLongFieldUpdater<HostTable> DOWNLINK_EVENT_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "downlinkEventCount");
-  static final AtomicIntegerFieldUpdater<HostTable> DOWNLINK_COMMAND_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "downlinkCommandDelta");
-  static final AtomicIntegerFieldUpdater<HostTable> DOWNLINK_COMMAND_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "downlinkCommandRate");
-  static final AtomicLongFieldUpdater<HostTable> DOWNLINK_COMMAND_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "downlinkCommandCount");
-  static final AtomicIntegerFieldUpdater<HostTable> UPLINK_OPEN_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "uplinkOpenDelta");
-  static final AtomicLongFieldUpdater<HostTable> UPLINK_OPEN_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "uplinkOpenCount");
-  static final AtomicIntegerFieldUpdater<HostTable> UPLINK_CLOSE_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "uplinkCloseDelta");
-  static final AtomicLongFieldUpdater<HostTable> UPLINK_CLOSE_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "uplinkCloseCount");
-  static final AtomicIntegerFieldUpdater<HostTable> UPLINK_EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "uplinkEventDelta");
-  static final AtomicIntegerFieldUpdater<HostTable> UPLINK_EVENT_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "uplinkEventRate");
-  static final AtomicLongFieldUpdater<HostTable> UPLINK_EVENT_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "uplinkEventCount");
-  static final AtomicIntegerFieldUpdater<HostTable> UPLINK_COMMAND_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "uplinkCommandDelta");
-  static final AtomicIntegerFieldUpdater<HostTable> UPLINK_COMMAND_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "uplinkCommandRate");
-  static final AtomicLongFieldUpdater<HostTable> UPLINK_COMMAND_COUNT =
-      AtomicLongFieldUpdater.newUpdater(HostTable.class, "uplinkCommandCount");
+  static final AtomicLongFieldUpdater<HostTable> NODE_REACTIVATE_LATENCY_MAX =
+      AtomicLongFieldUpdater.newUpdater(HostTable.class, "nodeReactivateLatencyMax");
   static final AtomicLongFieldUpdater<HostTable> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(HostTable.class, "lastReportTime");
+  static final boolean NODE_INDEX = Boolean.parseBoolean(System.getProperty("swim.host.concurrent.nodes"));
   protected HostContext hostContext;
+  final HostNodeIndex nodeIndex;
+  final Set<Uri> passivatedNodes;
+  final ConcurrentLinkedQueue<HostTableIdleNode> idleNodes;
+  TimerRef passivateTimer;
   volatile UriMapper<NodeBinding> nodes;
   volatile int flags;
-  volatile int nodeOpenDelta;
-  volatile long nodeOpenCount;
-  volatile int nodeCloseDelta;
-  volatile long nodeCloseCount;
-  volatile int agentOpenDelta;
-  volatile long agentOpenCount;
-  volatile int agentCloseDelta;
-  volatile long agentCloseCount;
-  volatile long agentExecDelta;
-  volatile long agentExecRate;
-  volatile long agentExecTime;
-  volatile int timerEventDelta;
-  volatile int timerEventRate;
-  volatile long timerEventCount;
-  volatile int downlinkOpenDelta;
-  volatile long downlinkOpenCount;
-  volatile int downlinkCloseDelta;
-  volatile long downlinkCloseCount;
-  volatile int downlinkEventDelta;
-  volatile int downlinkEventRate;
-  volatile long downlinkEventCount;
-  volatile int downlinkCommandDelta;
-  volatile int downlinkCommandRate;
-  volatile long downlinkCommandCount;
-  volatile int uplinkOpenDelta;
-  volatile long uplinkOpenCount;
-  volatile int uplinkCloseDelta;
-  volatile long uplinkCloseCount;
-  volatile int uplinkEventDelta;
-  volatile int uplinkEventRate;
-  volatile long uplinkEventCount;
-  volatile int uplinkCommandDelta;
-  volatile int uplinkCommandRate;
-  volatile long uplinkCommandCount;
+  volatile long nodeReactivateLatencyMax;
+  final MetricAdder nodeOpenCount;
+  final MetricAdder nodeCloseCount;
+  final MetricAdder agentOpenCount;
+  final MetricAdder agentCloseCount;
+  final MetricAdder agentExecTime;
+  final MetricAdder agentExecRate;
+  final MetricAdder timerEventCount;
+  final MetricAdder timerEventRate;
+  final MetricAdder downlinkOpenCount;
+  final MetricAdder downlinkCloseCount;
+  final MetricAdder downlinkEventCount;
+  final MetricAdder downlinkEventRate;
+  final MetricAdder downlinkCommandCount;
+  final MetricAdder downlinkCommandRate;
+  final MetricAdder uplinkOpenCount;
+  final MetricAdder uplinkCloseCount;
+  final MetricAdder uplinkEventCount;
+  final MetricAdder uplinkEventRate;
+  final MetricAdder uplinkCommandCount;
+  final MetricAdder uplinkCommandRate;
+  final MetricAdder nodePassivateCount;
+  final MetricAdder nodeReactivateCount;
+  final MetricAdder nodeReactivateTime;
+  final LatencyHistogram execTime;
+  final LatencyHistogram mailboxTime;
+  final LatencyHistogram dispatchTime;
+  final LatencyHistogram deliveryTime;
   volatile long lastReportTime;
   HostPulse pulse;
   AgentNode metaNode;
@@ -198,7 +141,37 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   SupplyLane<LogEntry> metaFailLog;
 
   public HostTable() {
+    this.nodeIndex = NODE_INDEX ? new HostNodeIndex() : null;
+    this.passivatedNodes = PASSIVATE_IDLE > 0L ? ConcurrentHashMap.<Uri>newKeySet() : null;
+    this.idleNodes = PASSIVATE_IDLE > 0L ? new ConcurrentLinkedQueue<HostTableIdleNode>() : null;
     this.nodes = UriMapper.empty();
+    this.nodeOpenCount = new MetricAdder();
+    this.nodeCloseCount = new MetricAdder();
+    this.agentOpenCount = new MetricAdder();
+    this.agentCloseCount = new MetricAdder();
+    this.agentExecTime = new MetricAdder();
+    this.agentExecRate = new MetricAdder();
+    this.timerEventCount = new MetricAdder();
+    this.timerEventRate = new MetricAdder();
+    this.downlinkOpenCount = new MetricAdder();
+    this.downlinkCloseCount = new MetricAdder();
+    this.downlinkEventCount = new MetricAdder();
+    this.downlinkEventRate = new MetricAdder();
+    this.downlinkCommandCount = new MetricAdder();
+    this.downlinkCommandRate = new MetricAdder();
+    this.uplinkOpenCount = new MetricAdder();
+    this.uplinkCloseCount = new MetricAdder();
+    this.uplinkEventCount = new MetricAdder();
+    this.uplinkEventRate = new MetricAdder();
+    this.uplinkCommandCount = new MetricAdder();
+    this.uplinkCommandRate = new MetricAdder();
+    this.nodePassivateCount = new MetricAdder();
+    this.nodeReactivateCount = new MetricAdder();
+    this.nodeReactivateTime = new MetricAdder();
+    this.execTime = new LatencyHistogram();
+    this.mailboxTime = new LatencyHistogram();
+    this.dispatchTime = new LatencyHistogram();
+    this.deliveryTime = new LatencyHistogram();
   }
 
   @Override
@@ -428,19 +401,43 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
   @Override
   public UriMapper<NodeBinding> nodes() {
-    return this.nodes;
+    final HostNodeIndex nodeIndex = this.nodeIndex;
+    if (nodeIndex != null) {
+      return nodeIndex.view();
+    } else {
+      return this.nodes;
+    }
+  }
+
+  Iterator<NodeBinding> nodeIterator() {
+    final HostNodeIndex nodeIndex = this.nodeIndex;
+    if (nodeIndex != null) {
+      return nodeIndex.valueIterator();
+    } else {
+      return this.nodes.valueIterator();
+    }
   }
 
   @Override
   public NodeBinding getNode(Uri nodeUri) {
-    return this.nodes.get(nodeUri);
+    final HostNodeIndex nodeIndex = this.nodeIndex;
+    if (nodeIndex != null) {
+      return nodeIndex.get(nodeUri);
+    } else {
+      return this.nodes.get(nodeUri);
+    }
   }
 
   @Override
   public NodeBinding openNode(Uri nodeUri) {
+    final HostNodeIndex nodeIndex = this.nodeIndex;
+    if (nodeIndex != null) {
+      return openIndexedNode(nodeIndex, nodeUri);
+    }
     UriMapper<NodeBinding> oldNodes;
     UriMapper<NodeBinding> newNodes;
     NodeBinding nodeBinding = null;
+    long openTime = 0L;
     do {
       oldNodes = this.nodes;
       final NodeBinding node = oldNodes.get(nodeUri);
@@ -457,6 +454,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
         }
         break;
       } else if (nodeBinding == null) {
+        openTime = System.nanoTime();
         final NodeAddress nodeAddress = cellAddress().nodeUri(nodeUri);
         nodeBinding = this.hostContext.createNode(nodeAddress);
         if (nodeBinding != null) {
@@ -479,13 +477,47 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
     if (oldNodes != newNodes) {
       activate(nodeBinding);
+      didActivateNode(nodeUri, openTime);
       didOpenNode(nodeBinding);
     }
     return nodeBinding;
   }
 
+  NodeBinding openIndexedNode(HostNodeIndex nodeIndex, Uri nodeUri) {
+    NodeBinding nodeBinding = nodeIndex.get(nodeUri);
+    if (nodeBinding == null) {
+      final long openTime = System.nanoTime();
+      final NodeAddress nodeAddress = cellAddress().nodeUri(nodeUri);
+      nodeBinding = this.hostContext.createNode(nodeAddress);
+      if (nodeBinding == null) {
+        return null;
+      }
+      nodeBinding = this.hostContext.injectNode(nodeAddress, nodeBinding);
+      final NodeContext nodeContext = createNodeContext(nodeAddress, nodeBinding);
+      nodeBinding.setNodeContext(nodeContext);
+      nodeBinding = nodeBinding.nodeWrapper();
+      nodeBinding.openLanes(nodeBinding);
+      nodeBinding.openAgents(nodeBinding);
+      final NodeBinding oldNode = nodeIndex.putIfAbsent(nodeUri, nodeBinding);
+      if (oldNode == null) {
+        activate(nodeBinding);
+        didActivateNode(nodeUri, openTime);
+        didOpenNode(nodeBinding);
+        return nodeBinding;
+      }
+      // Lost creation race.
+      nodeBinding.close();
+      nodeBinding = oldNode;
+    }
+    return nodeBinding.isStarted() ? nodeBinding : null;
+  }
+
   @Override
   public NodeBinding openNode(Uri nodeUri, NodeBinding node) {
+    final HostNodeIndex nodeIndex = this.nodeIndex;
+    if (nodeIndex != null) {
+      return openIndexedNode(nodeIndex, nodeUri, node);
+    }
     UriMapper<NodeBinding> oldNodes;
     UriMapper<NodeBinding> newNodes;
     NodeBinding nodeBinding = null;
@@ -515,7 +547,37 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     return nodeBinding;
   }
 
+  NodeBinding openIndexedNode(HostNodeIndex nodeIndex, Uri nodeUri, NodeBinding node) {
+    if (nodeIndex.get(nodeUri) != null) {
+      return null;
+    }
+    final NodeAddress nodeAddress = cellAddress().nodeUri(nodeUri);
+    NodeBinding nodeBinding = this.hostContext.injectNode(nodeAddress, node);
+    final NodeContext nodeContext = createNodeContext(nodeAddress, nodeBinding);
+    nodeBinding.setNodeContext(nodeContext);
+    nodeBinding = nodeBinding.nodeWrapper();
+    nodeBinding.openLanes(nodeBinding);
+    nodeBinding.openAgents(nodeBinding);
+    if (nodeIndex.putIfAbsent(nodeUri, nodeBinding) != null) {
+      // Lost creation race.
+      nodeBinding.close();
+      return null;
+    }
+    activate(nodeBinding);
+    didOpenNode(nodeBinding);
+    return nodeBinding;
+  }
+
   public void closeNode(Uri nodeUri) {
+    final HostNodeIndex nodeIndex = this.nodeIndex;
+    if (nodeIndex != null) {
+      final NodeBinding nodeBinding = nodeIndex.remove(nodeUri);
+      if (nodeBinding != null) {
+        nodeBinding.didClose();
+        didCloseNode(nodeBinding);
+      }
+      return;
+    }
     UriMapper<NodeBinding> oldNodes;
     UriMapper<NodeBinding> newNodes;
     NodeBinding nodeBinding = null;
@@ -538,14 +600,29 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   }
 
   public void closeNodes() {
-    UriMapper<NodeBinding> oldNodes;
-    final UriMapper<NodeBinding> newNodes = UriMapper.empty();
-    do {
-      oldNodes = this.nodes;
-    } while (oldNodes != newNodes && !NODES.compareAndSet(this, oldNodes, newNodes));
-    if (!oldNodes.isEmpty()) {
+    final Iterable<NodeBinding> oldNodes;
+    final HostNodeIndex nodeIndex = this.nodeIndex;
+    if (nodeIndex != null) {
+      oldNodes = nodeIndex.clear();
+    } else {
+      UriMapper<NodeBinding> oldNodeMapper;
+      final UriMapper<NodeBinding> newNodeMapper = UriMapper.empty();
+      do {
+        oldNodeMapper = this.nodes;
+      } while (oldNodeMapper != newNodeMapper && !NODES.compareAndSet(this, oldNodeMapper, newNodeMapper));
+      oldNodes = oldNodeMapper.values();
+    }
+    final Set<Uri> passivatedNodes = this.passivatedNodes;
+    if (passivatedNodes != null) {
+      passivatedNodes.clear();
+    }
+    final ConcurrentLinkedQueue<HostTableIdleNode> idleNodes = this.idleNodes;
+    if (idleNodes != null) {
+      idleNodes.clear();
+    }
+    if (oldNodes.iterator().hasNext()) {
       final DemandMapLane<Uri, NodeInfo> metaNodes = this.metaNodes;
-      for (NodeBinding nodeBinding : oldNodes.values()) {
+      for (NodeBinding nodeBinding : oldNodes) {
         nodeBinding.close();
         nodeBinding.didClose();
         if (metaNodes != null) {
@@ -557,13 +634,20 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   }
 
   protected void didOpenNode(NodeBinding node) {
+    final ConcurrentLinkedQueue<HostTableIdleNode> idleNodes = this.idleNodes;
+    if (idleNodes != null) {
+      final AgentNode agentNode = node.bottomNode(AgentNode.class);
+      if (agentNode != null) {
+        idleNodes.add(new HostTableIdleNode(node, agentNode, System.currentTimeMillis() + PASSIVATE_IDLE));
+      }
+    }
     final DemandMapLane<Uri, NodeInfo> metaNodes = this.metaNodes;
     if (metaNodes != null) {
       final Uri nodeUri = node.nodeUri();
       metaNodes.cue(nodeUri);
       cueAncestorNodes(nodeUri);
     }
-    NODE_OPEN_DELTA.incrementAndGet(this);
+    this.nodeOpenCount.increment();
     flushMetrics();
   }
 
@@ -574,10 +658,191 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
       metaNodes.remove(nodeUri);
       cueAncestorNodes(nodeUri);
     }
-    NODE_CLOSE_DELTA.incrementAndGet(this);
+    this.nodeCloseCount.increment();
     flushMetrics();
   }
 
+  /**
+   * Unloads every started agent that has had no links, timers, or commands
+   * for at least {@code swim.host.passivate.idle} milliseconds, and whose
+   * lane state will survive a reopen.  Passivated agents are transparently
+   * reopened by the next uplink or command routed to their node URI.
+   *
+   * Only agents whose idle deadlines have passed are checked.  Opened agents
+   * are queued in order of their idle deadlines; agents that can't yet be
+   * passivated are queued again with a new deadline, which is never later
+   * than one idle timeout from now, so the queue stays roughly in order.
+   */
+  public void passivateIdleNodes() {
+    final ConcurrentLinkedQueue<HostTableIdleNode> idleNodes = this.idleNodes;
+    if (idleNodes == null || !willPassivate()) {
+      return;
+    }
+    boolean passivated = false;
+    try {
+      final long now = System.currentTimeMillis();
+      final AgentNode metaNode = this.metaNode;
+      do {
+        final HostTableIdleNode idleNode = idleNodes.peek();
+        if (idleNode == null || idleNode.deadline > now) {
+          break;
+        }
+        idleNodes.poll();
+        final NodeBinding node = idleNode.node;
+        final AgentNode agentNode = idleNode.agentNode;
+        if (agentNode == metaNode || getNode(agentNode.nodeUri()) != node) {
+          // Closed, or already passivated.
+          continue;
+        } else if (agentNode.isStarted() && agentNode.isIdle(now, PASSIVATE_IDLE) && agentNode.isPersistent()
+            && passivateNode(node, agentNode, PASSIVATE_IDLE)) {
+          passivated = true;
+        } else {
+          final long idleTime = agentNode.lastActiveTime() + PASSIVATE_IDLE;
+          idleNode.deadline = idleTime > now ? idleTime : now + PASSIVATE_IDLE;
+          idleNodes.add(idleNode);
+        }
+      } while (true);
+    } finally {
+      didPassivate();
+    }
+    if (passivated) {
+      flushMetrics();
+    }
+  }
+
+  /**
+   * Unloads every started agent that has been idle for at least {@code
+   * idleTimeout} milliseconds, and whose lane state will survive a reopen,
+   * regardless of when it's next due to be checked.  Visits every node.
+   */
+  public void passivateIdleNodes(long idleTimeout) {
+    final long now = System.currentTimeMillis();
+    final AgentNode metaNode = this.metaNode;
+    boolean passivated = false;
+    final Iterator<NodeBinding> nodesIterator = nodeIterator();
+    while (nodesIterator.hasNext()) {
+      final NodeBinding node = nodesIterator.next();
+      final AgentNode agentNode = node.bottomNode(AgentNode.class);
+      if (agentNode != null && agentNode != metaNode && agentNode.isStarted()
+          && agentNode.isIdle(now, idleTimeout) && agentNode.isPersistent()) {
+        passivated = passivateNode(node, agentNode, idleTimeout) || passivated;
+      }
+    }
+    if (passivated) {
+      flushMetrics();
+    }
+  }
+
+  boolean willPassivate() {
+    do {
+      final int oldFlags = this.flags;
+      if ((oldFlags & PASSIVATING) != 0) {
+        return false;
+      } else if (FLAGS.compareAndSet(this, oldFlags, oldFlags | PASSIVATING)) {
+        return true;
+      }
+    } while (true);
+  }
+
+  void didPassivate() {
+    do {
+      final int oldFlags = this.flags;
+      if (FLAGS.compareAndSet(this, oldFlags, oldFlags & ~PASSIVATING)) {
+        break;
+      }
+    } while (true);
+  }
+
+  protected boolean passivateNode(NodeBinding node, AgentNode agentNode, long idleTimeout) {
+    final Uri nodeUri = agentNode.nodeUri();
+    if (!agentNode.willPassivate()) {
+      // An uplink or command is being routed to the node.
+      return false;
+    }
+    // Nothing more can be routed to the node, so it stays idle once removed.
+    if (!agentNode.isIdle(System.currentTimeMillis(), idleTimeout) || !removeNode(nodeUri, node)) {
+      agentNode.didNotPassivate();
+      return false;
+    }
+    final Set<Uri> passivatedNodes = this.passivatedNodes;
+    if (passivatedNodes != null) {
+      passivatedNodes.add(nodeUri);
+    }
+    try {
+      // Closes the agent without closing its lane data, which stays in the
+      // store for the next activation to reload.
+      agentNode.close();
+      agentNode.didClose();
+      final StoreBinding store = agentNode.store();
+      if (store != null) {
+        store.commit();
+      }
+    } catch (Throwable error) {
+      if (Conts.isNonFatal(error)) {
+        didFail(error);
+      } else {
+        throw error;
+      }
+    }
+    final DemandMapLane<Uri, NodeInfo> metaNodes = this.metaNodes;
+    if (metaNodes != null) {
+      metaNodes.remove(nodeUri);
+      cueAncestorNodes(nodeUri);
+    }
+    this.nodeCloseCount.increment();
+    this.nodePassivateCount.increment();
+    return true;
+  }
+
+  boolean removeNode(Uri nodeUri, NodeBinding node) {
+    final HostNodeIndex nodeIndex = this.nodeIndex;
+    if (nodeIndex != null) {
+      return nodeIndex.remove(nodeUri, node);
+    }
+    UriMapper<NodeBinding> oldNodes;
+    UriMapper<NodeBinding> newNodes;
+    do {
+      oldNodes = this.nodes;
+      if (oldNodes.get(nodeUri) != node) {
+        return false;
+      }
+      newNodes = oldNodes.removed(nodeUri);
+    } while (!NODES.compareAndSet(this, oldNodes, newNodes));
+    return true;
+  }
+
+  boolean restoreNode(Uri nodeUri, NodeBinding node) {
+    final HostNodeIndex nodeIndex = this.nodeIndex;
+    if (nodeIndex != null) {
+      return nodeIndex.putIfAbsent(nodeUri, node) == null;
+    }
+    UriMapper<NodeBinding> oldNodes;
+    UriMapper<NodeBinding> newNodes;
+    do {
+      oldNodes = this.nodes;
+      if (oldNodes.containsKey(nodeUri)) {
+        return false;
+      }
+      newNodes = oldNodes.updated(nodeUri, node);
+    } while (!NODES.compareAndSet(this, oldNodes, newNodes));
+    return true;
+  }
+
+  void didActivateNode(Uri nodeUri, long openTime) {
+    final Set<Uri> passivatedNodes = this.passivatedNodes;
+    if (passivatedNodes != null && passivatedNodes.remove(nodeUri)) {
+      final long latency = System.nanoTime() - openTime;
+      this.nodeReactivateCount.increment();
+      this.nodeReactivateTime.add(latency);
+      do {
+        final long latencyMax = this.nodeReactivateLatencyMax;
+        if (latency <= latencyMax || NODE_REACTIVATE_LATENCY_MAX.compareAndSet(this, latencyMax, latency)) {
+          break;
+        }
+      } while (true);
+    }
+  }
+
   protected void cueAncestorNodes(Uri nodeUri) {
     final DemandMapLane<Uri, NodeInfo> metaNodes = this.metaNodes;
     if (metaNodes != null) {
@@ -646,29 +911,56 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
   @Override
   public void openUplink(LinkBinding link) {
-    NodeBinding nodeBinding = openNode(link.nodeUri());
-    if (nodeBinding != null) {
-      nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
-    }
-    if (nodeBinding != null) {
-      nodeBinding.openUplink(link);
-    } else {
-      UplinkError.rejectNodeNotFound(link);
-    }
+    final Uri nodeUri = link.nodeUri();
+    do {
+      final NodeBinding node = openNode(nodeUri);
+      final NodeBinding nodeBinding = node != null ? node.bottomNode(NodeBinding.class) : null;
+      if (nodeBinding == null) {
+        UplinkError.rejectNodeNotFound(link);
+      } else {
+        final AgentNode agentNode = node.bottomNode(AgentNode.class);
+        if (agentNode == null) {
+          nodeBinding.openUplink(link);
+        } else if (agentNode.willDispatch()) {
+          try {
+            nodeBinding.openUplink(link);
+          } finally {
+            agentNode.didDispatch();
+          }
+        } else {
+          // Passivated after it was opened; reopen it.
+          continue;
+        }
+      }
+      break;
+    } while (true);
   }
 
   @Override
   public void pushUp(Push<?> push) {
     final Uri nodeUri = push.nodeUri();
-    NodeBinding nodeBinding = openNode(nodeUri);
-    if (nodeBinding != null) {
-      nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
-    }
-    if (nodeBinding != null) {
-      nodeBinding.pushUp(push);
-    } else {
-      push.trap(new HostException("unknown node: " + nodeUri));
-    }
+    do {
+      final NodeBinding node = openNode(nodeUri);
+      final NodeBinding nodeBinding = node != null ? node.bottomNode(NodeBinding.class) : null;
+      if (nodeBinding == null) {
+        push.trap(new HostException("unknown node: " + nodeUri));
+      } else {
+        final AgentNode agentNode = node.bottomNode(AgentNode.class);
+        if (agentNode == null) {
+          nodeBinding.pushUp(push);
+        } else if (agentNode.willDispatch()) {
+          try {
+            nodeBinding.pushUp(push);
+          } finally {
+            agentNode.didDispatch();
+          }
+        } else {
+          // Passivated after it was opened; reopen it.
+          continue;
+        }
+      }
+      break;
+    } while (true);
   }
 
   @Override
@@ -728,7 +1020,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willOpen() {
     super.willOpen();
-    final Iterator<NodeBinding> nodesIterator = this.nodes.valueIterator();
+    final Iterator<NodeBinding> nodesIterator = nodeIterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().open();
     }
@@ -737,7 +1029,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willLoad() {
     super.willLoad();
-    final Iterator<NodeBinding> nodesIterator = this.nodes.valueIterator();
+    final Iterator<NodeBinding> nodesIterator = nodeIterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().load();
     }
@@ -746,16 +1038,29 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willStart() {
     super.willStart();
-    final Iterator<NodeBinding> nodesIterator = this.nodes.valueIterator();
+    final Iterator<NodeBinding> nodesIterator = nodeIterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().start();
     }
   }
 
+  @Override
+  protected void didStart() {
+    super.didStart();
+    if (PASSIVATE_IDLE > 0L && this.passivateTimer == null) {
+      this.passivateTimer = schedule().setTimer(PASSIVATE_INTERVAL, new HostTablePassivateTimer(this));
+    }
+  }
+
   @Override
   protected void willStop() {
+    final TimerRef passivateTimer = this.passivateTimer;
+    if (passivateTimer != null) {
+      this.passivateTimer = null;
+      passivateTimer.cancel();
+    }
     super.willStop();
-    final Iterator<NodeBinding> nodesIterator = this.nodes.valueIterator();
+    final Iterator<NodeBinding> nodesIterator = nodeIterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().stop();
     }
@@ -764,7 +1069,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willUnload() {
     super.willUnload();
-    final Iterator<NodeBinding> nodesIterator = this.nodes.valueIterator();
+    final Iterator<NodeBinding> nodesIterator = nodeIterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().unload();
     }
@@ -773,7 +1078,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willClose() {
     super.willClose();
-    final Iterator<NodeBinding> nodesIterator = this.nodes.valueIterator();
+    final Iterator<NodeBinding> nodesIterator = nodeIterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().close();
     }
@@ -818,34 +1123,39 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   }
 
   protected void accumulateNodeProfile(NodeProfile profile) {
-    AGENT_OPEN_DELTA.addAndGet(this, profile.agentOpenDelta());
-    AGENT_CLOSE_DELTA.addAndGet(this, profile.agentCloseDelta());
-    AGENT_EXEC_DELTA.addAndGet(this, profile.agentExecDelta());
-    AGENT_EXEC_RATE.addAndGet(this, profile.agentExecRate());
-    TIMER_EVENT_DELTA.addAndGet(this, profile.timerEventDelta());
-    TIMER_EVENT_RATE.addAndGet(this, profile.timerEventRate());
-    DOWNLINK_OPEN_DELTA.addAndGet(this, profile.downlinkOpenDelta());
-    DOWNLINK_CLOSE_DELTA.addAndGet(this, profile.downlinkCloseDelta());
-    DOWNLINK_EVENT_DELTA.addAndGet(this, profile.downlinkEventDelta());
-    DOWNLINK_EVENT_RATE.addAndGet(this, profile.downlinkEventRate());
-    DOWNLINK_COMMAND_DELTA.addAndGet(this, profile.downlinkCommandDelta());
-    DOWNLINK_COMMAND_RATE.addAndGet(this, profile.downlinkCommandRate());
-    UPLINK_OPEN_DELTA.addAndGet(this, profile.uplinkOpenDelta());
-    UPLINK_CLOSE_DELTA.addAndGet(this, profile.uplinkCloseDelta());
-    UPLINK_EVENT_DELTA.addAndGet(this, profile.uplinkEventDelta());
-    UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
-    UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
-    UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    this.agentOpenCount.add(profile.agentOpenDelta());
+    this.agentCloseCount.add(profile.agentCloseDelta());
+    this.agentExecTime.add(profile.agentExecDelta());
+    this.agentExecRate.add(profile.agentExecRate());
+    this.timerEventCount.add(profile.timerEventDelta());
+    this.timerEventRate.add(profile.timerEventRate());
+    this.downlinkOpenCount.add(profile.downlinkOpenDelta());
+    this.downlinkCloseCount.add(profile.downlinkCloseDelta());
+    this.downlinkEventCount.add(profile.downlinkEventDelta());
+    this.downlinkEventRate.add(profile.downlinkEventRate());
+    this.downlinkCommandCount.add(profile.downlinkCommandDelta());
+    this.downlinkCommandRate.add(profile.downlinkCommandRate());
+    this.uplinkOpenCount.add(profile.uplinkOpenDelta());
+    this.uplinkCloseCount.add(profile.uplinkCloseDelta());
+    this.uplinkEventCount.add(profile.uplinkEventDelta());
+    this.uplinkEventRate.add(profile.uplinkEventRate());
+    this.uplinkCommandCount.add(profile.uplinkCommandDelta());
+    this.uplinkCommandRate.add(profile.uplinkCommandRate());
+    final LatencyPulse latency = profile.latency();
+    this.execTime.add(latency.execTime());
+    this.mailboxTime.add(latency.mailboxTime());
+    this.dispatchTime.add(latency.dispatchTime());
+    this.deliveryTime.add(latency.deliveryTime());
     didUpdateMetrics();
   }
 
   protected void accumulateWarpDownlinkProfile(WarpDownlinkProfile profile) {
-    DOWNLINK_OPEN_DELTA.addAndGet(this, profile.openDelta());
-    DOWNLINK_CLOSE_DELTA.addAndGet(this, profile.closeDelta());
-    DOWNLINK_EVENT_DELTA.addAndGet(this, profile.eventDelta());
-    DOWNLINK_EVENT_RATE.addAndGet(this, profile.eventRate());
-    DOWNLINK_COMMAND_DELTA.addAndGet(this, profile.commandDelta());
-    DOWNLINK_COMMAND_RATE.addAndGet(this, profile.commandRate());
+    this.downlinkOpenCount.add(profile.openDelta());
+    this.downlinkCloseCount.add(profile.closeDelta());
+    this.downlinkEventCount.add(profile.eventDelta());
+    this.downlinkEventRate.add(profile.eventRate());
+    this.downlinkCommandCount.add(profile.commandDelta());
+    this.downlinkCommandRate.add(profile.commandRate());
     didUpdateMetrics();
   }
 
@@ -894,44 +1204,57 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   }
 
   protected HostProfile collectProfile(long dt) {
-    final int nodeOpenDelta = NODE_OPEN_DELTA.getAndSet(this, 0);
-    final long nodeOpenCount = NODE_OPEN_COUNT.addAndGet(this, (long) nodeOpenDelta);
-    final int nodeCloseDelta = NODE_CLOSE_DELTA.getAndSet(this, 0);
-    final long nodeCloseCount = NODE_CLOSE_COUNT.addAndGet(this, (long) nodeCloseDelta);
-
-    final int agentOpenDelta = AGENT_OPEN_DELTA.getAndSet(this, 0);
-    final long agentOpenCount = AGENT_OPEN_COUNT.addAndGet(this, (long) agentOpenDelta);
-    final int agentCloseDelta = AGENT_CLOSE_DELTA.getAndSet(this, 0);
-    final long agentCloseCount = AGENT_CLOSE_COUNT.addAndGet(this, (long) agentCloseDelta);
-    final long agentExecDelta = AGENT_EXEC_DELTA.getAndSet(this, 0L);
-    final long agentExecRate = AGENT_EXEC_RATE.getAndSet(this, 0L);
-    final long agentExecTime = AGENT_EXEC_TIME.addAndGet(this, agentExecDelta);
-
-    final int timerEventDelta = TIMER_EVENT_DELTA.getAndSet(this, 0);
-    final int timerEventRate = TIMER_EVENT_RATE.getAndSet(this, 0);
-    final long timerEventCount = TIMER_EVENT_COUNT.addAndGet(this, (long) timerEventDelta);
-
-    final int downlinkOpenDelta = DOWNLINK_OPEN_DELTA.getAndSet(this, 0);
-    final long downlinkOpenCount = DOWNLINK_OPEN_COUNT.addAndGet(this, (long) downlinkOpenDelta);
-    final int downlinkCloseDelta = DOWNLINK_CLOSE_DELTA.getAndSet(this, 0);
-    final long downlinkCloseCount = DOWNLINK_CLOSE_COUNT.addAndGet(this, (long) downlinkCloseDelta);
-    final int downlinkEventDelta = DOWNLINK_EVENT_DELTA.getAndSet(this, 0);
-    final int downlinkEventRate = DOWNLINK_EVENT_RATE.getAndSet(this, 0);
-    final long downlinkEventCount = DOWNLINK_EVENT_COUNT.addAndGet(this, (long) downlinkEventDelta);
-    final int downlinkCommandDelta = DOWNLINK_COMMAND_DELTA.getAndSet(this, 0);
-    final int downlinkCommandRate = DOWNLINK_COMMAND_RATE.getAndSet(this, 0);
-    final long downlinkCommandCount = DOWNLINK_COMMAND_COUNT.addAndGet(this, (long) downlinkCommandDelta);
-
-    final int uplinkOpenDelta = UPLINK_OPEN_DELTA.getAndSet(this, 0);
-    final long uplinkOpenCount = UPLINK_OPEN_COUNT.addAndGet(this, (long) uplinkOpenDelta);
-    final int uplinkCloseDelta = UPLINK_CLOSE_DELTA.getAndSet(this, 0);
-    final long uplinkCloseCount = UPLINK_CLOSE_COUNT.addAndGet(this, (long) uplinkCloseDelta);
-    final int uplinkEventDelta = UPLINK_EVENT_DELTA.getAndSet(this, 0);
-    final int uplinkEventRate = UPLINK_EVENT_RATE.getAndSet(this, 0);
-    final long uplinkEventCount = UPLINK_EVENT_COUNT.addAndGet(this, (long) uplinkEventDelta);
-    final int uplinkCommandDelta = UPLINK_COMMAND_DELTA.getAndSet(this, 0);
-    final int uplinkCommandRate = UPLINK_COMMAND_RATE.getAndSet(this, 0);
-    final long uplinkCommandCount = UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
+    final int nodeOpenDelta = (int) this.nodeOpenCount.delta();
+    final long nodeOpenCount = this.nodeOpenCount.count();
+    final int nodeCloseDelta = (int) this.nodeCloseCount.delta();
+    final long nodeCloseCount = this.nodeCloseCount.count();
+    final int nodePassivateDelta = (int) this.nodePassivateCount.delta();
+    final long nodePassivateCount = this.nodePassivateCount.count();
+    final int nodeReactivateDelta = (int) this.nodeReactivateCount.delta();
+    final long nodeReactivateCount = this.nodeReactivateCount.count();
+    final long nodeReactivateTime = this.nodeReactivateTime.delta();
+    final long nodeReactivateLatency = nodeReactivateDelta != 0 ? nodeReactivateTime / nodeReactivateDelta : 0L;
+    final long nodeReactivateLatencyMax = NODE_REACTIVATE_LATENCY_MAX.getAndSet(this, 0L);
+
+    final int agentOpenDelta = (int) this.agentOpenCount.delta();
+    final long agentOpenCount = this.agentOpenCount.count();
+    final int agentCloseDelta = (int) this.agentCloseCount.delta();
+    final long agentCloseCount = this.agentCloseCount.count();
+    final long agentExecDelta = this.agentExecTime.delta();
+    final long agentExecRate = this.agentExecRate.delta();
+    final long agentExecTime = this.agentExecTime.count();
+
+    final int timerEventDelta = (int) this.timerEventCount.delta();
+    final int timerEventRate = (int) this.timerEventRate.delta();
+    final long timerEventCount = this.timerEventCount.count();
+
+    final int downlinkOpenDelta = (int) this.downlinkOpenCount.delta();
+    final long downlinkOpenCount = this.downlinkOpenCount.count();
+    final int downlinkCloseDelta = (int) this.downlinkCloseCount.delta();
+    final long downlinkCloseCount = this.downlinkCloseCount.count();
+    final int downlinkEventDelta = (int) this.downlinkEventCount.delta();
+    final int downlinkEventRate = (int) this.downlinkEventRate.delta();
+    final long downlinkEventCount = this.downlinkEventCount.count();
+    final int downlinkCommandDelta = (int) this.downlinkCommandCount.delta();
+    final int downlinkCommandRate = (int) this.downlinkCommandRate.delta();
+    final long downlinkCommandCount = this.downlinkCommandCount.count();
+
+    final int uplinkOpenDelta = (int) this.uplinkOpenCount.delta();
+    final long uplinkOpenCount = this.uplinkOpenCount.count();
+    final int uplinkCloseDelta = (int) this.uplinkCloseCount.delta();
+    final long uplinkCloseCount = this.uplinkCloseCount.count();
+    final int uplinkEventDelta = (int) this.uplinkEventCount.delta();
+    final int uplinkEventRate = (int) this.uplinkEventRate.delta();
+    final long uplinkEventCount = this.uplinkEventCount.count();
+    final int uplinkCommandDelta = (int) this.uplinkCommandCount.delta();
+    final int uplinkCommandRate = (int) this.uplinkCommandRate.delta();
+    final long uplinkCommandCount = this.uplinkCommandCount.count();
+
+    final HistogramPulse execTime = this.execTime.snapshot();
+    final HistogramPulse mailboxTime = this.mailboxTime.snapshot();
+    final HistogramPulse dispatchTime = this.dispatchTime.snapshot();
+    final HistogramPulse deliveryTime = this.deliveryTime.snapshot();
+    final LatencyPulse latency = new LatencyPulse(execTime, mailboxTime, dispatchTime, deliveryTime);
 
     final long nodeCount = nodeOpenCount - nodeCloseCount;
     final long agentCount = agentOpenCount - agentCloseCount;
@@ -942,7 +1265,8 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
         uplinkCommandRate, uplinkCommandCount);
-    this.pulse = new HostPulse(nodeCount, agentPulse, downlinkPulse, uplinkPulse);
+    this.pulse = new HostPulse(nodeCount, agentPulse, downlinkPulse, uplinkPulse,
+                               nodePassivateCount, nodeReactivateCount, nodeReactivateLatency, latency);
     final DemandLane<HostPulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
       metaPulse.cue();
@@ -958,7 +1282,71 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        nodePassivateDelta, nodePassivateCount, nodeReactivateDelta, nodeReactivateCount,
+        nodeReactivateLatency, nodeReactivateLatencyMax);
+  }
+
+  static final long PASSIVATE_IDLE;
+  static final long PASSIVATE_INTERVAL;
+
+  static {
+    long passivateIdle;
+    try {
+      passivateIdle = Long.parseLong(System.getProperty("swim.host.passivate.idle"));
+    } catch (NumberFormatException e) {
+      passivateIdle = 0L;
+    }
+    PASSIVATE_IDLE = passivateIdle;
+
+    long passivateInterval;
+    try {
+      passivateInterval = Long.parseLong(System.getProperty("swim.host.passivate.interval"));
+    } catch (NumberFormatException e) {
+      passivateInterval = Math.min(Math.max(passivateIdle / 4L, 1000L), 60000L);
+    }
+    PASSIVATE_INTERVAL = Math.max(1L, passivateInterval);
+  }
+
+}
+
+final class HostTablePassivateTimer extends AbstractTimer implements Runnable {
+
+  final HostTable host;
+
+  HostTablePassivateTimer(HostTable host) {
+    this.host = host;
+  }
+
+  @Override
+  public void runTimer() {
+    // Sweep on the host stage, off the clock thread.
+    this.host.stage().execute(this);
+  }
+
+  @Override
+  public void run() {
+    try {
+      this.host.passivateIdleNodes();
+    } finally {
+      if (this.host.isStarted()) {
+        reschedule(HostTable.PASSIVATE_INTERVAL);
+      }
+    }
+  }
+
+}
+
+final class HostTableIdleNode {
+
+  final NodeBinding node;
+  final AgentNode agentNode;
+  long deadline;
+
+  HostTableIdleNode(NodeBinding node, AgentNode agentNode, long deadline) {
+    this.node = node;
+    this.agentNode = agentNode;
+    this.deadline = deadline;
   }
 
 }
@@ -15,7 +15,6 @@
 package swim.runtime.router;
 
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.Downlink;
@@ -40,6 +39,7 @@ import swim.runtime.LaneBinding;
 import swim.runtime.LinkBinding;
 import swim.runtime.MeshBinding;
 import swim.runtime.Metric;
+import swim.runtime.MetricAdder;
 import swim.runtime.NodeBinding;
 import swim.runtime.PartAddress;
 import swim.runtime.PartBinding;
@@ -73,82 +73,6 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<PartTable, HashTrieMap<Value, LinkBinding>> UPLINKS =
       AtomicReferenceFieldUpdater.newUpdater(PartTable.class, (Class<HashTrieMap<Value, LinkBinding>>) (Class<?>) HashTrieMap.class, "uplinks");
-  static final AtomicIntegerFieldUpdater<PartTable> HOST_OPEN_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "hostOpenDelta");
-  static final AtomicLongFieldUpdater<PartTable> HOST_OPEN_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "hostOpenCount");
-  static final AtomicIntegerFieldUpdater<PartTable> HOST_CLOSE_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "hostCloseDelta");
-  static final AtomicLongFieldUpdater<PartTable> HOST_CLOSE_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "hostCloseCount");
-  static final AtomicIntegerFieldUpdater<PartTable> NODE_OPEN_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "nodeOpenDelta");
-  static final AtomicLongFieldUpdater<PartTable> NODE_OPEN_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "nodeOpenCount");
-  static final AtomicIntegerFieldUpdater<PartTable> NODE_CLOSE_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "nodeCloseDelta");
-  static final AtomicLongFieldUpdater<PartTable> NODE_CLOSE_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "nodeCloseCount");
-  static final AtomicIntegerFieldUpdater<PartTable> AGENT_OPEN_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "agentOpenDelta");
-  static final AtomicLongFieldUpdater<PartTable> AGENT_OPEN_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "agentOpenCount");
-  static final AtomicIntegerFieldUpdater<PartTable> AGENT_CLOSE_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "agentCloseDelta");
-  static final AtomicLongFieldUpdater<PartTable> AGENT_CLOSE_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "agentCloseCount");
-  static final AtomicLongFieldUpdater<PartTable> AGENT_EXEC_DELTA =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "agentExecDelta");
-  static final AtomicLongFieldUpdater<PartTable> AGENT_EXEC_RATE =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "agentExecRate");
-  static final AtomicLongFieldUpdater<PartTable> AGENT_EXEC_TIME =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "agentExecTime");
-  static final AtomicIntegerFieldUpdater<PartTable> TIMER_EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "timerEventDelta");
-  static final AtomicIntegerFieldUpdater<PartTable> TIMER_EVENT_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "timerEventRate");
-  static final AtomicLongFieldUpdater<PartTable> TIMER_EVENT_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "timerEventCount");
-  static final AtomicIntegerFieldUpdater<PartTable> DOWNLINK_OPEN_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "downlinkOpenDelta");
-  static final AtomicLongFieldUpdater<PartTable> DOWNLINK_OPEN_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "downlinkOpenCount");
-  static final AtomicIntegerFieldUpdater<PartTable> DOWNLINK_CLOSE_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "downlinkCloseDelta");
-  static final AtomicLongFieldUpdater<PartTable> DOWNLINK_CLOSE_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "downlinkCloseCount");
-  static final AtomicIntegerFieldUpdater<PartTable> DOWNLINK_EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "downlinkEventDelta");
-  static final AtomicIntegerFieldUpdater<PartTable> DOWNLINK_EVENT_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "downlinkEventRate");
-  static final AtomicLongFieldUpdater<PartTable> DOWNLINK_EVENT_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "downlinkEventCount");
-  static final AtomicIntegerFieldUpdater<PartTable> DOWNLINK_COMMAND_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "downlinkCommandDelta");
-  static final AtomicIntegerFieldUpdater<PartTable> DOWNLINK_COMMAND_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "downlinkCommandRate");
-  static final AtomicLongFieldUpdater<PartTable> DOWNLINK_COMMAND_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "downlinkCommandCount");
-  static final AtomicIntegerFieldUpdater<PartTable> UPLINK_OPEN_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "uplinkOpenDelta");
-  static final AtomicLongFieldUpdater<PartTable> UPLINK_OPEN_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "uplinkOpenCount");
-  static final AtomicIntegerFieldUpdater<PartTable> UPLINK_CLOSE_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "uplinkCloseDelta");
-  static final AtomicLongFieldUpdater<PartTable> UPLINK_CLOSE_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "uplinkCloseCount");
-  static final AtomicIntegerFieldUpdater<PartTable> UPLINK_EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "uplinkEventDelta");
-  static final AtomicIntegerFieldUpdater<PartTable> UPLINK_EVENT_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "uplinkEventRate");
-  static final AtomicLongFieldUpdater<PartTable> UPLINK_EVENT_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "uplinkEventCount");
-  static final AtomicIntegerFieldUpdater<PartTable> UPLINK_COMMAND_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "uplinkCommandDelta");
-  static final AtomicIntegerFieldUpdater<PartTable> UPLINK_COMMAND_RATE =
-      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "uplinkCommandRate");
-  static final AtomicLongFieldUpdater<PartTable> UPLINK_COMMAND_COUNT =
-      AtomicLongFieldUpdater.newUpdater(PartTable.class, "uplinkCommandCount");
   static final AtomicLongFieldUpdater<PartTable> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(PartTable.class, "lastReportTime");
   final PartPredicate predicate;
@@ -156,44 +80,28 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
   volatile HashTrieMap<Uri, HostBinding> hosts;
   volatile HashTrieMap<Value, LinkBinding> uplinks;
   volatile HostBinding master;
-  volatile int hostOpenDelta;
-  volatile long hostOpenCount;
-  volatile int hostCloseDelta;
-  volatile long hostCloseCount;
-  volatile int nodeOpenDelta;
-  volatile long nodeOpenCount;
-  volatile int nodeCloseDelta;
-  volatile long nodeCloseCount;
-  volatile int agentOpenDelta;
-  volatile long agentOpenCount;
-  volatile int agentCloseDelta;
-  volatile long agentCloseCount;
-  volatile long agentExecDelta;
-  volatile long agentExecRate;
-  volatile long agentExecTime;
-  volatile int timerEventDelta;
-  volatile int timerEventRate;
-  volatile long timerEventCount;
-  volatile int downlinkOpenDelta;
-  volatile long downlinkOpenCount;
-  volatile int downlinkCloseDelta;
-  volatile long downlinkCloseCount;
-  volatile int downlinkEventDelta;
-  volatile int downlinkEventRate;
-  volatile long downlinkEventCount;
-  volatile int downlinkCommandDelta;
-  volatile int downlinkCommandRate;
-  volatile long downlinkCommandCount;
-  volatile int uplinkOpenDelta;
-  volatile long uplinkOpenCount;
-  volatile int uplinkCloseDelta;
-  volatile long uplinkCloseCount;
-  volatile int uplinkEventDelta;
-  volatile int uplinkEventRate;
-  volatile long uplinkEventCount;
-  volatile int uplinkCommandDelta;
-  volatile int uplinkCommandRate;
-  volatile long uplinkCommandCount;
+  final MetricAdder hostOpenCount;
+  final MetricAdder hostCloseCount;
+  final MetricAdder nodeOpenCount;
+  final MetricAdder nodeCloseCount;
+  final MetricAdder agentOpenCount;
+  final MetricAdder agentCloseCount;
+  final MetricAdder agentExecTime;
+  final MetricAdder agentExecRate;
+  final MetricAdder timerEventCount;
+  final MetricAdder timerEventRate;
+  final MetricAdder downlinkOpenCount;
+  final MetricAdder downlinkCloseCount;
+  final MetricAdder downlinkEventCount;
+  final MetricAdder downlinkEventRate;
+  final MetricAdder downlinkCommandCount;
+  final MetricAdder downlinkCommandRate;
+  final MetricAdder uplinkOpenCount;
+  final MetricAdder uplinkCloseCount;
+  final MetricAdder uplinkEventCount;
+  final MetricAdder uplinkEventRate;
+  final MetricAdder uplinkCommandCount;
+  final MetricAdder uplinkCommandRate;
   volatile long lastReportTime;
   PartPulse pulse;
   AgentNode metaNode;
@@ -210,6 +118,28 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     this.hosts = HashTrieMap.empty();
     this.uplinks = HashTrieMap.empty();
     this.predicate = predicate;
+    this.hostOpenCount = new MetricAdder();
+    this.hostCloseCount = new MetricAdder();
+    this.nodeOpenCount = new MetricAdder();
+    this.nodeCloseCount = new MetricAdder();
+    this.agentOpenCount = new MetricAdder();
+    this.agentCloseCount = new MetricAdder();
+    this.agentExecTime = new MetricAdder();
+    this.agentExecRate = new MetricAdder();
+    this.timerEventCount = new MetricAdder();
+    this.timerEventRate = new MetricAdder();
+    this.downlinkOpenCount = new MetricAdder();
+    this.downlinkCloseCount = new MetricAdder();
+    this.downlinkEventCount = new MetricAdder();
+    this.downlinkEventRate = new MetricAdder();
+    this.downlinkCommandCount = new MetricAdder();
+    this.downlinkCommandRate = new MetricAdder();
+    this.uplinkOpenCount = new MetricAdder();
+    this.uplinkCloseCount = new MetricAdder();
+    this.uplinkEventCount = new MetricAdder();
+    this.uplinkEventRate = new MetricAdder();
+    this.uplinkCommandCount = new MetricAdder();
+    this.uplinkCommandRate = new MetricAdder();
   }
 
   public PartTable() {
@@ -485,7 +415,7 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     if (metaHosts != null) {
       metaHosts.cue(host.hostUri());
     }
-    HOST_OPEN_DELTA.incrementAndGet(this);
+    this.hostOpenCount.increment();
     flushMetrics();
   }
 
@@ -494,7 +424,7 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     if (metaHosts != null) {
       metaHosts.remove(host.hostUri());
     }
-    HOST_CLOSE_DELTA.incrementAndGet(this);
+    this.hostCloseCount.increment();
     flushMetrics();
   }
 
@@ -772,36 +702,36 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
   }
 
   protected void accumulateHostProfile(HostProfile profile) {
-    NODE_OPEN_DELTA.addAndGet(this, profile.nodeOpenDelta());
-    NODE_CLOSE_DELTA.addAndGet(this, profile.nodeCloseDelta());
-    AGENT_OPEN_DELTA.addAndGet(this, profile.agentOpenDelta());
-    AGENT_CLOSE_DELTA.addAndGet(this, profile.agentCloseDelta());
-    AGENT_EXEC_DELTA.addAndGet(this, profile.agentExecDelta());
-    AGENT_EXEC_RATE.addAndGet(this, profile.agentExecRate());
-    TIMER_EVENT_DELTA.addAndGet(this, profile.timerEventDelta());
-    TIMER_EVENT_RATE.addAndGet(this, profile.timerEventRate());
-    DOWNLINK_OPEN_DELTA.addAndGet(this, profile.downlinkOpenDelta());
-    DOWNLINK_CLOSE_DELTA.addAndGet(this, profile.downlinkCloseDelta());
-    DOWNLINK_EVENT_DELTA.addAndGet(this, profile.downlinkEventDelta());
-    DOWNLINK_EVENT_RATE.addAndGet(this, profile.downlinkEventRate());
-    DOWNLINK_COMMAND_DELTA.addAndGet(this, profile.downlinkCommandDelta());
-    DOWNLINK_COMMAND_RATE.addAndGet(this, profile.downlinkCommandRate());
-    UPLINK_OPEN_DELTA.addAndGet(this, profile.uplinkOpenDelta());
-    UPLINK_CLOSE_DELTA.addAndGet(this, profile.uplinkCloseDelta());
-    UPLINK_EVENT_DELTA.addAndGet(this, profile.uplinkEventDelta());
-    UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
-    UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
-    UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    this.nodeOpenCount.add(profile.nodeOpenDelta());
+    this.nodeCloseCount.add(profile.nodeCloseDelta());
+    this.agentOpenCount.add(profile.agentOpenDelta());
+    this.agentCloseCount.add(profile.agentCloseDelta());
+    this.agentExecTime.add(profile.agentExecDelta());
+    this.agentExecRate.add(profile.agentExecRate());
+    this.timerEventCount.add(profile.timerEventDelta());
+    this.timerEventRate.add(profile.timerEventRate());
+    this.downlinkOpenCount.add(profile.downlinkOpenDelta());
+    this.downlinkCloseCount.add(profile.downlinkCloseDelta());
+    this.downlinkEventCount.add(profile.downlinkEventDelta());
+    this.downlinkEventRate.add(profile.downlinkEventRate());
+    this.downlinkCommandCount.add(profile.downlinkCommandDelta());
+    this.downlinkCommandRate.add(profile.downlinkCommandRate());
+    this.uplinkOpenCount.add(profile.uplinkOpenDelta());
+    this.uplinkCloseCount.add(profile.uplinkCloseDelta());
+    this.uplinkEventCount.add(profile.uplinkEventDelta());
+    this.uplinkEventRate.add(profile.uplinkEventRate());
+    this.uplinkCommandCount.add(profile.uplinkCommandDelta());
+    this.uplinkCommandRate.add(profile.uplinkCommandRate());
     didUpdateMetrics();
   }
 
   protected void accumulateWarpDownlinkProfile(WarpDownlinkProfile profile) {
-    DOWNLINK_OPEN_DELTA.addAndGet(this, profile.openDelta());
-    DOWNLINK_CLOSE_DELTA.addAndGet(this, profile.closeDelta());
-    DOWNLINK_EVENT_DELTA.addAndGet(this, profile.eventDelta());
-    DOWNLINK_EVENT_RATE.addAndGet(this, profile.eventRate());
-    DOWNLINK_COMMAND_DELTA.addAndGet(this, profile.commandDelta());
-    DOWNLINK_COMMAND_RATE.addAndGet(this, profile.commandRate());
+    this.downlinkOpenCount.add(profile.openDelta());
+    this.downlinkCloseCount.add(profile.closeDelta());
+    this.downlinkEventCount.add(profile.eventDelta());
+    this.downlinkEventRate.add(profile.eventRate());
+    this.downlinkCommandCount.add(profile.commandDelta());
+    this.downlinkCommandRate.add(profile.commandRate());
     didUpdateMetrics();
   }
 
@@ -850,49 +780,49 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
   }
 
   protected PartProfile collectProfile(long dt) {
-    final int hostOpenDelta = HOST_OPEN_DELTA.getAndSet(this, 0);
-    final long hostOpenCount = HOST_OPEN_COUNT.addAndGet(this, (long) hostOpenDelta);
-    final int hostCloseDelta = HOST_CLOSE_DELTA.getAndSet(this, 0);
-    final long hostCloseCount = HOST_CLOSE_COUNT.addAndGet(this, (long) hostCloseDelta);
-
-    final int nodeOpenDelta = NODE_OPEN_DELTA.getAndSet(this, 0);
-    final long nodeOpenCount = NODE_OPEN_COUNT.addAndGet(this, (long) nodeOpenDelta);
-    final int nodeCloseDelta = NODE_CLOSE_DELTA.getAndSet(this, 0);
-    final long nodeCloseCount = NODE_CLOSE_COUNT.addAndGet(this, (long) nodeCloseDelta);
-
-    final int agentOpenDelta = AGENT_OPEN_DELTA.getAndSet(this, 0);
-    final long agentOpenCount = AGENT_OPEN_COUNT.addAndGet(this, (long) agentOpenDelta);
-    final int agentCloseDelta = AGENT_CLOSE_DELTA.getAndSet(this, 0);
-    final long agentCloseCount = AGENT_CLOSE_COUNT.addAndGet(this, (long) agentCloseDelta);
-    final long agentExecDelta = AGENT_EXEC_DELTA.getAndSet(this, 0L);
-    final long agentExecRate = AGENT_EXEC_RATE.getAndSet(this, 0L);
-    final long agentExecTime = AGENT_EXEC_TIME.addAndGet(this, agentExecDelta);
-
-    final int timerEventDelta = TIMER_EVENT_DELTA.getAndSet(this, 0);
-    final int timerEventRate = TIMER_EVENT_RATE.getAndSet(this, 0);
-    final long timerEventCount = TIMER_EVENT_COUNT.addAndGet(this, (long) timerEventDelta);
-
-    final int downlinkOpenDelta = DOWNLINK_OPEN_DELTA.getAndSet(this, 0);
-    final long downlinkOpenCount = DOWNLINK_OPEN_COUNT.addAndGet(this, (long) downlinkOpenDelta);
-    final int downlinkCloseDelta = DOWNLINK_CLOSE_DELTA.getAndSet(this, 0);
-    final long downlinkCloseCount = DOWNLINK_CLOSE_COUNT.addAndGet(this, (long) downlinkCloseDelta);
-    final int downlinkEventDelta = DOWNLINK_EVENT_DELTA.getAndSet(this, 0);
-    final int downlinkEventRate = DOWNLINK_EVENT_RATE.getAndSet(this, 0);
-    final long downlinkEventCount = DOWNLINK_EVENT_COUNT.addAndGet(this, (long) downlinkEventDelta);
-    final int downlinkCommandDelta = DOWNLINK_COMMAND_DELTA.getAndSet(this, 0);
-    final int downlinkCommandRate = DOWNLINK_COMMAND_RATE.getAndSet(this, 0);
-    final long downlinkCommandCount = DOWNLINK_COMMAND_COUNT.addAndGet(this, (long) downlinkCommandDelta);
-
-    final int uplinkOpenDelta = UPLINK_OPEN_DELTA.getAndSet(this, 0);
-    final long uplinkOpenCount = UPLINK_OPEN_COUNT.addAndGet(this, (long) uplinkOpenDelta);
-    final int uplinkCloseDelta = UPLINK_CLOSE_DELTA.getAndSet(this, 0);
-    final long uplinkCloseCount = UPLINK_CLOSE_COUNT.addAndGet(this, (long) uplinkCloseDelta);
-    final int uplinkEventDelta = UPLINK_EVENT_DELTA.getAndSet(this, 0);
-    final int uplinkEventRate = UPLINK_EVENT_RATE.getAndSet(this, 0);
-    final long uplinkEventCount = UPLINK_EVENT_COUNT.addAndGet(this, (long) uplinkEventDelta);
-    final int uplinkCommandDelta = UPLINK_COMMAND_DELTA.getAndSet(this, 0);
-    final int uplinkCommandRate = UPLINK_COMMAND_RATE.getAndSet(this, 0);
-    final long uplinkCommandCount = UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
+    final int hostOpenDelta = (int) this.hostOpenCount.delta();
+    final long hostOpenCount = this.hostOpenCount.count();
+    final int hostCloseDelta = (int) this.hostCloseCount.delta();
+    final long hostCloseCount = this.hostCloseCount.count();
+
+    final int nodeOpenDelta = (int) this.nodeOpenCount.delta();
+    final long nodeOpenCount = this.nodeOpenCount.count();
+    final int nodeCloseDelta = (int) this.nodeCloseCount.delta();
+    final long nodeCloseCount = this.nodeCloseCount.count();
+
+    final int agentOpenDelta = (int) this.agentOpenCount.delta();
+    final long agentOpenCount = this.agentOpenCount.count();
+    final int agentCloseDelta = (int) this.agentCloseCount.delta();
+    final long agentCloseCount = this.agentCloseCount.count();
+    final long agentExecDelta = this.agentExecTime.delta();
+    final long agentExecRate = this.agentExecRate.delta();
+    final long agentExecTime = this.agentExecTime.count();
+
+    final int timerEventDelta = (int) this.timerEventCount.delta();
+    final int timerEventRate = (int) this.timerEventRate.delta();
+    final long timerEventCount = this.timerEventCount.count();
+
+    final int downlinkOpenDelta = (int) this.downlinkOpenCount.delta();
+    final long downlinkOpenCount = this.downlinkOpenCount.count();
+    final int downlinkCloseDelta = (int) this.downlinkCloseCount.delta();
+    final long downlinkCloseCount = this.downlinkCloseCount.count();
+    final int downlinkEventDelta = (int) this.downlinkEventCount.delta();
+    final int downlinkEventRate = (int) this.downlinkEventRate.delta();
+    final long downlinkEventCount = this.downlinkEventCount.count();
+    final int downlinkCommandDelta = (int) this.downlinkCommandCount.delta();
+    final int downlinkCommandRate = (int) this.downlinkCommandRate.delta();
+    final long downlinkCommandCount = this.downlinkCommandCount.count();
+
+    final int uplinkOpenDelta = (int) this.uplinkOpenCount.delta();
+    final long uplinkOpenCount = this.uplinkOpenCount.count();
+    final int uplinkCloseDelta = (int) this.uplinkCloseCount.delta();
+    final long uplinkCloseCount = this.uplinkCloseCount.count();
+    final int uplinkEventDelta = (int) this.uplinkEventCount.delta();
+    final int uplinkEventRate = (int) this.uplinkEventRate.delta();
+    final long uplinkEventCount = this.uplinkEventCount.count();
+    final int uplinkCommandDelta = (int) this.uplinkCommandCount.delta();
+    final int uplinkCommandRate = (int) this.uplinkCommandRate.delta();
+    final long uplinkCommandCount = this.uplinkCommandCount.count();
 
     final int hostCount = (int) (hostOpenCount - hostCloseCount);
     final long nodeCount = nodeOpenCount - nodeCloseCount;
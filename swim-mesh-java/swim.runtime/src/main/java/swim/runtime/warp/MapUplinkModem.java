@@ -29,6 +29,7 @@ public abstract class MapUplinkModem extends WarpUplinkModem {
       AtomicReferenceFieldUpdater.newUpdater(MapUplinkModem.class, (Class<HashTrieSet<Value>>) (Class<?>) HashTrieSet.class, "keyQueue");
   final ConcurrentLinkedQueue<Value> downQueue;
   volatile Iterator<Value> syncQueue;
+  volatile Iterator<Value> syncBodies;
   volatile HashTrieSet<Value> keyQueue;
   volatile Value lastKey;
 
@@ -49,9 +50,23 @@ public abstract class MapUplinkModem extends WarpUplinkModem {
   }
 
   public void syncDown(Iterator<Value> syncQueue) {
+    syncDown(null, syncQueue);
+  }
+
+  /**
+   * Syncs the keys of {@code syncQueue}, preceded by {@code syncBodies}, such
+   * as removes of keys that no longer exist, which must reach the downlink
+   * before it's synced.
+   */
+  public void syncDown(Iterator<Value> syncBodies, Iterator<Value> syncQueue) {
+    this.syncBodies = syncBodies;
     this.syncQueue = syncQueue;
   }
 
+  public boolean isSyncingDown() {
+    return this.syncQueue != null;
+  }
+
   public void cueDownKey(Value key) {
     do {
       final HashTrieSet<Value> oldKeyQueue = this.keyQueue;
@@ -73,13 +88,22 @@ public abstract class MapUplinkModem extends WarpUplinkModem {
   protected Value nextDownQueue() {
     final Iterator<Value> syncQueue = this.syncQueue;
     if (syncQueue != null) {
-      if (syncQueue.hasNext()) {
-        final Value key = syncQueue.next();
-        return nextDownKey(key);
-      } else {
-        this.syncQueue = null;
-        return null;
+      final Iterator<Value> syncBodies = this.syncBodies;
+      if (syncBodies != null) {
+        if (syncBodies.hasNext()) {
+          return syncBodies.next();
+        }
+        this.syncBodies = null;
+      }
+      // Skip keys removed since the sync began.
+      while (syncQueue.hasNext()) {
+        final Value body = nextDownKey(syncQueue.next());
+        if (body != null) {
+          return body;
+        }
       }
+      this.syncQueue = null;
+      return null;
     }
     return this.downQueue.poll();
   }
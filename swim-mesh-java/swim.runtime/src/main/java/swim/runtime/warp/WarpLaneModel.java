@@ -24,6 +24,7 @@ import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.runtime.LaneModel;
 import swim.runtime.LaneRelay;
+import swim.runtime.LatencyHistogram;
 import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
 import swim.runtime.Push;
@@ -31,6 +32,7 @@ import swim.runtime.WarpBinding;
 import swim.runtime.profile.WarpDownlinkProfile;
 import swim.runtime.profile.WarpLaneProfile;
 import swim.runtime.profile.WarpUplinkProfile;
+import swim.runtime.reflect.HistogramPulse;
 import swim.structure.Value;
 import swim.warp.CommandMessage;
 
@@ -140,6 +142,8 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
   volatile long lastReportTime;
+  final LatencyHistogram dispatchTime = new LatencyHistogram();
+  final LatencyHistogram deliveryTime = new LatencyHistogram();
 
   @Override
   protected U createUplink(LinkBinding link) {
@@ -259,6 +263,16 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     didUpdateMetrics();
   }
 
+  @Override
+  public void accumulateDispatchTime(long dispatchTime) {
+    this.dispatchTime.record(dispatchTime);
+  }
+
+  @Override
+  public void accumulateDeliveryTime(long deliveryTime) {
+    this.deliveryTime.record(deliveryTime);
+  }
+
   protected void accumulateWarpUplinkProfile(WarpUplinkProfile profile) {
     UPLINK_EVENT_DELTA.addAndGet(this, profile.eventDelta());
     UPLINK_EVENT_RATE.addAndGet(this, profile.eventRate());
@@ -355,13 +369,17 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     final long execRate = (long) Math.ceil((1000.0 * (double) execDelta) / (double) dt) + downlinkExecRate;
     final long execTime = EXEC_TIME.addAndGet(this, execDelta);
 
+    final HistogramPulse dispatchTime = this.dispatchTime.snapshot();
+    final HistogramPulse deliveryTime = this.deliveryTime.snapshot();
+
     return new WarpLaneProfile(cellAddress(), execDelta, execRate, execTime,
         downlinkOpenDelta, downlinkOpenCount, downlinkCloseDelta, downlinkCloseCount,
         downlinkEventDelta, downlinkEventRate, downlinkEventCount,
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        dispatchTime, deliveryTime);
   }
 
 }
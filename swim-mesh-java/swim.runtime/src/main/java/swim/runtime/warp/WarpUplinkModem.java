@@ -30,8 +30,11 @@ import swim.api.warp.function.OnUnlinkRequest;
 import swim.api.warp.function.OnUnlinkedResponse;
 import swim.concurrent.Conts;
 import swim.runtime.AbstractUplinkContext;
+import swim.runtime.LaneBinding;
+import swim.runtime.LaneModel;
 import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
+import swim.runtime.MetricAdder;
 import swim.runtime.NodeBinding;
 import swim.runtime.Push;
 import swim.runtime.UplinkAddress;
@@ -62,28 +65,21 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   static final int PULLING_UP = 1 << 7;
   static final AtomicIntegerFieldUpdater<WarpUplinkModem> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "status");
-  static final AtomicIntegerFieldUpdater<WarpUplinkModem> EVENT_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "eventDelta");
-  static final AtomicLongFieldUpdater<WarpUplinkModem> EVENT_COUNT =
-      AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "eventCount");
-  static final AtomicIntegerFieldUpdater<WarpUplinkModem> COMMAND_DELTA =
-      AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "commandDelta");
-  static final AtomicLongFieldUpdater<WarpUplinkModem> COMMAND_TOTAL =
-      AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "commandCount");
   static final AtomicLongFieldUpdater<WarpUplinkModem> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "lastReportTime");
   protected final WarpBinding linkBinding;
   protected final UplinkAddress uplinkAddress;
   protected volatile int status;
-  volatile int eventDelta;
-  volatile long eventCount;
-  volatile int commandDelta;
-  volatile long commandCount;
+  final MetricAdder eventCount;
+  final MetricAdder commandCount;
+  volatile long feedTime;
   volatile long lastReportTime;
 
   protected WarpUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     this.linkBinding = linkBinding;
     this.uplinkAddress = uplinkAddress;
+    this.eventCount = new MetricAdder();
+    this.commandCount = new MetricAdder();
   }
 
   @Override
@@ -616,6 +612,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
       final int newStatus = oldStatus | FEEDING_DOWN;
       if (oldStatus != newStatus) {
         if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          this.feedTime = System.nanoTime();
           this.linkBinding.feedDown();
           break;
         }
@@ -634,6 +631,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
         if (oldStatus != newStatus) {
           if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
             if ((oldStatus & FEEDING_DOWN) == 0) {
+              this.feedTime = System.nanoTime();
               this.linkBinding.feedDown();
             }
             break;
@@ -685,6 +683,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
           final LinkedResponse response = linkedResponse();
           pullDownLinked(response);
           pushDown(response);
+          this.feedTime = System.nanoTime();
           if ((newStatus & SYNCING) != 0) {
             this.linkBinding.feedDown();
           } else {
@@ -716,6 +715,14 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
           message = nextDownCueEvent();
         }
         if (message != null) {
+          // Measure the time since the link was asked to feed this uplink;
+          // subsequent events queue behind this pull.
+          final long pullTime = System.nanoTime();
+          final long feedTime = this.feedTime;
+          this.feedTime = pullTime;
+          if (feedTime != 0L) {
+            accumulateDeliveryTime(pullTime - feedTime);
+          }
           pullDownEvent(message);
           pushDown(message);
           do {
@@ -774,6 +781,13 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     } while (true);
   }
 
+  protected void accumulateDeliveryTime(long deliveryTime) {
+    final LaneBinding laneBinding = laneBinding();
+    if (laneBinding instanceof LaneModel<?, ?>) {
+      ((LaneModel<?, ?>) laneBinding).accumulateDeliveryTime(deliveryTime);
+    }
+  }
+
   protected void pullDownEvent(EventMessage message) {
     onEvent(message);
     dispatchOnEvent(message);
@@ -989,12 +1003,12 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   }
 
   protected void onEvent(EventMessage message) {
-    EVENT_DELTA.incrementAndGet(this);
+    this.eventCount.increment();
     didUpdateMetrics();
   }
 
   protected void onCommand(CommandMessage message) {
-    COMMAND_DELTA.incrementAndGet(this);
+    this.commandCount.increment();
     didUpdateMetrics();
   }
 
@@ -1151,12 +1165,12 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   }
 
   protected WarpUplinkProfile collectProfile(long dt) {
-    final int eventDelta = EVENT_DELTA.getAndSet(this, 0);
+    final int eventDelta = (int) this.eventCount.delta();
     final int eventRate = (int) Math.ceil((1000.0 * (double) eventDelta) / (double) dt);
-    final long eventCount = EVENT_COUNT.addAndGet(this, (long) eventDelta);
-    final int commandDelta = COMMAND_DELTA.getAndSet(this, 0);
+    final long eventCount = this.eventCount.count();
+    final int commandDelta = (int) this.commandCount.delta();
     final int commandRate = (int) Math.ceil((1000.0 * (double) commandDelta) / (double) dt);
-    final long commandCount = COMMAND_TOTAL.addAndGet(this, (long) commandDelta);
+    final long commandCount = this.commandCount.count();
 
     return new WarpUplinkProfile(this.uplinkAddress,
         eventDelta, eventRate, eventCount,
@@ -0,0 +1,127 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime;
+
+import org.testng.annotations.Test;
+import swim.runtime.reflect.HistogramPulse;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class LatencyHistogramSpec {
+
+  @Test
+  public void testLinearBucketIndexes() {
+    assertEquals(0, LatencyHistogram.bucketIndex(-1L));
+    assertEquals(0, LatencyHistogram.bucketIndex(0L));
+    for (int value = 1; value < 16; value += 1) {
+      assertEquals(value, LatencyHistogram.bucketIndex(value));
+      assertEquals(value, LatencyHistogram.bucketValue(value));
+    }
+  }
+
+  @Test
+  public void testLogLinearBucketIndexes() {
+    assertEquals(16, LatencyHistogram.bucketIndex(16L));
+    assertEquals(16, LatencyHistogram.bucketIndex(17L));
+    assertEquals(17, LatencyHistogram.bucketIndex(18L));
+    assertEquals(17L, LatencyHistogram.bucketValue(16));
+    assertEquals(36, LatencyHistogram.bucketIndex(100L));
+    assertEquals(103L, LatencyHistogram.bucketValue(36));
+    assertEquals(63, LatencyHistogram.bucketIndex(1000L));
+    assertEquals(1023L, LatencyHistogram.bucketValue(63));
+    assertEquals(64, LatencyHistogram.bucketIndex(1024L));
+  }
+
+  @Test
+  public void testSaturateTopBucket() {
+    final int top = LatencyHistogram.BUCKET_COUNT - 1;
+    assertEquals(top, LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE - 1L));
+    assertEquals(top, LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE));
+    assertEquals(top, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    assertEquals(LatencyHistogram.MAX_VALUE - 1L, LatencyHistogram.bucketValue(top));
+  }
+
+  @Test
+  public void testBucketBoundsAndRelativeError() {
+    for (long value = 1L; value < LatencyHistogram.MAX_VALUE; value += 1L + (value >>> 5)) {
+      final int index = LatencyHistogram.bucketIndex(value);
+      final long upper = LatencyHistogram.bucketValue(index);
+      assertTrue(upper >= value);
+      assertTrue(index == 0 || LatencyHistogram.bucketValue(index - 1) < value);
+      assertTrue((double) (upper - value) <= 0.125 * (double) value);
+    }
+  }
+
+  @Test
+  public void testQuantiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 90; i += 1) {
+      histogram.record(5L);
+    }
+    for (int i = 0; i < 9; i += 1) {
+      histogram.record(100L);
+    }
+    histogram.record(5000L);
+    final HistogramPulse pulse = histogram.snapshot();
+    assertEquals(100L, pulse.count());
+    assertEquals(5L, pulse.p50());
+    assertEquals(5L, pulse.p90());
+    assertEquals(103L, pulse.p99()); // upper bound of the bucket holding 100
+    assertEquals(5000L, pulse.p999()); // clamped to the recorded max
+    assertEquals(5000L, pulse.max());
+    assertEquals(90, pulse.counts()[5]);
+    assertEquals(9, pulse.counts()[36]);
+  }
+
+  @Test
+  public void testQuantileOfSingleValue() {
+    final int[] counts = new int[LatencyHistogram.BUCKET_COUNT];
+    counts[LatencyHistogram.bucketIndex(1000L)] = 1;
+    assertEquals(1000L, LatencyHistogram.quantile(counts, 1L, 1000L, 0.0));
+    assertEquals(1000L, LatencyHistogram.quantile(counts, 1L, 1000L, 0.5));
+    assertEquals(1000L, LatencyHistogram.quantile(counts, 1L, 1000L, 1.0));
+  }
+
+  @Test
+  public void testSnapshotResetsAndReleases() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertFalse(histogram.snapshot().isDefined());
+    histogram.record(7L);
+    assertEquals(1L, histogram.snapshot().count());
+    assertEquals(0L, histogram.max);
+    assertFalse(histogram.snapshot().isDefined());
+    assertNull(histogram.counts);
+  }
+
+  @Test
+  public void testAddPulse() {
+    final LatencyHistogram a = new LatencyHistogram();
+    final LatencyHistogram b = new LatencyHistogram();
+    a.record(3L);
+    a.record(3L);
+    b.record(40L);
+    final LatencyHistogram merged = new LatencyHistogram();
+    merged.add(a.snapshot());
+    merged.add(b.snapshot());
+    final HistogramPulse pulse = merged.snapshot();
+    assertEquals(3L, pulse.count());
+    assertEquals(3L, pulse.p50());
+    assertEquals(40L, pulse.p99());
+    assertEquals(40L, pulse.max());
+  }
+
+}
@@ -0,0 +1,129 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.Test;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class MetricAdderSpec {
+
+  @Test
+  public void testDeltaAndCount() {
+    final MetricAdder adder = new MetricAdder();
+    assertEquals(0L, adder.delta());
+    assertEquals(0L, adder.count());
+    adder.add(5L);
+    adder.increment();
+    assertEquals(6L, adder.delta());
+    assertEquals(6L, adder.count());
+    assertEquals(0L, adder.delta());
+    assertEquals(6L, adder.count());
+    adder.add(3L);
+    assertEquals(3L, adder.delta());
+    assertEquals(9L, adder.count());
+    assertEquals(9L, adder.sum());
+  }
+
+  @Test
+  public void testCarryUpdatesIntoNextReport() {
+    final MetricAdder adder = new MetricAdder();
+    adder.add(4L);
+    // An update that lands after a report has summed the cells is neither
+    // lost nor counted twice; the next report picks it up.
+    final long sum = adder.sum();
+    adder.add(2L);
+    assertEquals(sum + 2L, adder.delta());
+    assertEquals(0L, adder.delta());
+    adder.add(1L);
+    assertEquals(1L, adder.delta());
+    assertEquals(7L, adder.count());
+  }
+
+  @Test
+  public void testNeverReportNegativeDeltas() {
+    final MetricAdder adder = new MetricAdder();
+    adder.add(10L);
+    assertEquals(10L, adder.delta());
+    adder.add(-4L);
+    assertEquals(0L, adder.delta());
+    assertEquals(10L, adder.count());
+    // The shortfall is made up before anything more is reported.
+    adder.add(6L);
+    assertEquals(2L, adder.delta());
+    assertEquals(12L, adder.count());
+  }
+
+  @Test
+  public void testConcurrentAddAndDelta() throws InterruptedException {
+    final MetricAdder adder = new MetricAdder();
+    final int adderCount = 4;
+    final int reporterCount = 2;
+    final int addCount = 100000;
+    final AtomicLong reported = new AtomicLong();
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch added = new CountDownLatch(adderCount);
+    final Thread[] threads = new Thread[adderCount + reporterCount];
+    for (int t = 0; t < adderCount; t += 1) {
+      threads[t] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            for (int i = 0; i < addCount; i += 1) {
+              adder.increment();
+            }
+          } catch (InterruptedException cause) {
+            throw new RuntimeException(cause);
+          } finally {
+            added.countDown();
+          }
+        }
+      });
+    }
+    for (int t = adderCount; t < threads.length; t += 1) {
+      threads[t] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            do {
+              final long delta = adder.delta();
+              assertTrue(delta >= 0L);
+              reported.addAndGet(delta);
+            } while (added.getCount() != 0L);
+          } catch (InterruptedException cause) {
+            throw new RuntimeException(cause);
+          }
+        }
+      });
+    }
+    for (int t = 0; t < threads.length; t += 1) {
+      threads[t].start();
+    }
+    start.countDown();
+    for (int t = 0; t < threads.length; t += 1) {
+      threads[t].join();
+    }
+    reported.addAndGet(adder.delta());
+    final long total = (long) adderCount * (long) addCount;
+    assertEquals(total, reported.get());
+    assertEquals(total, adder.count());
+    assertEquals(0L, adder.delta());
+  }
+
+}
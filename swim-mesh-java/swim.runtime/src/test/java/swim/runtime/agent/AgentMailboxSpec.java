@@ -0,0 +1,173 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.agent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class AgentMailboxSpec {
+
+  @Test
+  public void testRoundCapacityToPowerOfTwo() {
+    assertEquals(2, new AgentMailbox(0).capacity());
+    assertEquals(8, new AgentMailbox(5).capacity());
+    assertEquals(8, new AgentMailbox(8).capacity());
+  }
+
+  @Test
+  public void testWrapAround() {
+    final AgentMailbox mailbox = new AgentMailbox(4);
+    int polled = 0;
+    for (int i = 0; i < 100; i += 1) {
+      assertTrue(mailbox.offer(new TestCommand(0, i), Integer.MAX_VALUE));
+      if (i % 3 == 2) {
+        assertEquals(polled, ((TestCommand) mailbox.poll()).seq);
+        assertEquals(polled + 1, ((TestCommand) mailbox.poll()).seq);
+        assertEquals(polled + 2, ((TestCommand) mailbox.poll()).seq);
+        polled += 3;
+        assertTrue(mailbox.isEmpty());
+      }
+    }
+    assertEquals(1, mailbox.size());
+    assertEquals(99, ((TestCommand) mailbox.poll()).seq);
+    assertNull(mailbox.poll());
+    assertEquals(100L, mailbox.drainCount);
+  }
+
+  @Test
+  public void testRejectOffersWhenFull() {
+    final AgentMailbox mailbox = new AgentMailbox(4);
+    for (int i = 0; i < 4; i += 1) {
+      assertTrue(mailbox.offer(new TestCommand(0, i), Integer.MAX_VALUE));
+    }
+    assertFalse(mailbox.offer(new TestCommand(0, 4), Integer.MAX_VALUE));
+    assertEquals(4, mailbox.size());
+    assertEquals(0, ((TestCommand) mailbox.poll()).seq);
+    assertTrue(mailbox.offer(new TestCommand(0, 4), Integer.MAX_VALUE));
+    for (int i = 1; i <= 4; i += 1) {
+      assertEquals(i, ((TestCommand) mailbox.poll()).seq);
+    }
+    assertTrue(mailbox.isEmpty());
+  }
+
+  @Test
+  public void testRejectOffersOverLimit() {
+    final AgentMailbox mailbox = new AgentMailbox(8);
+    for (int i = 0; i < 6; i += 1) {
+      assertTrue(mailbox.offer(new TestCommand(0, i), 6));
+    }
+    assertFalse(mailbox.offer(new TestCommand(0, 6), 6));
+    assertTrue(mailbox.offer(new TestCommand(0, 6), Integer.MAX_VALUE));
+    assertTrue(mailbox.offer(new TestCommand(0, 7), Integer.MAX_VALUE));
+    assertFalse(mailbox.offer(new TestCommand(0, 8), Integer.MAX_VALUE));
+    assertEquals(8, mailbox.size());
+  }
+
+  @Test
+  public void testSpillPushesIntoOverflow() {
+    final AgentMailbox mailbox = new AgentMailbox(4);
+    for (int i = 0; i < 6; i += 1) {
+      mailbox.push(new TestCommand(0, i));
+    }
+    assertEquals(6, mailbox.size());
+    assertEquals(2, mailbox.overflowSize);
+    assertFalse(mailbox.offer(new TestCommand(0, 6), Integer.MAX_VALUE));
+    assertEquals(0, ((TestCommand) mailbox.poll()).seq);
+    mailbox.push(new TestCommand(0, 6));
+    assertEquals(3, mailbox.overflowSize);
+    for (int i = 1; i <= 6; i += 1) {
+      assertEquals(i, ((TestCommand) mailbox.poll()).seq);
+    }
+    assertTrue(mailbox.isEmpty());
+    assertNull(mailbox.poll());
+    assertEquals(7L, mailbox.drainCount);
+  }
+
+  @Test
+  public void testConcurrentProducers() throws InterruptedException {
+    final int producerCount = 4;
+    final int commandCount = 20000;
+    final AgentMailbox mailbox = new AgentMailbox(16);
+    final CountDownLatch start = new CountDownLatch(1);
+    final Thread[] producers = new Thread[producerCount];
+    for (int p = 0; p < producerCount; p += 1) {
+      final int producer = p;
+      producers[p] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException cause) {
+            return;
+          }
+          for (int i = 0; i < commandCount; i += 1) {
+            final TestCommand command = new TestCommand(producer, i);
+            while (!mailbox.offer(command, Integer.MAX_VALUE)) {
+              Thread.yield();
+            }
+          }
+        }
+      });
+      producers[p].start();
+    }
+
+    final int[] nextSeqs = new int[producerCount];
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    int received = 0;
+    start.countDown();
+    while (received < producerCount * commandCount) {
+      assertTrue(mailbox.size() <= mailbox.capacity());
+      final TestCommand command = (TestCommand) mailbox.poll();
+      if (command != null) {
+        assertEquals(nextSeqs[command.producer], command.seq);
+        nextSeqs[command.producer] += 1;
+        received += 1;
+      } else {
+        assertTrue(System.nanoTime() < deadline);
+        Thread.yield();
+      }
+    }
+    for (int p = 0; p < producerCount; p += 1) {
+      producers[p].join();
+      assertEquals(commandCount, nextSeqs[p]);
+    }
+    assertTrue(mailbox.isEmpty());
+    assertNull(mailbox.poll());
+    assertEquals((long) (producerCount * commandCount), mailbox.drainCount);
+  }
+
+  static final class TestCommand implements Runnable {
+
+    final int producer;
+    final int seq;
+
+    TestCommand(int producer, int seq) {
+      this.producer = producer;
+      this.seq = seq;
+    }
+
+    @Override
+    public void run() {
+      // nop
+    }
+
+  }
+
+}
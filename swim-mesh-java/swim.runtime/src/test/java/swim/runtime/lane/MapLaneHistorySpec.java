@@ -0,0 +1,97 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.lane;
+
+import org.testng.annotations.Test;
+import swim.collections.HashTrieSet;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+public class MapLaneHistorySpec {
+
+  static HashTrieSet<Value> keys(String... keys) {
+    HashTrieSet<Value> set = HashTrieSet.empty();
+    for (int i = 0; i < keys.length; i += 1) {
+      set = set.added(Text.from(keys[i]));
+    }
+    return set;
+  }
+
+  @Test
+  public void testAllocateRingOnFirstVersion() {
+    final MapLaneHistory history = new MapLaneHistory(8);
+    history.didChange(Text.from("a"));
+    assertNull(history.keys);
+    assertNull(history.keysSince(history.version - 1L));
+    final long version = history.version();
+    assertNotNull(history.keys);
+    assertEquals(8, history.keys.length);
+    history.didChange(Text.from("b"));
+    assertEquals(keys("b"), history.keysSince(version));
+  }
+
+  @Test
+  public void testKeysSinceVersion() {
+    final MapLaneHistory history = new MapLaneHistory(8);
+    final long version = history.version();
+    assertEquals(keys(), history.keysSince(version));
+    history.didChange(Text.from("a"));
+    history.didChange(Text.from("b"));
+    history.didChange(Text.from("a"));
+    assertEquals(keys("a", "b"), history.keysSince(version));
+    assertEquals(keys("b", "a"), history.keysSince(version + 1L));
+    assertEquals(keys("a"), history.keysSince(version + 2L));
+    assertNull(history.keysSince(version + 4L));
+  }
+
+  @Test
+  public void testFallBackAfterOverflow() {
+    final MapLaneHistory history = new MapLaneHistory(4);
+    final long version = history.version();
+    for (int i = 0; i < 4; i += 1) {
+      history.didChange(Text.from("k" + i));
+    }
+    assertEquals(keys("k0", "k1", "k2", "k3"), history.keysSince(version));
+    history.didChange(Text.from("k4"));
+    assertNull(history.keysSince(version));
+    assertEquals(keys("k1", "k2", "k3", "k4"), history.keysSince(version + 1L));
+  }
+
+  @Test
+  public void testFallBackAfterTruncate() {
+    final MapLaneHistory history = new MapLaneHistory(8);
+    final long version = history.version();
+    history.didChange(Text.from("a"));
+    history.truncate();
+    assertNull(history.keysSince(version));
+    final long truncatedVersion = history.version();
+    history.didChange(Text.from("b"));
+    assertEquals(keys("b"), history.keysSince(truncatedVersion));
+  }
+
+  @Test
+  public void testDisabledHistory() {
+    final MapLaneHistory history = new MapLaneHistory(0);
+    final long version = history.version();
+    assertNull(history.keys);
+    assertEquals(keys(), history.keysSince(version));
+    history.didChange(Text.from("a"));
+    assertNull(history.keysSince(version));
+  }
+
+}
@@ -0,0 +1,188 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.router;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.testng.annotations.Test;
+import swim.runtime.NodeBinding;
+import swim.runtime.agent.AgentNode;
+import swim.uri.Uri;
+import swim.uri.UriMapper;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class HostNodeIndexSpec {
+
+  static Uri nodeUri(int i) {
+    return Uri.parse("/device/" + (i >>> 4) + '/' + i);
+  }
+
+  static void assertViewMatchesTable(HostNodeIndex index) {
+    final UriMapper<NodeBinding> view = index.view();
+    assertEquals(index.size(), view.size());
+    final Iterator<Map.Entry<Uri, NodeBinding>> entries = index.table.entrySet().iterator();
+    while (entries.hasNext()) {
+      final Map.Entry<Uri, NodeBinding> entry = entries.next();
+      assertSame(entry.getValue(), view.get(entry.getKey()));
+    }
+  }
+
+  @Test
+  public void testPutGetRemove() {
+    final HostNodeIndex index = new HostNodeIndex();
+    final NodeBinding a = new AgentNode();
+    final NodeBinding b = new AgentNode();
+    assertNull(index.putIfAbsent(nodeUri(1), a));
+    assertSame(a, index.putIfAbsent(nodeUri(1), b));
+    assertSame(a, index.get(nodeUri(1)));
+    assertFalse(index.remove(nodeUri(1), b));
+    assertTrue(index.remove(nodeUri(1), a));
+    assertNull(index.get(nodeUri(1)));
+    assertNull(index.remove(nodeUri(1)));
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  public void testReconcileView() {
+    final HostNodeIndex index = new HostNodeIndex();
+    final NodeBinding node = new AgentNode();
+    for (int i = 0; i < 32; i += 1) {
+      index.putIfAbsent(nodeUri(i), node);
+    }
+    assertViewMatchesTable(index);
+    assertEquals(16, index.view().getSuffix(Uri.parse("/device/1/")).size());
+    for (int i = 0; i < 32; i += 2) {
+      index.remove(nodeUri(i));
+    }
+    assertViewMatchesTable(index);
+    assertEquals(8, index.view().getSuffix(Uri.parse("/device/1/")).size());
+    assertEquals(0, index.changeCount);
+  }
+
+  @Test
+  public void testRebuildInvalidatedView() {
+    final HostNodeIndex index = new HostNodeIndex();
+    final NodeBinding node = new AgentNode();
+    index.putIfAbsent(nodeUri(0), node);
+    index.view();
+    for (int i = 1; i <= HostNodeIndex.MIN_CHANGES; i += 1) {
+      index.putIfAbsent(nodeUri(i), node);
+      index.remove(nodeUri(i));
+    }
+    assertNull(index.view);
+    assertViewMatchesTable(index);
+    assertEquals(1, index.view().size());
+  }
+
+  @Test
+  public void testClear() {
+    final HostNodeIndex index = new HostNodeIndex();
+    final NodeBinding node = new AgentNode();
+    for (int i = 0; i < 10; i += 1) {
+      index.putIfAbsent(nodeUri(i), node);
+    }
+    index.view();
+    assertEquals(10, index.clear().size());
+    assertEquals(0, index.size());
+    assertEquals(0, index.view().size());
+  }
+
+  @Test
+  public void testConcurrentPutGetRemove() throws InterruptedException {
+    final int threadCount = 4;
+    final int nodeCount = 256;
+    final int opCount = 50000;
+    final HostNodeIndex index = new HostNodeIndex();
+    final NodeBinding[] nodes = new NodeBinding[threadCount];
+    for (int t = 0; t < threadCount; t += 1) {
+      nodes[t] = new AgentNode();
+    }
+    // Net number of nodes each thread has inserted at each URI.
+    final AtomicIntegerArray balances = new AtomicIntegerArray(nodeCount);
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(threadCount);
+    final Throwable[] errors = new Throwable[threadCount];
+    for (int t = 0; t < threadCount; t += 1) {
+      final int thread = t;
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            final NodeBinding node = nodes[thread];
+            int seed = thread * 7919 + 1;
+            for (int i = 0; i < opCount; i += 1) {
+              seed = seed * 1103515245 + 12345;
+              final int key = (seed >>> 8) % nodeCount;
+              final Uri nodeUri = nodeUri(key);
+              switch ((seed >>> 4) & 3) {
+                case 0:
+                case 1:
+                  if (index.putIfAbsent(nodeUri, node) == null) {
+                    balances.incrementAndGet(key);
+                  }
+                  break;
+                case 2:
+                  if (index.remove(nodeUri, node)) {
+                    balances.decrementAndGet(key);
+                  }
+                  break;
+                default:
+                  final NodeBinding found = index.get(nodeUri);
+                  if (found != null) {
+                    boolean known = false;
+                    for (int n = 0; n < nodes.length; n += 1) {
+                      known = known || found == nodes[n];
+                    }
+                    assertTrue(known);
+                  }
+                  if ((i & 255) == 0) {
+                    index.view();
+                  }
+              }
+            }
+          } catch (Throwable error) {
+            errors[thread] = error;
+          } finally {
+            done.countDown();
+          }
+        }
+      }).start();
+    }
+    start.countDown();
+    done.await();
+    for (int t = 0; t < threadCount; t += 1) {
+      if (errors[t] != null) {
+        throw new AssertionError(errors[t]);
+      }
+    }
+    int size = 0;
+    for (int key = 0; key < nodeCount; key += 1) {
+      final int balance = balances.get(key);
+      assertTrue(balance == 0 || balance == 1);
+      assertEquals(balance == 1, index.get(nodeUri(key)) != null);
+      size += balance;
+    }
+    assertEquals(size, index.size());
+    assertViewMatchesTable(index);
+  }
+
+}
@@ -45,6 +45,7 @@ import swim.observable.function.WillTake;
 import swim.observable.function.WillUpdateIndex;
 import swim.recon.Recon;
 import swim.service.web.WebServiceDef;
+import swim.structure.Record;
 import swim.structure.Value;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
@@ -415,6 +416,49 @@ public class ListLaneSpec {
     }
   }
 
+  static List<Value> syncWindow(TestListPlane plane, String nodeUri, Value body) throws InterruptedException {
+    final List<Value> events = new ArrayList<Value>();
+    final CountDownLatch linkDidSync = new CountDownLatch(1);
+    plane.downlink()
+        .nodeUri(nodeUri)
+        .laneUri("list")
+        .body(body)
+        .keepSynced(true)
+        .didReceive(events::add)
+        .didSync(linkDidSync::countDown)
+        .open();
+    linkDidSync.await(1, TimeUnit.SECONDS);
+    assertEquals(linkDidSync.getCount(), 0);
+    return events;
+  }
+
+  static void assertWindow(List<Value> events, int... indexes) {
+    assertEquals(events.size(), indexes.length);
+    for (int i = 0; i < indexes.length; i += 1) {
+      final Value event = events.get(i);
+      assertEquals(event.header("update").get("index").intValue(), indexes[i]);
+      assertEquals(event.body().stringValue(), Integer.toString(indexes[i]));
+    }
+  }
+
+  @Test
+  public void testWindowedSync() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestListPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestListPlane.class);
+    try {
+      kernel.start();
+      assertWindow(syncWindow(plane, "/window/list", Value.absent()), 0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+      assertWindow(syncWindow(plane, "/window/list", Record.create(2).slot("from", 2).slot("to", 5)), 2, 3, 4);
+      assertWindow(syncWindow(plane, "/window/list", Record.create(2).slot("from", 2).slot("limit", 3)), 2, 3, 4);
+      assertWindow(syncWindow(plane, "/window/list", Record.create(3).slot("to", 8).slot("limit", 3)
+          .slot("direction", "desc")), 5, 6, 7);
+      assertWindow(syncWindow(plane, "/window/list", Record.create(1).slot("from", 20)));
+    } finally {
+      kernel.stop();
+    }
+  }
+
   static class TestListLaneAgent extends AbstractAgent {
 
     @SwimLane("list")
@@ -555,11 +599,28 @@ public class ListLaneSpec {
 
   }
 
+  static class TestWindowListAgent extends AbstractAgent {
+
+    @SwimLane("list")
+    ListLane<String> testList = listLane().valueClass(String.class);
+
+    @Override
+    public void didStart() {
+      for (int i = 0; i < 10; i += 1) {
+        this.testList.add(Integer.toString(i));
+      }
+    }
+
+  }
+
   static class TestListPlane extends AbstractPlane {
 
     @SwimRoute("/list/:name")
     AgentRoute<TestListLaneAgent> listRoute;
 
+    @SwimRoute("/window/:name")
+    AgentRoute<TestWindowListAgent> windowRoute;
+
   }
 
 }
@@ -14,14 +14,20 @@
 
 package swim.server;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import org.testng.annotations.Test;
+import swim.actor.ActorSpace;
 import swim.actor.ActorSpaceDef;
 import swim.api.SwimLane;
 import swim.api.SwimRoute;
 import swim.api.agent.AbstractAgent;
 import swim.api.agent.AgentRoute;
+import swim.api.downlink.EventDownlink;
 import swim.api.downlink.MapDownlink;
 import swim.api.lane.MapLane;
 import swim.api.plane.AbstractPlane;
@@ -37,9 +43,18 @@ import swim.observable.function.WillDrop;
 import swim.observable.function.WillRemoveKey;
 import swim.observable.function.WillTake;
 import swim.observable.function.WillUpdateKey;
+import swim.runtime.lane.MapLaneModel;
+import swim.runtime.router.HostTable;
 import swim.service.web.WebServiceDef;
+import swim.structure.Record;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.uri.Uri;
 import swim.util.OrderedMap;
+import swim.warp.EnvelopeCache;
+import swim.warp.EventMessage;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 
 public class MapLaneSpec {
@@ -285,6 +300,250 @@ public class MapLaneSpec {
     }
   }
 
+  @Test
+  public void testFanOutSharesEncodedEvents() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestMapPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestMapPlane.class);
+
+    final int linkCount = 4;
+    final CountDownLatch linkDidSync = new CountDownLatch(linkCount);
+    final CountDownLatch linkDidReceive = new CountDownLatch(linkCount);
+    final Value[] bodies = new Value[linkCount];
+    try {
+      kernel.start();
+      for (int i = 0; i < linkCount; i += 1) {
+        final int index = i;
+        plane.downlinkMap()
+            .keyClass(String.class)
+            .valueClass(String.class)
+            .nodeUri("/map/fanout")
+            .laneUri("map")
+            .didSync(linkDidSync::countDown)
+            .didReceive(body -> {
+              if ("update".equals(body.tag())) {
+                bodies[index] = body;
+                linkDidReceive.countDown();
+              }
+            })
+            .open();
+      }
+      linkDidSync.await(1, TimeUnit.SECONDS);
+      assertEquals(linkDidSync.getCount(), 0);
+
+      plane.downlinkMap()
+          .keyClass(String.class)
+          .valueClass(String.class)
+          .nodeUri("/map/fanout")
+          .laneUri("map")
+          .open()
+          .put("a", "indefinite article");
+      linkDidReceive.await(1, TimeUnit.SECONDS);
+      assertEquals(linkDidReceive.getCount(), 0);
+
+      // Every uplink sends the same committed body, so the event is encoded
+      // once, and every other link reuses the cached encoding.
+      final EnvelopeCache envelopeCache = new EnvelopeCache(16);
+      for (int i = 0; i < linkCount; i += 1) {
+        assertFalse(bodies[i].isMutable());
+        envelopeCache.encoded(new EventMessage("/map/fanout", "map", bodies[i]));
+      }
+      assertEquals(envelopeCache.encodeCount(), 1L);
+      assertEquals(envelopeCache.savedEncodeCount(), (long) (linkCount - 1));
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  static EventDownlink<Value> syncMapLink(TestMapPlane plane, String nodeUri, Value body,
+                                          BlockingQueue<Value> events) throws InterruptedException {
+    final CountDownLatch linkDidSync = new CountDownLatch(1);
+    final EventDownlink<Value> link = plane.downlink()
+        .nodeUri(nodeUri)
+        .laneUri("map1")
+        .body(body)
+        .keepSynced(true)
+        .didReceive(events::add)
+        .didSync(linkDidSync::countDown)
+        .open();
+    linkDidSync.await(1, TimeUnit.SECONDS);
+    assertEquals(linkDidSync.getCount(), 0);
+    return link;
+  }
+
+  static Value updateEvent(String key, String value) {
+    return Record.create(2).attr("update", Record.create(1).slot("key", key)).concat(Text.from(value));
+  }
+
+  static Value removeEvent(String key) {
+    return Record.create(1).attr("remove", Record.create(1).slot("key", key));
+  }
+
+  static void command(EventDownlink<Value> link, BlockingQueue<Value> events, Value body) throws InterruptedException {
+    link.command(body);
+    assertEquals(events.poll(1, TimeUnit.SECONDS), body);
+  }
+
+  static long laneVersion(ActorSpace space, String nodeUri) {
+    final Uri uri = Uri.parse(nodeUri);
+    final HostTable host = space.edge().getMesh(Uri.empty()).getPart(uri).master().bottomHost(HostTable.class);
+    return ((MapLaneModel) host.getNode(uri).getLane(Uri.parse("map1"))).version();
+  }
+
+  @Test
+  public void testVersionedSyncReplaysChangedKeys() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final ActorSpace space = (ActorSpace) kernel.openSpace(ActorSpaceDef.fromName("test"));
+    final TestMapPlane plane = space.openPlane("test", TestMapPlane.class);
+    final BlockingQueue<Value> writes = new LinkedBlockingQueue<Value>();
+    final BlockingQueue<Value> events = new LinkedBlockingQueue<Value>();
+    try {
+      kernel.start();
+      final EventDownlink<Value> writer = syncMapLink(plane, "/map/delta", Value.absent(), writes);
+      command(writer, writes, updateEvent("a", "1"));
+      command(writer, writes, updateEvent("b", "2"));
+      command(writer, writes, updateEvent("c", "3"));
+      final long version = laneVersion(space, "/map/delta");
+      command(writer, writes, updateEvent("b", "20"));
+      command(writer, writes, removeEvent("a"));
+
+      // Only the changed keys are resent; removed keys are replayed as removes.
+      syncMapLink(plane, "/map/delta", Record.create(1).slot("version", version), events);
+      assertEquals(new HashSet<Value>(events), new HashSet<Value>(Arrays.asList(updateEvent("b", "20"), removeEvent("a"))));
+      assertEquals(events.size(), 2);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testVersionedSyncAfterTruncateFallsBackToFullSync() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final ActorSpace space = (ActorSpace) kernel.openSpace(ActorSpaceDef.fromName("test"));
+    final TestMapPlane plane = space.openPlane("test", TestMapPlane.class);
+    final BlockingQueue<Value> writes = new LinkedBlockingQueue<Value>();
+    final BlockingQueue<Value> events = new LinkedBlockingQueue<Value>();
+    try {
+      kernel.start();
+      final EventDownlink<Value> writer = syncMapLink(plane, "/map/truncate", Value.absent(), writes);
+      command(writer, writes, updateEvent("a", "1"));
+      command(writer, writes, updateEvent("b", "2"));
+      command(writer, writes, updateEvent("c", "3"));
+      final long version = laneVersion(space, "/map/truncate");
+      command(writer, writes, Record.create(1).attr("drop", 1));
+
+      // A drop can't be replayed as a delta, so every remaining key is resent.
+      syncMapLink(plane, "/map/truncate", Record.create(1).slot("version", version), events);
+      assertEquals(new HashSet<Value>(events), new HashSet<Value>(Arrays.asList(updateEvent("b", "2"), updateEvent("c", "3"))));
+      assertEquals(events.size(), 2);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  static EventDownlink<Value> fillMapLane(TestMapPlane plane, String nodeUri, BlockingQueue<Value> writes)
+      throws InterruptedException {
+    final EventDownlink<Value> writer = syncMapLink(plane, nodeUri, Value.absent(), writes);
+    for (int i = 0; i < 10; i += 1) {
+      command(writer, writes, updateEvent("k" + i, "v" + i));
+    }
+    return writer;
+  }
+
+  static void assertEvents(BlockingQueue<Value> events, Value... expected) throws InterruptedException {
+    for (int i = 0; i < expected.length; i += 1) {
+      assertEquals(events.poll(1, TimeUnit.SECONDS), expected[i]);
+    }
+    assertEquals(events.poll(100L, TimeUnit.MILLISECONDS), null);
+  }
+
+  @Test
+  public void testWindowedSyncFiltersEvents() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestMapPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestMapPlane.class);
+    final BlockingQueue<Value> writes = new LinkedBlockingQueue<Value>();
+    final BlockingQueue<Value> events = new LinkedBlockingQueue<Value>();
+    try {
+      kernel.start();
+      final EventDownlink<Value> writer = fillMapLane(plane, "/map/window", writes);
+      syncMapLink(plane, "/map/window", Record.create(2).slot("from", "k2").slot("to", "k5"), events);
+      assertEvents(events, updateEvent("k2", "v2"), updateEvent("k3", "v3"), updateEvent("k4", "v4"));
+
+      command(writer, writes, updateEvent("k7", "w7"));
+      command(writer, writes, removeEvent("k8"));
+      command(writer, writes, updateEvent("k3", "w3"));
+      assertEvents(events, updateEvent("k3", "w3"));
+      command(writer, writes, removeEvent("k5"));
+      command(writer, writes, removeEvent("k4"));
+      assertEvents(events, removeEvent("k4"));
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testWindowedSyncLimit() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestMapPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestMapPlane.class);
+    final BlockingQueue<Value> writes = new LinkedBlockingQueue<Value>();
+    final BlockingQueue<Value> events = new LinkedBlockingQueue<Value>();
+    try {
+      kernel.start();
+      final EventDownlink<Value> writer = fillMapLane(plane, "/map/limit", writes);
+      syncMapLink(plane, "/map/limit", Record.create(1).slot("limit", 3), events);
+      assertEvents(events, updateEvent("k0", "v0"), updateEvent("k1", "v1"), updateEvent("k2", "v2"));
+
+      // Keys from the first key past the limit fall outside the window.
+      command(writer, writes, updateEvent("k3", "w3"));
+      command(writer, writes, updateEvent("k2", "w2"));
+      assertEvents(events, updateEvent("k2", "w2"));
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testWindowedSyncDescendingLimit() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestMapPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestMapPlane.class);
+    final BlockingQueue<Value> writes = new LinkedBlockingQueue<Value>();
+    final BlockingQueue<Value> events = new LinkedBlockingQueue<Value>();
+    try {
+      kernel.start();
+      final EventDownlink<Value> writer = fillMapLane(plane, "/map/desc", writes);
+      syncMapLink(plane, "/map/desc", Record.create(2).slot("limit", 3).slot("direction", "desc"), events);
+      assertEvents(events, updateEvent("k9", "v9"), updateEvent("k8", "v8"), updateEvent("k7", "v7"));
+
+      // Keys below the lowest synced key fall outside the window.
+      command(writer, writes, updateEvent("k6", "w6"));
+      command(writer, writes, updateEvent("k7", "w7"));
+      assertEvents(events, updateEvent("k7", "w7"));
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testWindowedSyncDescendingWithoutLimit() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestMapPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestMapPlane.class);
+    final BlockingQueue<Value> writes = new LinkedBlockingQueue<Value>();
+    final BlockingQueue<Value> events = new LinkedBlockingQueue<Value>();
+    try {
+      kernel.start();
+      fillMapLane(plane, "/map/range", writes);
+      // An untruncated window streams in key order.
+      syncMapLink(plane, "/map/range", Record.create(2).slot("from", "k7").slot("direction", "desc"), events);
+      assertEvents(events, updateEvent("k7", "v7"), updateEvent("k8", "v8"), updateEvent("k9", "v9"));
+    } finally {
+      kernel.stop();
+    }
+  }
+
   private static class TestMapLaneAgent extends AbstractAgent {
 
     @SwimLane("map")
@@ -0,0 +1,256 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+import swim.actor.ActorSpace;
+import swim.actor.ActorSpaceDef;
+import swim.api.SwimLane;
+import swim.api.SwimRoute;
+import swim.api.agent.AbstractAgent;
+import swim.api.agent.AgentRoute;
+import swim.api.downlink.MapDownlink;
+import swim.api.downlink.ValueDownlink;
+import swim.api.lane.MapLane;
+import swim.api.lane.ValueLane;
+import swim.api.plane.AbstractPlane;
+import swim.db.StoreSettings;
+import swim.kernel.Kernel;
+import swim.runtime.NodeBinding;
+import swim.runtime.router.HostTable;
+import swim.store.db.DbStoreDef;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class PassivationSpec {
+
+  static ActorSpaceDef dbSpaceDef(String name) {
+    final File directory = new File("build/test-output/passivation");
+    directory.mkdirs();
+    final File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        if (file.getName().startsWith(name)) {
+          file.delete();
+        }
+      }
+    }
+    return ActorSpaceDef.fromName("test")
+        .storeDef(new DbStoreDef("test", new File(directory, name + ".swimdb").getPath(), StoreSettings.standard()));
+  }
+
+  static HostTable hostTable(ActorSpace space, Uri nodeUri) {
+    return space.edge().getMesh(Uri.empty()).getPart(nodeUri).master().bottomHost(HostTable.class);
+  }
+
+  /**
+   * Waits for the uplinks of closed downlinks to close, and passivates the
+   * node at {@code nodeUri} as soon as it's idle.
+   */
+  static boolean passivate(HostTable host, Uri nodeUri) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 1000L;
+    do {
+      host.passivateIdleNodes(0L);
+      if (host.getNode(nodeUri) == null) {
+        return true;
+      }
+      Thread.sleep(10L);
+    } while (System.currentTimeMillis() < deadline);
+    return false;
+  }
+
+  @Test
+  public void testReactivatePassivatedAgent() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final ActorSpace space = (ActorSpace) kernel.openSpace(dbSpaceDef("reactivate"));
+    final TestPassivationPlane plane = space.openPlane("test", TestPassivationPlane.class);
+    final Uri nodeUri = Uri.parse("/passivate/reactivate");
+    try {
+      kernel.start();
+      final CountDownLatch valueDidSet = new CountDownLatch(1);
+      final CountDownLatch mapDidUpdate = new CountDownLatch(1);
+      final ValueDownlink<String> valueLink = plane.downlinkValue()
+          .valueClass(String.class)
+          .nodeUri(nodeUri)
+          .laneUri("value")
+          .didSet((newValue, oldValue) -> {
+            if ("persisted".equals(newValue)) {
+              valueDidSet.countDown();
+            }
+          })
+          .open();
+      final MapDownlink<String, String> mapLink = plane.downlinkMap()
+          .keyClass(String.class)
+          .valueClass(String.class)
+          .nodeUri(nodeUri)
+          .laneUri("map")
+          .didUpdate((key, newValue, oldValue) -> {
+            if ("b".equals(key)) {
+              mapDidUpdate.countDown();
+            }
+          })
+          .open();
+      valueLink.set("persisted");
+      mapLink.put("a", "1");
+      mapLink.put("b", "2");
+      valueDidSet.await(1, TimeUnit.SECONDS);
+      mapDidUpdate.await(1, TimeUnit.SECONDS);
+      assertEquals(valueDidSet.getCount(), 0);
+      assertEquals(mapDidUpdate.getCount(), 0);
+      valueLink.close();
+      mapLink.close();
+
+      final HostTable host = hostTable(space, nodeUri);
+      final NodeBinding oldNode = host.getNode(nodeUri);
+      assertNotNull(oldNode);
+      assertEquals(passivate(host, nodeUri), true);
+
+      final CountDownLatch valueDidSync = new CountDownLatch(1);
+      final CountDownLatch mapDidSync = new CountDownLatch(1);
+      final ValueDownlink<String> newValueLink = plane.downlinkValue()
+          .valueClass(String.class)
+          .nodeUri(nodeUri)
+          .laneUri("value")
+          .didSync(valueDidSync::countDown)
+          .open();
+      final MapDownlink<String, String> newMapLink = plane.downlinkMap()
+          .keyClass(String.class)
+          .valueClass(String.class)
+          .nodeUri(nodeUri)
+          .laneUri("map")
+          .didSync(mapDidSync::countDown)
+          .open();
+      valueDidSync.await(1, TimeUnit.SECONDS);
+      mapDidSync.await(1, TimeUnit.SECONDS);
+      assertEquals(valueDidSync.getCount(), 0);
+      assertEquals(mapDidSync.getCount(), 0);
+      assertNotSame(host.getNode(nodeUri), oldNode);
+      assertEquals(newValueLink.get(), "persisted");
+      assertEquals(newMapLink.size(), 2);
+      assertEquals(newMapLink.get("a"), "1");
+      assertEquals(newMapLink.get("b"), "2");
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testRetainAgentsWithoutPersistentStore() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final ActorSpace space = (ActorSpace) kernel.openSpace(ActorSpaceDef.fromName("test"));
+    final TestPassivationPlane plane = space.openPlane("test", TestPassivationPlane.class);
+    final Uri nodeUri = Uri.parse("/passivate/memory");
+    try {
+      kernel.start();
+      assertRetained(plane, hostTable(space, nodeUri), nodeUri);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testRetainAgentsWithTransientLanes() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final ActorSpace space = (ActorSpace) kernel.openSpace(dbSpaceDef("transient"));
+    final TestPassivationPlane plane = space.openPlane("test", TestPassivationPlane.class);
+    final Uri nodeUri = Uri.parse("/transient/a");
+    try {
+      kernel.start();
+      assertRetained(plane, hostTable(space, nodeUri), nodeUri);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testRetainAgentsWithOpenDownlinks() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final ActorSpace space = (ActorSpace) kernel.openSpace(dbSpaceDef("downlink"));
+    final TestPassivationPlane plane = space.openPlane("test", TestPassivationPlane.class);
+    final Uri nodeUri = Uri.parse("/downlink/a");
+    try {
+      kernel.start();
+      assertRetained(plane, hostTable(space, nodeUri), nodeUri);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  static void assertRetained(TestPassivationPlane plane, HostTable host, Uri nodeUri) throws InterruptedException {
+    final CountDownLatch linkDidSync = new CountDownLatch(1);
+    final ValueDownlink<String> link = plane.downlinkValue()
+        .valueClass(String.class)
+        .nodeUri(nodeUri)
+        .laneUri("value")
+        .didSync(linkDidSync::countDown)
+        .open();
+    linkDidSync.await(1, TimeUnit.SECONDS);
+    assertEquals(linkDidSync.getCount(), 0);
+    link.close();
+    final NodeBinding node = host.getNode(nodeUri);
+    assertNotNull(node);
+    assertEquals(passivate(host, nodeUri), false);
+    assertSame(host.getNode(nodeUri), node);
+  }
+
+  static class TestPassivationAgent extends AbstractAgent {
+
+    @SwimLane("value")
+    ValueLane<String> value = this.<String>valueLane().valueClass(String.class);
+
+    @SwimLane("map")
+    MapLane<String, String> map = this.<String, String>mapLane().keyClass(String.class).valueClass(String.class);
+
+  }
+
+  static class TestTransientAgent extends AbstractAgent {
+
+    @SwimLane("value")
+    ValueLane<String> value = this.<String>valueLane().valueClass(String.class).isTransient(true);
+
+  }
+
+  static class TestDownlinkAgent extends AbstractAgent {
+
+    @SwimLane("value")
+    ValueLane<String> value = this.<String>valueLane().valueClass(String.class);
+
+    @Override
+    public void didStart() {
+      downlinkValue().valueClass(String.class).nodeUri("/passivate/upstream").laneUri("value").open();
+    }
+
+  }
+
+  static class TestPassivationPlane extends AbstractPlane {
+
+    @SwimRoute("/passivate/:name")
+    AgentRoute<TestPassivationAgent> passivationRoute;
+
+    @SwimRoute("/transient/:name")
+    AgentRoute<TestTransientAgent> transientRoute;
+
+    @SwimRoute("/downlink/:name")
+    AgentRoute<TestDownlinkAgent> downlinkRoute;
+
+  }
+
+}
@@ -0,0 +1,177 @@
+// Copyright 2015-2020 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+import swim.actor.ActorSpaceDef;
+import swim.api.SwimLane;
+import swim.api.SwimRoute;
+import swim.api.agent.AbstractAgent;
+import swim.api.agent.AgentRoute;
+import swim.api.downlink.EventDownlink;
+import swim.api.lane.SpatialLane;
+import swim.api.plane.AbstractPlane;
+import swim.kernel.Kernel;
+import swim.math.BoxR2;
+import swim.math.PointR2;
+import swim.math.R2Shape;
+import swim.spatial.GeoProjection;
+import swim.structure.Record;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class SpatialLaneSpec {
+
+  static final R2Shape VIEWPORT = BoxR2.of(0.0, 0.0, 10.0, 10.0);
+
+  static Value shape(R2Shape shape) {
+    return GeoProjection.wgs84Form().mold(shape).toValue();
+  }
+
+  static Value update(String key, R2Shape shape, String value) {
+    return Record.create(2).attr("update", Record.create(2).slot("key", key).slot("shape", shape(shape)))
+        .concat(Text.from(value));
+  }
+
+  static Value event(String key, String value) {
+    return Record.create(2).attr("update", Record.create(1).slot("key", key)).concat(Text.from(value));
+  }
+
+  static Value move(String key, R2Shape from, R2Shape to, String value) {
+    return Record.create(2).attr("move", Record.create(3).slot("key", key).slot("from", shape(from)).slot("to", shape(to)))
+        .concat(Text.from(value));
+  }
+
+  static Value remove(String key, R2Shape shape) {
+    return Record.create(1).attr("remove", Record.create(2).slot("key", key).slot("shape", shape(shape)));
+  }
+
+  static EventDownlink<Value> link(TestSpatialPlane plane, String nodeUri, boolean keepSynced,
+                                   BlockingQueue<Value> events) throws InterruptedException {
+    final CountDownLatch didOpen = new CountDownLatch(1);
+    final EventDownlink<Value> link = plane.downlink()
+        .nodeUri(nodeUri)
+        .laneUri("shapes")
+        .body(shape(VIEWPORT))
+        .keepSynced(keepSynced)
+        .didReceive(events::add);
+    if (keepSynced) {
+      link.didSync(didOpen::countDown);
+    } else {
+      link.didLink(didOpen::countDown);
+    }
+    link.open();
+    didOpen.await(1, TimeUnit.SECONDS);
+    assertEquals(didOpen.getCount(), 0);
+    return link;
+  }
+
+  static Value next(BlockingQueue<Value> events) throws InterruptedException {
+    return events.poll(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testUpdateLeavingViewportSendsRemove() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestSpatialPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestSpatialPlane.class);
+    final BlockingQueue<Value> events = new LinkedBlockingQueue<Value>();
+    try {
+      kernel.start();
+      final EventDownlink<Value> link = link(plane, "/spatial/update", false, events);
+      link.command(update("a", PointR2.of(5.0, 5.0), "inside"));
+      assertEquals(next(events), event("a", "inside"));
+      link.command(update("a", PointR2.of(50.0, 50.0), "outside"));
+      assertEquals(next(events), remove("a", PointR2.of(5.0, 5.0)));
+      link.command(update("a", PointR2.of(60.0, 60.0), "still outside"));
+      link.command(update("b", PointR2.of(1.0, 1.0), "marker"));
+      assertEquals(next(events), event("b", "marker"));
+      assertNull(events.poll(100L, TimeUnit.MILLISECONDS));
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testMoveLeavingViewportSendsRemove() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestSpatialPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestSpatialPlane.class);
+    final BlockingQueue<Value> events = new LinkedBlockingQueue<Value>();
+    try {
+      kernel.start();
+      final EventDownlink<Value> link = link(plane, "/spatial/move", false, events);
+      link.command(update("a", PointR2.of(5.0, 5.0), "a"));
+      assertEquals(next(events), event("a", "a"));
+      link.command(move("a", PointR2.of(5.0, 5.0), PointR2.of(6.0, 6.0), "a"));
+      assertEquals(next(events), Record.create(1).attr("move", Record.create(3).slot("key", "a")
+          .slot("from", shape(PointR2.of(5.0, 5.0))).slot("to", shape(PointR2.of(6.0, 6.0)))));
+      link.command(move("a", PointR2.of(6.0, 6.0), PointR2.of(50.0, 50.0), "a"));
+      assertEquals(next(events), remove("a", PointR2.of(6.0, 6.0)));
+      link.command(move("a", PointR2.of(50.0, 50.0), PointR2.of(7.0, 7.0), "a"));
+      assertEquals(next(events), event("a", "a"));
+      assertNull(events.poll(100L, TimeUnit.MILLISECONDS));
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void testSyncedEntryLeavingViewportSendsRemove() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestSpatialPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+        .openPlane("test", TestSpatialPlane.class);
+    final BlockingQueue<Value> writes = new LinkedBlockingQueue<Value>();
+    final BlockingQueue<Value> events = new LinkedBlockingQueue<Value>();
+    try {
+      kernel.start();
+      final EventDownlink<Value> writer = link(plane, "/spatial/sync", false, writes);
+      writer.command(update("a", PointR2.of(5.0, 5.0), "a"));
+      assertEquals(next(writes), event("a", "a"));
+      writer.command(update("b", PointR2.of(50.0, 50.0), "b"));
+
+      link(plane, "/spatial/sync", true, events);
+      assertEquals(events.poll(), event("a", "a"));
+      writer.command(update("a", PointR2.of(40.0, 40.0), "a"));
+      assertEquals(next(events), remove("a", PointR2.of(5.0, 5.0)));
+      assertNull(events.poll(100L, TimeUnit.MILLISECONDS));
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  static class TestSpatialAgent extends AbstractAgent {
+
+    @SwimLane("shapes")
+    SpatialLane<String, R2Shape, String> shapes = this.<String, String>geospatialLane()
+        .keyClass(String.class)
+        .valueClass(String.class);
+
+  }
+
+  static class TestSpatialPlane extends AbstractPlane {
+
+    @SwimRoute("/spatial/:name")
+    AgentRoute<TestSpatialAgent> spatialRoute;
+
+  }
+
+}
@@ -38,6 +38,7 @@ import swim.uri.UriHost;
 import swim.uri.UriPath;
 import swim.uri.UriPort;
 import swim.uri.UriScheme;
+import swim.warp.BinaryEnvelopeCodec;
 import swim.web.WebRequest;
 import swim.web.WebResponse;
 import swim.web.WebRoute;
@@ -103,7 +104,9 @@ public class WebServer extends AbstractWarpServer {
     // TODO: Refactor into WarpSpaceRoute.
     final WsRequest wsRequest = WsRequest.from(httpRequest);
     if (wsRequest != null) {
-      final WsResponse wsResponse = wsRequest.accept(this.wsSettings);
+      // Prefer the binary envelope codec when the client supports it.
+      final String protocol = wsRequest.protocols().contains(BinaryEnvelopeCodec.PROTOCOL) ? BinaryEnvelopeCodec.PROTOCOL : null;
+      final WsResponse wsResponse = wsRequest.accept(this.wsSettings, protocol);
       if (wsResponse != null) {
         return warpWebSocketResponder(wsRequest, wsResponse);
       }
@@ -24,6 +24,7 @@ import swim.api.store.StoreException;
 import swim.concurrent.MainStage;
 import swim.concurrent.Stage;
 import swim.db.BTreeMap;
+import swim.db.Commit;
 import swim.db.QTreeMap;
 import swim.db.STreeList;
 import swim.db.Store;
@@ -81,6 +82,16 @@ public class DbStore implements StoreBinding, StoreContext {
     this.store.database().closeTrunk(treeName);
   }
 
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public void commit() {
+    this.store.commitAsync(Commit.forced());
+  }
+
   @Override
   public void close() {
     if (!this.name.isDefined()) {
@@ -28,6 +28,23 @@ public interface StoreBinding extends Store {
 
   void closeData(Value name);
 
+  /**
+   * Returns {@code true} if data written to this store outlives the agents
+   * that wrote it, so that an agent can be closed and later reopened without
+   * losing the state of its lanes.
+   */
+  default boolean isPersistent() {
+    return false;
+  }
+
+  /**
+   * Flushes pending writes to durable storage; a no-op for stores that
+   * aren't {@link #isPersistent() persistent}.
+   */
+  default void commit() {
+    // nop
+  }
+
   void close();
 
 }
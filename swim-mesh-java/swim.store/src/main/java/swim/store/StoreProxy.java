@@ -59,6 +59,16 @@ public class StoreProxy implements StoreBinding, StoreContext {
     this.storeBinding.closeData(name);
   }
 
+  @Override
+  public boolean isPersistent() {
+    return this.storeBinding.isPersistent();
+  }
+
+  @Override
+  public void commit() {
+    this.storeBinding.commit();
+  }
+
   @Override
   public void close() {
     this.storeContext.close();